@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# 기동 시간 측정 + fast-start 동작 확인 (train-cds.sh 이후 실행)
+#   baseline: java -jar target/backend-0.0.1-SNAPSHOT.jar
+#   fast    : 추출 레이아웃 + Spring AOT + CDS 아카이브(-Xshare:on 이라 아카이브를 못 쓰면 바로 실패)
+#
+# 측정값 (프로세스 시작 시각 기준, RUNS회 중앙값)
+#   ready_ms        : /actuator/health 가 UP
+#   first_request_ms: 첫 API 요청(GET /api/cad/files) 응답 완료
+#
+# 판정: 같은 실행에서 잰 baseline 대비 fast 모드 ready_ms 비율 (기계 사양과 상관없이 비교)
+#   MAX_READY_PCT(60): fast ready_ms 가 baseline ready_ms 의 이 % 를 넘으면 실패 종료
+#   MAX_READY_MS(없음): 지정하면 fast ready_ms 절대값도 검사 (배포 대상 사양에서 잰 값으로 지정)
+# 환경변수: PORT(8080), RUNS(5), MAX_READY_PCT, MAX_READY_MS
+# 결과: target/fast-start/bench-summary.txt (회차별 값은 bench-<mode>.txt)
+set -euo pipefail
+source "$(dirname "$0")/common.sh"
+cd "${BACKEND_DIR}"
+
+RUNS="${RUNS:-5}"
+MAX_READY_PCT="${MAX_READY_PCT:-60}"
+MAX_READY_MS="${MAX_READY_MS:-}"
+
+if [ ! -s "${CDS_ARCHIVE}" ]; then
+  echo "ERROR: CDS 아카이브가 없습니다. 먼저 scripts/fast-start/train-cds.sh 실행" >&2
+  exit 1
+fi
+
+measure() {
+  local mode="$1"
+  local start ready first pid
+  start=$(now_ms)
+  if [ "${mode}" = "fast" ]; then
+    run_fast_start -XX:SharedArchiveFile="${CDS_ARCHIVE}" -Xshare:on > "${FAST_DIR}/bench-${mode}.log" 2>&1 &
+  else
+    java -jar "target/${APP_JAR_NAME}" --server.port="${PORT}" > "${FAST_DIR}/bench-${mode}.log" 2>&1 &
+  fi
+  pid=$!
+
+  if ! wait_ready 120; then
+    stop_app "${pid}"
+    tail -n 30 "${FAST_DIR}/bench-${mode}.log" >&2
+    return 1
+  fi
+  ready=$(now_ms)
+  curl -fs -o /dev/null "${BASE_URL}/api/cad/files"
+  first=$(now_ms)
+
+  stop_app "${pid}"
+  echo "$(( ready - start )) $(( first - start ))"
+}
+
+median() {
+  sort -n | awk '{ a[NR] = $1 } END { print a[int((NR + 1) / 2)] }'
+}
+
+declare -A READY FIRST
+: > "${FAST_DIR}/bench-summary.txt"
+for mode in baseline fast; do
+  : > "${FAST_DIR}/bench-${mode}.txt"
+  for i in $(seq 1 "${RUNS}"); do
+    measure "${mode}" >> "${FAST_DIR}/bench-${mode}.txt"
+  done
+  READY[${mode}]=$(cut -d' ' -f1 "${FAST_DIR}/bench-${mode}.txt" | median)
+  FIRST[${mode}]=$(cut -d' ' -f2 "${FAST_DIR}/bench-${mode}.txt" | median)
+  echo "${mode}: ready_ms=${READY[${mode}]} first_request_ms=${FIRST[${mode}]} (runs=${RUNS})" | tee -a "${FAST_DIR}/bench-summary.txt"
+done
+
+READY_PCT=$(( READY[fast] * 100 / READY[baseline] ))
+echo "fast/baseline: ready=${READY_PCT}%" | tee -a "${FAST_DIR}/bench-summary.txt"
+
+if [ "${READY_PCT}" -gt "${MAX_READY_PCT}" ]; then
+  echo "FAIL: fast-start ready_ms=${READY[fast]} 이 baseline ${READY[baseline]} 의 ${READY_PCT}% (> ${MAX_READY_PCT}%)" >&2
+  exit 1
+fi
+if [ -n "${MAX_READY_MS}" ] && [ "${READY[fast]}" -gt "${MAX_READY_MS}" ]; then
+  echo "FAIL: fast-start ready_ms=${READY[fast]} > ${MAX_READY_MS}" >&2
+  exit 1
+fi
+echo "OK: fast-start ready_ms=${READY[fast]} (baseline 의 ${READY_PCT}% <= ${MAX_READY_PCT}%${MAX_READY_MS:+, <= ${MAX_READY_MS}ms})"
@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# fast-start 스크립트 공통 설정 (train-cds.sh / bench.sh 에서 source)
+
+BACKEND_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/../.." && pwd)"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+FAST_DIR="${FAST_DIR:-${BACKEND_DIR}/target/fast-start}"
+APP_JAR_NAME="backend-0.0.1-SNAPSHOT.jar"
+CDS_ARCHIVE="${FAST_DIR}/app.jsa"
+
+# 추출된 레이아웃(jar + lib/)에서 실행해야 CDS 아카이브의 클래스패스가 학습 때와 일치
+# exec: `run_fast_start ... &` 의 $! 가 서브셸이 아니라 JVM PID 가 되어야 stop_app 의 SIGTERM 이 JVM에 전달됨
+run_fast_start() {
+  exec java \
+    -Dspring.aot.enabled=true \
+    "$@" \
+    -jar "${FAST_DIR}/${APP_JAR_NAME}" \
+    --server.port="${PORT}"
+}
+
+now_ms() {
+  python3 -c 'import time; print(int(time.time() * 1000))'
+}
+
+# /actuator/health 가 UP 이 될 때까지 대기 (최대 $1 초)
+wait_ready() {
+  local timeout_s="${1:-120}"
+  local deadline=$(( $(date +%s) + timeout_s ))
+  while [ "$(date +%s)" -lt "${deadline}" ]; do
+    if curl -fs "${BASE_URL}/actuator/health" 2>/dev/null | grep -q '"UP"'; then
+      return 0
+    fi
+    sleep 0.05
+  done
+  echo "ERROR: ${timeout_s}s 안에 기동하지 못했습니다" >&2
+  return 1
+}
+
+stop_app() {
+  local pid="$1"
+  # SIGTERM: 정상 종료해야 lease 반납 + CDS 아카이브 덤프가 수행됨
+  kill -TERM "${pid}" 2>/dev/null || true
+  wait "${pid}" 2>/dev/null || true
+}
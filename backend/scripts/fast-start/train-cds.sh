@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# fast-start 빌드 + CDS 학습 실행
+#   1) ./mvnw -Pfast-start package  (Spring AOT 처리 포함)
+#   2) 실행 jar를 jar + lib/ 레이아웃으로 추출
+#   3) -XX:ArchiveClassesAtExit 로 기동 → 업로드/상세/GLB 다운로드 요청 → 정상 종료 시 app.jsa 생성
+#
+# 필요: DB(application.properties), python3, curl
+# 환경변수: PORT(8080), SAMPLE(학습용 업로드 파일, 없으면 작은 STL 생성), SKIP_BUILD=1
+set -euo pipefail
+source "$(dirname "$0")/common.sh"
+cd "${BACKEND_DIR}"
+
+if [ "${SKIP_BUILD:-0}" != "1" ]; then
+  ./mvnw -B -q -Pfast-start -DskipTests package
+fi
+
+rm -rf "${FAST_DIR}"
+java -Djarmode=tools -jar "target/${APP_JAR_NAME}" extract --destination "${FAST_DIR}"
+
+SAMPLE="${SAMPLE:-}"
+if [ -z "${SAMPLE}" ]; then
+  SAMPLE="${FAST_DIR}/training-cube.stl"
+  python3 - "${SAMPLE}" <<'PY'
+import sys
+# 정육면체 ASCII STL (12 삼각형)
+v = [(0,0,0),(1,0,0),(1,1,0),(0,1,0),(0,0,1),(1,0,1),(1,1,1),(0,1,1)]
+f = [(0,2,1),(0,3,2),(4,5,6),(4,6,7),(0,1,5),(0,5,4),(2,3,7),(2,7,6),(1,2,6),(1,6,5),(3,0,4),(3,4,7)]
+with open(sys.argv[1], "w") as out:
+    out.write("solid training\n")
+    for a, b, c in f:
+        out.write(" facet normal 0 0 0\n  outer loop\n")
+        for i in (a, b, c):
+            out.write("   vertex %d %d %d\n" % v[i])
+        out.write("  endloop\n endfacet\n")
+    out.write("endsolid training\n")
+PY
+fi
+
+echo "CDS 학습 실행 시작: archive=${CDS_ARCHIVE}"
+run_fast_start -XX:ArchiveClassesAtExit="${CDS_ARCHIVE}" > "${FAST_DIR}/training.log" 2>&1 &
+APP_PID=$!
+trap 'stop_app "${APP_PID}"' EXIT
+
+wait_ready 180
+
+# 실제 트래픽 경로를 한 번씩 태워서 해당 클래스(Jackson/MyBatis/멀티파트/리소스 응답)가 아카이브에 들어가게 함
+for round in 1 2 3; do
+  UPLOAD=$(curl -fs -F "file=@${SAMPLE}" "${BASE_URL}/api/cad/upload")
+  ID=$(echo "${UPLOAD}" | python3 -c 'import json,sys; print(json.load(sys.stdin)["data"]["id"])')
+
+  for _ in $(seq 1 60); do
+    STATUS=$(curl -fs "${BASE_URL}/api/cad/files/${ID}" | python3 -c 'import json,sys; print(json.load(sys.stdin)["data"]["status"])')
+    [ "${STATUS}" = "COMPLETED" ] || [ "${STATUS}" = "FAILED" ] && break
+    sleep 0.5
+  done
+
+  curl -fs -o /dev/null "${BASE_URL}/api/cad/files" || true
+  curl -fs -o /dev/null "${BASE_URL}/api/cad/files/${ID}/parts" || true
+  curl -fs -o /dev/null -H "Accept: application/vnd.cad-parts.columnar" "${BASE_URL}/api/cad/files/${ID}/parts" || true
+  curl -fs -o /dev/null "${BASE_URL}/api/cad/files/${ID}/glb" || true
+  echo "학습 요청 완료: round=${round}, id=${ID}, status=${STATUS}"
+done
+
+trap - EXIT
+stop_app "${APP_PID}"
+
+if [ ! -s "${CDS_ARCHIVE}" ]; then
+  echo "ERROR: CDS 아카이브가 생성되지 않았습니다. ${FAST_DIR}/training.log 확인" >&2
+  exit 1
+fi
+echo "CDS 아카이브 생성 완료: ${CDS_ARCHIVE} ($(du -h "${CDS_ARCHIVE}" | cut -f1))"
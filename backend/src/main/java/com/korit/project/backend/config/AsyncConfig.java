@@ -21,4 +21,19 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * STEP 변환 파이프라인 단계(단순화 결과 순서 정렬, GLB 빌더 입력, DB 배치 insert)용
+     * - 작업 1건당 3개 스레드, 큐 없이 바로 넘김(포화 시 해당 작업 실패 → lease 만료 후 재시도)
+     */
+    @Bean(name = "pipelineExecutor")
+    public Executor pipelineExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(10);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("step-pipeline-");
+        executor.initialize();
+        return executor;
+    }
 }
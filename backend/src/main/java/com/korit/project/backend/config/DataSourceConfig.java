@@ -0,0 +1,74 @@
+package com.korit.project.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * 읽기/쓰기 DataSource 분리 (app.datasource.routing.enabled=true 일 때만)
+ * - 쓰기(기본): primary 풀
+ * - @Transactional(readOnly = true): replica 풀
+ *   LazyConnectionDataSourceProxy가 트랜잭션의 readOnly 플래그가 정해진 뒤 실제 커넥션을 고르므로
+ *   변환 결과 저장 같은 쓰기 폭주가 조회용 커넥션을 잡아먹지 않음
+ * - 트랜잭션 밖 조회(변환 작업 점유 등)는 primary → 복제 지연의 영향을 받지 않음
+ * - 풀 메트릭은 actuator가 HikariDataSource 빈마다 hikaricp.* (pool=primary/replica)로 노출
+ *
+ * 설정 예 (application.properties):
+ *   app.datasource.routing.enabled=true
+ *   app.datasource.primary.jdbc-url=jdbc:mysql://localhost:3306/cad_project
+ *   app.datasource.primary.maximum-pool-size=10
+ *   app.datasource.replica.jdbc-url=jdbc:mysql://localhost:3307/cad_project
+ *   app.datasource.replica.maximum-pool-size=30
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("app.datasource.primary")
+    public HikariDataSource primaryDataSource() {
+        return tunedPool("primary");
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource ds = tunedPool("replica");
+        ds.setReadOnly(true);
+        return ds;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(replica);
+        return proxy;
+    }
+
+    /**
+     * 풀 기본값 + MySQL Connector/J 서버측 문장 캐시 (프로퍼티로 덮어쓰기 가능)
+     */
+    private HikariDataSource tunedPool(String poolName) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName(poolName);
+        ds.addDataSourceProperty("cachePrepStmts", "true");
+        ds.addDataSourceProperty("prepStmtCacheSize", "250");
+        ds.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        ds.addDataSourceProperty("useServerPrepStmts", "true");
+        ds.addDataSourceProperty("cacheResultSetMetadata", "true");
+        ds.addDataSourceProperty("cacheServerConfiguration", "true");
+        ds.addDataSourceProperty("elideSetAutoCommits", "true");
+        ds.addDataSourceProperty("useLocalSessionState", "true");
+        ds.addDataSourceProperty("rewriteBatchedStatements", "true");
+        return ds;
+    }
+}
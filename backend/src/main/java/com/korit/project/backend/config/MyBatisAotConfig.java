@@ -0,0 +1,51 @@
+package com.korit.project.backend.config;
+
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.mybatis.spring.mapper.MapperScannerConfigurer;
+import org.springframework.beans.factory.aot.BeanRegistrationExcludeFilter;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Spring AOT(fast-start 프로필)에서 MyBatis 매퍼가 동작하도록 보정
+ * - MapperScannerConfigurer: AOT 처리 때 이미 스캔한 매퍼 빈 정의가 생성 코드에 들어가므로 스캐너는 제외
+ *   (남겨두면 실행 시 다시 스캔하면서 같은 이름의 빈과 충돌해 기동 실패)
+ * - MapperFactoryBean: 스캐너가 넣은 생성자 인자(인터페이스 이름 문자열)는 생성 코드에서 Class<?> 빈 주입으로 바뀌므로
+ *   AOT 처리 전에 실제 매퍼 인터페이스와 제네릭 타입을 빈 정의에 고정
+ * AOT 없이 실행할 때는 빈 정의가 이미 풀려 있어 아무것도 바꾸지 않음
+ */
+@Configuration
+public class MyBatisAotConfig {
+
+    @Bean
+    static MergedBeanDefinitionPostProcessor mapperFactoryBeanTypeResolver() {
+        return (beanDefinition, beanType, beanName) -> resolveMapperType(beanDefinition);
+    }
+
+    private static void resolveMapperType(RootBeanDefinition beanDefinition) {
+        if (!beanDefinition.hasBeanClass() || !MapperFactoryBean.class.isAssignableFrom(beanDefinition.getBeanClass())) return;
+        if (!beanDefinition.getResolvableType().hasUnresolvableGenerics()) return;
+        if (!(beanDefinition.getPropertyValues().get("mapperInterface") instanceof Class<?> mapperInterface)) return;
+
+        ConstructorArgumentValues args = new ConstructorArgumentValues();
+        args.addGenericArgumentValue(mapperInterface);
+        beanDefinition.setConstructorArgumentValues(args);
+        beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(beanDefinition.getBeanClass(), mapperInterface));
+    }
+
+    /**
+     * 등록: META-INF/spring/aot.factories
+     */
+    static class MapperScannerExcludeFilter implements BeanRegistrationExcludeFilter {
+
+        @Override
+        public boolean isExcludedFromAotProcessing(RegisteredBean registeredBean) {
+            return MapperScannerConfigurer.class == registeredBean.getBeanClass();
+        }
+    }
+}
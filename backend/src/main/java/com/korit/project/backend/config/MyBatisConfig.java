@@ -0,0 +1,31 @@
+package com.korit.project.backend.config;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * SqlSessionTemplate 두 개
+ * - sqlSessionTemplate (기본, @Primary): 모든 @Mapper 가 사용
+ *   SqlSessionTemplate 빈을 하나라도 직접 등록하면 자동 설정이 빠지므로 여기서 같이 등록
+ * - batchSqlSessionTemplate (ExecutorType.BATCH): 같은 UPDATE를 수백 번 보내는 일괄 편집용
+ *   문장을 모았다가 flushStatements()/커밋 시 JDBC batch로 전송 (rewriteBatchedStatements=true 이면 다중 행으로 재작성)
+ *   같은 트랜잭션 안에서 두 템플릿을 섞으면 MyBatis가 예외를 던지므로 한 트랜잭션에서는 하나만 사용
+ */
+@Configuration
+public class MyBatisConfig {
+
+    @Bean
+    @Primary
+    public SqlSessionTemplate sqlSessionTemplate(SqlSessionFactory sqlSessionFactory) {
+        return new SqlSessionTemplate(sqlSessionFactory);
+    }
+
+    @Bean
+    public SqlSessionTemplate batchSqlSessionTemplate(SqlSessionFactory sqlSessionFactory) {
+        return new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    }
+}
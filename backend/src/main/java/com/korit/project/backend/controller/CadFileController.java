@@ -1,17 +1,31 @@
 package com.korit.project.backend.controller;
 
+import com.korit.project.backend.dto.InterferenceReport;
 import com.korit.project.backend.dto.resp.ApiRespDto;
 import com.korit.project.backend.service.CadFileService;
+import com.korit.project.backend.service.InterferenceService;
+import com.korit.project.backend.service.PartColumnarEncoder;
+import com.korit.project.backend.service.PartService;
+import com.korit.project.backend.service.ThumbnailService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * CAD 파일 관리 Controller
@@ -22,13 +36,44 @@ import java.io.File;
 public class CadFileController {
 
     private final CadFileService cadFileService;
+    private final PartService partService;
+    private final ThumbnailService thumbnailService;
+    private final InterferenceService interferenceService;
 
     /**
      * CAD 파일 업로드
+     * - quality: DRAFT / STANDARD(기본) / FINE (STEP/IGES 테셀레이션 품질)
      */
     @PostMapping("/upload")
-    public ResponseEntity<ApiRespDto<?>> uploadCadFile(@RequestParam("file") MultipartFile file) {
-        ApiRespDto<?> response = cadFileService.uploadCadFile(file);
+    public ResponseEntity<ApiRespDto<?>> uploadCadFile(@RequestParam("file") MultipartFile file,
+                                                       @RequestParam(value = "quality", required = false) String quality) {
+        ApiRespDto<?> response = cadFileService.uploadCadFile(file, quality);
+        if ("failed".equals(response.getStatus())) {
+            throw new RuntimeException(response.getMessage());
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 일괄 업로드 (여러 파일 또는 ZIP, 같은 files 파라미터로 전송)
+     * - 진행률은 응답의 batchId로 GET /batches/{batchId}
+     */
+    @PostMapping("/upload/batch")
+    public ResponseEntity<ApiRespDto<?>> uploadBatch(@RequestParam("files") List<MultipartFile> files,
+                                                     @RequestParam(value = "quality", required = false) String quality) {
+        ApiRespDto<?> response = cadFileService.uploadBatch(files, quality);
+        if ("failed".equals(response.getStatus())) {
+            throw new RuntimeException(response.getMessage());
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 일괄 업로드 진행률 조회
+     */
+    @GetMapping("/batches/{batchId}")
+    public ResponseEntity<ApiRespDto<?>> getBatch(@PathVariable String batchId) {
+        ApiRespDto<?> response = cadFileService.getBatch(batchId);
         if ("failed".equals(response.getStatus())) {
             throw new RuntimeException(response.getMessage());
         }
@@ -55,14 +100,50 @@ public class CadFileController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 부품 목록 조회 (JSON)
+     */
+    @GetMapping("/files/{id}/parts")
+    public ResponseEntity<ApiRespDto<?>> getParts(@PathVariable Long id) {
+        return ResponseEntity.ok(partService.getPartsByCadFileId(id));
+    }
+
+    /**
+     * 부품 목록 조회 (컬럼형 바이너리)
+     * - Accept: application/vnd.cad-parts.columnar 로 요청하면 /files/{id} 에서도 이 표현을 반환
+     */
+    @GetMapping(value = {"/files/{id}/parts", "/files/{id}"}, produces = PartColumnarEncoder.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> getPartsColumnar(@PathVariable Long id) {
+        PartColumnarEncoder encoder = cadFileService.getPartsColumnar(id);
+        if (encoder == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(PartColumnarEncoder.MEDIA_TYPE))
+                .contentLength(encoder.byteSize())
+                .body(encoder::writeTo);
+    }
+
     /**
      * GLB 파일 다운로드
      */
     @GetMapping("/files/{id}/glb")
-    public ResponseEntity<Resource> downloadGlbFile(@PathVariable Long id) {
+    public ResponseEntity<?> downloadGlbFile(@PathVariable Long id) {
         File glbFile = cadFileService.getGlbFile(id);
         if (!glbFile.exists()) {
-            return ResponseEntity.notFound().build();
+            // 수명주기 관리로 축출된 GLB면 재생성 후 재시도하도록 안내
+            switch (cadFileService.requestGlbRegeneration(id)) {
+                case PENDING:
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, "5")
+                            .build();
+                case FAILED:
+                    // 재생성이 실패해 backoff 중이거나 한도 도달: 재시도를 유도하지 않음 (원인은 파일 상세의 errorMessage)
+                    return ResponseEntity.status(HttpStatus.GONE)
+                            .body(new ApiRespDto<>("failed", "GLB 재생성에 실패했습니다: ID=" + id, null));
+                default:
+                    return ResponseEntity.notFound().build();
+            }
         }
 
         Resource resource = new FileSystemResource(glbFile);
@@ -71,4 +152,50 @@ public class CadFileController {
                 .header(HttpHeaders.CACHE_CONTROL, "no-cache")
                 .body(resource);
     }
+
+    /**
+     * 썸네일 PNG (frame 지정 시 turntable 프레임)
+     * - 파일 크기/수정 시각 기반 ETag → 목록 새로고침 시 304
+     */
+    @GetMapping(value = "/files/{id}/thumbnail", produces = MediaType.IMAGE_PNG_VALUE)
+    public ResponseEntity<Resource> getThumbnail(@PathVariable Long id,
+                                                 @RequestParam(value = "frame", required = false) Integer frame,
+                                                 WebRequest request) throws IOException {
+        Path thumbnail = thumbnailService.getThumbnail(id, frame);
+        if (thumbnail == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String etag = "\"" + Long.toHexString(Files.getLastModifiedTime(thumbnail).toMillis())
+                + "-" + Long.toHexString(Files.size(thumbnail)) + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofHours(1)).cachePublic();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .cacheControl(cacheControl)
+                .eTag(etag)
+                .body(new FileSystemResource(thumbnail));
+    }
+
+    /**
+     * 부품 간 간섭/여유 거리 검사
+     * - clearance(모델 단위, 기본 0 = 관통만): 이 거리보다 가까운 부품 쌍도 보고
+     * - 결과가 캐시에 없으면 분석을 시작하고, 오래 걸리면 202 + Retry-After (같은 요청으로 다시 조회)
+     */
+    @GetMapping("/files/{id}/interference")
+    public ResponseEntity<ApiRespDto<?>> getInterference(@PathVariable Long id,
+                                                         @RequestParam(value = "clearance", defaultValue = "0") double clearance) {
+        ApiRespDto<InterferenceReport> response = interferenceService.getReport(id, clearance);
+        if ("failed".equals(response.getStatus())) {
+            throw new RuntimeException(response.getMessage());
+        }
+        if ("RUNNING".equals(response.getData().getStatus())) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.RETRY_AFTER, "2")
+                    .body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
 }
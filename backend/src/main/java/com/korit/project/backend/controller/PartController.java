@@ -1,8 +1,11 @@
 package com.korit.project.backend.controller;
 
 import com.korit.project.backend.dto.NoteRequest;
+import com.korit.project.backend.dto.PartBulkEditRequest;
 import com.korit.project.backend.dto.PartRenameRequest;
 import com.korit.project.backend.dto.resp.ApiRespDto;
+import com.korit.project.backend.service.PartBulkEditService;
+import com.korit.project.backend.service.PartEditCoalescer;
 import com.korit.project.backend.service.PartService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +20,23 @@ import org.springframework.web.bind.annotation.*;
 public class PartController {
 
     private final PartService partService;
+    private final PartBulkEditService partBulkEditService;
+    private final PartEditCoalescer partEditCoalescer;
+
+    /**
+     * 부품 검색 (전체 CAD 파일 대상, cadFileId로 범위 제한 가능)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiRespDto<?>> searchParts(@RequestParam("q") String q,
+                                                     @RequestParam(value = "cadFileId", required = false) Long cadFileId,
+                                                     @RequestParam(value = "page", defaultValue = "0") int page,
+                                                     @RequestParam(value = "size", defaultValue = "20") int size) {
+        ApiRespDto<?> response = partService.searchParts(q, cadFileId, page, size);
+        if ("failed".equals(response.getStatus())) {
+            throw new RuntimeException(response.getMessage());
+        }
+        return ResponseEntity.ok(response);
+    }
 
     /**
      * 부품 상세 조회
@@ -59,4 +79,22 @@ public class PartController {
         ApiRespDto<?> response = partService.renamePart(id, request.getDisplayName());
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 부품 일괄 편집 (표시명/메모)
+     * - writeBehind=true: 접수만 하고 202, 부품별 마지막 편집이 잠시 뒤 한 번에 저장됨
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiRespDto<?>> bulkEdit(@RequestBody PartBulkEditRequest request) {
+        if (request == null) {
+            throw new RuntimeException("편집할 항목이 없습니다.");
+        }
+        ApiRespDto<?> response = request.isWriteBehind()
+                ? partEditCoalescer.submit(request.getCadFileId(), request.getOperations())
+                : partBulkEditService.apply(request.getCadFileId(), request.getOperations());
+        if ("failed".equals(response.getStatus())) {
+            throw new RuntimeException(response.getMessage());
+        }
+        return request.isWriteBehind() ? ResponseEntity.accepted().body(response) : ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,26 @@
+package com.korit.project.backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 일괄 업로드 결과 / 진행률
+ */
+@Data
+public class CadBatchResponse {
+    private String batchId;
+    private int total;
+    private int uploading;
+    private int processing;
+    private int completed;
+    private int failed;
+
+    // 모든 파일이 COMPLETED 또는 FAILED
+    private boolean done;
+
+    // 업로드 시 건너뛴 항목 (지원하지 않는 확장자, 빈 파일 등)
+    private List<String> skipped;
+
+    private List<CadFileResponse> files;
+}
@@ -12,5 +12,7 @@ public class CadFileResponse {
     private LocalDateTime uploadedAt;
     private Long fileSize;
     private String status;
+    private String qualityPreset;
+    private String errorMessage;
     private List<PartResponse> parts;
 }
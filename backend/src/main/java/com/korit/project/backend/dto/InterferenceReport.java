@@ -0,0 +1,40 @@
+package com.korit.project.backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 부품 간 간섭/여유 거리 검사 결과 (cad 파일 + clearance 별로 캐시)
+ */
+@Data
+public class InterferenceReport {
+    private Long cadFileId;
+    private double clearance;
+
+    // RUNNING / COMPLETED / FAILED
+    private String status;
+    private String message;
+
+    private int partCount;
+    private int candidatePairs;     // bbox broad phase 통과 쌍
+    private int skippedParts;       // bbox가 없거나 GLB에서 메시를 찾지 못한 부품 (조립품 노드 등)
+    private long elapsedMs;
+    private String analyzedAt;      // ISO-8601
+
+    private List<Pair> pairs;
+
+    @Data
+    public static class Pair {
+        private Long partIdA;
+        private String partKeyA;
+        private String nameA;
+        private Long partIdB;
+        private String partKeyB;
+        private String nameB;
+
+        // INTERFERENCE: 관통, CLEARANCE: 여유 거리 미달(맞닿음 포함)
+        private String type;
+        private double minDistance;
+    }
+}
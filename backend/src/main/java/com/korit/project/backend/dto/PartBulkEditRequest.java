@@ -0,0 +1,27 @@
+package com.korit.project.backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 부품 일괄 편집 요청
+ * - 각 작업은 partId 또는 (cadFileId, partKey)로 부품 지정 (작업의 cadFileId가 없으면 요청의 cadFileId)
+ * - displayName / note 중 null인 항목은 변경하지 않음 (displayName "" 은 원래 이름으로 되돌림)
+ * - writeBehind=true 이면 바로 저장하지 않고 짧은 구간 동안 부품별 마지막 편집만 모아서 저장
+ */
+@Data
+public class PartBulkEditRequest {
+    private Long cadFileId;
+    private boolean writeBehind;
+    private List<Operation> operations;
+
+    @Data
+    public static class Operation {
+        private Long partId;
+        private Long cadFileId;
+        private String partKey;
+        private String displayName;
+        private String note;
+    }
+}
@@ -0,0 +1,26 @@
+package com.korit.project.backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 부품 일괄 편집 결과
+ */
+@Data
+public class PartBulkEditResult {
+    // 요청된 작업 수
+    private int requested;
+
+    // 같은 부품 편집을 합친 뒤 남은 부품 수
+    private int parts;
+
+    private int renamed;
+    private int notesSaved;
+
+    // write-behind로 접수만 된 경우 true (renamed/notesSaved는 0)
+    private boolean deferred;
+
+    // 찾지 못한 부품 (partId 또는 cadFileId:partKey)
+    private List<String> unresolved;
+}
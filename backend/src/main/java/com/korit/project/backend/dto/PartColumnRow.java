@@ -0,0 +1,25 @@
+package com.korit.project.backend.dto;
+
+import lombok.Data;
+
+/**
+ * 컬럼형(바이너리) 부품 응답 인코딩용 행
+ * - PartResponse를 만들지 않고 DB 커서에서 바로 인코더로 넘김
+ */
+@Data
+public class PartColumnRow {
+    private Long id;
+    private String name;
+    private String displayName;
+    private String partKey;
+    private Integer nodeIndex;
+
+    private Double positionX;
+    private Double positionY;
+    private Double positionZ;
+    private Double sizeX;
+    private Double sizeY;
+    private Double sizeZ;
+
+    private String note;
+}
@@ -22,9 +22,21 @@ public class PartMetadata {
         private Double[] position;
         private Double[] size;
 
+        // bbox 사전 패스(--bbox-only)에서만 채워짐: 테셀레이션 계획용 표면적 + 로컬 좌표계 bbox 크기
+        private Double area;
+        private Double[] localSize;
+
+        // 형상 중복 제거: 같은 meshId는 같은 메시 파일을 공유, transform(행 우선 4x4)으로 배치
+        private String meshId;
+        private Double[] transform;
+
         // ✅ 선택: 있어도 되고 없어도 됨
         // - 지금은 DB에 저장 안 해도 됨
         // - 하지만 디버깅/확장 대비로 DTO에만 받아두면 편함
         private String meshPath;
+
+        // 메시 단순화 단계(MeshSimplificationService)에서 채움
+        private Integer triangleCountOriginal;
+        private Integer triangleCount;
     }
 }
@@ -11,6 +11,9 @@ public class PartResponse {
     // ✅ 추가: GLB 노드 매핑용 키
     private String partKey;
     private Integer nodeIndex;
+    private String meshId;
+    private Integer triangleCountOriginal;
+    private Integer triangleCount;
 
     private Double positionX;
     private Double positionY;
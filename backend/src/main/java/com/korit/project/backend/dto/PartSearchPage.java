@@ -0,0 +1,16 @@
+package com.korit.project.backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PartSearchPage {
+    private List<PartSearchResponse> items;
+    private int page;
+    private int size;
+    private long total;
+
+    // BOOLEAN 검색 결과가 없어 ngram 부분 일치(NATURAL LANGUAGE)로 다시 찾은 경우 true
+    private boolean fuzzy;
+}
@@ -0,0 +1,17 @@
+package com.korit.project.backend.dto;
+
+import lombok.Data;
+
+@Data
+public class PartSearchResponse {
+    private Long partId;
+    private Long cadFileId;
+    private String originalFilename;
+
+    private String name;
+    private String displayName;
+    private String partKey;
+    private String note;
+
+    private Double score;
+}
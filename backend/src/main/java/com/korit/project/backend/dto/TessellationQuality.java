@@ -0,0 +1,29 @@
+package com.korit.project.backend.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 업로드 시 선택 가능한 테셀레이션 품질 프리셋
+ * - relativeDeflection: 부품 bbox 대각선 대비 LinearDeflection 비율
+ * - angularDeflection: AngularDeflection(rad)
+ * - triangleBudget: 전체 어셈블리 삼각형 예산(초과 시 모든 부품의 deflection을 같은 비율로 키움)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TessellationQuality {
+    DRAFT(0.01, 0.8, 300_000),
+    STANDARD(0.004, 0.5, 1_000_000),
+    FINE(0.0015, 0.3, 3_000_000);
+
+    private final double relativeDeflection;
+    private final double angularDeflection;
+    private final long triangleBudget;
+
+    public static TessellationQuality fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return STANDARD;
+        }
+        return TessellationQuality.valueOf(value.trim().toUpperCase());
+    }
+}
@@ -11,4 +11,31 @@ public class CadFile {
     private LocalDateTime uploadedAt;
     private Long fileSize;
     private String status; // UPLOADING, PROCESSING, COMPLETED, FAILED
+
+    // ✅ 아티팩트 수명주기
+    private String sourceFilePath;
+    private String coldFilePath;
+    private LocalDateTime lastAccessedAt;
+    private Boolean intermediatesPurged;
+    private Boolean glbEvicted;
+
+    // ✅ 변환 작업 점유(lease)
+    private String jobType; // CONVERT, REGENERATE
+    private Boolean regeneratePending; // GLB 재생성 대기/진행 중 (status는 COMPLETED 유지)
+    private Integer regenerateFailures; // 연속 재생성 실패 횟수
+    private LocalDateTime regenerateRetryAt; // 이 시각 전에는 재생성 재요청 거절
+    private String leaseOwner;
+
+    // ✅ 테셀레이션 품질 (DRAFT, STANDARD, FINE) + 실제 적용된 계획 요약(JSON)
+    private String qualityPreset;
+    private String tessellationParams;
+
+    // ✅ 업로드 원본 SHA-256 (동일 내용 변환 재사용)
+    private String contentHash;
+
+    // ✅ 일괄 업로드 묶음 ID
+    private String batchId;
+
+    // ✅ 마지막 실패의 워커 출력 tail
+    private String errorMessage;
 }
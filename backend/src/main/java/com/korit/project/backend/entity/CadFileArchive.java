@@ -0,0 +1,18 @@
+package com.korit.project.backend.entity;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class CadFileArchive {
+    private Long cadFileId;
+    private Integer formatVersion;
+    private Integer partCount;
+    private Integer noteCount;
+    private Long minPartId;
+    private Long maxPartId;
+
+    // PartArchiveCodec 압축 바이트
+    private byte[] data;
+    private LocalDateTime archivedAt;
+}
@@ -23,4 +23,11 @@ public class Part {
     private Double sizeX;
     private Double sizeY;
     private Double sizeZ;
+
+    // ✅ 공유 메시(인스턴싱) ID
+    private String meshId;
+
+    // ✅ 메시 단순화 전/후 삼각형 수
+    private Integer triangleCountOriginal;
+    private Integer triangleCount;
 }
@@ -0,0 +1,26 @@
+package com.korit.project.backend.mapper;
+
+import com.korit.project.backend.entity.CadFileArchive;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface CadFileArchiveMapper {
+    List<Long> findArchiveCandidates(@Param("inactiveDays") int inactiveDays, @Param("limit") int limit);
+
+    Long lockArchivableCadFile(@Param("id") Long id, @Param("inactiveDays") int inactiveDays);
+
+    void insertArchive(CadFileArchive archive);
+
+    CadFileArchive findByCadFileIdForUpdate(@Param("cadFileId") Long cadFileId);
+
+    List<Long> findCadFileIdsByPartId(@Param("partId") Long partId);
+
+    int deleteByCadFileId(@Param("cadFileId") Long cadFileId);
+
+    int insertSearchRows(@Param("cadFileId") Long cadFileId);
+
+    int deleteSearchRows(@Param("cadFileId") Long cadFileId);
+}
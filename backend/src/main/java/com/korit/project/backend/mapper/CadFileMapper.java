@@ -4,13 +4,110 @@ import com.korit.project.backend.entity.CadFile;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
 public interface CadFileMapper {
     void insertCadFile(CadFile cadFile);
+    int insertCadFiles(@Param("cadFiles") List<CadFile> cadFiles);
+    List<CadFile> findByBatchId(@Param("batchId") String batchId);
     CadFile findById(Long id);
     List<CadFile> findAll();
     void updateStatus(@Param("id") Long id, @Param("status") String status);
     void updateGlbPath(@Param("id") Long id, @Param("glbFilePath") String glbFilePath);
+    void updateTessellationParams(@Param("id") Long id, @Param("tessellationParams") String tessellationParams);
+
+    // ---- 아티팩트 수명주기 ----
+    int touchLastAccessed(@Param("id") Long id);
+
+    List<CadFile> findCompletedWithIntermediates(@Param("limit") int limit);
+
+    void markIntermediatesPurged(
+            @Param("id") Long id,
+            @Param("coldFilePath") String coldFilePath
+    );
+
+    List<CadFile> findEvictionCandidates(@Param("limit") int limit);
+
+    void updateGlbEvicted(@Param("id") Long id, @Param("glbEvicted") boolean glbEvicted);
+
+    int markGlbEvicted(@Param("id") Long id);
+
+    int clearColdFilePath(@Param("id") Long id);
+
+    int requeueGlbRegeneration(
+            @Param("id") Long id,
+            @Param("sourceFilePath") String sourceFilePath,
+            @Param("maxFailures") int maxFailures
+    );
+
+    int failRegeneration(
+            @Param("id") Long id,
+            @Param("owner") String owner,
+            @Param("backoffMinutes") int backoffMinutes
+    );
+
+    List<String> findAllSourceFilePaths();
+
+    List<String> findAllGlbFilePaths();
+
+    // ---- 변환 작업 점유(lease) ----
+    int claimPendingJobs(
+            @Param("owner") String owner,
+            @Param("leaseSeconds") int leaseSeconds,
+            @Param("limit") int limit,
+            @Param("maxAttempts") int maxAttempts
+    );
+
+    List<CadFile> findClaimedBy(@Param("owner") String owner);
+
+    int updateErrorMessage(
+            @Param("id") Long id,
+            @Param("owner") String owner,
+            @Param("errorMessage") String errorMessage
+    );
+
+    int extendLeases(
+            @Param("owner") String owner,
+            @Param("ids") Collection<Long> ids,
+            @Param("leaseSeconds") int leaseSeconds
+    );
+
+    int isLeaseHeldBy(@Param("id") Long id, @Param("owner") String owner);
+
+    String lockLeaseOwner(@Param("id") Long id);
+
+    int finishJob(
+            @Param("id") Long id,
+            @Param("owner") String owner,
+            @Param("status") String status
+    );
+
+    int failExhaustedJobs(
+            @Param("maxAttempts") int maxAttempts,
+            @Param("regenerateBackoffMinutes") int regenerateBackoffMinutes
+    );
+
+    int releaseLeases(@Param("owner") String owner);
+
+    // ---- 동일 내용 변환 재사용 ----
+    CadFile findReusableConversion(
+            @Param("contentHash") String contentHash,
+            @Param("qualityPreset") String qualityPreset,
+            @Param("excludeId") Long excludeId
+    );
+
+    int countEarlierConversionsElsewhere(
+            @Param("contentHash") String contentHash,
+            @Param("qualityPreset") String qualityPreset,
+            @Param("id") Long id,
+            @Param("owner") String owner
+    );
+
+    int deferJob(
+            @Param("id") Long id,
+            @Param("owner") String owner,
+            @Param("deferSeconds") int deferSeconds
+    );
 }
@@ -1,8 +1,11 @@
 package com.korit.project.backend.mapper;
 
+import com.korit.project.backend.dto.PartColumnRow;
+import com.korit.project.backend.dto.PartSearchResponse;
 import com.korit.project.backend.entity.Part;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 
@@ -10,12 +13,45 @@ import java.util.List;
 public interface PartMapper {
     void insertPart(Part part);
 
+    int insertParts(@Param("parts") List<Part> parts);
+
+    int insertPartsWithIds(@Param("parts") List<Part> parts);
+
+    int updateParentPartId(@Param("id") Long id, @Param("parentPartId") Long parentPartId);
+
+    int copyParts(@Param("sourceCadFileId") Long sourceCadFileId, @Param("targetCadFileId") Long targetCadFileId);
+
     int deleteByCadFileId(@Param("cadFileId") Long cadFileId);
 
     Part findById(@Param("id") Long id);
 
     List<Part> findByCadFileId(@Param("cadFileId") Long cadFileId);
 
+    List<Long> lockIdsByCadFileId(@Param("cadFileId") Long cadFileId);
+
+    List<Part> findEditKeysByIds(@Param("ids") List<Long> ids);
+
+    List<Part> findEditKeysByCadFileIdAndPartKeys(
+            @Param("cadFileId") Long cadFileId,
+            @Param("partKeys") List<String> partKeys
+    );
+
+    void scanColumnRowsByCadFileId(@Param("cadFileId") Long cadFileId, ResultHandler<PartColumnRow> handler);
+
+    List<PartSearchResponse> searchParts(
+            @Param("query") String query,
+            @Param("booleanMode") boolean booleanMode,
+            @Param("cadFileId") Long cadFileId,
+            @Param("limit") int limit,
+            @Param("offset") int offset
+    );
+
+    long countSearchParts(
+            @Param("query") String query,
+            @Param("booleanMode") boolean booleanMode,
+            @Param("cadFileId") Long cadFileId
+    );
+
     void updateDisplayNameById(
             @Param("id") Long id,
             @Param("displayName") String displayName
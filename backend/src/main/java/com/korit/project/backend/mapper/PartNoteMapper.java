@@ -2,10 +2,15 @@ package com.korit.project.backend.mapper;
 
 import com.korit.project.backend.entity.PartNote;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 @Mapper
 public interface PartNoteMapper {
     void insertOrUpdateNote(PartNote partNote);
+    int upsertNotes(@Param("notes") List<PartNote> notes);
     PartNote findByPartId(Long partId);
+    List<PartNote> findByCadFileId(@Param("cadFileId") Long cadFileId);
     void deleteByPartId(Long partId);
 }
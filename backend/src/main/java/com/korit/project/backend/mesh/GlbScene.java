@@ -0,0 +1,240 @@
+package com.korit.project.backend.mesh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GLB(glTF 2.0 binary) 읽기: 노드 계층을 펼쳐 (노드 이름, 메시, 월드 변환) 목록으로
+ * - 삼각형 primitive(mode 4)의 POSITION + indices만 사용 (재질/법선/UV는 무시)
+ * - 같은 mesh를 여러 노드가 쓰면(형상 중복 제거 인스턴싱) TriangleMesh를 공유 → 메모리는 GLB 크기 수준
+ * - 월드 변환은 열 우선(column-major) 4x4, glTF와 같은 규칙
+ */
+public final class GlbScene {
+
+    private static final int GLB_MAGIC = 0x46546C67; // "glTF"
+    private static final int CHUNK_JSON = 0x4E4F534A;
+    private static final int CHUNK_BIN = 0x004E4942;
+
+    private static final int FLOAT = 5126;
+    private static final int UNSIGNED_BYTE = 5121;
+    private static final int UNSIGNED_SHORT = 5123;
+    private static final int UNSIGNED_INT = 5125;
+
+    private final List<Instance> instances;
+
+    private GlbScene(List<Instance> instances) {
+        this.instances = instances;
+    }
+
+    public List<Instance> instances() {
+        return instances;
+    }
+
+    public long triangleCount() {
+        long n = 0;
+        for (Instance i : instances) n += i.mesh().triangleCount();
+        return n;
+    }
+
+    /**
+     * @param name   노드 이름 (parts_to_glb.py --node-name partKey 이면 partKey)
+     * @param matrix 월드 변환 (column-major 4x4)
+     */
+    public record Instance(String name, TriangleMesh mesh, double[] matrix) {
+    }
+
+    public static GlbScene read(Path path, ObjectMapper objectMapper) throws IOException {
+        byte[] bytes;
+        try (InputStream in = Files.newInputStream(path)) {
+            bytes = in.readAllBytes();
+        }
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length < 20 || buf.getInt(0) != GLB_MAGIC) {
+            throw new IOException("GLB 형식이 아닙니다: " + path);
+        }
+
+        JsonNode gltf = null;
+        ByteBuffer bin = null;
+        int offset = 12;
+        while (offset + 8 <= bytes.length) {
+            int length = buf.getInt(offset);
+            int type = buf.getInt(offset + 4);
+            int start = offset + 8;
+            if (start + length > bytes.length) throw new IOException("GLB chunk 길이 오류: " + path);
+            if (type == CHUNK_JSON) {
+                gltf = objectMapper.readTree(new String(bytes, start, length, StandardCharsets.UTF_8));
+            } else if (type == CHUNK_BIN && bin == null) {
+                bin = ByteBuffer.wrap(bytes, start, length).slice().order(ByteOrder.LITTLE_ENDIAN);
+            }
+            offset = start + length;
+        }
+        if (gltf == null) throw new IOException("GLB JSON chunk가 없습니다: " + path);
+
+        return new Reader(gltf, bin).read();
+    }
+
+    private static final class Reader {
+        private final JsonNode gltf;
+        private final ByteBuffer bin;
+        private final Map<Integer, List<TriangleMesh>> meshCache = new HashMap<>();
+        private final List<Instance> out = new ArrayList<>();
+
+        Reader(JsonNode gltf, ByteBuffer bin) {
+            this.gltf = gltf;
+            this.bin = bin;
+        }
+
+        GlbScene read() {
+            JsonNode nodes = gltf.path("nodes");
+            int sceneIndex = gltf.path("scene").asInt(0);
+            JsonNode scene = gltf.path("scenes").path(sceneIndex);
+            if (scene.has("nodes")) {
+                for (JsonNode r : scene.get("nodes")) visit(nodes, r.asInt(), identity(), 0);
+            } else {
+                // scene이 없으면 부모가 없는 노드를 루트로
+                boolean[] child = new boolean[nodes.size()];
+                for (JsonNode n : nodes) {
+                    for (JsonNode c : n.path("children")) child[c.asInt()] = true;
+                }
+                for (int i = 0; i < nodes.size(); i++) {
+                    if (!child[i]) visit(nodes, i, identity(), 0);
+                }
+            }
+            return new GlbScene(out);
+        }
+
+        private void visit(JsonNode nodes, int index, double[] parent, int depth) {
+            if (depth > 64 || index < 0 || index >= nodes.size()) return; // 순환 참조 방지
+            JsonNode node = nodes.get(index);
+            double[] world = multiply(parent, localMatrix(node));
+
+            if (node.has("mesh")) {
+                String name = node.path("name").asText(null);
+                for (TriangleMesh m : mesh(node.get("mesh").asInt())) {
+                    out.add(new Instance(name, m, world));
+                }
+            }
+            for (JsonNode c : node.path("children")) {
+                visit(nodes, c.asInt(), world, depth + 1);
+            }
+        }
+
+        private List<TriangleMesh> mesh(int meshIndex) {
+            return meshCache.computeIfAbsent(meshIndex, i -> {
+                List<TriangleMesh> prims = new ArrayList<>();
+                if (bin == null) return prims;
+                for (JsonNode prim : gltf.path("meshes").path(i).path("primitives")) {
+                    if (prim.path("mode").asInt(4) != 4) continue;
+                    JsonNode pos = prim.path("attributes").path("POSITION");
+                    if (pos.isMissingNode()) continue;
+
+                    float[] positions = readFloats(pos.asInt(), 3);
+                    int[] indices;
+                    if (prim.has("indices")) {
+                        indices = readIndices(prim.get("indices").asInt());
+                    } else {
+                        indices = new int[positions.length / 3];
+                        for (int k = 0; k < indices.length; k++) indices[k] = k;
+                    }
+                    if (indices.length >= 3) {
+                        prims.add(new TriangleMesh(positions, indices.length % 3 == 0
+                                ? indices : Arrays.copyOf(indices, indices.length - indices.length % 3)));
+                    }
+                }
+                return prims;
+            });
+        }
+
+        private float[] readFloats(int accessorIndex, int components) {
+            JsonNode acc = gltf.path("accessors").path(accessorIndex);
+            if (acc.path("componentType").asInt() != FLOAT) {
+                throw new IllegalStateException("지원하지 않는 POSITION 형식: " + acc.path("componentType").asInt());
+            }
+            int count = acc.path("count").asInt();
+            JsonNode view = gltf.path("bufferViews").path(acc.path("bufferView").asInt());
+            int base = view.path("byteOffset").asInt(0) + acc.path("byteOffset").asInt(0);
+            int stride = view.path("byteStride").asInt(components * 4);
+
+            float[] out = new float[count * components];
+            for (int i = 0; i < count; i++) {
+                int p = base + i * stride;
+                for (int c = 0; c < components; c++) {
+                    out[i * components + c] = bin.getFloat(p + c * 4);
+                }
+            }
+            return out;
+        }
+
+        private int[] readIndices(int accessorIndex) {
+            JsonNode acc = gltf.path("accessors").path(accessorIndex);
+            int type = acc.path("componentType").asInt();
+            int count = acc.path("count").asInt();
+            JsonNode view = gltf.path("bufferViews").path(acc.path("bufferView").asInt());
+            int base = view.path("byteOffset").asInt(0) + acc.path("byteOffset").asInt(0);
+
+            int[] out = new int[count];
+            for (int i = 0; i < count; i++) {
+                out[i] = switch (type) {
+                    case UNSIGNED_BYTE -> bin.get(base + i) & 0xFF;
+                    case UNSIGNED_SHORT -> bin.getShort(base + i * 2) & 0xFFFF;
+                    case UNSIGNED_INT -> bin.getInt(base + i * 4);
+                    default -> throw new IllegalStateException("지원하지 않는 indices 형식: " + type);
+                };
+            }
+            return out;
+        }
+    }
+
+    // ---- 4x4 (column-major) ----
+
+    static double[] identity() {
+        return new double[]{1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1};
+    }
+
+    private static double[] localMatrix(JsonNode node) {
+        if (node.has("matrix") && node.get("matrix").size() == 16) {
+            double[] m = new double[16];
+            for (int i = 0; i < 16; i++) m[i] = node.get("matrix").get(i).asDouble();
+            return m;
+        }
+        JsonNode t = node.path("translation");
+        JsonNode r = node.path("rotation");
+        JsonNode s = node.path("scale");
+        double tx = t.path(0).asDouble(0), ty = t.path(1).asDouble(0), tz = t.path(2).asDouble(0);
+        double qx = r.path(0).asDouble(0), qy = r.path(1).asDouble(0), qz = r.path(2).asDouble(0), qw = r.path(3).asDouble(1);
+        double sx = s.path(0).asDouble(1), sy = s.path(1).asDouble(1), sz = s.path(2).asDouble(1);
+
+        // T * R * S
+        return new double[]{
+                (1 - 2 * (qy * qy + qz * qz)) * sx, (2 * (qx * qy + qz * qw)) * sx, (2 * (qx * qz - qy * qw)) * sx, 0,
+                (2 * (qx * qy - qz * qw)) * sy, (1 - 2 * (qx * qx + qz * qz)) * sy, (2 * (qy * qz + qx * qw)) * sy, 0,
+                (2 * (qx * qz + qy * qw)) * sz, (2 * (qy * qz - qx * qw)) * sz, (1 - 2 * (qx * qx + qy * qy)) * sz, 0,
+                tx, ty, tz, 1
+        };
+    }
+
+    static double[] multiply(double[] a, double[] b) {
+        double[] m = new double[16];
+        for (int col = 0; col < 4; col++) {
+            for (int row = 0; row < 4; row++) {
+                double v = 0;
+                for (int k = 0; k < 4; k++) v += a[k * 4 + row] * b[col * 4 + k];
+                m[col * 4 + row] = v;
+            }
+        }
+        return m;
+    }
+}
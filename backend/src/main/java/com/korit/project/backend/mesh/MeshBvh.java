@@ -0,0 +1,277 @@
+package com.korit.project.backend.mesh;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 부품 하나의 월드 좌표 삼각형 BVH (축 정렬 bbox 트리, primitive 배열)
+ * - 노드 i: bounds[i*6 .. i*6+5] = min xyz, max xyz
+ *   · 내부 노드: first[i] = 왼쪽 자식(오른쪽은 +1), count[i] = 0
+ *   · 잎 노드: first[i] = tris 시작 위치, count[i] = 삼각형 수
+ * - 두 BVH를 동시에 내려가며 clearance 안쪽 삼각형 쌍만 검사
+ */
+public final class MeshBvh {
+
+    private static final int LEAF_SIZE = 4;
+
+    private final float[] v;      // 월드 좌표 (3V)
+    private final int[] corner;   // 삼각형 꼭짓점 오프셋(= 정점 인덱스 * 3), 3T
+    private final int[] tris;     // 잎 순서로 정렬된 삼각형 번호
+    private float[] bounds;
+    private int[] first;
+    private int[] count;
+    private int nodeCount;
+
+    private MeshBvh(float[] v, int[] corner) {
+        this.v = v;
+        this.corner = corner;
+        int t = corner.length / 3;
+        this.tris = new int[t];
+        for (int i = 0; i < t; i++) tris[i] = i;
+        int cap = Math.max(1, 2 * t / LEAF_SIZE + 1);
+        this.bounds = new float[cap * 6];
+        this.first = new int[cap];
+        this.count = new int[cap];
+    }
+
+    public int triangleCount() {
+        return tris.length;
+    }
+
+    /**
+     * GLB 인스턴스들(같은 부품의 primitive들)을 월드 좌표로 펼쳐서 BVH 생성
+     */
+    public static MeshBvh build(List<GlbScene.Instance> instances) {
+        int vertices = 0, corners = 0;
+        for (GlbScene.Instance inst : instances) {
+            vertices += inst.mesh().vertexCount();
+            corners += inst.mesh().indices().length;
+        }
+        float[] v = new float[vertices * 3];
+        int[] corner = new int[corners];
+
+        int vBase = 0, c = 0;
+        for (GlbScene.Instance inst : instances) {
+            double[] w = inst.matrix();
+            float[] p = inst.mesh().positions();
+            for (int i = 0; i < p.length; i += 3) {
+                int o = vBase * 3 + i;
+                v[o] = (float) (w[0] * p[i] + w[4] * p[i + 1] + w[8] * p[i + 2] + w[12]);
+                v[o + 1] = (float) (w[1] * p[i] + w[5] * p[i + 1] + w[9] * p[i + 2] + w[13]);
+                v[o + 2] = (float) (w[2] * p[i] + w[6] * p[i + 1] + w[10] * p[i + 2] + w[14]);
+            }
+            for (int index : inst.mesh().indices()) corner[c++] = (vBase + index) * 3;
+            vBase += inst.mesh().vertexCount();
+        }
+
+        MeshBvh bvh = new MeshBvh(v, corner);
+        if (corner.length > 0) bvh.buildTree();
+        return bvh;
+    }
+
+    private void buildTree() {
+        float[] centroid = new float[tris.length * 3];
+        for (int t = 0; t < tris.length; t++) {
+            for (int axis = 0; axis < 3; axis++) {
+                centroid[t * 3 + axis] = (v[corner[t * 3] + axis] + v[corner[t * 3 + 1] + axis] + v[corner[t * 3 + 2] + axis]) / 3f;
+            }
+        }
+
+        // (노드, 시작, 끝) 스택으로 재귀 없이 분할
+        int[] stack = new int[64 * 3];
+        int sp = 0;
+        nodeCount = 1;
+        stack[sp++] = 0;
+        stack[sp++] = 0;
+        stack[sp++] = tris.length;
+
+        while (sp > 0) {
+            int end = stack[--sp], start = stack[--sp], node = stack[--sp];
+            fitBounds(node, start, end);
+
+            int n = end - start;
+            if (n <= LEAF_SIZE) {
+                first[node] = start;
+                count[node] = n;
+                continue;
+            }
+
+            // 중심점 bbox의 가장 긴 축 기준 중앙값 분할
+            float[] cb = centroidBounds(centroid, start, end);
+            int axis = 0;
+            float extent = cb[3] - cb[0];
+            if (cb[4] - cb[1] > extent) {
+                axis = 1;
+                extent = cb[4] - cb[1];
+            }
+            if (cb[5] - cb[2] > extent) axis = 2;
+
+            int mid = (start + end) >>> 1;
+            select(centroid, axis, start, end - 1, mid);
+
+            int left = nodeCount;
+            nodeCount += 2;
+            ensureCapacity(nodeCount);
+            first[node] = left;
+            count[node] = 0;
+
+            if (sp + 6 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+            stack[sp++] = left;
+            stack[sp++] = start;
+            stack[sp++] = mid;
+            stack[sp++] = left + 1;
+            stack[sp++] = mid;
+            stack[sp++] = end;
+        }
+    }
+
+    private void fitBounds(int node, int start, int end) {
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, minZ = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE, maxZ = -Float.MAX_VALUE;
+        for (int i = start; i < end; i++) {
+            int t = tris[i];
+            for (int k = 0; k < 3; k++) {
+                int o = corner[t * 3 + k];
+                minX = Math.min(minX, v[o]);
+                minY = Math.min(minY, v[o + 1]);
+                minZ = Math.min(minZ, v[o + 2]);
+                maxX = Math.max(maxX, v[o]);
+                maxY = Math.max(maxY, v[o + 1]);
+                maxZ = Math.max(maxZ, v[o + 2]);
+            }
+        }
+        int b = node * 6;
+        bounds[b] = minX;
+        bounds[b + 1] = minY;
+        bounds[b + 2] = minZ;
+        bounds[b + 3] = maxX;
+        bounds[b + 4] = maxY;
+        bounds[b + 5] = maxZ;
+    }
+
+    private float[] centroidBounds(float[] centroid, int start, int end) {
+        float[] cb = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        for (int i = start; i < end; i++) {
+            int o = tris[i] * 3;
+            for (int axis = 0; axis < 3; axis++) {
+                cb[axis] = Math.min(cb[axis], centroid[o + axis]);
+                cb[axis + 3] = Math.max(cb[axis + 3], centroid[o + axis]);
+            }
+        }
+        return cb;
+    }
+
+    // quickselect: tris[lo..hi]를 k번째 원소 기준으로 분할 (축 중심 좌표)
+    private void select(float[] centroid, int axis, int lo, int hi, int k) {
+        while (hi > lo) {
+            float pivot = centroid[tris[(lo + hi) >>> 1] * 3 + axis];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (centroid[tris[i] * 3 + axis] < pivot) i++;
+                while (centroid[tris[j] * 3 + axis] > pivot) j--;
+                if (i <= j) {
+                    int tmp = tris[i];
+                    tris[i] = tris[j];
+                    tris[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else return;
+        }
+    }
+
+    private void ensureCapacity(int nodes) {
+        if (nodes <= first.length) return;
+        int cap = Math.max(nodes, first.length * 2);
+        bounds = Arrays.copyOf(bounds, cap * 6);
+        first = Arrays.copyOf(first, cap);
+        count = Arrays.copyOf(count, cap);
+    }
+
+    /**
+     * 삼각형이 서로 관통하는지 (면끼리 맞닿기만 한 경우는 false)
+     */
+    public boolean intersects(MeshBvh other) {
+        return traverse(other, 0, true) == 0;
+    }
+
+    /**
+     * 두 부품 사이 최소 거리 (limit 이상이면 limit 반환, 관통/접촉이면 0)
+     * - limit 안쪽만 정확히 계산: bbox 거리가 현재 최소값보다 큰 노드 쌍은 건너뜀
+     */
+    public double distance(MeshBvh other, double limit) {
+        return traverse(other, limit, false);
+    }
+
+    private double traverse(MeshBvh other, double limit, boolean intersectOnly) {
+        if (tris.length == 0 || other.tris.length == 0) return intersectOnly ? -1 : limit;
+
+        double bestSq = limit * limit;
+        int[] stack = new int[128];
+        int sp = 0;
+        stack[sp++] = 0;
+        stack[sp++] = 0;
+
+        while (sp > 0) {
+            int b = stack[--sp], a = stack[--sp];
+            if (boxDistanceSq(bounds, a, other.bounds, b) > bestSq) continue;
+
+            boolean leafA = count[a] > 0, leafB = other.count[b] > 0;
+            if (leafA && leafB) {
+                for (int i = first[a]; i < first[a] + count[a]; i++) {
+                    int ta = tris[i] * 3;
+                    for (int j = other.first[b]; j < other.first[b] + other.count[b]; j++) {
+                        int tb = other.tris[j] * 3;
+                        if (intersectOnly) {
+                            if (TriangleGeometry.intersects(v, corner[ta], corner[ta + 1], corner[ta + 2],
+                                    other.v, other.corner[tb], other.corner[tb + 1], other.corner[tb + 2])) {
+                                return 0;
+                            }
+                            continue;
+                        }
+                        double d = TriangleGeometry.distanceSq(v, corner[ta], corner[ta + 1], corner[ta + 2],
+                                other.v, other.corner[tb], other.corner[tb + 1], other.corner[tb + 2]);
+                        if (d == 0) return 0;
+                        if (d < bestSq) bestSq = d;
+                    }
+                }
+                continue;
+            }
+
+            if (sp + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+            // 더 큰 쪽(또는 잎이 아닌 쪽)을 내려감
+            if (leafB || (!leafA && volume(bounds, a) >= volume(other.bounds, b))) {
+                int l = first[a];
+                stack[sp++] = l;
+                stack[sp++] = b;
+                stack[sp++] = l + 1;
+                stack[sp++] = b;
+            } else {
+                int l = other.first[b];
+                stack[sp++] = a;
+                stack[sp++] = l;
+                stack[sp++] = a;
+                stack[sp++] = l + 1;
+            }
+        }
+        return intersectOnly ? -1 : Math.sqrt(bestSq);
+    }
+
+    private static double boxDistanceSq(float[] p, int a, float[] q, int b) {
+        int oa = a * 6, ob = b * 6;
+        double d = 0;
+        for (int axis = 0; axis < 3; axis++) {
+            double gap = Math.max(q[ob + axis] - p[oa + axis + 3], p[oa + axis] - q[ob + axis + 3]);
+            if (gap > 0) d += gap * gap;
+        }
+        return d;
+    }
+
+    private static double volume(float[] p, int n) {
+        int o = n * 6;
+        return (double) (p[o + 3] - p[o]) * (p[o + 4] - p[o + 1]) * (p[o + 5] - p[o + 2]);
+    }
+}
@@ -0,0 +1,447 @@
+package com.korit.project.backend.mesh;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Quadric Error Metrics(Garland-Heckbert) 기반 edge collapse 메시 단순화
+ * - 정점마다 평면 오차 quadric(4x4 대칭 → 10개 값)을 primitive 배열로 보관
+ * - 비용이 가장 작은 edge부터 접음 (binary heap, 오래된 항목은 정점 version으로 무시)
+ * - 멈춤 조건: 목표 삼각형 수 도달 또는 다음 collapse 오차가 maxError(거리)를 넘을 때
+ * - 열린 경계(edge를 삼각형 하나만 쓰는 경우)는 수직 평면 quadric으로 고정해 윤곽 유지
+ * - 면 뒤집힘이 생기는 collapse는 건너뜀
+ *
+ * 스레드 안전하지 않음: 호출마다 새 인스턴스 상태를 쓰므로 부품별 병렬 실행은 가능
+ */
+public final class QuadricSimplifier {
+
+    private static final double BOUNDARY_WEIGHT = 1000.0;
+    private static final double MIN_NORMAL_COS = 0.2;
+
+    private final double[] pos;       // 정점 좌표 (3V)
+    private final double[] quadric;   // 정점 quadric (10V)
+    private final int[] tri;          // 삼각형 정점 (3T)
+    private final boolean[] triDead;
+    private final boolean[] vertDead;
+    private final int[] version;
+
+    // 정점 → 삼각형 인접 목록 (collapse 때 합쳐짐, 죽은 삼각형은 필요할 때 정리)
+    private final int[][] adj;
+    private final int[] adjSize;
+
+    // 이웃 정점 중복 방지용 표시
+    private final int[] mark;
+    private int markStamp;
+
+    private final EdgeHeap heap = new EdgeHeap();
+    private int aliveTriangles;
+
+    private QuadricSimplifier(TriangleMesh mesh) {
+        int v = mesh.vertexCount();
+        int t = mesh.triangleCount();
+        float[] p = mesh.positions();
+
+        this.pos = new double[v * 3];
+        for (int i = 0; i < p.length; i++) pos[i] = p[i];
+        this.tri = Arrays.copyOf(mesh.indices(), t * 3);
+        this.quadric = new double[v * 10];
+        this.triDead = new boolean[t];
+        this.vertDead = new boolean[v];
+        this.version = new int[v];
+        this.adj = new int[v][];
+        this.adjSize = new int[v];
+        this.mark = new int[v];
+        this.aliveTriangles = t;
+    }
+
+    /**
+     * @param targetTriangles 목표 삼각형 수 (이하가 되면 멈춤)
+     * @param maxError        허용 오차(모델 단위 거리), 0 이하이면 무제한
+     */
+    public static TriangleMesh simplify(TriangleMesh mesh, int targetTriangles, double maxError) {
+        if (mesh.triangleCount() <= targetTriangles) return mesh;
+        QuadricSimplifier s = new QuadricSimplifier(mesh);
+        s.init();
+        s.run(targetTriangles, maxError > 0 ? maxError * maxError : Double.MAX_VALUE);
+        return s.compact();
+    }
+
+    private void init() {
+        int t = tri.length / 3;
+        int[] counts = new int[adj.length];
+        for (int i = 0; i < t; i++) {
+            int a = tri[i * 3], b = tri[i * 3 + 1], c = tri[i * 3 + 2];
+            if (a == b || b == c || a == c) {
+                triDead[i] = true;
+                aliveTriangles--;
+                continue;
+            }
+            counts[a]++;
+            counts[b]++;
+            counts[c]++;
+        }
+        for (int v = 0; v < adj.length; v++) adj[v] = new int[Math.max(counts[v], 4)];
+
+        // 면 quadric 누적 + 인접 목록 + edge 사용 횟수(경계 판별)
+        Map<Long, Integer> edgeUse = new HashMap<>(t * 2);
+        double[] plane = new double[4];
+        for (int i = 0; i < t; i++) {
+            if (triDead[i]) continue;
+            int a = tri[i * 3], b = tri[i * 3 + 1], c = tri[i * 3 + 2];
+            adjAdd(a, i);
+            adjAdd(b, i);
+            adjAdd(c, i);
+
+            if (facePlane(a, b, c, plane)) {
+                addPlane(a, plane, 1.0);
+                addPlane(b, plane, 1.0);
+                addPlane(c, plane, 1.0);
+            }
+            edgeUse.merge(edgeKey(a, b), 1, Integer::sum);
+            edgeUse.merge(edgeKey(b, c), 1, Integer::sum);
+            edgeUse.merge(edgeKey(c, a), 1, Integer::sum);
+        }
+
+        // 경계 edge: 면에 수직이고 edge를 지나는 평면으로 제약
+        for (int i = 0; i < t; i++) {
+            if (triDead[i]) continue;
+            for (int k = 0; k < 3; k++) {
+                int a = tri[i * 3 + k], b = tri[i * 3 + (k + 1) % 3], c = tri[i * 3 + (k + 2) % 3];
+                if (edgeUse.get(edgeKey(a, b)) != 1) continue;
+                if (boundaryPlane(a, b, c, plane)) {
+                    addPlane(a, plane, BOUNDARY_WEIGHT);
+                    addPlane(b, plane, BOUNDARY_WEIGHT);
+                }
+            }
+        }
+
+        double[] target = new double[3];
+        int n = adj.length;
+        for (Long key : edgeUse.keySet()) {
+            int a = (int) (key / n);
+            int b = (int) (key % n);
+            heap.push(edgeCost(a, b, target), a, b, version[a], version[b]);
+        }
+    }
+
+    private void run(int targetTriangles, double maxErrorSq) {
+        double[] target = new double[3];
+        while (aliveTriangles > targetTriangles && heap.size() > 0) {
+            double cost = heap.topCost();
+            int a = heap.topA(), b = heap.topB(), va = heap.topVa(), vb = heap.topVb();
+            heap.pop();
+
+            if (vertDead[a] || vertDead[b] || version[a] != va || version[b] != vb) continue;
+            if (cost > maxErrorSq) break;
+
+            edgeCost(a, b, target);
+            if (flips(a, b, target) || flips(b, a, target)) continue;
+
+            collapse(a, b, target);
+        }
+    }
+
+    /**
+     * b를 a로 합치고 a를 target으로 이동
+     */
+    private void collapse(int a, int b, double[] target) {
+        pos[a * 3] = target[0];
+        pos[a * 3 + 1] = target[1];
+        pos[a * 3 + 2] = target[2];
+        for (int k = 0; k < 10; k++) quadric[a * 10 + k] += quadric[b * 10 + k];
+        vertDead[b] = true;
+
+        for (int i = 0; i < adjSize[b]; i++) {
+            int t = adj[b][i];
+            if (triDead[t]) continue;
+            int o = t * 3;
+            if (tri[o] == a || tri[o + 1] == a || tri[o + 2] == a) {
+                triDead[t] = true;
+                aliveTriangles--;
+                continue;
+            }
+            for (int k = 0; k < 3; k++) {
+                if (tri[o + k] == b) tri[o + k] = a;
+            }
+            adjAdd(a, t);
+        }
+        adj[b] = null;
+        adjSize[b] = 0;
+
+        adjCompact(a);
+        version[a]++;
+
+        // a 주변 edge 비용 다시 계산
+        markStamp++;
+        mark[a] = markStamp;
+        double[] tmp = new double[3];
+        for (int i = 0; i < adjSize[a]; i++) {
+            int o = adj[a][i] * 3;
+            for (int k = 0; k < 3; k++) {
+                int n = tri[o + k];
+                if (mark[n] == markStamp) continue;
+                mark[n] = markStamp;
+                heap.push(edgeCost(a, n, tmp), a, n, version[a], version[n]);
+            }
+        }
+    }
+
+    /**
+     * v를 target으로 옮겼을 때 (other와 공유하지 않는) 주변 면의 법선이 크게 바뀌거나 퇴화하면 true
+     */
+    private boolean flips(int v, int other, double[] target) {
+        for (int i = 0; i < adjSize[v]; i++) {
+            int t = adj[v][i];
+            if (triDead[t]) continue;
+            int o = t * 3;
+            int a = tri[o], b = tri[o + 1], c = tri[o + 2];
+            if (a == other || b == other || c == other) continue;
+
+            double[] n0 = normal(a, b, c, -1, null);
+            double[] n1 = normal(a, b, c, v, target);
+            double l0 = Math.sqrt(n0[0] * n0[0] + n0[1] * n0[1] + n0[2] * n0[2]);
+            double l1 = Math.sqrt(n1[0] * n1[0] + n1[1] * n1[1] + n1[2] * n1[2]);
+            if (l1 <= 1e-30) return true;
+            if (l0 <= 1e-30) continue;
+            double cos = (n0[0] * n1[0] + n0[1] * n1[1] + n0[2] * n1[2]) / (l0 * l1);
+            if (cos < MIN_NORMAL_COS) return true;
+        }
+        return false;
+    }
+
+    private double[] normal(int a, int b, int c, int moved, double[] target) {
+        double ax = px(a, moved, target, 0), ay = px(a, moved, target, 1), az = px(a, moved, target, 2);
+        double ux = px(b, moved, target, 0) - ax, uy = px(b, moved, target, 1) - ay, uz = px(b, moved, target, 2) - az;
+        double vx = px(c, moved, target, 0) - ax, vy = px(c, moved, target, 1) - ay, vz = px(c, moved, target, 2) - az;
+        return new double[]{uy * vz - uz * vy, uz * vx - ux * vz, ux * vy - uy * vx};
+    }
+
+    private double px(int v, int moved, double[] target, int axis) {
+        return v == moved ? target[axis] : pos[v * 3 + axis];
+    }
+
+    /**
+     * (Qa + Qb) 기준 최적 위치를 target에 쓰고 오차(거리²) 반환
+     * - 3x3 계가 특이하면 두 끝점/중점 중 오차가 작은 곳
+     */
+    private double edgeCost(int a, int b, double[] target) {
+        double[] q = new double[10];
+        for (int k = 0; k < 10; k++) q[k] = quadric[a * 10 + k] + quadric[b * 10 + k];
+
+        // q: a2 ab ac ad b2 bc bd c2 cd d2
+        double m00 = q[0], m01 = q[1], m02 = q[2];
+        double m11 = q[4], m12 = q[5], m22 = q[7];
+        double det = m00 * (m11 * m22 - m12 * m12) - m01 * (m01 * m22 - m12 * m02) + m02 * (m01 * m12 - m11 * m02);
+        double scale = Math.abs(m00) + Math.abs(m11) + Math.abs(m22);
+
+        if (scale > 0 && Math.abs(det) > 1e-9 * scale * scale * scale) {
+            double bx = -q[3], by = -q[6], bz = -q[8];
+            target[0] = (bx * (m11 * m22 - m12 * m12) - m01 * (by * m22 - m12 * bz) + m02 * (by * m12 - m11 * bz)) / det;
+            target[1] = (m00 * (by * m22 - m12 * bz) - bx * (m01 * m22 - m12 * m02) + m02 * (m01 * bz - by * m02)) / det;
+            target[2] = (m00 * (m11 * bz - by * m12) - m01 * (m01 * bz - by * m02) + bx * (m01 * m12 - m11 * m02)) / det;
+            return Math.max(evaluate(q, target[0], target[1], target[2]), 0);
+        }
+
+        double best = Double.MAX_VALUE;
+        for (int k = 0; k < 3; k++) {
+            double x, y, z;
+            if (k == 0) {
+                x = pos[a * 3]; y = pos[a * 3 + 1]; z = pos[a * 3 + 2];
+            } else if (k == 1) {
+                x = pos[b * 3]; y = pos[b * 3 + 1]; z = pos[b * 3 + 2];
+            } else {
+                x = (pos[a * 3] + pos[b * 3]) * 0.5;
+                y = (pos[a * 3 + 1] + pos[b * 3 + 1]) * 0.5;
+                z = (pos[a * 3 + 2] + pos[b * 3 + 2]) * 0.5;
+            }
+            double e = evaluate(q, x, y, z);
+            if (e < best) {
+                best = e;
+                target[0] = x;
+                target[1] = y;
+                target[2] = z;
+            }
+        }
+        return Math.max(best, 0);
+    }
+
+    private static double evaluate(double[] q, double x, double y, double z) {
+        return q[0] * x * x + 2 * q[1] * x * y + 2 * q[2] * x * z + 2 * q[3] * x
+                + q[4] * y * y + 2 * q[5] * y * z + 2 * q[6] * y
+                + q[7] * z * z + 2 * q[8] * z
+                + q[9];
+    }
+
+    private boolean facePlane(int a, int b, int c, double[] plane) {
+        double[] n = normal(a, b, c, -1, null);
+        double len = Math.sqrt(n[0] * n[0] + n[1] * n[1] + n[2] * n[2]);
+        if (len <= 1e-30) return false;
+        plane[0] = n[0] / len;
+        plane[1] = n[1] / len;
+        plane[2] = n[2] / len;
+        plane[3] = -(plane[0] * pos[a * 3] + plane[1] * pos[a * 3 + 1] + plane[2] * pos[a * 3 + 2]);
+        return true;
+    }
+
+    // edge(a,b)를 포함하고 면(a,b,c)에 수직인 평면
+    private boolean boundaryPlane(int a, int b, int c, double[] plane) {
+        double[] n = normal(a, b, c, -1, null);
+        double ex = pos[b * 3] - pos[a * 3], ey = pos[b * 3 + 1] - pos[a * 3 + 1], ez = pos[b * 3 + 2] - pos[a * 3 + 2];
+        double px = ey * n[2] - ez * n[1], py = ez * n[0] - ex * n[2], pz = ex * n[1] - ey * n[0];
+        double len = Math.sqrt(px * px + py * py + pz * pz);
+        if (len <= 1e-30) return false;
+        plane[0] = px / len;
+        plane[1] = py / len;
+        plane[2] = pz / len;
+        plane[3] = -(plane[0] * pos[a * 3] + plane[1] * pos[a * 3 + 1] + plane[2] * pos[a * 3 + 2]);
+        return true;
+    }
+
+    private void addPlane(int v, double[] p, double w) {
+        int o = v * 10;
+        double a = p[0], b = p[1], c = p[2], d = p[3];
+        quadric[o] += w * a * a;
+        quadric[o + 1] += w * a * b;
+        quadric[o + 2] += w * a * c;
+        quadric[o + 3] += w * a * d;
+        quadric[o + 4] += w * b * b;
+        quadric[o + 5] += w * b * c;
+        quadric[o + 6] += w * b * d;
+        quadric[o + 7] += w * c * c;
+        quadric[o + 8] += w * c * d;
+        quadric[o + 9] += w * d * d;
+    }
+
+    private long edgeKey(int a, int b) {
+        return a < b ? (long) a * adj.length + b : (long) b * adj.length + a;
+    }
+
+    private void adjAdd(int v, int t) {
+        if (adjSize[v] == adj[v].length) adj[v] = Arrays.copyOf(adj[v], adj[v].length * 2);
+        adj[v][adjSize[v]++] = t;
+    }
+
+    private void adjCompact(int v) {
+        int w = 0;
+        for (int i = 0; i < adjSize[v]; i++) {
+            int t = adj[v][i];
+            if (!triDead[t]) adj[v][w++] = t;
+        }
+        adjSize[v] = w;
+    }
+
+    /**
+     * 살아있는 삼각형/정점만 남긴 새 메시
+     */
+    private TriangleMesh compact() {
+        int[] remap = new int[adj.length];
+        Arrays.fill(remap, -1);
+        int[] outIdx = new int[aliveTriangles * 3];
+        float[] outPos = new float[adj.length * 3];
+        int vCount = 0, w = 0;
+        for (int t = 0; t < tri.length / 3; t++) {
+            if (triDead[t]) continue;
+            for (int k = 0; k < 3; k++) {
+                int v = tri[t * 3 + k];
+                if (remap[v] < 0) {
+                    remap[v] = vCount;
+                    outPos[vCount * 3] = (float) pos[v * 3];
+                    outPos[vCount * 3 + 1] = (float) pos[v * 3 + 1];
+                    outPos[vCount * 3 + 2] = (float) pos[v * 3 + 2];
+                    vCount++;
+                }
+                outIdx[w++] = remap[v];
+            }
+        }
+        return new TriangleMesh(Arrays.copyOf(outPos, vCount * 3), Arrays.copyOf(outIdx, w));
+    }
+
+    /**
+     * edge collapse 후보 min-heap (병렬 primitive 배열)
+     */
+    private static final class EdgeHeap {
+        private double[] cost = new double[1024];
+        private int[] a = new int[1024];
+        private int[] b = new int[1024];
+        private int[] va = new int[1024];
+        private int[] vb = new int[1024];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        double topCost() {
+            return cost[0];
+        }
+
+        int topA() {
+            return a[0];
+        }
+
+        int topB() {
+            return b[0];
+        }
+
+        int topVa() {
+            return va[0];
+        }
+
+        int topVb() {
+            return vb[0];
+        }
+
+        void push(double c, int ea, int eb, int eva, int evb) {
+            if (size == cost.length) {
+                int n = size * 2;
+                cost = Arrays.copyOf(cost, n);
+                a = Arrays.copyOf(a, n);
+                b = Arrays.copyOf(b, n);
+                va = Arrays.copyOf(va, n);
+                vb = Arrays.copyOf(vb, n);
+            }
+            int i = size++;
+            set(i, c, ea, eb, eva, evb);
+            while (i > 0) {
+                int p = (i - 1) >>> 1;
+                if (cost[p] <= cost[i]) break;
+                swap(i, p);
+                i = p;
+            }
+        }
+
+        void pop() {
+            size--;
+            if (size == 0) return;
+            set(0, cost[size], a[size], b[size], va[size], vb[size]);
+            int i = 0;
+            while (true) {
+                int l = i * 2 + 1, r = l + 1, m = i;
+                if (l < size && cost[l] < cost[m]) m = l;
+                if (r < size && cost[r] < cost[m]) m = r;
+                if (m == i) break;
+                swap(i, m);
+                i = m;
+            }
+        }
+
+        private void set(int i, double c, int ea, int eb, int eva, int evb) {
+            cost[i] = c;
+            a[i] = ea;
+            b[i] = eb;
+            va[i] = eva;
+            vb[i] = evb;
+        }
+
+        private void swap(int i, int j) {
+            double c = cost[i];
+            cost[i] = cost[j];
+            cost[j] = c;
+            int t = a[i]; a[i] = a[j]; a[j] = t;
+            t = b[i]; b[i] = b[j]; b[j] = t;
+            t = va[i]; va[i] = va[j]; va[j] = t;
+            t = vb[i]; vb[i] = vb[j]; vb[j] = t;
+        }
+    }
+}
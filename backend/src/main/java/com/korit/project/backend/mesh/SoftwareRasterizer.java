@@ -0,0 +1,197 @@
+package com.korit.project.backend.mesh;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * CPU 소프트웨어 래스터라이저 (썸네일용)
+ * - 직교 투영, z-buffer, 면 단위 음영(헤드라이트 + 위쪽 보조광), 양면 조명(CAD 메시는 winding이 섞여 있음)
+ * - 2x2 슈퍼샘플링 후 평균 → 가장자리 안티에일리어싱, 배경은 투명
+ * - 모델은 bbox 외접구 기준으로 맞추므로 회전(turntable) 프레임끼리 크기가 같음
+ */
+public final class SoftwareRasterizer {
+
+    private static final int SUPERSAMPLE = 2;
+    private static final double MARGIN = 0.92;
+
+    // 기본 재질 색 (뷰어의 기본 회색-청색 톤)
+    private static final double BASE_R = 150, BASE_G = 165, BASE_B = 185;
+
+    private SoftwareRasterizer() {
+    }
+
+    /**
+     * @param yawDegrees   수직축 기준 회전 (turntable)
+     * @param pitchDegrees 위에서 내려다보는 각도
+     * @return 그릴 삼각형이 없으면 null
+     */
+    public static BufferedImage render(GlbScene scene, int size, double yawDegrees, double pitchDegrees) {
+        double[] bounds = bounds(scene);
+        if (bounds == null) return null;
+
+        double cx = (bounds[0] + bounds[3]) / 2, cy = (bounds[1] + bounds[4]) / 2, cz = (bounds[2] + bounds[5]) / 2;
+        double dx = bounds[3] - bounds[0], dy = bounds[4] - bounds[1], dz = bounds[5] - bounds[2];
+        double radius = Math.sqrt(dx * dx + dy * dy + dz * dz) / 2;
+        if (radius <= 0) return null;
+
+        int s = size * SUPERSAMPLE;
+        double scale = (s / 2.0) * MARGIN / radius;
+        double[] view = viewRotation(Math.toRadians(yawDegrees), Math.toRadians(pitchDegrees));
+
+        float[] depth = new float[s * s];
+        Arrays.fill(depth, Float.NEGATIVE_INFINITY);
+        int[] color = new int[s * s];
+
+        double[] sx = new double[3], sy = new double[3], sz = new double[3];
+        double[] vx = new double[3], vy = new double[3], vz = new double[3];
+        for (GlbScene.Instance inst : scene.instances()) {
+            double[] m = combined(view, inst.matrix(), cx, cy, cz);
+            float[] p = inst.mesh().positions();
+            int[] idx = inst.mesh().indices();
+
+            for (int t = 0; t < idx.length; t += 3) {
+                for (int k = 0; k < 3; k++) {
+                    int o = idx[t + k] * 3;
+                    double x = p[o], y = p[o + 1], z = p[o + 2];
+                    vx[k] = m[0] * x + m[1] * y + m[2] * z + m[3];
+                    vy[k] = m[4] * x + m[5] * y + m[6] * z + m[7];
+                    vz[k] = m[8] * x + m[9] * y + m[10] * z + m[11];
+                    sx[k] = s / 2.0 + vx[k] * scale;
+                    sy[k] = s / 2.0 - vy[k] * scale;
+                    sz[k] = vz[k];
+                }
+                int shaded = shade(vx, vy, vz);
+                if (shaded != 0) rasterize(sx, sy, sz, shaded, s, depth, color);
+            }
+        }
+        return downsample(color, s, size);
+    }
+
+    private static double[] bounds(GlbScene scene) {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+        boolean any = false;
+        for (GlbScene.Instance inst : scene.instances()) {
+            if (inst.mesh().triangleCount() == 0) continue;
+            double[] w = inst.matrix();
+            float[] p = inst.mesh().positions();
+            for (int i = 0; i < p.length; i += 3) {
+                double x = w[0] * p[i] + w[4] * p[i + 1] + w[8] * p[i + 2] + w[12];
+                double y = w[1] * p[i] + w[5] * p[i + 1] + w[9] * p[i + 2] + w[13];
+                double z = w[2] * p[i] + w[6] * p[i + 1] + w[10] * p[i + 2] + w[14];
+                minX = Math.min(minX, x);
+                minY = Math.min(minY, y);
+                minZ = Math.min(minZ, z);
+                maxX = Math.max(maxX, x);
+                maxY = Math.max(maxY, y);
+                maxZ = Math.max(maxZ, z);
+                any = true;
+            }
+        }
+        return any ? new double[]{minX, minY, minZ, maxX, maxY, maxZ} : null;
+    }
+
+    // 행 우선 3x3: Rx(pitch) * Ry(yaw)
+    private static double[] viewRotation(double yaw, double pitch) {
+        double cy = Math.cos(yaw), sy = Math.sin(yaw);
+        double cp = Math.cos(pitch), sp = Math.sin(pitch);
+        return new double[]{
+                cy, 0, sy,
+                sp * sy, cp, -sp * cy,
+                -cp * sy, sp, cp * cy
+        };
+    }
+
+    /**
+     * 모델 좌표 → 뷰 좌표 (행 우선 3x4): view * (world * p - center)
+     */
+    private static double[] combined(double[] r, double[] w, double cx, double cy, double cz) {
+        double[] m = new double[12];
+        double tx = w[12] - cx, ty = w[13] - cy, tz = w[14] - cz;
+        for (int row = 0; row < 3; row++) {
+            double r0 = r[row * 3], r1 = r[row * 3 + 1], r2 = r[row * 3 + 2];
+            for (int col = 0; col < 3; col++) {
+                m[row * 4 + col] = r0 * w[col * 4] + r1 * w[col * 4 + 1] + r2 * w[col * 4 + 2];
+            }
+            m[row * 4 + 3] = r0 * tx + r1 * ty + r2 * tz;
+        }
+        return m;
+    }
+
+    /**
+     * 면 법선 기준 음영 색 (퇴화 삼각형이면 0)
+     */
+    private static int shade(double[] x, double[] y, double[] z) {
+        double ux = x[1] - x[0], uy = y[1] - y[0], uz = z[1] - z[0];
+        double wx = x[2] - x[0], wy = y[2] - y[0], wz = z[2] - z[0];
+        double nx = uy * wz - uz * wy, ny = uz * wx - ux * wz, nz = ux * wy - uy * wx;
+        double len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (len <= 0) return 0;
+        nx /= len;
+        ny /= len;
+        nz /= len;
+
+        double head = Math.abs(nz);
+        double key = Math.abs(nx * 0.3 + ny * 0.8 + nz * 0.52); // 위-오른쪽 보조광
+        double light = 0.25 + 0.55 * head + 0.2 * key;
+
+        int r = (int) Math.min(255, BASE_R * light + 30 * head);
+        int g = (int) Math.min(255, BASE_G * light + 30 * head);
+        int b = (int) Math.min(255, BASE_B * light + 30 * head);
+        return 0xFF000000 | (r << 16) | (g << 8) | b;
+    }
+
+    private static void rasterize(double[] x, double[] y, double[] z, int rgb, int s, float[] depth, int[] color) {
+        double area = (x[1] - x[0]) * (y[2] - y[0]) - (x[2] - x[0]) * (y[1] - y[0]);
+        if (Math.abs(area) < 1e-12) return;
+
+        int minX = Math.max(0, (int) Math.floor(Math.min(x[0], Math.min(x[1], x[2]))));
+        int maxX = Math.min(s - 1, (int) Math.ceil(Math.max(x[0], Math.max(x[1], x[2]))));
+        int minY = Math.max(0, (int) Math.floor(Math.min(y[0], Math.min(y[1], y[2]))));
+        int maxY = Math.min(s - 1, (int) Math.ceil(Math.max(y[0], Math.max(y[1], y[2]))));
+        if (minX > maxX || minY > maxY) return;
+
+        double inv = 1.0 / area;
+        for (int py = minY; py <= maxY; py++) {
+            double cy = py + 0.5;
+            for (int px = minX; px <= maxX; px++) {
+                double cx = px + 0.5;
+                double w0 = ((x[1] - cx) * (y[2] - cy) - (x[2] - cx) * (y[1] - cy)) * inv;
+                double w1 = ((x[2] - cx) * (y[0] - cy) - (x[0] - cx) * (y[2] - cy)) * inv;
+                double w2 = 1 - w0 - w1;
+                if (w0 < 0 || w1 < 0 || w2 < 0) continue;
+
+                float d = (float) (w0 * z[0] + w1 * z[1] + w2 * z[2]);
+                int i = py * s + px;
+                if (d > depth[i]) {
+                    depth[i] = d;
+                    color[i] = rgb;
+                }
+            }
+        }
+    }
+
+    private static BufferedImage downsample(int[] color, int s, int size) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        int n = SUPERSAMPLE * SUPERSAMPLE;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int r = 0, g = 0, b = 0, covered = 0;
+                for (int j = 0; j < SUPERSAMPLE; j++) {
+                    for (int i = 0; i < SUPERSAMPLE; i++) {
+                        int c = color[(y * SUPERSAMPLE + j) * s + x * SUPERSAMPLE + i];
+                        if (c == 0) continue;
+                        r += (c >> 16) & 0xFF;
+                        g += (c >> 8) & 0xFF;
+                        b += c & 0xFF;
+                        covered++;
+                    }
+                }
+                if (covered == 0) continue;
+                int a = 255 * covered / n;
+                image.setRGB(x, y, (a << 24) | ((r / covered) << 16) | ((g / covered) << 8) | (b / covered));
+            }
+        }
+        return image;
+    }
+}
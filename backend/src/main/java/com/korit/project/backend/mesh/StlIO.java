@@ -0,0 +1,179 @@
+package com.korit.project.backend.mesh;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * STL 읽기/쓰기
+ * - 읽기: binary / ASCII 모두 지원, 같은 좌표의 정점은 하나로 합침(weld) → 인덱스 메시
+ * - 쓰기: binary STL
+ */
+public final class StlIO {
+
+    private static final int HEADER_BYTES = 80;
+    private static final int FACET_BYTES = 50;
+
+    private StlIO() {
+    }
+
+    public static TriangleMesh read(Path path) throws IOException {
+        return isBinary(path) ? readBinary(path) : readAscii(path);
+    }
+
+    /**
+     * 삼각형 수만 빠르게 (binary는 헤더, ASCII는 facet 줄 수)
+     */
+    public static int countTriangles(Path path) throws IOException {
+        if (isBinary(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                byte[] head = in.readNBytes(HEADER_BYTES + 4);
+                return ByteBuffer.wrap(head, HEADER_BYTES, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+            }
+        }
+        int count = 0;
+        try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.trim().startsWith("facet")) count++;
+            }
+        }
+        return count;
+    }
+
+    public static void writeBinary(Path path, TriangleMesh mesh) throws IOException {
+        float[] p = mesh.positions();
+        int[] idx = mesh.indices();
+        int triangles = mesh.triangleCount();
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16)) {
+            byte[] header = new byte[HEADER_BYTES];
+            byte[] label = "simplified by backend QEM".getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(label, 0, header, 0, label.length);
+            out.write(header);
+            out.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(triangles).array());
+
+            ByteBuffer facet = ByteBuffer.allocate(FACET_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int t = 0; t < triangles; t++) {
+                int a = idx[t * 3] * 3, b = idx[t * 3 + 1] * 3, c = idx[t * 3 + 2] * 3;
+                float ux = p[b] - p[a], uy = p[b + 1] - p[a + 1], uz = p[b + 2] - p[a + 2];
+                float vx = p[c] - p[a], vy = p[c + 1] - p[a + 1], vz = p[c + 2] - p[a + 2];
+                float nx = uy * vz - uz * vy, ny = uz * vx - ux * vz, nz = ux * vy - uy * vx;
+                float len = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+                if (len > 0) {
+                    nx /= len;
+                    ny /= len;
+                    nz /= len;
+                }
+
+                facet.clear();
+                facet.putFloat(nx).putFloat(ny).putFloat(nz);
+                facet.putFloat(p[a]).putFloat(p[a + 1]).putFloat(p[a + 2]);
+                facet.putFloat(p[b]).putFloat(p[b + 1]).putFloat(p[b + 2]);
+                facet.putFloat(p[c]).putFloat(p[c + 1]).putFloat(p[c + 2]);
+                facet.putShort((short) 0);
+                out.write(facet.array());
+            }
+        }
+    }
+
+    // 크기가 84 + 50 * n 과 정확히 맞으면 binary ("solid"로 시작하는 binary 헤더도 있어서 크기로 판별)
+    private static boolean isBinary(Path path) throws IOException {
+        long size = Files.size(path);
+        if (size < HEADER_BYTES + 4) return false;
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] head = in.readNBytes(HEADER_BYTES + 4);
+            long n = ByteBuffer.wrap(head, HEADER_BYTES, 4).order(ByteOrder.LITTLE_ENDIAN).getInt() & 0xFFFFFFFFL;
+            return size == HEADER_BYTES + 4 + n * FACET_BYTES;
+        }
+    }
+
+    private static TriangleMesh readBinary(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            in.skipNBytes(HEADER_BYTES);
+            byte[] countBytes = in.readNBytes(4);
+            int triangles = ByteBuffer.wrap(countBytes).order(ByteOrder.LITTLE_ENDIAN).getInt();
+
+            Welder welder = new Welder(triangles);
+            byte[] buf = new byte[FACET_BYTES];
+            ByteBuffer facet = ByteBuffer.wrap(buf).order(ByteOrder.LITTLE_ENDIAN);
+            for (int t = 0; t < triangles; t++) {
+                in.readFully(buf);
+                facet.position(12); // normal은 다시 계산하므로 무시
+                for (int k = 0; k < 3; k++) {
+                    welder.add(facet.getFloat(), facet.getFloat(), facet.getFloat());
+                }
+            }
+            return welder.build();
+        }
+    }
+
+    private static TriangleMesh readAscii(Path path) throws IOException {
+        Welder welder = new Welder(1024);
+        try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String s = line.trim();
+                if (!s.startsWith("vertex")) continue;
+                String[] f = s.split("\\s+");
+                welder.add(Float.parseFloat(f[1]), Float.parseFloat(f[2]), Float.parseFloat(f[3]));
+            }
+        }
+        return welder.build();
+    }
+
+    /**
+     * 좌표가 비트 단위로 같은 정점을 하나로 합침
+     */
+    private static final class Welder {
+        private final Map<VertexKey, Integer> index;
+        private float[] positions;
+        private int[] indices;
+        private int vertexCount;
+        private int cornerCount;
+
+        Welder(int expectedTriangles) {
+            int cap = Math.max(expectedTriangles, 16);
+            this.index = new HashMap<>(cap);
+            this.positions = new float[cap * 3 / 2 * 3 + 9];
+            this.indices = new int[cap * 3];
+        }
+
+        void add(float x, float y, float z) {
+            // -0.0과 0.0은 같은 정점
+            VertexKey key = new VertexKey(Float.floatToIntBits(x + 0.0f), Float.floatToIntBits(y + 0.0f),
+                    Float.floatToIntBits(z + 0.0f));
+            Integer v = index.get(key);
+            if (v == null) {
+                v = vertexCount++;
+                index.put(key, v);
+                if (v * 3 + 3 > positions.length) positions = Arrays.copyOf(positions, positions.length * 2);
+                positions[v * 3] = x;
+                positions[v * 3 + 1] = y;
+                positions[v * 3 + 2] = z;
+            }
+            if (cornerCount == indices.length) indices = Arrays.copyOf(indices, indices.length * 2);
+            indices[cornerCount++] = v;
+        }
+
+        TriangleMesh build() {
+            int corners = cornerCount - cornerCount % 3;
+            return new TriangleMesh(Arrays.copyOf(positions, vertexCount * 3), Arrays.copyOf(indices, corners));
+        }
+    }
+
+    private record VertexKey(int x, int y, int z) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.korit.project.backend.mesh;
+
+/**
+ * 삼각형 쌍 교차/거리 계산 (간섭 검사 narrow phase)
+ * - 삼각형은 (좌표 배열, 꼭짓점 3개의 오프셋)으로 전달해 객체 생성 없이 계산
+ * - 교차: 한쪽 삼각형의 변 6개 중 하나가 다른 삼각형을 관통하면 교차
+ *   (같은 평면에서 면끼리 맞닿은 경우, 변의 끝점만 면에 닿은 경우는 교차가 아니라 거리 0 접촉으로 취급)
+ * - 거리: 교차하지 않으면 꼭짓점-삼각형 6쌍, 변-변 9쌍의 최소값 (Ericson, Real-Time Collision Detection 5.1)
+ */
+public final class TriangleGeometry {
+
+    private static final double EPS = 1e-12;
+    // 변/삼각형 매개변수 기준 경계 허용 오차 (float 좌표 반올림으로 경계가 살짝 안쪽에 놓여도 접촉으로)
+    private static final double BOUNDARY_EPS = 1e-6;
+
+    private TriangleGeometry() {
+    }
+
+    public static boolean intersects(float[] p, int a0, int a1, int a2, float[] q, int b0, int b1, int b2) {
+        return edgeCrosses(p, a0, a1, q, b0, b1, b2)
+                || edgeCrosses(p, a1, a2, q, b0, b1, b2)
+                || edgeCrosses(p, a2, a0, q, b0, b1, b2)
+                || edgeCrosses(q, b0, b1, p, a0, a1, a2)
+                || edgeCrosses(q, b1, b2, p, a0, a1, a2)
+                || edgeCrosses(q, b2, b0, p, a0, a1, a2);
+    }
+
+    /**
+     * 두 삼각형 사이 최소 거리의 제곱 (교차하면 0)
+     */
+    public static double distanceSq(float[] p, int a0, int a1, int a2, float[] q, int b0, int b1, int b2) {
+        if (intersects(p, a0, a1, a2, q, b0, b1, b2)) return 0;
+
+        double best = pointTriangleSq(p, a0, q, b0, b1, b2);
+        best = Math.min(best, pointTriangleSq(p, a1, q, b0, b1, b2));
+        best = Math.min(best, pointTriangleSq(p, a2, q, b0, b1, b2));
+        best = Math.min(best, pointTriangleSq(q, b0, p, a0, a1, a2));
+        best = Math.min(best, pointTriangleSq(q, b1, p, a0, a1, a2));
+        best = Math.min(best, pointTriangleSq(q, b2, p, a0, a1, a2));
+
+        int[] ea = {a0, a1, a1, a2, a2, a0};
+        int[] eb = {b0, b1, b1, b2, b2, b0};
+        for (int i = 0; i < 6; i += 2) {
+            for (int j = 0; j < 6; j += 2) {
+                best = Math.min(best, segmentSegmentSq(p, ea[i], ea[i + 1], q, eb[j], eb[j + 1]));
+            }
+        }
+        return best;
+    }
+
+    /*
+     * 선분 s0-s1이 삼각형 내부를 관통하는지 (Möller–Trumbore)
+     * - 선분 끝점이 면에 닿거나, 삼각형 경계(변/꼭짓점)를 지나는 경우는 접촉으로 보고 제외
+     *   → 맞닿은 면의 변이 상대 부품의 옆면 경계를 스치는 경우를 관통으로 오인하지 않음
+     * - 축 정렬된 면을 완전히 공유하며 겹친 경우처럼 관통하는 변이 모두 경계를 지나면 접촉(거리 0)으로 나옴
+     */
+    private static boolean edgeCrosses(float[] s, int s0, int s1, float[] t, int t0, int t1, int t2) {
+        double ox = s[s0], oy = s[s0 + 1], oz = s[s0 + 2];
+        double dx = s[s1] - ox, dy = s[s1 + 1] - oy, dz = s[s1 + 2] - oz;
+
+        double e1x = t[t1] - t[t0], e1y = t[t1 + 1] - t[t0 + 1], e1z = t[t1 + 2] - t[t0 + 2];
+        double e2x = t[t2] - t[t0], e2y = t[t2 + 1] - t[t0 + 1], e2z = t[t2 + 2] - t[t0 + 2];
+
+        double px = dy * e2z - dz * e2y, py = dz * e2x - dx * e2z, pz = dx * e2y - dy * e2x;
+        double det = e1x * px + e1y * py + e1z * pz;
+        if (Math.abs(det) < EPS) return false; // 평행(같은 평면 포함)
+        double inv = 1.0 / det;
+
+        double tx = ox - t[t0], ty = oy - t[t0 + 1], tz = oz - t[t0 + 2];
+        double u = (tx * px + ty * py + tz * pz) * inv;
+        if (u <= BOUNDARY_EPS || u >= 1 - BOUNDARY_EPS) return false;
+
+        double qx = ty * e1z - tz * e1y, qy = tz * e1x - tx * e1z, qz = tx * e1y - ty * e1x;
+        double v = (dx * qx + dy * qy + dz * qz) * inv;
+        if (v <= BOUNDARY_EPS || u + v >= 1 - BOUNDARY_EPS) return false;
+
+        double h = (e2x * qx + e2y * qy + e2z * qz) * inv;
+        return h > BOUNDARY_EPS && h < 1 - BOUNDARY_EPS;
+    }
+
+    private static double pointTriangleSq(float[] s, int pi, float[] t, int ai, int bi, int ci) {
+        double px = s[pi], py = s[pi + 1], pz = s[pi + 2];
+        double ax = t[ai], ay = t[ai + 1], az = t[ai + 2];
+        double abx = t[bi] - ax, aby = t[bi + 1] - ay, abz = t[bi + 2] - az;
+        double acx = t[ci] - ax, acy = t[ci + 1] - ay, acz = t[ci + 2] - az;
+        double apx = px - ax, apy = py - ay, apz = pz - az;
+
+        double d1 = abx * apx + aby * apy + abz * apz;
+        double d2 = acx * apx + acy * apy + acz * apz;
+        if (d1 <= 0 && d2 <= 0) return sq(apx, apy, apz);
+
+        double bpx = px - t[bi], bpy = py - t[bi + 1], bpz = pz - t[bi + 2];
+        double d3 = abx * bpx + aby * bpy + abz * bpz;
+        double d4 = acx * bpx + acy * bpy + acz * bpz;
+        if (d3 >= 0 && d4 <= d3) return sq(bpx, bpy, bpz);
+
+        double vc = d1 * d4 - d3 * d2;
+        if (vc <= 0 && d1 >= 0 && d3 <= 0) {
+            double v = d1 / (d1 - d3);
+            return sq(apx - v * abx, apy - v * aby, apz - v * abz);
+        }
+
+        double cpx = px - t[ci], cpy = py - t[ci + 1], cpz = pz - t[ci + 2];
+        double d5 = abx * cpx + aby * cpy + abz * cpz;
+        double d6 = acx * cpx + acy * cpy + acz * cpz;
+        if (d6 >= 0 && d5 <= d6) return sq(cpx, cpy, cpz);
+
+        double vb = d5 * d2 - d1 * d6;
+        if (vb <= 0 && d2 >= 0 && d6 <= 0) {
+            double w = d2 / (d2 - d6);
+            return sq(apx - w * acx, apy - w * acy, apz - w * acz);
+        }
+
+        double va = d3 * d6 - d5 * d4;
+        if (va <= 0 && (d4 - d3) >= 0 && (d5 - d6) >= 0) {
+            double w = (d4 - d3) / ((d4 - d3) + (d5 - d6));
+            double bcx = t[ci] - t[bi], bcy = t[ci + 1] - t[bi + 1], bcz = t[ci + 2] - t[bi + 2];
+            return sq(bpx - w * bcx, bpy - w * bcy, bpz - w * bcz);
+        }
+
+        double denom = va + vb + vc;
+        if (Math.abs(denom) < EPS) return sq(apx, apy, apz); // 퇴화 삼각형
+        double v = vb / denom;
+        double w = vc / denom;
+        return sq(apx - abx * v - acx * w, apy - aby * v - acy * w, apz - abz * v - acz * w);
+    }
+
+    private static double segmentSegmentSq(float[] s, int p1, int q1, float[] t, int p2, int q2) {
+        double d1x = s[q1] - s[p1], d1y = s[q1 + 1] - s[p1 + 1], d1z = s[q1 + 2] - s[p1 + 2];
+        double d2x = t[q2] - t[p2], d2y = t[q2 + 1] - t[p2 + 1], d2z = t[q2 + 2] - t[p2 + 2];
+        double rx = s[p1] - t[p2], ry = s[p1 + 1] - t[p2 + 1], rz = s[p1 + 2] - t[p2 + 2];
+
+        double a = d1x * d1x + d1y * d1y + d1z * d1z;
+        double e = d2x * d2x + d2y * d2y + d2z * d2z;
+        double f = d2x * rx + d2y * ry + d2z * rz;
+
+        double sp, tp;
+        if (a <= EPS && e <= EPS) {
+            return sq(rx, ry, rz);
+        }
+        if (a <= EPS) {
+            sp = 0;
+            tp = clamp(f / e);
+        } else {
+            double c = d1x * rx + d1y * ry + d1z * rz;
+            if (e <= EPS) {
+                tp = 0;
+                sp = clamp(-c / a);
+            } else {
+                double b = d1x * d2x + d1y * d2y + d1z * d2z;
+                double denom = a * e - b * b;
+                sp = denom > EPS ? clamp((b * f - c * e) / denom) : 0;
+                tp = (b * sp + f) / e;
+                if (tp < 0) {
+                    tp = 0;
+                    sp = clamp(-c / a);
+                } else if (tp > 1) {
+                    tp = 1;
+                    sp = clamp((b - c) / a);
+                }
+            }
+        }
+        return sq(rx + d1x * sp - d2x * tp, ry + d1y * sp - d2y * tp, rz + d1z * sp - d2z * tp);
+    }
+
+    private static double clamp(double v) {
+        return v < 0 ? 0 : (v > 1 ? 1 : v);
+    }
+
+    private static double sq(double x, double y, double z) {
+        return x * x + y * y + z * z;
+    }
+}
@@ -0,0 +1,52 @@
+package com.korit.project.backend.mesh;
+
+/**
+ * 인덱스 삼각형 메시 (primitive 배열)
+ * - positions: x0,y0,z0, x1,y1,z1, ...
+ * - indices: 삼각형마다 정점 인덱스 3개
+ */
+public final class TriangleMesh {
+
+    private final float[] positions;
+    private final int[] indices;
+
+    public TriangleMesh(float[] positions, int[] indices) {
+        this.positions = positions;
+        this.indices = indices;
+    }
+
+    public float[] positions() {
+        return positions;
+    }
+
+    public int[] indices() {
+        return indices;
+    }
+
+    public int vertexCount() {
+        return positions.length / 3;
+    }
+
+    public int triangleCount() {
+        return indices.length / 3;
+    }
+
+    /**
+     * bbox 대각선 길이 (단순화 허용 오차의 기준 크기)
+     */
+    public double diagonal() {
+        if (positions.length == 0) return 0;
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+        for (int i = 0; i < positions.length; i += 3) {
+            minX = Math.min(minX, positions[i]);
+            minY = Math.min(minY, positions[i + 1]);
+            minZ = Math.min(minZ, positions[i + 2]);
+            maxX = Math.max(maxX, positions[i]);
+            maxY = Math.max(maxY, positions[i + 1]);
+            maxZ = Math.max(maxZ, positions[i + 2]);
+        }
+        double dx = maxX - minX, dy = maxY - minY, dz = maxZ - minZ;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+}
@@ -0,0 +1,479 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.entity.CadFile;
+import com.korit.project.backend.mapper.CadFileMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 변환 산출물 수명주기 관리
+ * - COMPLETED 파일의 중간 산출물(temp/parts/{id}, 원본 업로드) 정리
+ *   · 원본은 GLB 재생성을 위해 gzip으로 콜드 티어(temp/cold/{id})에 보관
+ * - 어떤 cad_files 행에서도 참조하지 않는 고아 파일 정리
+ * - converted 디렉터리 쿼터 초과 시 오래 조회되지 않은 GLB부터 축출(LRU)
+ *   · 콜드 원본이 연결된 행만 조건부 UPDATE로 먼저 축출 표시한 뒤 GLB 삭제
+ *     (cold 쿼터의 원본 해제와 같은 행 조건이라 둘 중 하나만 성공 → 원본 없는 축출 상태가 생기지 않음)
+ *   · 축출된 GLB는 다운로드 요청 시 콜드 티어 원본으로 재생성(REGENERATE 작업으로 큐에 넣음)
+ *   · 재생성 중에도 status는 COMPLETED 유지 (regenerate_pending 플래그로만 표시)
+ *   · 재생성 실패는 regenerate_failures + 지수 backoff로 기록, backoff 중이거나
+ *     lifecycle.regenerate.max-failures에 도달하면 재요청을 큐에 넣지 않고 FAILED로 응답
+ * - temp/upload, temp/parts, temp/cold 디렉터리 쿼터 초과 시 지워도 되는 항목만 오래된 것부터 삭제
+ *   · upload: 어떤 행도 참조하지 않는 업로드 (고아 유예 시간 전이라도)
+ *   · parts: 삭제됐거나 끝난(COMPLETED/FAILED, 재생성 중 아님) 파일의 중간 산출물
+ *   · cold: GLB가 축출되지 않은 파일의 원본만 (cold_file_path를 비워 이후 축출 대상에서 제외)
+ *     → 축출된 GLB의 유일한 재생성 원본은 쿼터를 넘어도 지우지 않음
+ *   · 진행 중인 업로드/변환을 건드리지 않도록 lifecycle.quota.min-age-minutes 보다 최근 항목은 제외
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArtifactLifecycleService {
+
+    private static final int SWEEP_BATCH = 100;
+
+    private final CadFileMapper cadFileMapper;
+    private final ConversionJobService conversionJobService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${file.upload.temp-dir}")
+    private String tempDir;
+
+    @Value("${file.upload.converted-dir}")
+    private String convertedDir;
+
+    @Value("${lifecycle.cold-dir:temp/cold}")
+    private String coldDir;
+
+    @Value("${lifecycle.converted.max-bytes:10737418240}")
+    private long convertedMaxBytes;
+
+    @Value("${lifecycle.orphan-grace-hours:24}")
+    private long orphanGraceHours;
+
+    @Value("${lifecycle.regenerate.max-failures:3}")
+    private int regenerateMaxFailures;
+
+    @Value("${lifecycle.upload.max-bytes:10737418240}")
+    private long uploadMaxBytes;
+
+    @Value("${lifecycle.parts.max-bytes:5368709120}")
+    private long partsMaxBytes;
+
+    @Value("${lifecycle.cold.max-bytes:21474836480}")
+    private long coldMaxBytes;
+
+    @Value("${lifecycle.quota.min-age-minutes:60}")
+    private long quotaMinAgeMinutes;
+
+    private final AtomicLong convertedBytes = new AtomicLong();
+    private final AtomicLong uploadBytes = new AtomicLong();
+    private final AtomicLong partsBytes = new AtomicLong();
+    private final AtomicLong coldBytes = new AtomicLong();
+
+    @PostConstruct
+    void registerGauges() {
+        meterRegistry.gauge("cad.lifecycle.converted.bytes", convertedBytes);
+        meterRegistry.gauge("cad.lifecycle.upload.bytes", uploadBytes);
+        meterRegistry.gauge("cad.lifecycle.parts.bytes", partsBytes);
+        meterRegistry.gauge("cad.lifecycle.cold.bytes", coldBytes);
+    }
+
+    @Scheduled(fixedDelayString = "${lifecycle.sweep-interval-ms:600000}",
+            initialDelayString = "${lifecycle.initial-delay-ms:60000}")
+    public void sweep() {
+        try {
+            purgeIntermediates();
+        } catch (Exception e) {
+            log.warn("중간 산출물 정리 실패: {}", e.toString());
+        }
+        try {
+            sweepOrphans();
+        } catch (Exception e) {
+            log.warn("고아 파일 정리 실패: {}", e.toString());
+        }
+        try {
+            enforceConvertedQuota();
+        } catch (Exception e) {
+            log.warn("converted 쿼터 적용 실패: {}", e.toString());
+        }
+        try {
+            enforceTempQuotas();
+        } catch (Exception e) {
+            log.warn("temp 쿼터 적용 실패: {}", e.toString());
+        }
+    }
+
+    /**
+     * GLB 재생성 요청 결과
+     * - PENDING: 재생성 대기/진행 중 (잠시 후 다시 요청)
+     * - FAILED: 최근 재생성이 실패해 backoff 중이거나 실패 한도 도달 (error_message 참고)
+     * - UNAVAILABLE: 완료된 파일이 아니거나 원본이 없어 재생성 불가
+     */
+    public enum Regeneration { PENDING, FAILED, UNAVAILABLE }
+
+    /**
+     * 축출된(또는 유실된) GLB 재생성 요청
+     */
+    public Regeneration requestGlbRegeneration(CadFile cadFile) {
+        if (cadFile == null) {
+            return Regeneration.UNAVAILABLE;
+        }
+        if (Boolean.TRUE.equals(cadFile.getRegeneratePending())) {
+            return Regeneration.PENDING;
+        }
+        if (!"COMPLETED".equals(cadFile.getStatus())) {
+            return Regeneration.UNAVAILABLE;
+        }
+        if (cadFile.getSourceFilePath() == null && cadFile.getColdFilePath() == null) {
+            return Regeneration.UNAVAILABLE;
+        }
+        if (regenerationBlocked(cadFile)) {
+            return Regeneration.FAILED;
+        }
+
+        Long id = cadFile.getId();
+        try {
+            Path source = restoreSource(cadFile);
+            // 재생성은 일반 변환 작업처럼 큐에 넣고 어느 인스턴스든 점유해서 처리
+            if (cadFileMapper.requeueGlbRegeneration(id, source.toAbsolutePath().toString(), regenerateMaxFailures) == 0) {
+                // 다른 요청이 먼저 큐에 넣었거나 그 사이 실패가 기록됨 (복원본은 고아 파일로 정리됨)
+                CadFile current = cadFileMapper.findById(id);
+                return current != null && Boolean.TRUE.equals(current.getRegeneratePending())
+                        ? Regeneration.PENDING
+                        : Regeneration.FAILED;
+            }
+            meterRegistry.counter("cad.lifecycle.regenerations").increment();
+            log.info("GLB 재생성 요청: ID={}, source={}", id, source);
+
+            conversionJobService.requestDispatch();
+            return Regeneration.PENDING;
+        } catch (Exception e) {
+            log.error("GLB 재생성 요청 실패: ID={}", id, e);
+            return Regeneration.UNAVAILABLE;
+        }
+    }
+
+    // 실패 한도 도달 또는 backoff 중 (최종 판단은 requeueGlbRegeneration의 조건이 DB 시각 기준으로 다시 함)
+    private boolean regenerationBlocked(CadFile cadFile) {
+        int failures = cadFile.getRegenerateFailures() != null ? cadFile.getRegenerateFailures() : 0;
+        if (failures >= regenerateMaxFailures) {
+            return true;
+        }
+        return cadFile.getRegenerateRetryAt() != null && cadFile.getRegenerateRetryAt().isAfter(LocalDateTime.now());
+    }
+
+    // ---- (1) 중간 산출물 ----
+
+    private void purgeIntermediates() throws IOException {
+        List<CadFile> files = cadFileMapper.findCompletedWithIntermediates(SWEEP_BATCH);
+        for (CadFile cadFile : files) {
+            long reclaimed = 0;
+            String coldPath = cadFile.getColdFilePath();
+
+            if (cadFile.getSourceFilePath() != null) {
+                Path source = Paths.get(cadFile.getSourceFilePath());
+                if (Files.exists(source)) {
+                    long sourceSize = Files.size(source);
+                    if (coldPath == null || !Files.exists(Paths.get(coldPath))) {
+                        Path cold = compressToCold(cadFile.getId(), source);
+                        coldPath = cold.toAbsolutePath().toString();
+                        reclaimed -= Files.size(cold);
+                    }
+                    Files.delete(source);
+                    reclaimed += sourceSize;
+                }
+            }
+
+            reclaimed += deleteTree(resolvePartsRoot().resolve(String.valueOf(cadFile.getId())));
+
+            cadFileMapper.markIntermediatesPurged(cadFile.getId(), coldPath);
+            recordReclaimed("intermediates", reclaimed);
+            log.info("중간 산출물 정리: ID={}, reclaimedBytes={}", cadFile.getId(), reclaimed);
+        }
+    }
+
+    private Path compressToCold(Long cadFileId, Path source) throws IOException {
+        Path dir = resolvePath(coldDir).resolve(String.valueOf(cadFileId));
+        Files.createDirectories(dir);
+        Path target = dir.resolve(source.getFileName().toString() + ".gz");
+
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(target))) {
+            in.transferTo(out);
+        }
+        return target;
+    }
+
+    private Path restoreSource(CadFile cadFile) throws IOException {
+        if (cadFile.getSourceFilePath() != null) {
+            Path source = Paths.get(cadFile.getSourceFilePath());
+            if (Files.exists(source)) return source;
+        }
+
+        Path cold = Paths.get(cadFile.getColdFilePath());
+        Path uploadDir = resolvePath(tempDir);
+        Files.createDirectories(uploadDir);
+        Path target = uploadDir.resolve(System.currentTimeMillis() + "_" + cadFile.getOriginalFilename());
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(cold));
+             OutputStream out = Files.newOutputStream(target)) {
+            in.transferTo(out);
+        }
+        return target;
+    }
+
+    // ---- (2) 고아 파일 ----
+
+    private void sweepOrphans() throws IOException {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(orphanGraceHours));
+        long reclaimed = 0;
+
+        // temp/upload: 어떤 행도 참조하지 않는 업로드
+        Set<Path> referencedSources = toAbsolutePaths(cadFileMapper.findAllSourceFilePaths());
+        Path uploadDir = resolvePath(tempDir);
+        if (Files.isDirectory(uploadDir)) {
+            try (Stream<Path> entries = Files.list(uploadDir)) {
+                for (Path p : (Iterable<Path>) entries::iterator) {
+                    if (!Files.isRegularFile(p) || isNewerThan(p, cutoff)) continue;
+                    if (referencedSources.contains(p.toAbsolutePath().normalize())) continue;
+                    reclaimed += deleteTree(p);
+                }
+            }
+        }
+
+        // converted: 참조되지 않는(대체된) GLB, 삭제된 파일의 디렉터리
+        Set<Path> referencedGlbs = toAbsolutePaths(cadFileMapper.findAllGlbFilePaths());
+        Path convertedRoot = resolvePath(convertedDir);
+        if (Files.isDirectory(convertedRoot)) {
+            try (Stream<Path> entries = Files.list(convertedRoot)) {
+                for (Path p : (Iterable<Path>) entries::iterator) {
+                    if (isNewerThan(p, cutoff)) continue;
+                    if (Files.isDirectory(p)) {
+                        if (!isKnownCadFileDir(p)) reclaimed += deleteTree(p);
+                    } else if (!referencedGlbs.contains(p.toAbsolutePath().normalize())) {
+                        reclaimed += deleteTree(p);
+                    }
+                }
+            }
+        }
+
+        // temp/parts, temp/cold: 삭제된 파일의 디렉터리
+        reclaimed += sweepUnknownIdDirs(resolvePartsRoot(), cutoff);
+        reclaimed += sweepUnknownIdDirs(resolvePath(coldDir), cutoff);
+
+        if (reclaimed > 0) {
+            recordReclaimed("orphans", reclaimed);
+            log.info("고아 파일 정리: reclaimedBytes={}", reclaimed);
+        }
+    }
+
+    private long sweepUnknownIdDirs(Path root, Instant cutoff) throws IOException {
+        if (!Files.isDirectory(root)) return 0;
+        long reclaimed = 0;
+        try (Stream<Path> entries = Files.list(root)) {
+            for (Path p : (Iterable<Path>) entries::iterator) {
+                if (!Files.isDirectory(p) || isNewerThan(p, cutoff)) continue;
+                if (!isKnownCadFileDir(p)) reclaimed += deleteTree(p);
+            }
+        }
+        return reclaimed;
+    }
+
+    private boolean isKnownCadFileDir(Path dir) {
+        try {
+            long id = Long.parseLong(dir.getFileName().toString());
+            return cadFileMapper.findById(id) != null;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // ---- (3) 쿼터 + LRU 축출 ----
+
+    private void enforceConvertedQuota() throws IOException {
+        Path convertedRoot = resolvePath(convertedDir);
+        long total = directorySize(convertedRoot);
+        convertedBytes.set(total);
+        if (total <= convertedMaxBytes) return;
+
+        log.info("converted 쿼터 초과: total={}, max={}", total, convertedMaxBytes);
+        List<CadFile> candidates = cadFileMapper.findEvictionCandidates(SWEEP_BATCH);
+        for (CadFile cadFile : candidates) {
+            if (total <= convertedMaxBytes) break;
+            // DB에서 먼저 표시 (0건이면 그 사이 콜드 원본이 떼어졌거나 재생성이 시작된 것 → 지우면 복구 불가)
+            if (cadFileMapper.markGlbEvicted(cadFile.getId()) == 0) continue;
+
+            Path glb = Paths.get(cadFile.getGlbFilePath());
+            long freed = Files.exists(glb) ? Files.size(glb) : 0;
+            try {
+                Files.deleteIfExists(glb);
+            } catch (IOException e) {
+                cadFileMapper.updateGlbEvicted(cadFile.getId(), false);
+                log.warn("GLB 축출 실패: ID={} ({})", cadFile.getId(), e.toString());
+                continue;
+            }
+
+            total -= freed;
+            recordReclaimed("evicted_glb", freed);
+            meterRegistry.counter("cad.lifecycle.evictions").increment();
+            log.info("GLB 축출: ID={}, freedBytes={}", cadFile.getId(), freed);
+        }
+        convertedBytes.set(total);
+    }
+
+    /**
+     * temp/upload, temp/parts, temp/cold 쿼터 (중간 산출물 정리/고아 정리 후에도 넘칠 때만 동작)
+     */
+    private void enforceTempQuotas() throws IOException {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(quotaMinAgeMinutes));
+
+        Set<Path> referencedSources = toAbsolutePaths(cadFileMapper.findAllSourceFilePaths());
+        enforceDirQuota("upload", resolvePath(tempDir), uploadMaxBytes, uploadBytes, cutoff,
+                p -> Files.isRegularFile(p) && !referencedSources.contains(p.toAbsolutePath().normalize()));
+
+        enforceDirQuota("parts", resolvePartsRoot(), partsMaxBytes, partsBytes, cutoff, p -> {
+            CadFile cadFile = findByDirName(p);
+            if (cadFile == null) return true;
+            if (Boolean.TRUE.equals(cadFile.getRegeneratePending())) return false;
+            return "COMPLETED".equals(cadFile.getStatus()) || "FAILED".equals(cadFile.getStatus());
+        });
+
+        enforceDirQuota("cold", resolvePath(coldDir), coldMaxBytes, coldBytes, cutoff, p -> {
+            CadFile cadFile = findByDirName(p);
+            if (cadFile == null) return true;
+            // GLB가 축출된 파일은 이 원본이 유일한 복구 수단일 수 있음
+            if (Boolean.TRUE.equals(cadFile.getGlbEvicted())) return false;
+            if (cadFile.getColdFilePath() == null) return true;
+            // 조건을 만족할 때만 DB에서 먼저 떼어냄 (0건이면 그 사이 축출/재생성이 시작된 것)
+            return cadFileMapper.clearColdFilePath(cadFile.getId()) > 0;
+        });
+    }
+
+    /**
+     * 디렉터리 쿼터: 직계 항목을 오래된 순으로 보며 purgeable인 것만 삭제
+     * - purgeable은 삭제해도 되면 true (필요한 DB 정리까지 끝낸 뒤)
+     */
+    private void enforceDirQuota(String category, Path root, long maxBytes, AtomicLong gauge, Instant cutoff,
+                                 Predicate<Path> purgeable) throws IOException {
+        if (!Files.isDirectory(root)) return;
+        long total = directorySize(root);
+        gauge.set(total);
+        if (maxBytes <= 0 || total <= maxBytes) return;
+
+        log.info("{} 쿼터 초과: total={}, max={}", category, total, maxBytes);
+        List<Path> entries;
+        try (Stream<Path> list = Files.list(root)) {
+            entries = list.sorted(Comparator.comparing(this::lastModified)).toList();
+        }
+        for (Path p : entries) {
+            if (total <= maxBytes) break;
+            if (isNewerThan(p, cutoff) || !purgeable.test(p)) continue;
+            long freed = deleteTree(p);
+            total -= freed;
+            recordReclaimed("quota_" + category, freed);
+            log.info("{} 쿼터 정리: path={}, freedBytes={}", category, p.getFileName(), freed);
+        }
+        gauge.set(total);
+        if (total > maxBytes) {
+            log.warn("{} 쿼터 초과 유지(지울 수 있는 항목 없음): total={}, max={}", category, total, maxBytes);
+        }
+    }
+
+    private CadFile findByDirName(Path dir) {
+        try {
+            return cadFileMapper.findById(Long.parseLong(dir.getFileName().toString()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ---- 공통 ----
+
+    private FileTime lastModified(Path p) {
+        try {
+            return Files.getLastModifiedTime(p);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private void recordReclaimed(String category, long bytes) {
+        if (bytes <= 0) return;
+        meterRegistry.counter("cad.lifecycle.reclaimed.bytes", "category", category).increment(bytes);
+    }
+
+    private boolean isNewerThan(Path p, Instant cutoff) throws IOException {
+        FileTime modified = Files.getLastModifiedTime(p);
+        return modified.toInstant().isAfter(cutoff);
+    }
+
+    private long deleteTree(Path root) throws IOException {
+        if (!Files.exists(root)) return 0;
+        long size = directorySize(root);
+        try (Stream<Path> walk = Files.walk(root)) {
+            for (Path p : (Iterable<Path>) walk.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+        return size;
+    }
+
+    private long directorySize(Path root) throws IOException {
+        if (!Files.exists(root)) return 0;
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk.filter(Files::isRegularFile).mapToLong(p -> {
+                try {
+                    return Files.size(p);
+                } catch (IOException e) {
+                    return 0;
+                }
+            }).sum();
+        }
+    }
+
+    private Set<Path> toAbsolutePaths(List<String> paths) {
+        Set<Path> result = new HashSet<>();
+        for (String p : paths) {
+            result.add(Paths.get(p).toAbsolutePath().normalize());
+        }
+        return result;
+    }
+
+    // PythonWorkerService와 동일한 규칙: temp/upload 의 형제 디렉터리 temp/parts
+    private Path resolvePartsRoot() {
+        return resolvePath(tempDir).toAbsolutePath().getParent().resolve("parts");
+    }
+
+    private Path resolvePath(String dir) {
+        if (Paths.get(dir).isAbsolute()) {
+            return Paths.get(dir);
+        }
+        String userDir = System.getProperty("user.dir");
+        return Paths.get(userDir, dir);
+    }
+}
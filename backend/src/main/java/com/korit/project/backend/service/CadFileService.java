@@ -1,7 +1,9 @@
 package com.korit.project.backend.service;
 
+import com.korit.project.backend.dto.CadBatchResponse;
 import com.korit.project.backend.dto.CadFileResponse;
 import com.korit.project.backend.dto.PartResponse;
+import com.korit.project.backend.dto.TessellationQuality;
 import com.korit.project.backend.dto.resp.ApiRespDto;
 import com.korit.project.backend.entity.CadFile;
 import com.korit.project.backend.mapper.CadFileMapper;
@@ -9,24 +11,46 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CadFileService {
 
+    private static final int BATCH_INSERT_CHUNK = 500;
+    private static final int COPY_BUFFER = 64 * 1024;
+    private static final String UNNAMED_FILE = "(이름 없음)";
+
     private final CadFileMapper cadFileMapper;
-    private final PythonWorkerService pythonWorkerService;
+    private final ConversionJobService conversionJobService;
     private final PartService partService;
+    private final ArtifactLifecycleService artifactLifecycleService;
+    private final PlatformTransactionManager transactionManager;
+
+    // 동시 조회 합치기 (결과는 캐시하지 않음)
+    private final SingleFlight<Long, ApiRespDto<CadFileResponse>> detailFlight = new SingleFlight<>();
+    private final SingleFlight<Long, String> glbPathFlight = new SingleFlight<>();
 
     @Value("${file.upload.temp-dir}")
     private String tempDir;
@@ -34,45 +58,60 @@ public class CadFileService {
     @Value("${file.upload.converted-dir}")
     private String convertedDir;
 
-    @Transactional
-    public ApiRespDto<CadFileResponse> uploadCadFile(MultipartFile file) {
+    @Value("${file.upload.max-batch-entries:1000}")
+    private int maxBatchEntries;
+
+    // 압축 해제 후 크기 기준 (ZIP 폭탄 방지)
+    @Value("${file.upload.max-entry-bytes:1073741824}")
+    private long maxEntryBytes;
+
+    @Value("${file.upload.max-batch-bytes:10737418240}")
+    private long maxBatchBytes;
+
+    /**
+     * 단일 업로드
+     * - 파일 저장은 트랜잭션 밖에서, cad_files 등록과 변환 요청만 짧은 트랜잭션으로 (업로드 동안 DB 커넥션을 잡지 않게)
+     */
+    public ApiRespDto<CadFileResponse> uploadCadFile(MultipartFile file, String quality) {
         try {
             if (file == null || file.isEmpty()) {
                 return new ApiRespDto<>("failed", "파일이 비어있습니다.", null);
             }
 
+            TessellationQuality qualityPreset;
+            try {
+                qualityPreset = TessellationQuality.fromParam(quality);
+            } catch (IllegalArgumentException e) {
+                return new ApiRespDto<>("failed", "품질 프리셋은 DRAFT, STANDARD, FINE 중 하나여야 합니다.", null);
+            }
+
             String originalFilename = file.getOriginalFilename();
             if (originalFilename == null) {
                 return new ApiRespDto<>("failed", "파일명이 없습니다.", null);
             }
 
-            String extension = originalFilename.substring(originalFilename.lastIndexOf('.') + 1).toLowerCase();
-            boolean allowed = extension.equals("stl") || extension.equals("obj") || extension.equals("ply") ||
-                    extension.equals("step") || extension.equals("stp") || extension.equals("igs") || extension.equals("iges");
-
-            if (!allowed) {
+            if (!isAllowedExtension(originalFilename)) {
                 return new ApiRespDto<>("failed", "STL, OBJ, PLY, STEP, STP, IGES 파일만 업로드 가능합니다.", null);
             }
 
             Path tempPath = resolvePath(tempDir);
             Files.createDirectories(tempPath);
 
-            String tempFileName = System.currentTimeMillis() + "_" + originalFilename;
-            Path tempFilePath = tempPath.resolve(tempFileName);
-            file.transferTo(tempFilePath.toFile());
-
-            if (!Files.exists(tempFilePath)) {
-                return new ApiRespDto<>("failed", "파일 저장에 실패했습니다.", null);
+            CadFile cadFile;
+            try (InputStream in = file.getInputStream()) {
+                cadFile = storeUpload(in, originalFilename, tempPath, String.valueOf(System.currentTimeMillis()),
+                        qualityPreset, maxEntryBytes);
+            }
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    cadFileMapper.insertCadFile(cadFile);
+                    // 변환은 어느 인스턴스든 작업을 점유한 쪽이 수행 (커밋 후 이 인스턴스에서 먼저 점유 시도)
+                    conversionJobService.requestDispatch();
+                });
+            } catch (RuntimeException e) {
+                deleteStored(List.of(cadFile));
+                throw e;
             }
-
-            CadFile cadFile = new CadFile();
-            cadFile.setOriginalFilename(originalFilename);
-            cadFile.setFileSize(file.getSize());
-            cadFile.setStatus("UPLOADING");
-            cadFileMapper.insertCadFile(cadFile);
-
-            Long cadFileId = cadFile.getId();
-            pythonWorkerService.processCadFile(cadFileId, tempFilePath.toAbsolutePath().toString(), originalFilename);
 
             CadFileResponse response = convertToResponse(cadFile);
             return new ApiRespDto<>("success", "파일 업로드가 완료되었습니다.", response);
@@ -82,6 +121,94 @@ public class CadFileService {
         }
     }
 
+    /**
+     * 일괄 업로드 (여러 파일 또는 ZIP)
+     * - ZIP은 전체를 풀지 않고 ZipInputStream으로 항목별로 바로 temp에 저장
+     * - 모든 항목을 다중 행 insert 한 번으로 등록, 같은 batchId로 묶어서 진행률 조회
+     * - 변환은 커밋 후 작업 점유(lease)로 워커 수만큼씩 진행
+     * - 압축 해제/저장은 트랜잭션 밖에서 끝내고 등록(insert + 변환 요청)만 짧은 트랜잭션으로
+     *   (큰 ZIP을 푸는 동안 DB 커넥션을 잡지 않게), 등록이 롤백되면 저장한 파일도 삭제
+     */
+    public ApiRespDto<CadBatchResponse> uploadBatch(List<MultipartFile> files, String quality) {
+        if (files == null || files.isEmpty()) {
+            return new ApiRespDto<>("failed", "업로드할 파일이 없습니다.", null);
+        }
+
+        TessellationQuality qualityPreset;
+        try {
+            qualityPreset = TessellationQuality.fromParam(quality);
+        } catch (IllegalArgumentException e) {
+            return new ApiRespDto<>("failed", "품질 프리셋은 DRAFT, STANDARD, FINE 중 하나여야 합니다.", null);
+        }
+
+        String batchId = UUID.randomUUID().toString();
+        String prefix = String.valueOf(System.currentTimeMillis());
+        List<CadFile> stored = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+
+        try {
+            Path tempPath = resolvePath(tempDir);
+            Files.createDirectories(tempPath);
+
+            for (MultipartFile file : files) {
+                String originalFilename = file.getOriginalFilename();
+                if (file.isEmpty() || originalFilename == null) {
+                    skipped.add(originalFilename != null ? originalFilename : UNNAMED_FILE);
+                    continue;
+                }
+
+                if (originalFilename.toLowerCase().endsWith(".zip")) {
+                    storeZipEntries(file, tempPath, prefix, qualityPreset, stored, skipped);
+                } else if (isAllowedExtension(originalFilename)) {
+                    checkBatchEntryCount(stored);
+                    try (InputStream in = file.getInputStream()) {
+                        stored.add(storeUpload(in, originalFilename, tempPath, prefix + "_" + stored.size(), qualityPreset,
+                                remainingEntryBytes(stored)));
+                    }
+                } else {
+                    skipped.add(originalFilename);
+                }
+            }
+
+            if (stored.isEmpty()) {
+                return new ApiRespDto<>("failed", "업로드 가능한 CAD 파일이 없습니다. (STL, OBJ, PLY, STEP, STP, IGES)", null);
+            }
+
+            for (CadFile cadFile : stored) {
+                cadFile.setBatchId(batchId);
+            }
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                for (int i = 0; i < stored.size(); i += BATCH_INSERT_CHUNK) {
+                    cadFileMapper.insertCadFiles(stored.subList(i, Math.min(i + BATCH_INSERT_CHUNK, stored.size())));
+                }
+                conversionJobService.requestDispatch();
+            });
+
+            CadBatchResponse response = toBatchResponse(batchId, stored);
+            response.setSkipped(skipped);
+            log.info("일괄 업로드 완료: batchId={}, files={}, skipped={}", batchId, stored.size(), skipped.size());
+            return new ApiRespDto<>("success", "일괄 업로드가 완료되었습니다.", response);
+        } catch (Exception e) {
+            log.error("일괄 업로드 실패: batchId={}", batchId, e);
+            // 등록 트랜잭션은 예외로 이미 롤백됨 (insert한 청크도 남지 않음)
+            deleteStored(stored);
+            return new ApiRespDto<>("failed", "일괄 업로드 중 오류가 발생했습니다: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * 일괄 업로드 진행률 조회
+     */
+    @Transactional(readOnly = true)
+    public ApiRespDto<CadBatchResponse> getBatch(String batchId) {
+        List<CadFile> cadFiles = cadFileMapper.findByBatchId(batchId);
+        if (cadFiles.isEmpty()) {
+            return new ApiRespDto<>("failed", "일괄 업로드를 찾을 수 없습니다: batchId=" + batchId, null);
+        }
+        return new ApiRespDto<>("success", "일괄 업로드 조회가 완료되었습니다.", toBatchResponse(batchId, cadFiles));
+    }
+
+    @Transactional(readOnly = true)
     public ApiRespDto<List<CadFileResponse>> getAllCadFiles() {
         List<CadFileResponse> files = cadFileMapper.findAll().stream()
                 .map(this::convertToResponse)
@@ -89,7 +216,15 @@ public class CadFileService {
         return new ApiRespDto<>("success", "파일 목록 조회가 완료되었습니다.", files);
     }
 
+    /**
+     * 공유 링크로 동시에 몰리는 상세 조회는 파일 ID 기준으로 한 번만 조회해서 결과 공유
+     */
+    @Transactional(readOnly = true)
     public ApiRespDto<CadFileResponse> getCadFileById(Long id) {
+        return detailFlight.execute(id, () -> loadCadFileDetail(id));
+    }
+
+    private ApiRespDto<CadFileResponse> loadCadFileDetail(Long id) {
         CadFile cadFile = cadFileMapper.findById(id);
         if (cadFile == null) {
             return new ApiRespDto<>("failed", "파일을 찾을 수 없습니다: ID=" + id, null);
@@ -104,12 +239,154 @@ public class CadFileService {
         return new ApiRespDto<>("success", "파일 조회가 완료되었습니다.", response);
     }
 
+    /**
+     * 부품 목록 컬럼형 바이너리 (파일이 없으면 null)
+     */
+    @Transactional(readOnly = true)
+    public PartColumnarEncoder getPartsColumnar(Long id) {
+        if (cadFileMapper.findById(id) == null) {
+            return null;
+        }
+        return partService.getPartsColumnar(id);
+    }
+
     public File getGlbFile(Long id) {
-        CadFile cadFile = cadFileMapper.findById(id);
-        if (cadFile == null || cadFile.getGlbFilePath() == null) {
+        String glbFilePath = glbPathFlight.execute(id, () -> {
+            CadFile cadFile = cadFileMapper.findById(id);
+            if (cadFile == null || cadFile.getGlbFilePath() == null) {
+                return null;
+            }
+            cadFileMapper.touchLastAccessed(id);
+            return cadFile.getGlbFilePath();
+        });
+        if (glbFilePath == null) {
             throw new IllegalArgumentException("GLB 파일을 찾을 수 없습니다: ID=" + id);
         }
-        return new File(cadFile.getGlbFilePath());
+        return new File(glbFilePath);
+    }
+
+    /**
+     * 축출된 GLB 재생성 요청
+     */
+    public ArtifactLifecycleService.Regeneration requestGlbRegeneration(Long id) {
+        return artifactLifecycleService.requestGlbRegeneration(cadFileMapper.findById(id));
+    }
+
+    private void storeZipEntries(MultipartFile zipFile, Path tempPath, String prefix, TessellationQuality quality,
+                                 List<CadFile> stored, List<String> skipped) throws Exception {
+        try (ZipInputStream zin = new ZipInputStream(zipFile.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = zin.getNextEntry()) != null) {
+                if (entry.isDirectory()) continue;
+
+                // 경로는 버리고 파일명만 사용 (zip slip 방지), macOS 메타데이터 제외
+                String entryName = entry.getName().replace('\\', '/');
+                String filename = entryName.substring(entryName.lastIndexOf('/') + 1);
+                if (entryName.startsWith("__MACOSX/") || filename.startsWith("._") || filename.isBlank()) continue;
+
+                if (!isAllowedExtension(filename)) {
+                    skipped.add(entryName);
+                    continue;
+                }
+
+                // 저장 전에 개수 확인 (한도를 넘는 항목은 풀지 않음)
+                checkBatchEntryCount(stored);
+                // storeUpload는 입력 스트림을 닫지 않으므로 같은 ZipInputStream으로 다음 항목을 계속 읽음
+                stored.add(storeUpload(zin, filename, tempPath, prefix + "_" + stored.size(), quality,
+                        remainingEntryBytes(stored)));
+            }
+        }
+    }
+
+    private void deleteStored(List<CadFile> stored) {
+        for (CadFile cadFile : stored) {
+            try {
+                Files.deleteIfExists(Paths.get(cadFile.getSourceFilePath()));
+            } catch (Exception ex) {
+                log.warn("임시 파일 삭제 실패: {}", cadFile.getSourceFilePath());
+            }
+        }
+    }
+
+    private void checkBatchEntryCount(List<CadFile> stored) {
+        if (stored.size() >= maxBatchEntries) {
+            throw new IllegalArgumentException("일괄 업로드는 최대 " + maxBatchEntries + "개 파일까지 가능합니다.");
+        }
+    }
+
+    // 이번 항목에 쓸 수 있는 최대 바이트: 항목 한도와 일괄 업로드 잔여 한도 중 작은 값
+    private long remainingEntryBytes(List<CadFile> stored) {
+        long used = 0;
+        for (CadFile cadFile : stored) {
+            used += cadFile.getFileSize();
+        }
+        return Math.min(maxEntryBytes, maxBatchBytes - used);
+    }
+
+    /**
+     * 업로드 스트림을 temp에 저장하면서 SHA-256 계산 (같은 내용이면 변환 결과 재사용)
+     * - 스트림은 닫지 않음(ZIP 항목 연속 저장)
+     * - maxBytes를 넘으면 쓰던 파일을 지우고 예외 (ZIP 항목은 선언된 크기가 아니라 실제로 풀린 바이트로 판단)
+     */
+    private CadFile storeUpload(InputStream in, String originalFilename, Path tempPath, String tempPrefix,
+                                TessellationQuality quality, long maxBytes) throws Exception {
+        Path tempFilePath = tempPath.resolve(tempPrefix + "_" + originalFilename);
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        DigestInputStream din = new DigestInputStream(in, digest);
+        long size = copyCapped(din, tempFilePath, maxBytes, originalFilename);
+
+        CadFile cadFile = new CadFile();
+        cadFile.setOriginalFilename(originalFilename);
+        cadFile.setFileSize(size);
+        cadFile.setStatus("UPLOADING");
+        cadFile.setSourceFilePath(tempFilePath.toAbsolutePath().toString());
+        cadFile.setQualityPreset(quality.name());
+        cadFile.setContentHash(HexFormat.of().formatHex(digest.digest()));
+        return cadFile;
+    }
+
+    private long copyCapped(InputStream in, Path target, long maxBytes, String originalFilename) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                total += n;
+                if (total > maxBytes) {
+                    throw new IllegalArgumentException("업로드 크기 한도를 초과했습니다(파일당 " + maxEntryBytes
+                            + " bytes, 일괄 " + maxBatchBytes + " bytes): " + originalFilename);
+                }
+                out.write(buffer, 0, n);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        return total;
+    }
+
+    private boolean isAllowedExtension(String filename) {
+        String extension = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase();
+        return extension.equals("stl") || extension.equals("obj") || extension.equals("ply") ||
+                extension.equals("step") || extension.equals("stp") || extension.equals("igs") || extension.equals("iges");
+    }
+
+    private CadBatchResponse toBatchResponse(String batchId, List<CadFile> cadFiles) {
+        CadBatchResponse response = new CadBatchResponse();
+        response.setBatchId(batchId);
+        response.setTotal(cadFiles.size());
+        for (CadFile cadFile : cadFiles) {
+            switch (cadFile.getStatus()) {
+                case "PROCESSING" -> response.setProcessing(response.getProcessing() + 1);
+                case "COMPLETED" -> response.setCompleted(response.getCompleted() + 1);
+                case "FAILED" -> response.setFailed(response.getFailed() + 1);
+                default -> response.setUploading(response.getUploading() + 1);
+            }
+        }
+        response.setDone(response.getCompleted() + response.getFailed() == response.getTotal());
+        response.setFiles(cadFiles.stream().map(this::convertToResponse).collect(Collectors.toList()));
+        return response;
     }
 
     private Path resolvePath(String dir) {
@@ -128,6 +405,8 @@ public class CadFileService {
         response.setUploadedAt(cadFile.getUploadedAt());
         response.setFileSize(cadFile.getFileSize());
         response.setStatus(cadFile.getStatus());
+        response.setQualityPreset(cadFile.getQualityPreset());
+        response.setErrorMessage(cadFile.getErrorMessage());
         return response;
     }
 
@@ -0,0 +1,213 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.dto.TessellationQuality;
+import com.korit.project.backend.entity.CadFile;
+import com.korit.project.backend.mapper.CadFileMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 클러스터 안전한 변환 작업 분배
+ * - 업로드는 cad_files 행(UPLOADING)만 만들고, 실제 변환은 어느 인스턴스든 점유(claim)한 쪽이 수행
+ * - 점유: UPDATE ... WHERE status='UPLOADING' (또는 만료된 PROCESSING) + lease_owner/lease_expires_at
+ *   · GLB 재생성은 status를 COMPLETED로 둔 채 regenerate_pending 행의 lease만 점유
+ * - 실행 중에는 heartbeat로 lease 연장, 인스턴스가 죽으면 lease 만료 후 다른 인스턴스가 회수
+ * - conversion.job.timeout-seconds가 지난 작업은 lease를 더 연장하지 않음 (프로세스는 ProcessRunner가 강제 종료)
+ *   → 어디선가 멈춘 작업도 lease 만료 후 다른 인스턴스가 회수하거나 재시도 한도에서 FAILED 처리
+ * - 여러 인스턴스가 temp/converted 디렉터리를 공유 스토리지로 바라본다는 전제
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConversionJobService {
+
+    private final CadFileMapper cadFileMapper;
+    private final PythonWorkerService pythonWorkerService;
+    private final WorkerIdentity workerIdentity;
+
+    @Value("${conversion.job.max-concurrent:2}")
+    private int maxConcurrent;
+
+    @Value("${conversion.job.lease-seconds:60}")
+    private int leaseSeconds;
+
+    @Value("${conversion.job.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${conversion.job.defer-seconds:10}")
+    private int deferSeconds;
+
+    @Value("${conversion.job.timeout-seconds:1800}")
+    private long timeoutSeconds;
+
+    @Value("${lifecycle.regenerate.backoff-minutes:10}")
+    private int regenerateBackoffMinutes;
+
+    // 실행 중인 작업 id → 점유 시각(ms)
+    private final Map<Long, Long> inFlight = new ConcurrentHashMap<>();
+    private final Set<Long> timedOut = ConcurrentHashMap.newKeySet();
+
+    // content_hash + 품질 기준 변환 합치기 (값: 실제로 변환한 leader의 cad_file id)
+    private final SingleFlight<String, Long> conversionFlight = new SingleFlight<>();
+
+    /**
+     * 새 작업이 생겼을 때 polling 주기를 기다리지 않고 바로 점유 시도
+     * - 트랜잭션 안이면 커밋 이후에 실행
+     */
+    public void requestDispatch() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    claimAndDispatch();
+                }
+            });
+            return;
+        }
+        claimAndDispatch();
+    }
+
+    @Scheduled(fixedDelayString = "${conversion.job.poll-interval-ms:2000}")
+    public void poll() {
+        try {
+            int failed = cadFileMapper.failExhaustedJobs(maxAttempts, regenerateBackoffMinutes);
+            if (failed > 0) {
+                log.warn("재시도 횟수 초과로 실패 처리(변환 FAILED / 재생성 backoff): count={}", failed);
+            }
+            claimAndDispatch();
+        } catch (Exception e) {
+            log.warn("변환 작업 polling 실패: {}", e.toString());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${conversion.job.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        if (inFlight.isEmpty()) return;
+
+        long deadline = System.currentTimeMillis() - timeoutSeconds * 1000L;
+        List<Long> alive = new ArrayList<>();
+        for (Map.Entry<Long, Long> e : inFlight.entrySet()) {
+            if (e.getValue() >= deadline) {
+                alive.add(e.getKey());
+            } else if (timedOut.add(e.getKey())) {
+                log.error("변환 작업 시간 초과({}초): lease 연장 중단, ID={}", timeoutSeconds, e.getKey());
+            }
+        }
+        if (alive.isEmpty()) return;
+        try {
+            cadFileMapper.extendLeases(workerIdentity.getId(), alive, leaseSeconds);
+        } catch (Exception e) {
+            log.warn("lease 연장 실패: {}", e.toString());
+        }
+    }
+
+    @PreDestroy
+    public void releaseLeases() {
+        try {
+            int released = cadFileMapper.releaseLeases(workerIdentity.getId());
+            if (released > 0) {
+                log.info("종료 전 lease 반납: owner={}, count={}", workerIdentity.getId(), released);
+            }
+        } catch (Exception e) {
+            log.warn("lease 반납 실패: {}", e.toString());
+        }
+    }
+
+    public synchronized void claimAndDispatch() {
+        int capacity = maxConcurrent - inFlight.size();
+        if (capacity <= 0) return;
+
+        String owner = workerIdentity.getId();
+        int claimed = cadFileMapper.claimPendingJobs(owner, leaseSeconds, capacity, maxAttempts);
+        if (claimed == 0) return;
+
+        List<CadFile> jobs = cadFileMapper.findClaimedBy(owner);
+        for (CadFile job : jobs) {
+            if (inFlight.putIfAbsent(job.getId(), System.currentTimeMillis()) != null) continue;
+            dispatch(job);
+        }
+    }
+
+    private void dispatch(CadFile job) {
+        Long id = job.getId();
+        log.info("변환 작업 점유: ID={}, type={}, owner={}", id, job.getJobType(), workerIdentity.getId());
+
+        try {
+            TessellationQuality quality = TessellationQuality.fromParam(job.getQualityPreset());
+            CompletableFuture<Void> future;
+            if ("REGENERATE".equals(job.getJobType())) {
+                future = pythonWorkerService.regenerateGlb(id, job.getSourceFilePath(), job.getOriginalFilename(), quality);
+            } else if (job.getContentHash() != null) {
+                future = dispatchCoalesced(job, quality);
+                if (future == null) return;
+            } else {
+                future = pythonWorkerService.processCadFile(id, job.getSourceFilePath(), job.getOriginalFilename(), quality);
+            }
+
+            future.whenComplete((r, e) -> {
+                inFlight.remove(id);
+                timedOut.remove(id);
+                if (e != null) {
+                    log.error("변환 작업 실패: ID={}", id, e);
+                }
+            });
+        } catch (Exception e) {
+            // executor 큐 포화 등: lease 만료 후 다시 점유됨
+            inFlight.remove(id);
+            log.error("변환 작업 제출 실패: ID={}", id, e);
+        }
+    }
+
+    /**
+     * 같은 내용(content_hash + 품질) 변환은 한 번만 수행
+     * - 이미 완료된 결과가 있으면 복사
+     * - 다른 인스턴스가 먼저 변환 중이면 점유를 양보하고 나중에 다시 점유 (그때 완료된 결과를 복사)
+     * - 이 인스턴스 안에서 동시에 점유한 작업은 single-flight로 합치고, 나머지는 leader 결과를 복사
+     *
+     * @return 작업 future, 양보한 경우 null
+     */
+    private CompletableFuture<Void> dispatchCoalesced(CadFile job, TessellationQuality quality) {
+        Long id = job.getId();
+        String owner = workerIdentity.getId();
+
+        CadFile donor = cadFileMapper.findReusableConversion(job.getContentHash(), job.getQualityPreset(), id);
+        if (donor != null) {
+            return pythonWorkerService.reuseConversion(id, donor.getId(), job.getSourceFilePath(),
+                    job.getOriginalFilename(), quality);
+        }
+
+        if (cadFileMapper.countEarlierConversionsElsewhere(job.getContentHash(), job.getQualityPreset(), id, owner) > 0) {
+            cadFileMapper.deferJob(id, owner, deferSeconds);
+            inFlight.remove(id);
+            log.info("동일 내용 변환이 다른 인스턴스에서 진행 중, 양보: ID={}, retryAfter={}s", id, deferSeconds);
+            return null;
+        }
+
+        String key = job.getContentHash() + ":" + job.getQualityPreset();
+        return conversionFlight
+                .submit(key, () -> pythonWorkerService
+                        .processCadFile(id, job.getSourceFilePath(), job.getOriginalFilename(), quality)
+                        .thenApply(v -> id))
+                .thenCompose(leaderId -> {
+                    if (leaderId.equals(id)) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    log.info("동일 내용 변환 합류: ID={}, leaderId={}", id, leaderId);
+                    return pythonWorkerService.reuseConversion(id, leaderId, job.getSourceFilePath(),
+                            job.getOriginalFilename(), quality);
+                });
+    }
+}
@@ -0,0 +1,335 @@
+package com.korit.project.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.korit.project.backend.dto.InterferenceReport;
+import com.korit.project.backend.dto.resp.ApiRespDto;
+import com.korit.project.backend.entity.CadFile;
+import com.korit.project.backend.entity.Part;
+import com.korit.project.backend.mapper.CadFileMapper;
+import com.korit.project.backend.mapper.PartMapper;
+import com.korit.project.backend.mesh.GlbScene;
+import com.korit.project.backend.mesh.MeshBvh;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+/**
+ * 부품 간 간섭/여유 거리(clearance) 검사
+ * - broad phase: parts 테이블의 bbox(position=중심, size=크기)를 x축 sweep-and-prune → 후보 쌍
+ * - narrow phase: GLB에서 부품(노드 이름 = partKey)별 월드 좌표 메시로 BVH를 만들고
+ *   후보 쌍마다 BVH 동시 순회 + 삼각형 교차/거리 검사, 전용 ForkJoinPool에서 병렬
+ * - 결과는 converted/{id}/interference-{clearance}.json 에 캐시 (GLB가 더 새로우면 다시 계산)
+ * - 같은 파일/clearance 요청이 겹치면 하나의 분석으로 합침
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InterferenceService {
+
+    private static final double MAX_CLEARANCE = 1000.0;
+
+    private final CadFileMapper cadFileMapper;
+    private final PartMapper partMapper;
+    private final PartArchiveService partArchiveService;
+    private final ArtifactLifecycleService artifactLifecycleService;
+    private final ObjectMapper objectMapper;
+
+    private final SingleFlight<String, InterferenceReport> analysisFlight = new SingleFlight<>();
+
+    @Value("${file.upload.converted-dir}")
+    private String convertedDir;
+
+    // 0이면 CPU 코어 수
+    @Value("${interference.parallelism:0}")
+    private int parallelism;
+
+    // 요청 스레드가 결과를 기다리는 최대 시간 (넘으면 RUNNING 응답 후 백그라운드 계속)
+    @Value("${interference.wait-ms:2000}")
+    private long waitMs;
+
+    // narrow phase에 올릴 수 있는 삼각형 총합 (메모리 상한)
+    @Value("${interference.max-triangles:30000000}")
+    private long maxTriangles;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public ApiRespDto<InterferenceReport> getReport(Long cadFileId, double clearance) {
+        if (!(clearance >= 0 && clearance <= MAX_CLEARANCE)) {
+            return new ApiRespDto<>("failed", "clearance는 0 ~ " + MAX_CLEARANCE + " 범위여야 합니다.", null);
+        }
+        CadFile cadFile = cadFileMapper.findById(cadFileId);
+        if (cadFile == null) {
+            return new ApiRespDto<>("failed", "CAD 파일을 찾을 수 없습니다: ID=" + cadFileId, null);
+        }
+        if (!"COMPLETED".equals(cadFile.getStatus()) || cadFile.getGlbFilePath() == null) {
+            return new ApiRespDto<>("failed", "변환이 완료된 파일만 검사할 수 있습니다: ID=" + cadFileId, null);
+        }
+
+        String clearanceKey = BigDecimal.valueOf(clearance).stripTrailingZeros().toPlainString();
+        Path cachePath = resolveConvertedDirAbs().resolve(String.valueOf(cadFileId))
+                .resolve("interference-" + clearanceKey + ".json");
+        Path glb = Paths.get(cadFile.getGlbFilePath());
+
+        InterferenceReport cached = readCache(cachePath, glb);
+        if (cached != null) {
+            return new ApiRespDto<>("success", "간섭 검사 결과(캐시)입니다.", cached);
+        }
+
+        if (!Files.exists(glb)) {
+            // 축출된 GLB: 재생성 후 다시 요청하도록
+            switch (artifactLifecycleService.requestGlbRegeneration(cadFile)) {
+                case PENDING:
+                    return new ApiRespDto<>("success", "GLB 재생성 중입니다. 잠시 후 다시 요청해주세요.",
+                            running(cadFileId, clearance));
+                case FAILED:
+                    return new ApiRespDto<>("failed", "GLB 재생성에 실패했습니다: ID=" + cadFileId, null);
+                default:
+                    return new ApiRespDto<>("failed", "GLB 파일을 찾을 수 없습니다: ID=" + cadFileId, null);
+            }
+        }
+
+        CompletableFuture<InterferenceReport> future = analysisFlight.submit(cadFileId + ":" + clearanceKey,
+                () -> CompletableFuture.supplyAsync(() -> analyze(cadFileId, clearance, glb, cachePath), pool));
+        try {
+            InterferenceReport report = future.get(waitMs, TimeUnit.MILLISECONDS);
+            return new ApiRespDto<>("success", "간섭 검사가 완료되었습니다.", report);
+        } catch (TimeoutException e) {
+            return new ApiRespDto<>("success", "간섭 검사 진행 중입니다. 잠시 후 다시 요청해주세요.",
+                    running(cadFileId, clearance));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ApiRespDto<>("failed", "간섭 검사 대기 중 중단되었습니다.", null);
+        } catch (Exception e) {
+            log.error("간섭 검사 실패: ID={}", cadFileId, e);
+            return new ApiRespDto<>("failed", "간섭 검사 실패: " + e.getMessage(), null);
+        }
+    }
+
+    private InterferenceReport analyze(Long cadFileId, double clearance, Path glb, Path cachePath) {
+        long started = System.nanoTime();
+        InterferenceReport report = new InterferenceReport();
+        report.setCadFileId(cadFileId);
+        report.setClearance(clearance);
+
+        try {
+            // ---- 부품 메시 (GLB 노드 이름 = partKey) ----
+            GlbScene scene = GlbScene.read(glb, objectMapper);
+            Map<String, List<GlbScene.Instance>> byKey = new HashMap<>();
+            for (GlbScene.Instance inst : scene.instances()) {
+                if (inst.name() == null) continue;
+                byKey.computeIfAbsent(inst.name(), k -> new ArrayList<>()).add(inst);
+            }
+
+            List<Part> parts = new ArrayList<>();
+            int skipped = 0;
+            List<Part> rows = partMapper.findByCadFileId(cadFileId);
+            if (rows.isEmpty()) {
+                PartArchiveCodec.Contents restored = partArchiveService.restore(cadFileId);
+                if (restored != null) rows = restored.parts();
+            }
+            for (Part part : rows) {
+                List<GlbScene.Instance> instances = part.getPartKey() != null ? byKey.get(part.getPartKey()) : null;
+                if (instances == null || !hasBox(part)) {
+                    skipped++;
+                    continue;
+                }
+                parts.add(part);
+            }
+            report.setPartCount(parts.size());
+            report.setSkippedParts(skipped);
+
+            // ---- broad phase ----
+            List<int[]> candidates = sweepAndPrune(parts, clearance);
+            report.setCandidatePairs(candidates.size());
+
+            // ---- narrow phase (후보 쌍에 등장하는 부품만 BVH 생성) ----
+            boolean[] needed = new boolean[parts.size()];
+            for (int[] c : candidates) {
+                needed[c[0]] = true;
+                needed[c[1]] = true;
+            }
+            long triangles = 0;
+            for (int i = 0; i < parts.size(); i++) {
+                if (!needed[i]) continue;
+                for (GlbScene.Instance inst : byKey.get(parts.get(i).getPartKey())) {
+                    triangles += inst.mesh().triangleCount();
+                }
+            }
+            if (triangles > maxTriangles) {
+                throw new IllegalStateException("삼각형 수가 검사 한도를 넘습니다: " + triangles + " > " + maxTriangles);
+            }
+
+            // analyze()는 pool 안에서 돌므로 parallel stream도 같은 pool을 사용
+            Map<Integer, MeshBvh> bvhs = new ConcurrentHashMap<>();
+            IntStream.range(0, parts.size()).parallel()
+                    .filter(i -> needed[i])
+                    .forEach(i -> bvhs.put(i, MeshBvh.build(byKey.get(parts.get(i).getPartKey()))));
+
+            List<InterferenceReport.Pair> pairs = candidates.parallelStream()
+                    .map(c -> test(parts.get(c[0]), bvhs.get(c[0]), parts.get(c[1]), bvhs.get(c[1]), clearance))
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparing(InterferenceReport.Pair::getType).reversed()
+                            .thenComparingDouble(InterferenceReport.Pair::getMinDistance))
+                    .toList();
+
+            report.setPairs(pairs);
+            report.setStatus("COMPLETED");
+            report.setMessage("간섭 " + pairs.stream().filter(p -> "INTERFERENCE".equals(p.getType())).count()
+                    + "건, 여유 거리 미달 " + pairs.stream().filter(p -> "CLEARANCE".equals(p.getType())).count() + "건");
+        } catch (Exception e) {
+            log.error("간섭 검사 실패: ID={}", cadFileId, e);
+            report.setStatus("FAILED");
+            report.setMessage(e.getMessage());
+            report.setPairs(List.of());
+        }
+
+        report.setElapsedMs((System.nanoTime() - started) / 1_000_000);
+        report.setAnalyzedAt(LocalDateTime.now().toString());
+        log.info("간섭 검사: ID={}, clearance={}, parts={}, candidates={}, status={}, {}ms", cadFileId, clearance,
+                report.getPartCount(), report.getCandidatePairs(), report.getStatus(), report.getElapsedMs());
+
+        if ("COMPLETED".equals(report.getStatus())) {
+            writeCache(cachePath, report);
+        }
+        return report;
+    }
+
+    /**
+     * x축으로 정렬한 bbox를 훑으며 세 축 모두 clearance 안쪽으로 겹치는 쌍
+     */
+    private static List<int[]> sweepAndPrune(List<Part> parts, double clearance) {
+        int n = parts.size();
+        double[] box = new double[n * 6];
+        for (int i = 0; i < n; i++) {
+            Part p = parts.get(i);
+            double[] c = {p.getPositionX(), p.getPositionY(), p.getPositionZ()};
+            double[] s = {p.getSizeX(), p.getSizeY(), p.getSizeZ()};
+            for (int axis = 0; axis < 3; axis++) {
+                // 테셀레이션 오차 여유: 크기의 0.1%
+                double half = Math.abs(s[axis]) / 2 * 1.001 + 1e-6;
+                box[i * 6 + axis] = c[axis] - half;
+                box[i * 6 + axis + 3] = c[axis] + half;
+            }
+        }
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingDouble(i -> box[i * 6]));
+
+        List<int[]> pairs = new ArrayList<>();
+        for (int oi = 0; oi < n; oi++) {
+            int a = order[oi];
+            double reach = box[a * 6 + 3] + clearance;
+            for (int oj = oi + 1; oj < n; oj++) {
+                int b = order[oj];
+                if (box[b * 6] > reach) break;
+                if (box[b * 6 + 1] > box[a * 6 + 4] + clearance || box[a * 6 + 1] > box[b * 6 + 4] + clearance) continue;
+                if (box[b * 6 + 2] > box[a * 6 + 5] + clearance || box[a * 6 + 2] > box[b * 6 + 5] + clearance) continue;
+                pairs.add(new int[]{a, b});
+            }
+        }
+        return pairs;
+    }
+
+    static InterferenceReport.Pair test(Part a, MeshBvh bvhA, Part b, MeshBvh bvhB, double clearance) {
+        String type;
+        double distance = 0;
+        if (bvhA.intersects(bvhB)) {
+            type = "INTERFERENCE";
+        } else {
+            if (clearance <= 0) return null;
+            distance = bvhA.distance(bvhB, clearance);
+            if (distance >= clearance) return null;
+            type = "CLEARANCE";
+        }
+
+        InterferenceReport.Pair pair = new InterferenceReport.Pair();
+        pair.setPartIdA(a.getId());
+        pair.setPartKeyA(a.getPartKey());
+        pair.setNameA(a.getDisplayName() != null ? a.getDisplayName() : a.getName());
+        pair.setPartIdB(b.getId());
+        pair.setPartKeyB(b.getPartKey());
+        pair.setNameB(b.getDisplayName() != null ? b.getDisplayName() : b.getName());
+        pair.setType(type);
+        pair.setMinDistance(distance);
+        return pair;
+    }
+
+    private static boolean hasBox(Part p) {
+        return p.getPositionX() != null && p.getPositionY() != null && p.getPositionZ() != null
+                && p.getSizeX() != null && p.getSizeY() != null && p.getSizeZ() != null;
+    }
+
+    private static InterferenceReport running(Long cadFileId, double clearance) {
+        InterferenceReport report = new InterferenceReport();
+        report.setCadFileId(cadFileId);
+        report.setClearance(clearance);
+        report.setStatus("RUNNING");
+        return report;
+    }
+
+    private InterferenceReport readCache(Path cachePath, Path glb) {
+        try {
+            if (!Files.exists(cachePath)) return null;
+            // GLB가 다시 만들어졌으면(재변환) 무효, 축출돼서 없으면 그대로 사용
+            if (Files.exists(glb) && Files.getLastModifiedTime(glb).compareTo(Files.getLastModifiedTime(cachePath)) > 0) {
+                return null;
+            }
+            return objectMapper.readValue(cachePath.toFile(), InterferenceReport.class);
+        } catch (Exception e) {
+            log.warn("간섭 검사 캐시 읽기 실패: {} ({})", cachePath, e.toString());
+            return null;
+        }
+    }
+
+    private void writeCache(Path cachePath, InterferenceReport report) {
+        try {
+            Files.createDirectories(cachePath.getParent());
+            Path tmp = cachePath.resolveSibling(cachePath.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), report);
+            Files.move(tmp, cachePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            log.warn("간섭 검사 캐시 저장 실패: {} ({})", cachePath, e.toString());
+        }
+    }
+
+    private Path resolveConvertedDirAbs() {
+        Path p = Paths.get(convertedDir);
+        if (p.isAbsolute()) return p;
+        return Paths.get(System.getProperty("user.dir")).resolve(p).normalize();
+    }
+}
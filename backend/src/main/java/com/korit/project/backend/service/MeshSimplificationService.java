@@ -0,0 +1,141 @@
+package com.korit.project.backend.service;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.korit.project.backend.mesh.QuadricSimplifier;
+import com.korit.project.backend.mesh.StlIO;
+import com.korit.project.backend.mesh.TriangleMesh;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 삼각형 수가 과도한 부품 메시 단순화 (GLB 조립 전)
+ * - 대상: step_to_parts 레코드의 triangles가 threshold 초과인 STL
+ * - QEM edge collapse로 threshold개까지 줄이되, 오차가 (bbox 대각선 × max-error-ratio)를 넘으면 거기서 멈춤
+ * - 부품끼리는 전용 ForkJoinPool에서 병렬 처리 (요청/파이프라인 스레드를 잡지 않음)
+ * - 결과는 <stem>.simplified.stl로 쓰고 레코드의 meshPath를 교체, 원본/결과 삼각형 수 기록
+ * - 실패하면 원본 메시를 그대로 사용
+ */
+@Slf4j
+@Service
+public class MeshSimplificationService {
+
+    @Value("${mesh.simplify.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mesh.simplify.triangle-threshold:50000}")
+    private int triangleThreshold;
+
+    @Value("${mesh.simplify.max-error-ratio:0.002}")
+    private double maxErrorRatio;
+
+    // 0이면 CPU 코어 수
+    @Value("${mesh.simplify.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * 변환 작업 1건 단위 세션: 형상 중복 제거로 meshPath를 공유하는 부품은 한 번만 단순화
+     */
+    public Session newSession() {
+        return new Session();
+    }
+
+    public class Session {
+        private final ConcurrentHashMap<String, CompletableFuture<Outcome>> byMeshPath = new ConcurrentHashMap<>();
+
+        /**
+         * 레코드(meshPath, triangles)를 보고 필요하면 단순화
+         * - 반환 future는 meshPath / triangleCountOriginal / triangleCount가 채워진 같은 레코드로 완료
+         * - 예외로 완료되지 않음
+         */
+        public CompletableFuture<ObjectNode> submit(ObjectNode record) {
+            String meshPath = record.path("meshPath").asText(null);
+            Integer reported = record.hasNonNull("triangles") ? record.get("triangles").asInt() : null;
+
+            if (meshPath == null || !meshPath.toLowerCase(Locale.ROOT).endsWith(".stl")) {
+                return CompletableFuture.completedFuture(apply(record, new Outcome(meshPath, reported, reported)));
+            }
+            if (!enabled || (reported != null && reported <= triangleThreshold)) {
+                return CompletableFuture.completedFuture(apply(record, new Outcome(meshPath, reported, reported)));
+            }
+
+            CompletableFuture<Outcome> outcome = byMeshPath.computeIfAbsent(meshPath,
+                    p -> CompletableFuture.supplyAsync(() -> simplifyFile(p, reported), pool));
+            return outcome.thenApply(o -> apply(record, o));
+        }
+    }
+
+    private static ObjectNode apply(ObjectNode record, Outcome o) {
+        if (o.meshPath() != null) record.put("meshPath", o.meshPath());
+        if (o.original() != null) record.put("triangleCountOriginal", o.original());
+        if (o.simplified() != null) record.put("triangleCount", o.simplified());
+        return record;
+    }
+
+    private Outcome simplifyFile(String meshPath, Integer reported) {
+        try {
+            Path source = Paths.get(meshPath);
+            int original = reported != null ? reported : StlIO.countTriangles(source);
+            if (original <= triangleThreshold) {
+                return new Outcome(meshPath, original, original);
+            }
+
+            long started = System.nanoTime();
+            TriangleMesh mesh = StlIO.read(source);
+            double maxError = mesh.diagonal() * maxErrorRatio;
+            TriangleMesh simplified = QuadricSimplifier.simplify(mesh, triangleThreshold, maxError);
+            if (simplified.triangleCount() >= mesh.triangleCount() || simplified.triangleCount() == 0) {
+                return new Outcome(meshPath, original, original);
+            }
+
+            String fileName = source.getFileName().toString();
+            String stem = fileName.substring(0, fileName.length() - ".stl".length());
+            Path target = source.resolveSibling(stem + ".simplified.stl");
+            StlIO.writeBinary(target, simplified);
+
+            log.info("메시 단순화: {} {} → {} 삼각형 ({}ms, maxError={})", fileName, original,
+                    simplified.triangleCount(), (System.nanoTime() - started) / 1_000_000, maxError);
+            if (simplified.triangleCount() > triangleThreshold) {
+                log.info("오차 한도로 목표 미달: {} ({} > {})", fileName, simplified.triangleCount(), triangleThreshold);
+            }
+            return new Outcome(target.toString().replace("\\", "/"), original, simplified.triangleCount());
+        } catch (Exception | OutOfMemoryError e) {
+            log.warn("메시 단순화 실패, 원본 사용: {} ({})", meshPath, e.toString());
+            Integer original = reported;
+            if (original == null) {
+                try {
+                    original = StlIO.countTriangles(Paths.get(meshPath));
+                } catch (Exception ignored) {
+                    // 개수 없이 진행
+                }
+            }
+            return new Outcome(meshPath, original, original);
+        }
+    }
+
+    // simplified 파일은 partsDir 안에 있으므로 중간 산출물 정리 때 같이 지워짐
+    private record Outcome(String meshPath, Integer original, Integer simplified) {
+    }
+}
@@ -0,0 +1,297 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.entity.Part;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 보관(cold) 부품 묶음 인코더/디코더 (cad_file_archives.data)
+ *
+ * 파일 하나의 parts 행 + 메모를 컬럼 단위로 모아 Deflate 압축. 압축 전 레이아웃 (big-endian):
+ * <pre>
+ *  char[4]   magic "CPAR"
+ *  int32     version (=1)
+ *  int32     partCount n
+ *  int32     stringCount m
+ *  m x       (int32 UTF-8 길이, 바이트)         문자열 사전 (이름/경로/키/메모 중복 제거)
+ *  varlong   id                  (직전 id와의 차이, zigzag)
+ *  nullable  parentPartId        (long, 자기 id와의 차이)
+ *  nullable  nodeIndex           (int)
+ *  varint    name, displayName, partKey, nodePath, meshId, note  (사전 인덱스 + 1, 0 = null)
+ *  nullable  positionX..Z, sizeX..Z  (float64 원본 그대로)
+ *  nullable  triangleCountOriginal, triangleCount
+ * </pre>
+ * nullable 컬럼 = 값 있음 비트맵((n+7)/8 바이트) + 값 있는 행의 값만
+ * 같은 컬럼끼리 붙어 있어 Deflate가 반복(같은 부품명, 작은 id 차이 등)을 잘 잡음
+ */
+public final class PartArchiveCodec {
+
+    private static final byte[] MAGIC = {'C', 'P', 'A', 'R'};
+    public static final int VERSION = 1;
+
+    private PartArchiveCodec() {
+    }
+
+    /**
+     * @param parts id 오름차순
+     * @param notes partId → 메모
+     */
+    public record Contents(List<Part> parts, Map<Long, String> notes) {
+
+        public Part findPart(Long partId) {
+            for (Part p : parts) {
+                if (p.getId().equals(partId)) return p;
+            }
+            return null;
+        }
+    }
+
+    public static byte[] encode(List<Part> parts, Map<Long, String> notes) {
+        int n = parts.size();
+        Map<String, Integer> index = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+
+        try {
+            ByteArrayOutputStream columnBytes = new ByteArrayOutputStream(n * 64);
+            DataOutputStream col = new DataOutputStream(columnBytes);
+
+            long prev = 0;
+            for (Part p : parts) {
+                writeVarLong(col, zigzag(p.getId() - prev));
+                prev = p.getId();
+            }
+            writeNullableLongs(col, parts, p -> p.getParentPartId() == null ? null : p.getParentPartId() - p.getId());
+            writeNullableInts(col, parts, Part::getNodeIndex);
+
+            for (Part p : parts) writeVarLong(col, intern(p.getName(), index, strings));
+            for (Part p : parts) writeVarLong(col, intern(p.getDisplayName(), index, strings));
+            for (Part p : parts) writeVarLong(col, intern(p.getPartKey(), index, strings));
+            for (Part p : parts) writeVarLong(col, intern(p.getNodePath(), index, strings));
+            for (Part p : parts) writeVarLong(col, intern(p.getMeshId(), index, strings));
+            for (Part p : parts) writeVarLong(col, intern(notes.get(p.getId()), index, strings));
+
+            writeNullableDoubles(col, parts, Part::getPositionX);
+            writeNullableDoubles(col, parts, Part::getPositionY);
+            writeNullableDoubles(col, parts, Part::getPositionZ);
+            writeNullableDoubles(col, parts, Part::getSizeX);
+            writeNullableDoubles(col, parts, Part::getSizeY);
+            writeNullableDoubles(col, parts, Part::getSizeZ);
+
+            writeNullableInts(col, parts, Part::getTriangleCountOriginal);
+            writeNullableInts(col, parts, Part::getTriangleCount);
+            col.flush();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(columnBytes.size() / 3 + 64);
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try (DataOutputStream dos = new DataOutputStream(new DeflaterOutputStream(out, deflater))) {
+                dos.write(MAGIC);
+                dos.writeInt(VERSION);
+                dos.writeInt(n);
+                dos.writeInt(strings.size());
+                for (byte[] s : strings) {
+                    dos.writeInt(s.length);
+                    dos.write(s);
+                }
+                columnBytes.writeTo(dos);
+            } finally {
+                deflater.end();
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static Contents decode(Long cadFileId, byte[] data) {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            byte[] magic = new byte[4];
+            in.readFully(magic);
+            int version = in.readInt();
+            if (magic[0] != MAGIC[0] || magic[1] != MAGIC[1] || magic[2] != MAGIC[2] || magic[3] != MAGIC[3]
+                    || version != VERSION) {
+                throw new IllegalStateException("지원하지 않는 부품 보관 형식: version=" + version);
+            }
+            int n = in.readInt();
+            int m = in.readInt();
+            String[] strings = new String[m];
+            for (int i = 0; i < m; i++) {
+                byte[] b = new byte[in.readInt()];
+                in.readFully(b);
+                strings[i] = new String(b, StandardCharsets.UTF_8);
+            }
+
+            List<Part> parts = new ArrayList<>(n);
+            long prev = 0;
+            for (int i = 0; i < n; i++) {
+                Part p = new Part();
+                prev += unzigzag(readVarLong(in));
+                p.setId(prev);
+                p.setCadFileId(cadFileId);
+                parts.add(p);
+            }
+            Long[] parentDelta = readNullableLongs(in, n);
+            Integer[] nodeIndex = readNullableInts(in, n);
+            for (int i = 0; i < n; i++) {
+                Part p = parts.get(i);
+                p.setParentPartId(parentDelta[i] == null ? null : p.getId() + parentDelta[i]);
+                p.setNodeIndex(nodeIndex[i]);
+            }
+
+            for (Part p : parts) p.setName(lookup(strings, in));
+            for (Part p : parts) p.setDisplayName(lookup(strings, in));
+            for (Part p : parts) p.setPartKey(lookup(strings, in));
+            for (Part p : parts) p.setNodePath(lookup(strings, in));
+            for (Part p : parts) p.setMeshId(lookup(strings, in));
+            Map<Long, String> notes = new LinkedHashMap<>();
+            for (Part p : parts) {
+                String note = lookup(strings, in);
+                if (note != null) notes.put(p.getId(), note);
+            }
+
+            Double[] px = readNullableDoubles(in, n), py = readNullableDoubles(in, n), pz = readNullableDoubles(in, n);
+            Double[] sx = readNullableDoubles(in, n), sy = readNullableDoubles(in, n), sz = readNullableDoubles(in, n);
+            Integer[] triOriginal = readNullableInts(in, n), tri = readNullableInts(in, n);
+            for (int i = 0; i < n; i++) {
+                Part p = parts.get(i);
+                p.setPositionX(px[i]);
+                p.setPositionY(py[i]);
+                p.setPositionZ(pz[i]);
+                p.setSizeX(sx[i]);
+                p.setSizeY(sy[i]);
+                p.setSizeZ(sz[i]);
+                p.setTriangleCountOriginal(triOriginal[i]);
+                p.setTriangleCount(tri[i]);
+            }
+            return new Contents(parts, notes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ---- 문자열 사전 ----
+
+    private static long intern(String s, Map<String, Integer> index, List<byte[]> strings) {
+        if (s == null) return 0;
+        Integer idx = index.get(s);
+        if (idx == null) {
+            idx = strings.size();
+            strings.add(s.getBytes(StandardCharsets.UTF_8));
+            index.put(s, idx);
+        }
+        return idx + 1L;
+    }
+
+    private static String lookup(String[] strings, DataInputStream in) throws IOException {
+        long v = readVarLong(in);
+        return v == 0 ? null : strings[(int) (v - 1)];
+    }
+
+    // ---- nullable 컬럼: 비트맵 + 값 ----
+
+    private interface Getter<T> {
+        T get(Part p);
+    }
+
+    private static void writeBitmap(DataOutputStream out, List<Part> parts, Getter<?> getter) throws IOException {
+        byte[] bits = new byte[(parts.size() + 7) / 8];
+        for (int i = 0; i < parts.size(); i++) {
+            if (getter.get(parts.get(i)) != null) bits[i >> 3] |= (byte) (1 << (i & 7));
+        }
+        out.write(bits);
+    }
+
+    private static boolean[] readBitmap(DataInputStream in, int n) throws IOException {
+        byte[] bits = new byte[(n + 7) / 8];
+        in.readFully(bits);
+        boolean[] present = new boolean[n];
+        for (int i = 0; i < n; i++) present[i] = (bits[i >> 3] & (1 << (i & 7))) != 0;
+        return present;
+    }
+
+    private static void writeNullableLongs(DataOutputStream out, List<Part> parts, Getter<Long> getter) throws IOException {
+        writeBitmap(out, parts, getter);
+        for (Part p : parts) {
+            Long v = getter.get(p);
+            if (v != null) writeVarLong(out, zigzag(v));
+        }
+    }
+
+    private static Long[] readNullableLongs(DataInputStream in, int n) throws IOException {
+        boolean[] present = readBitmap(in, n);
+        Long[] values = new Long[n];
+        for (int i = 0; i < n; i++) if (present[i]) values[i] = unzigzag(readVarLong(in));
+        return values;
+    }
+
+    private static void writeNullableInts(DataOutputStream out, List<Part> parts, Getter<Integer> getter) throws IOException {
+        writeBitmap(out, parts, getter);
+        for (Part p : parts) {
+            Integer v = getter.get(p);
+            if (v != null) writeVarLong(out, zigzag(v));
+        }
+    }
+
+    private static Integer[] readNullableInts(DataInputStream in, int n) throws IOException {
+        boolean[] present = readBitmap(in, n);
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) if (present[i]) values[i] = (int) unzigzag(readVarLong(in));
+        return values;
+    }
+
+    private static void writeNullableDoubles(DataOutputStream out, List<Part> parts, Getter<Double> getter) throws IOException {
+        writeBitmap(out, parts, getter);
+        for (Part p : parts) {
+            Double v = getter.get(p);
+            if (v != null) out.writeDouble(v);
+        }
+    }
+
+    private static Double[] readNullableDoubles(DataInputStream in, int n) throws IOException {
+        boolean[] present = readBitmap(in, n);
+        Double[] values = new Double[n];
+        for (int i = 0; i < n; i++) if (present[i]) values[i] = in.readDouble();
+        return values;
+    }
+
+    // ---- varint ----
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IOException("varint가 너무 깁니다.");
+    }
+}
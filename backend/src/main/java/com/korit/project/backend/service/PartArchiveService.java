@@ -0,0 +1,211 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.entity.CadFileArchive;
+import com.korit.project.backend.entity.Part;
+import com.korit.project.backend.entity.PartNote;
+import com.korit.project.backend.mapper.CadFileArchiveMapper;
+import com.korit.project.backend.mapper.CadFileMapper;
+import com.korit.project.backend.mapper.PartMapper;
+import com.korit.project.backend.mapper.PartNoteMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부품 행 보관(cold storage)
+ * - part.archive.inactive-days 동안 조회(GLB 다운로드)되지 않은 완료 파일의 parts + part_notes 를
+ *   cad_file_archives 한 행(PartArchiveCodec 압축 묶음)으로 옮기고 원래 행은 삭제
+ *   → parts 테이블/인덱스/버퍼 풀은 최근에 쓰는 파일 크기만큼만 유지
+ * - 부품 조회/편집이 보관된 파일을 만나면 restore: 원래 ID 그대로 다시 insert 하고 보관 행 삭제
+ *   · 항상 새 트랜잭션(REQUIRES_NEW, 쓰기 → primary)에서 복원: 호출자가 readOnly(replica) 트랜잭션이어도 동작
+ *   · 호출자 트랜잭션은 스냅샷/MyBatis 세션 캐시 때문에 방금 복원된 행을 못 볼 수 있으므로
+ *     복원 결과(Contents)를 그대로 돌려줘서 호출자가 사용
+ *   · 복원 시 last_accessed_at 갱신 → 다음 정리 주기에 바로 다시 보관되지 않음
+ * - 보관 중에도 부품 검색에 나오도록 이름/표시명/메모만 part_search_archive에 남김 (복원/재변환 시 삭제)
+ * - 부품 created_at, 메모 작성/수정 시각은 보관하지 않음 (복원 시점으로 바뀜)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartArchiveService {
+
+    private static final int INSERT_CHUNK_SIZE = 500;
+
+    private final CadFileMapper cadFileMapper;
+    private final CadFileArchiveMapper cadFileArchiveMapper;
+    private final PartMapper partMapper;
+    private final PartNoteMapper partNoteMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private final SingleFlight<Long, PartArchiveCodec.Contents> restoreFlight = new SingleFlight<>();
+
+    @Value("${part.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${part.archive.inactive-days:14}")
+    private int inactiveDays;
+
+    @Value("${part.archive.batch-size:50}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${part.archive.sweep-interval-ms:3600000}",
+            initialDelayString = "${part.archive.initial-delay-ms:300000}")
+    public void sweep() {
+        if (!enabled) return;
+        try {
+            List<Long> candidates = cadFileArchiveMapper.findArchiveCandidates(inactiveDays, batchSize);
+            int archived = 0;
+            for (Long cadFileId : candidates) {
+                try {
+                    if (archive(cadFileId)) archived++;
+                } catch (Exception e) {
+                    log.warn("부품 보관 실패: cadFileId={}, err={}", cadFileId, e.toString());
+                }
+            }
+            if (archived > 0) {
+                log.info("부품 보관 완료: files={}/{}", archived, candidates.size());
+            }
+        } catch (Exception e) {
+            log.warn("부품 보관 정리 실패: {}", e.toString());
+        }
+    }
+
+    /**
+     * 파일 하나 보관 (조건을 트랜잭션 안에서 다시 확인, 보관했으면 true)
+     */
+    public boolean archive(Long cadFileId) {
+        Boolean archived = newTransaction().execute(status -> {
+            if (cadFileArchiveMapper.lockArchivableCadFile(cadFileId, inactiveDays) == null) return false;
+            if (partMapper.lockIdsByCadFileId(cadFileId).isEmpty()) return false;
+
+            List<Part> parts = partMapper.findByCadFileId(cadFileId);
+            Map<Long, String> notes = new LinkedHashMap<>();
+            for (PartNote note : partNoteMapper.findByCadFileId(cadFileId)) {
+                if (note.getNote() != null) notes.put(note.getPartId(), note.getNote());
+            }
+
+            CadFileArchive archive = new CadFileArchive();
+            archive.setCadFileId(cadFileId);
+            archive.setFormatVersion(PartArchiveCodec.VERSION);
+            archive.setPartCount(parts.size());
+            archive.setNoteCount(notes.size());
+            archive.setMinPartId(parts.get(0).getId());
+            archive.setMaxPartId(parts.get(parts.size() - 1).getId());
+            archive.setData(PartArchiveCodec.encode(parts, notes));
+            cadFileArchiveMapper.insertArchive(archive);
+            cadFileArchiveMapper.insertSearchRows(cadFileId);
+
+            // part_notes는 FK ON DELETE CASCADE로 같이 삭제
+            partMapper.deleteByCadFileId(cadFileId);
+
+            meterRegistry.counter("cad.parts.archive.archived").increment();
+            meterRegistry.counter("cad.parts.archive.rows", "direction", "out").increment(parts.size());
+            log.info("부품 보관: cadFileId={}, parts={}, notes={}, bytes={}",
+                    cadFileId, parts.size(), notes.size(), archive.getData().length);
+            return true;
+        });
+        return Boolean.TRUE.equals(archived);
+    }
+
+    /**
+     * 보관된 파일의 부품 복원
+     * @return 복원한(또는 그 사이 다른 요청이 이미 복원한) 부품 + 메모, 보관된 적도 부품도 없으면 null
+     */
+    public PartArchiveCodec.Contents restore(Long cadFileId) {
+        return restoreFlight.execute(cadFileId, () -> newTransaction().execute(status -> restoreLocked(cadFileId)));
+    }
+
+    /**
+     * 부품 ID로 보관 묶음을 찾아 그 파일 전체를 복원
+     * @return 해당 부품이 들어 있는 파일의 부품 + 메모, 없으면 null
+     */
+    public PartArchiveCodec.Contents restoreContainingPart(Long partId) {
+        List<Long> candidates = newTransaction().execute(status -> cadFileArchiveMapper.findCadFileIdsByPartId(partId));
+        if (candidates != null) {
+            for (Long cadFileId : candidates) {
+                PartArchiveCodec.Contents contents = restore(cadFileId);
+                if (contents != null && contents.findPart(partId) != null) return contents;
+            }
+        }
+
+        // 그 사이 다른 요청이 복원했을 수 있음: primary에서 다시 확인
+        return newTransaction().execute(status -> {
+            Part part = partMapper.findById(partId);
+            return part != null ? loadHot(part.getCadFileId()) : null;
+        });
+    }
+
+    /**
+     * 재변환으로 parts를 새로 만들 때 이전 보관 묶음도 버림
+     * (남겨두면 새 parts 와 함께 옛 부품이 복원될 수 있음)
+     */
+    public void discard(Long cadFileId) {
+        cadFileArchiveMapper.deleteByCadFileId(cadFileId);
+        cadFileArchiveMapper.deleteSearchRows(cadFileId);
+    }
+
+    private PartArchiveCodec.Contents restoreLocked(Long cadFileId) {
+        CadFileArchive archive = cadFileArchiveMapper.findByCadFileIdForUpdate(cadFileId);
+        if (archive == null) {
+            return loadHot(cadFileId);
+        }
+
+        PartArchiveCodec.Contents contents = PartArchiveCodec.decode(cadFileId, archive.getData());
+        List<Part> parts = contents.parts();
+        for (int i = 0; i < parts.size(); i += INSERT_CHUNK_SIZE) {
+            partMapper.insertPartsWithIds(parts.subList(i, Math.min(parts.size(), i + INSERT_CHUNK_SIZE)));
+        }
+        for (Part p : parts) {
+            if (p.getParentPartId() != null) partMapper.updateParentPartId(p.getId(), p.getParentPartId());
+        }
+
+        List<PartNote> notes = new ArrayList<>();
+        for (Map.Entry<Long, String> e : contents.notes().entrySet()) {
+            PartNote note = new PartNote();
+            note.setPartId(e.getKey());
+            note.setNote(e.getValue());
+            notes.add(note);
+        }
+        for (int i = 0; i < notes.size(); i += INSERT_CHUNK_SIZE) {
+            partNoteMapper.upsertNotes(notes.subList(i, Math.min(notes.size(), i + INSERT_CHUNK_SIZE)));
+        }
+
+        cadFileArchiveMapper.deleteByCadFileId(cadFileId);
+        cadFileArchiveMapper.deleteSearchRows(cadFileId);
+        cadFileMapper.touchLastAccessed(cadFileId);
+
+        meterRegistry.counter("cad.parts.archive.restored").increment();
+        meterRegistry.counter("cad.parts.archive.rows", "direction", "in").increment(parts.size());
+        log.info("부품 복원: cadFileId={}, parts={}, notes={}", cadFileId, parts.size(), notes.size());
+        return contents;
+    }
+
+    private PartArchiveCodec.Contents loadHot(Long cadFileId) {
+        List<Part> parts = partMapper.findByCadFileId(cadFileId);
+        if (parts.isEmpty()) return null;
+        Map<Long, String> notes = new LinkedHashMap<>();
+        for (PartNote note : partNoteMapper.findByCadFileId(cadFileId)) {
+            if (note.getNote() != null) notes.put(note.getPartId(), note.getNote());
+        }
+        return new PartArchiveCodec.Contents(parts, notes);
+    }
+
+    // 호출자의 트랜잭션(readOnly 포함)과 분리된 쓰기 트랜잭션
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
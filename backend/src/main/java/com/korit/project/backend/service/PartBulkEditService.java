@@ -0,0 +1,216 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.dto.PartBulkEditRequest.Operation;
+import com.korit.project.backend.dto.PartBulkEditResult;
+import com.korit.project.backend.dto.resp.ApiRespDto;
+import com.korit.project.backend.entity.Part;
+import com.korit.project.backend.entity.PartNote;
+import com.korit.project.backend.mapper.PartMapper;
+import com.korit.project.backend.mapper.PartNoteMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부품 일괄 편집 (표시명 / 메모)
+ * - 같은 부품 편집은 항목별로 마지막 값만 남김
+ * - 한 트랜잭션: 부품 식별(IN 조회) → 표시명 UPDATE를 JDBC batch로 → 메모 다중 행 upsert
+ *   수백 건 편집이 왕복 수백 번이 아니라 문장 몇 개로 끝남
+ * - 배치 전용 SqlSessionTemplate(ExecutorType.BATCH)만 사용 (같은 트랜잭션에서 기본 매퍼와 섞지 않음)
+ */
+@Slf4j
+@Service
+public class PartBulkEditService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_DISPLAY_NAME_LENGTH = 255;
+
+    private final SqlSessionTemplate batchSqlSessionTemplate;
+    private final PartArchiveService partArchiveService;
+
+    @Value("${part.bulk-edit.max-operations:5000}")
+    private int maxOperations;
+
+    public PartBulkEditService(@Qualifier("batchSqlSessionTemplate") SqlSessionTemplate batchSqlSessionTemplate,
+                               PartArchiveService partArchiveService) {
+        this.batchSqlSessionTemplate = batchSqlSessionTemplate;
+        this.partArchiveService = partArchiveService;
+    }
+
+    /**
+     * 요청 검증 (DB 접근 없음)
+     * @return 오류 메시지, 문제 없으면 null
+     */
+    public String validate(Long cadFileId, List<Operation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            return "편집할 항목이 없습니다.";
+        }
+        if (operations.size() > maxOperations) {
+            return "한 번에 편집할 수 있는 항목은 최대 " + maxOperations + "개입니다.";
+        }
+        for (int i = 0; i < operations.size(); i++) {
+            Operation op = operations.get(i);
+            if (op == null) {
+                return "operations[" + i + "]가 비어 있습니다.";
+            }
+            if (op.getPartId() == null) {
+                if (op.getPartKey() == null || op.getPartKey().isBlank()) {
+                    return "operations[" + i + "]: partId 또는 partKey가 필요합니다.";
+                }
+                if (op.getCadFileId() == null && cadFileId == null) {
+                    return "operations[" + i + "]: partKey로 지정하려면 cadFileId가 필요합니다.";
+                }
+            }
+            if (op.getDisplayName() != null && op.getDisplayName().length() > MAX_DISPLAY_NAME_LENGTH) {
+                return "operations[" + i + "]: 부품 이름은 " + MAX_DISPLAY_NAME_LENGTH + "자 이하여야 합니다.";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 편집 목록을 부품별로 합침 (나중 편집 우선, displayName/note 각각)
+     * - 키: partId 기준 "id:{partId}", partKey 기준 "{cadFileId}:{partKey}"
+     * - 합쳐진 작업에는 cadFileId가 채워짐
+     */
+    static void merge(Map<String, Operation> target, Long cadFileId, List<Operation> operations) {
+        for (Operation op : operations) {
+            Long fileId = op.getCadFileId() != null ? op.getCadFileId() : cadFileId;
+            String key = key(op.getPartId(), fileId, op.getPartKey());
+
+            Operation merged = target.get(key);
+            if (merged == null) {
+                merged = new Operation();
+                merged.setPartId(op.getPartId());
+                merged.setCadFileId(fileId);
+                merged.setPartKey(op.getPartKey());
+                target.put(key, merged);
+            }
+            if (op.getDisplayName() != null) merged.setDisplayName(op.getDisplayName());
+            if (op.getNote() != null) merged.setNote(op.getNote());
+        }
+    }
+
+    static String key(Long partId, Long cadFileId, String partKey) {
+        return partId != null ? "id:" + partId : cadFileId + ":" + partKey;
+    }
+
+    @Transactional
+    public ApiRespDto<PartBulkEditResult> apply(Long cadFileId, List<Operation> operations) {
+        String error = validate(cadFileId, operations);
+        if (error != null) {
+            return new ApiRespDto<>("failed", error, null);
+        }
+
+        Map<String, Operation> merged = new LinkedHashMap<>();
+        merge(merged, cadFileId, operations);
+
+        PartMapper partMapper = batchSqlSessionTemplate.getMapper(PartMapper.class);
+        PartNoteMapper partNoteMapper = batchSqlSessionTemplate.getMapper(PartNoteMapper.class);
+
+        // ---- (1) 부품 식별: partId 목록 / 파일별 partKey 목록을 IN 조회 ----
+        List<Long> ids = new ArrayList<>();
+        Map<Long, List<String>> keysByFile = new LinkedHashMap<>();
+        for (Operation op : merged.values()) {
+            if (op.getPartId() != null) ids.add(op.getPartId());
+            else keysByFile.computeIfAbsent(op.getCadFileId(), k -> new ArrayList<>()).add(op.getPartKey());
+        }
+
+        Map<Long, Part> byId = new HashMap<>();
+        for (List<Long> chunk : chunks(ids)) {
+            for (Part p : partMapper.findEditKeysByIds(chunk)) byId.put(p.getId(), p);
+        }
+        Map<String, Part> byFileKey = new HashMap<>();
+        for (Map.Entry<Long, List<String>> e : keysByFile.entrySet()) {
+            for (List<String> chunk : chunks(e.getValue())) {
+                for (Part p : partMapper.findEditKeysByCadFileIdAndPartKeys(e.getKey(), chunk)) {
+                    byFileKey.put(p.getCadFileId() + ":" + p.getPartKey(), p);
+                }
+            }
+        }
+
+        // ---- (1-1) 못 찾은 부품은 보관된 파일일 수 있음: 복원(별도 트랜잭션) 결과로 식별 ----
+        // 여기까지는 잠금 없는 조회만 했으므로 복원 INSERT가 이 트랜잭션을 기다리지 않음
+        Map<Long, Boolean> restoredFiles = new HashMap<>();
+        for (Operation op : merged.values()) {
+            if (op.getPartId() != null) {
+                if (byId.containsKey(op.getPartId())) continue;
+                PartArchiveCodec.Contents restored = partArchiveService.restoreContainingPart(op.getPartId());
+                if (restored != null) addRestored(restored, byId, byFileKey);
+            } else {
+                if (byFileKey.containsKey(op.getCadFileId() + ":" + op.getPartKey())) continue;
+                if (restoredFiles.putIfAbsent(op.getCadFileId(), Boolean.TRUE) != null) continue;
+                PartArchiveCodec.Contents restored = partArchiveService.restore(op.getCadFileId());
+                if (restored != null) addRestored(restored, byId, byFileKey);
+            }
+        }
+
+        // ---- (2) 표시명: 같은 UPDATE 문장을 모아서 JDBC batch 한 번으로 ----
+        List<String> unresolved = new ArrayList<>();
+        List<PartNote> notes = new ArrayList<>();
+        int renamed = 0;
+        for (Map.Entry<String, Operation> e : merged.entrySet()) {
+            Operation op = e.getValue();
+            Part part = op.getPartId() != null
+                    ? byId.get(op.getPartId())
+                    : byFileKey.get(op.getCadFileId() + ":" + op.getPartKey());
+            if (part == null) {
+                unresolved.add(op.getPartId() != null ? String.valueOf(op.getPartId()) : e.getKey());
+                continue;
+            }
+            if (op.getDisplayName() != null) {
+                partMapper.updateDisplayNameByCadFileIdAndPartKey(part.getCadFileId(), part.getPartKey(), op.getDisplayName());
+                renamed++;
+            }
+            if (op.getNote() != null) {
+                PartNote note = new PartNote();
+                note.setPartId(part.getId());
+                note.setNote(op.getNote());
+                notes.add(note);
+            }
+        }
+
+        // ---- (3) 메모: 다중 행 INSERT ... ON DUPLICATE KEY UPDATE ----
+        for (List<PartNote> chunk : chunks(notes)) {
+            partNoteMapper.upsertNotes(chunk);
+        }
+
+        // 커밋 전에 batch를 보내서 오류가 이 트랜잭션 안에서 드러나게 (→ 롤백)
+        batchSqlSessionTemplate.flushStatements();
+
+        PartBulkEditResult result = new PartBulkEditResult();
+        result.setRequested(operations.size());
+        result.setParts(merged.size());
+        result.setRenamed(renamed);
+        result.setNotesSaved(notes.size());
+        result.setUnresolved(unresolved);
+
+        log.info("부품 일괄 편집: requested={}, parts={}, renamed={}, notes={}, unresolved={}",
+                operations.size(), merged.size(), renamed, notes.size(), unresolved.size());
+        return new ApiRespDto<>("success", "부품 일괄 편집이 완료되었습니다.", result);
+    }
+
+    private static void addRestored(PartArchiveCodec.Contents restored, Map<Long, Part> byId, Map<String, Part> byFileKey) {
+        for (Part p : restored.parts()) {
+            byId.put(p.getId(), p);
+            if (p.getPartKey() != null) byFileKey.put(p.getCadFileId() + ":" + p.getPartKey(), p);
+        }
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += CHUNK_SIZE) {
+            chunks.add(items.subList(i, Math.min(items.size(), i + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+}
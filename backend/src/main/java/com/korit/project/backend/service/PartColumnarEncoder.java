@@ -0,0 +1,184 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.dto.PartColumnRow;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부품 목록 컬럼형 바이너리 인코더 (대형 어셈블리용 JSON 대체 표현)
+ *
+ * 레이아웃 (little-endian, 브라우저에서 TypedArray로 바로 읽을 수 있음):
+ * <pre>
+ *  0   char[4]     magic "CADP"
+ *  4   int32       version (=1)
+ *  8   int32       partCount n
+ *  12  int32       stringCount m
+ *  16  int64[n]    id
+ *      int32[n]    nodeIndex       (-1 = null)
+ *      int32[n]    name            (문자열 테이블 인덱스, -1 = null)
+ *      int32[n]    displayName     (JSON 응답과 같은 규칙: 없으면 name)
+ *      int32[n]    partKey
+ *      int32[n]    note
+ *      float32[3n] position xyz    (NaN = null)
+ *      float32[3n] size xyz
+ *      int32[m]    문자열 UTF-8 바이트 길이
+ *      uint8[]     문자열 UTF-8 바이트(연속)
+ * </pre>
+ * 문자열은 중복 제거되어 한 번만 저장됨 (같은 부품명이 반복되는 어셈블리에 유리)
+ *
+ * 헤더에 개수가 먼저 오고 컬럼 단위로 나열되므로 행을 모두 받은 뒤에 쓸 수 있음
+ * → 행은 DB 커서에서 바로 primitive 컬럼 배열로 받고(엔티티/JSON 없이), writeTo 로 작은 버퍼를 거쳐 응답에 씀
+ *   (전체 payload 크기의 byte[]는 만들지 않음)
+ */
+public class PartColumnarEncoder {
+
+    public static final String MEDIA_TYPE = "application/vnd.cad-parts.columnar";
+
+    private static final byte[] MAGIC = {'C', 'A', 'D', 'P'};
+    private static final int VERSION = 1;
+    private static final int WRITE_BUFFER = 8 * 1024;
+
+    private int count;
+    private long[] ids = new long[256];
+    private int[] nodeIndex = new int[256];
+    private int[] name = new int[256];
+    private int[] displayName = new int[256];
+    private int[] partKey = new int[256];
+    private int[] note = new int[256];
+    private float[] position = new float[256 * 3];
+    private float[] size = new float[256 * 3];
+
+    private final Map<String, Integer> stringIndex = new HashMap<>();
+    private final List<byte[]> strings = new ArrayList<>();
+    private int stringBytes;
+
+    public void add(PartColumnRow row) {
+        ensureCapacity(count + 1);
+        int i = count++;
+
+        ids[i] = row.getId() != null ? row.getId() : -1L;
+        nodeIndex[i] = row.getNodeIndex() != null ? row.getNodeIndex() : -1;
+
+        String resolvedDisplayName = (row.getDisplayName() != null && !row.getDisplayName().isBlank())
+                ? row.getDisplayName()
+                : row.getName();
+        name[i] = intern(row.getName());
+        displayName[i] = intern(resolvedDisplayName);
+        partKey[i] = intern(row.getPartKey());
+        note[i] = intern(row.getNote());
+
+        position[i * 3] = toFloat(row.getPositionX());
+        position[i * 3 + 1] = toFloat(row.getPositionY());
+        position[i * 3 + 2] = toFloat(row.getPositionZ());
+        size[i * 3] = toFloat(row.getSizeX());
+        size[i * 3 + 1] = toFloat(row.getSizeY());
+        size[i * 3 + 2] = toFloat(row.getSizeZ());
+    }
+
+    /**
+     * 인코딩 결과 크기 (Content-Length)
+     */
+    public long byteSize() {
+        return 16L
+                + count * 8L
+                + count * 4L * 5
+                + count * 4L * 6
+                + strings.size() * 4L
+                + stringBytes;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(WRITE_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+        buf.put(MAGIC);
+        buf.putInt(VERSION);
+        buf.putInt(count);
+        buf.putInt(strings.size());
+
+        for (int i = 0; i < count; i++) putLong(buf, out, ids[i]);
+        for (int[] column : new int[][]{nodeIndex, name, displayName, partKey, note}) {
+            for (int i = 0; i < count; i++) putInt(buf, out, column[i]);
+        }
+        for (int i = 0; i < count * 3; i++) putFloat(buf, out, position[i]);
+        for (int i = 0; i < count * 3; i++) putFloat(buf, out, size[i]);
+
+        for (byte[] str : strings) putInt(buf, out, str.length);
+        flush(buf, out);
+        for (byte[] str : strings) out.write(str);
+        out.flush();
+    }
+
+    public byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) byteSize());
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    private int intern(String s) {
+        if (s == null) return -1;
+        Integer idx = stringIndex.get(s);
+        if (idx != null) return idx;
+
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        int newIdx = strings.size();
+        strings.add(bytes);
+        stringBytes += bytes.length;
+        stringIndex.put(s, newIdx);
+        return newIdx;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) return;
+        int cap = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, cap);
+        nodeIndex = Arrays.copyOf(nodeIndex, cap);
+        name = Arrays.copyOf(name, cap);
+        displayName = Arrays.copyOf(displayName, cap);
+        partKey = Arrays.copyOf(partKey, cap);
+        note = Arrays.copyOf(note, cap);
+        position = Arrays.copyOf(position, cap * 3);
+        size = Arrays.copyOf(size, cap * 3);
+    }
+
+    private static void putLong(ByteBuffer buf, OutputStream out, long v) throws IOException {
+        if (buf.remaining() < Long.BYTES) flush(buf, out);
+        buf.putLong(v);
+    }
+
+    private static void putInt(ByteBuffer buf, OutputStream out, int v) throws IOException {
+        if (buf.remaining() < Integer.BYTES) flush(buf, out);
+        buf.putInt(v);
+    }
+
+    private static void putFloat(ByteBuffer buf, OutputStream out, float v) throws IOException {
+        if (buf.remaining() < Float.BYTES) flush(buf, out);
+        buf.putFloat(v);
+    }
+
+    private static void flush(ByteBuffer buf, OutputStream out) throws IOException {
+        out.write(buf.array(), 0, buf.position());
+        buf.clear();
+    }
+
+    private static float toFloat(Double v) {
+        return v != null ? v.floatValue() : Float.NaN;
+    }
+}
@@ -0,0 +1,250 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.dto.PartBulkEditRequest.Operation;
+import com.korit.project.backend.dto.PartBulkEditResult;
+import com.korit.project.backend.dto.resp.ApiRespDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 부품 편집 write-behind
+ * - 자동 저장 편집기는 같은 부품에 곧 덮어쓸 편집을 계속 보냄 → 접수만 하고 부품별 마지막 값만 보관
+ * - part.bulk-edit.write-behind-window-ms 마다 모인 편집을 PartBulkEditService로 한 번에 저장
+ * - 대기 중인 편집이 write-behind-max-pending 이상이면 접수한 요청 스레드에서 바로 저장
+ * - 저장 실패 시 묶음을 파일별로, 그래도 실패하면 반씩 나눠 다시 저장해서 실패한 편집만 골라냄
+ *   (잘못된 편집 하나 때문에 다른 사용자의 편집까지 버려지지 않도록)
+ *   · 실패한 편집은 이후 편집이 우선하도록 대기열 앞쪽에 되돌리고, 같은 부품이 max-retries 회 넘게 실패하면 그 편집만 버림
+ *   · 연결 끊김 같은 일시적 오류면 나누지 않고 남은 편집 전체를 실패 횟수에 넣지 않고 되돌림
+ *     (편집이 잘못된 게 아니므로 DB 장애가 길어져도 버리지 않음), 다음 저장은 window 부터 두 배씩 늘려
+ *     write-behind-max-backoff-ms 까지 미룸
+ * - 대기 중인 편집은 조회 결과에 최대 window 만큼 늦게 반영되고, 인스턴스 로컬이라 비정상 종료 시 유실될 수 있음
+ *   (정상 종료 시에는 @PreDestroy에서 저장)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartEditCoalescer {
+
+    private final PartBulkEditService partBulkEditService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${part.bulk-edit.write-behind-max-pending:10000}")
+    private int maxPending;
+
+    @Value("${part.bulk-edit.write-behind-max-retries:3}")
+    private int maxRetries;
+
+    @Value("${part.bulk-edit.write-behind-window-ms:1000}")
+    private long windowMs;
+
+    @Value("${part.bulk-edit.write-behind-max-backoff-ms:30000}")
+    private long maxBackoffMs;
+
+    private final Object lock = new Object();
+    // 저장은 한 번에 하나씩: 두 묶음이 동시에 커밋되면 오래된 편집이 나중에 덮어쓸 수 있음
+    private final Object flushLock = new Object();
+    private final AtomicInteger pendingSize = new AtomicInteger();
+    private Map<String, Operation> pending = new LinkedHashMap<>();
+    // 부품(merge 키)별 연속 저장 실패 횟수 (flushLock 안에서만 접근)
+    private final Map<String, Integer> failureCounts = new HashMap<>();
+    // 일시적 오류 연속 횟수와 그 동안 다음 저장을 미룰 시각 (flushLock 안에서만 접근)
+    private int transientFailures;
+    private long retryAtMillis;
+
+    @PostConstruct
+    void registerGauges() {
+        meterRegistry.gauge("cad.parts.edit.pending", pendingSize);
+    }
+
+    public ApiRespDto<PartBulkEditResult> submit(Long cadFileId, List<Operation> operations) {
+        String error = partBulkEditService.validate(cadFileId, operations);
+        if (error != null) {
+            return new ApiRespDto<>("failed", error, null);
+        }
+
+        Map<String, Operation> merged = new LinkedHashMap<>();
+        PartBulkEditService.merge(merged, cadFileId, operations);
+
+        boolean flushNow;
+        synchronized (lock) {
+            PartBulkEditService.merge(pending, null, new ArrayList<>(merged.values()));
+            pendingSize.set(pending.size());
+            flushNow = pending.size() >= maxPending;
+        }
+        meterRegistry.counter("cad.parts.edit.submitted").increment(operations.size());
+        if (flushNow) {
+            flush();
+        }
+
+        PartBulkEditResult result = new PartBulkEditResult();
+        result.setRequested(operations.size());
+        result.setParts(merged.size());
+        result.setDeferred(true);
+        result.setUnresolved(List.of());
+        return new ApiRespDto<>("success", "부품 편집이 접수되었습니다.", result);
+    }
+
+    @Scheduled(fixedDelayString = "${part.bulk-edit.write-behind-window-ms:1000}")
+    public void flush() {
+        flush(false);
+    }
+
+    /**
+     * @param ignoreBackoff 종료 시 저장처럼 일시적 오류 대기 시간과 상관없이 바로 시도
+     */
+    private void flush(boolean ignoreBackoff) {
+        synchronized (flushLock) {
+            if (!ignoreBackoff && System.currentTimeMillis() < retryAtMillis) return;
+
+            List<Operation> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) return;
+                batch = new ArrayList<>(pending.values());
+                pending = new LinkedHashMap<>();
+                pendingSize.set(0);
+            }
+
+            List<Operation> failed = new ArrayList<>();
+            List<Operation> deferred = new ArrayList<>();
+            save(batch, failed, deferred, true);
+            updateBackoff(!deferred.isEmpty());
+            if (failed.isEmpty() && deferred.isEmpty()) {
+                failureCounts.clear();
+                return;
+            }
+
+            Map<String, Operation> failedByKey = new LinkedHashMap<>();
+            PartBulkEditService.merge(failedByKey, null, failed);
+            // 일시적 오류로 저장을 못 해본 편집은 횟수를 그대로 둠 (성공으로 보지도, 실패로 세지도 않음)
+            Map<String, Operation> deferredByKey = new LinkedHashMap<>();
+            PartBulkEditService.merge(deferredByKey, null, deferred);
+            failureCounts.keySet().removeIf(key -> !failedByKey.containsKey(key) && !deferredByKey.containsKey(key));
+
+            List<Operation> retry = new ArrayList<>(deferredByKey.values());
+            int dropped = 0;
+            for (Map.Entry<String, Operation> e : failedByKey.entrySet()) {
+                int failures = failureCounts.merge(e.getKey(), 1, Integer::sum);
+                if (failures > maxRetries) {
+                    failureCounts.remove(e.getKey());
+                    dropped++;
+                    log.error("write-behind 편집 저장 실패, 버림: key={}, failures={}", e.getKey(), failures);
+                } else {
+                    retry.add(e.getValue());
+                }
+            }
+            if (dropped > 0) {
+                meterRegistry.counter("cad.parts.edit.dropped").increment(dropped);
+            }
+            if (retry.isEmpty()) return;
+
+            log.warn("write-behind 편집 저장 실패, 다시 대기: count={}, deferred={}, dropped={}",
+                    retry.size(), deferredByKey.size(), dropped);
+            synchronized (lock) {
+                Map<String, Operation> requeued = new LinkedHashMap<>();
+                PartBulkEditService.merge(requeued, null, retry);
+                PartBulkEditService.merge(requeued, null, new ArrayList<>(pending.values()));
+                pending = requeued;
+                pendingSize.set(pending.size());
+            }
+        }
+    }
+
+    /**
+     * 저장, 실패하면 나눠서 다시 시도하고 끝내 실패한 편집만 failed에 담음
+     * - byFile: 처음 실패는 파일별로 나눔, 그 아래로는 반씩
+     * - 일시적 오류면 그 편집과 아직 시도하지 않은 편집을 deferred에 담고 중단
+     * @return 일시적 오류로 나누기를 중단했으면 false (호출자도 남은 편집을 deferred로)
+     */
+    private boolean save(List<Operation> ops, List<Operation> failed, List<Operation> deferred, boolean byFile) {
+        try {
+            logUnresolved(partBulkEditService.apply(null, ops));
+            meterRegistry.counter("cad.parts.edit.flushed").increment(ops.size());
+            return true;
+        } catch (Exception e) {
+            if (isTransient(e)) {
+                log.warn("write-behind 편집 저장 보류(일시적 오류): count={}, err={}", ops.size(), e.toString());
+                deferred.addAll(ops);
+                return false;
+            }
+            if (ops.size() == 1) {
+                log.warn("write-behind 편집 저장 실패: count={}, err={}", ops.size(), e.toString());
+                failed.addAll(ops);
+                return true;
+            }
+
+            List<List<Operation>> parts = byFile ? splitByCadFile(ops) : List.of();
+            if (parts.size() < 2) {
+                int mid = ops.size() / 2;
+                parts = List.of(ops.subList(0, mid), ops.subList(mid, ops.size()));
+            }
+            for (int i = 0; i < parts.size(); i++) {
+                if (!save(parts.get(i), failed, deferred, false)) {
+                    for (int j = i + 1; j < parts.size(); j++) deferred.addAll(parts.get(j));
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 일시적 오류가 이어지면 다음 저장을 window * 2^(n-1) 뒤로 (최대 max-backoff), 한 번이라도 저장되면 초기화
+     */
+    private void updateBackoff(boolean transientError) {
+        if (!transientError) {
+            transientFailures = 0;
+            retryAtMillis = 0;
+            return;
+        }
+        transientFailures++;
+        long delay = Math.min(maxBackoffMs, windowMs << Math.min(transientFailures - 1, 20));
+        retryAtMillis = System.currentTimeMillis() + delay;
+        meterRegistry.counter("cad.parts.edit.deferred").increment();
+    }
+
+    private static List<List<Operation>> splitByCadFile(List<Operation> ops) {
+        Map<Long, List<Operation>> byFile = new LinkedHashMap<>();
+        for (Operation op : ops) {
+            byFile.computeIfAbsent(op.getCadFileId(), k -> new ArrayList<>()).add(op);
+        }
+        return new ArrayList<>(byFile.values());
+    }
+
+    // DB 연결/일시적 오류: 어떤 편집이 잘못된 게 아니라 다음 주기에 그대로 다시 시도할 일
+    private static boolean isTransient(Exception e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private void logUnresolved(ApiRespDto<PartBulkEditResult> result) {
+        if (result.getData() != null && !result.getData().getUnresolved().isEmpty()) {
+            log.warn("write-behind 편집 대상 부품 없음(삭제/재변환됨): count={}, sample={}",
+                    result.getData().getUnresolved().size(),
+                    result.getData().getUnresolved().subList(0, Math.min(10, result.getData().getUnresolved().size())));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush(true);
+    }
+}
@@ -1,7 +1,9 @@
 package com.korit.project.backend.service;
 
 import com.korit.project.backend.dto.NoteRequest;
+import com.korit.project.backend.dto.PartColumnRow;
 import com.korit.project.backend.dto.PartResponse;
+import com.korit.project.backend.dto.PartSearchPage;
 import com.korit.project.backend.dto.resp.ApiRespDto;
 import com.korit.project.backend.entity.Part;
 import com.korit.project.backend.entity.PartNote;
@@ -22,27 +24,124 @@ public class PartService {
 
     private final PartMapper partMapper;
     private final PartNoteMapper partNoteMapper;
+    private final PartArchiveService partArchiveService;
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    @Transactional(readOnly = true)
     public ApiRespDto<PartResponse> getPartById(Long partId) {
         Part part = partMapper.findById(partId);
         if (part == null) {
-            return new ApiRespDto<>("failed", "부품을 찾을 수 없습니다: ID=" + partId, null);
+            // 보관된 파일의 부품이면 복원해서 응답
+            PartArchiveCodec.Contents restored = partArchiveService.restoreContainingPart(partId);
+            Part restoredPart = restored != null ? restored.findPart(partId) : null;
+            if (restoredPart == null) {
+                return new ApiRespDto<>("failed", "부품을 찾을 수 없습니다: ID=" + partId, null);
+            }
+            return new ApiRespDto<>("success", "부품 조회가 완료되었습니다.",
+                    convertToResponse(restoredPart, restored.notes().get(partId)));
         }
 
         PartResponse response = convertToResponse(part);
         return new ApiRespDto<>("success", "부품 조회가 완료되었습니다.", response);
     }
 
+    @Transactional(readOnly = true)
     public ApiRespDto<List<PartResponse>> getPartsByCadFileId(Long cadFileId) {
         List<Part> parts = partMapper.findByCadFileId(cadFileId);
+        if (parts.isEmpty()) {
+            PartArchiveCodec.Contents restored = partArchiveService.restore(cadFileId);
+            if (restored != null) {
+                List<PartResponse> responses = restored.parts().stream()
+                        .map(part -> convertToResponse(part, restored.notes().get(part.getId())))
+                        .collect(Collectors.toList());
+                return new ApiRespDto<>("success", "부품 목록 조회가 완료되었습니다.", responses);
+            }
+        }
         List<PartResponse> responses = parts.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
         return new ApiRespDto<>("success", "부품 목록 조회가 완료되었습니다.", responses);
     }
 
+    /**
+     * 전체 CAD 파일 대상 부품 검색 (이름/표시명/메모, 보관된 파일 포함)
+     * - 1차: BOOLEAN MODE, 모든 단어 필수 + 접두 일치
+     * - 결과가 없으면 NATURAL LANGUAGE MODE(ngram 부분 일치)로 한 번 더
+     */
+    @Transactional(readOnly = true)
+    public ApiRespDto<PartSearchPage> searchParts(String q, Long cadFileId, int page, int size) {
+        String[] terms = tokenizeSearchQuery(q);
+        if (terms.length == 0) {
+            return new ApiRespDto<>("failed", "검색어를 입력해주세요.", null);
+        }
+
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE);
+        int offset = safePage * safeSize;
+
+        String query = toBooleanQuery(terms);
+        boolean booleanMode = true;
+        long total = partMapper.countSearchParts(query, true, cadFileId);
+        if (total == 0) {
+            query = String.join(" ", terms);
+            booleanMode = false;
+            total = partMapper.countSearchParts(query, false, cadFileId);
+        }
+
+        PartSearchPage result = new PartSearchPage();
+        result.setPage(safePage);
+        result.setSize(safeSize);
+        result.setTotal(total);
+        result.setFuzzy(!booleanMode);
+        result.setItems(total > offset
+                ? partMapper.searchParts(query, booleanMode, cadFileId, safeSize, offset)
+                : List.of());
+        return new ApiRespDto<>("success", "부품 검색이 완료되었습니다.", result);
+    }
+
+    // FULLTEXT BOOLEAN 연산자 문자는 제거하고 공백 기준으로 분리
+    static String[] tokenizeSearchQuery(String q) {
+        if (q == null) return new String[0];
+        String cleaned = q.replaceAll("[+\\-<>()~*\"@]", " ").trim();
+        if (cleaned.isEmpty()) return new String[0];
+        return cleaned.split("\\s+");
+    }
+
+    // 모든 단어 필수 + 접두 일치: "볼트 m8" → "+볼트* +m8*"
+    static String toBooleanQuery(String[] terms) {
+        StringBuilder query = new StringBuilder();
+        for (String term : terms) {
+            if (query.length() > 0) query.append(' ');
+            query.append('+').append(term).append('*');
+        }
+        return query.toString();
+    }
+
+    /**
+     * 부품 목록 컬럼형 바이너리 (PartColumnarEncoder 레이아웃)
+     * - DB 행을 스트리밍 결과셋에서 하나씩 받아 컬럼 배열에 바로 채움, 응답 쓰기는 트랜잭션 밖에서 writeTo
+     */
+    @Transactional(readOnly = true)
+    public PartColumnarEncoder getPartsColumnar(Long cadFileId) {
+        PartColumnarEncoder encoder = new PartColumnarEncoder();
+        partMapper.scanColumnRowsByCadFileId(cadFileId, context -> encoder.add(context.getResultObject()));
+        if (encoder.getCount() == 0) {
+            PartArchiveCodec.Contents restored = partArchiveService.restore(cadFileId);
+            if (restored != null) {
+                for (Part part : restored.parts()) {
+                    encoder.add(toColumnRow(part, restored.notes().get(part.getId())));
+                }
+            }
+        }
+        return encoder;
+    }
+
     @Transactional
     public ApiRespDto<Void> saveOrUpdateNote(Long partId, NoteRequest request) {
+        if (!ensureRestored(partId)) {
+            return new ApiRespDto<>("failed", "부품을 찾을 수 없습니다: ID=" + partId, null);
+        }
         PartNote note = new PartNote();
         note.setPartId(partId);
         note.setNote(request.getNote());
@@ -52,17 +151,34 @@ public class PartService {
 
     @Transactional
     public ApiRespDto<Void> deleteNote(Long partId) {
+        ensureRestored(partId);
         partNoteMapper.deleteByPartId(partId);
         return new ApiRespDto<>("success", "메모가 삭제되었습니다.", null);
     }
 
     @Transactional
     public ApiRespDto<Void> renamePart(Long partId, String displayName) {
+        ensureRestored(partId);
         partMapper.updateDisplayNameById(partId, displayName);
         return new ApiRespDto<>("success", "부품 이름이 변경되었습니다.", null);
     }
 
+    /**
+     * 편집 전에 부품이 보관되어 있으면 먼저 복원 (부품이 있으면 true)
+     * - 쓰기 전에 잠금 없는 조회로 확인: 없는 행을 UPDATE/DELETE 하거나 FK 검사를 하면 이 트랜잭션이
+     *   갭 잠금을 잡아서, 별도 트랜잭션의 복원 INSERT가 그 잠금을 기다리며 멈춤
+     */
+    private boolean ensureRestored(Long partId) {
+        if (partMapper.findById(partId) != null) return true;
+        return partArchiveService.restoreContainingPart(partId) != null;
+    }
+
     private PartResponse convertToResponse(Part part) {
+        PartNote note = partNoteMapper.findByPartId(part.getId());
+        return convertToResponse(part, note != null ? note.getNote() : null);
+    }
+
+    private PartResponse convertToResponse(Part part, String note) {
         PartResponse response = new PartResponse();
         response.setId(part.getId());
         response.setName(part.getName());
@@ -75,6 +191,9 @@ public class PartService {
 
         response.setPartKey(part.getPartKey());
         response.setNodeIndex(part.getNodeIndex());
+        response.setMeshId(part.getMeshId());
+        response.setTriangleCountOriginal(part.getTriangleCountOriginal());
+        response.setTriangleCount(part.getTriangleCount());
 
         response.setPositionX(part.getPositionX());
         response.setPositionY(part.getPositionY());
@@ -83,11 +202,25 @@ public class PartService {
         response.setSizeY(part.getSizeY());
         response.setSizeZ(part.getSizeZ());
 
-        PartNote note = partNoteMapper.findByPartId(part.getId());
-        if (note != null) {
-            response.setNote(note.getNote());
-        }
+        response.setNote(note);
 
         return response;
     }
+
+    private PartColumnRow toColumnRow(Part part, String note) {
+        PartColumnRow row = new PartColumnRow();
+        row.setId(part.getId());
+        row.setName(part.getName());
+        row.setDisplayName(part.getDisplayName());
+        row.setPartKey(part.getPartKey());
+        row.setNodeIndex(part.getNodeIndex());
+        row.setPositionX(part.getPositionX());
+        row.setPositionY(part.getPositionY());
+        row.setPositionZ(part.getPositionZ());
+        row.setSizeX(part.getSizeX());
+        row.setSizeY(part.getSizeY());
+        row.setSizeZ(part.getSizeZ());
+        row.setNote(note);
+        return row;
+    }
 }
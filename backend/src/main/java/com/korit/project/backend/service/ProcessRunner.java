@@ -0,0 +1,269 @@
+package com.korit.project.backend.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 워커 프로세스(FreeCADCmd / python) 입출력 공통 처리
+ * - stdout / stderr를 분리해서 동시에 비움 (한쪽 파이프가 차서 자식 프로세스가 멈추지 않게)
+ * - 진단 출력은 고정 크기 tail(최근 N줄, 줄 길이 제한)만 보관 → 작업당 메모리 상한
+ * - 구조화된 stdout(JSON/NDJSON)은 문자열로 모으지 않고 호출자가 스트림에서 바로 파싱
+ * - conversion.job.timeout-seconds가 지나도 끝나지 않으면 자식 프로세스까지 강제 종료
+ *   (멈춘 FreeCADCmd가 작업 슬롯과 lease를 계속 붙잡지 않게)
+ */
+@Slf4j
+@Component
+public class ProcessRunner {
+
+    public static final int TAIL_LINES = 200;
+    public static final int MAX_LINE_CHARS = 2000;
+
+    // 프로세스당 stderr 전용 스레드 하나 (동시 작업 수만큼만 생김)
+    private final SimpleAsyncTaskExecutor drainExecutor = new SimpleAsyncTaskExecutor("proc-io-");
+
+    private final ScheduledExecutorService watchdogExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "proc-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${conversion.job.timeout-seconds:1800}")
+    private long timeoutSeconds;
+
+    public ProcessRunner() {
+        drainExecutor.setDaemon(true);
+    }
+
+    /**
+     * timeout-seconds 뒤에도 살아 있으면 프로세스(와 자식 프로세스)를 강제 종료
+     * - 파이프가 닫히므로 출력을 읽던 쪽도 풀려남
+     * - 정상 종료 후에는 cancel() 호출
+     */
+    public Watchdog watch(Process process, String label) {
+        Watchdog watchdog = new Watchdog();
+        watchdog.task = watchdogExecutor.schedule(() -> {
+            if (!process.isAlive()) return;
+            watchdog.timedOut = true;
+            log.error("{} 시간 초과({}초): 강제 종료, pid={}", label, timeoutSeconds, process.pid());
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly();
+        }, timeoutSeconds, TimeUnit.SECONDS);
+        return watchdog;
+    }
+
+    public static class Watchdog {
+        private volatile ScheduledFuture<?> task;
+        private volatile boolean timedOut;
+
+        public void cancel() {
+            if (task != null) task.cancel(false);
+        }
+
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+    }
+
+    /**
+     * stdout을 소비하는 쪽 (JSON 파서, NDJSON 라인 루프 등)
+     * - 스트림을 끝까지 읽지 않아도 됨: 남은 stdout은 tail로 비워짐
+     */
+    @FunctionalInterface
+    public interface StdoutHandler {
+        void handle(InputStream stdout) throws Exception;
+    }
+
+    /**
+     * 진단용 실행: stdout/stderr 모두 tail로만 보관
+     */
+    public Result run(ProcessBuilder pb, String label) throws Exception {
+        return run(pb, label, null);
+    }
+
+    /**
+     * @param stdoutHandler null이면 stdout도 tail로 보관
+     */
+    public Result run(ProcessBuilder pb, String label, StdoutHandler stdoutHandler) throws Exception {
+        pb.redirectErrorStream(false);
+        Process process = pb.start();
+        Watchdog watchdog = watch(process, label);
+
+        Result result = new Result(label);
+        CompletableFuture<Void> stderrDrain;
+        try {
+            stderrDrain = CompletableFuture.runAsync(
+                    () -> drainLines(process.getErrorStream(), result.stderr), drainExecutor);
+        } catch (RuntimeException e) {
+            process.destroy();
+            throw e;
+        }
+
+        try (InputStream stdout = process.getInputStream()) {
+            if (stdoutHandler != null) {
+                try {
+                    stdoutHandler.handle(stdout);
+                } catch (Exception e) {
+                    process.destroy();
+                    throw e;
+                }
+            }
+            // 파서가 멈춘 뒤 남은 출력(또는 handler 없음)은 tail로
+            drainLines(stdout, result.stdout);
+        } finally {
+            result.exitCode = process.waitFor();
+            watchdog.cancel();
+            result.timedOut = watchdog.isTimedOut();
+            stderrDrain.join();
+        }
+
+        if (result.exitCode != 0) {
+            log.error("{} 실패: exitCode={}, tail=\n{}", label, result.exitCode, result.tail());
+        }
+        return result;
+    }
+
+    /**
+     * 파일로 redirect된 출력(예: parts_to_glb.log)의 마지막 N줄
+     */
+    public static String tailOfFile(Path path) {
+        if (path == null || !Files.exists(path)) return "";
+        Tail tail = new Tail(TAIL_LINES);
+        try (InputStream in = Files.newInputStream(path)) {
+            drainLines(in, tail);
+        } catch (IOException e) {
+            log.warn("로그 tail 읽기 실패: {}", e.toString());
+        }
+        return tail.toString();
+    }
+
+    static void drainLines(InputStream in, Tail tail) {
+        try (Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            StringBuilder line = new StringBuilder();
+            boolean truncated = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (c == '\n') {
+                    tail.add(line, truncated);
+                    line.setLength(0);
+                    truncated = false;
+                } else if (c != '\r') {
+                    if (line.length() < MAX_LINE_CHARS) {
+                        line.append((char) c);
+                    } else {
+                        truncated = true;
+                    }
+                }
+            }
+            if (line.length() > 0) tail.add(line, truncated);
+        } catch (IOException e) {
+            // 프로세스가 종료되며 파이프가 닫힌 경우 등
+            log.debug("출력 비우기 중단: {}", e.toString());
+        }
+    }
+
+    /**
+     * 구조화된 출력(NDJSON 등)용 한 줄 읽기: maxChars를 넘는 줄은 자르지 않고 실패 (레코드가 잘리면 의미가 바뀌므로)
+     * - 줄 끝 CR은 버림
+     * @return 다음 줄, 스트림 끝이면 null
+     * @throws LineTooLongException 줄이 maxChars보다 길 때 (그때까지 읽은 내용만 메모리에 있음)
+     */
+    static String readLine(Reader reader, int maxChars) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') return line.toString();
+            if (c == '\r') continue;
+            if (line.length() >= maxChars) {
+                throw new LineTooLongException(maxChars);
+            }
+            line.append((char) c);
+        }
+        return line.length() > 0 ? line.toString() : null;
+    }
+
+    public static class LineTooLongException extends IOException {
+        public LineTooLongException(int maxChars) {
+            super("출력 한 줄이 " + maxChars + "자를 넘습니다");
+        }
+    }
+
+    /**
+     * 최근 N줄 ring buffer
+     */
+    public static class Tail {
+        private final int capacity;
+        private final ArrayDeque<String> lines;
+        private long dropped;
+
+        public Tail(int capacity) {
+            this.capacity = capacity;
+            this.lines = new ArrayDeque<>(capacity);
+        }
+
+        public synchronized void add(CharSequence line, boolean truncated) {
+            if (lines.size() == capacity) {
+                lines.removeFirst();
+                dropped++;
+            }
+            lines.addLast(truncated ? line + " …(truncated)" : line.toString());
+        }
+
+        public synchronized boolean isEmpty() {
+            return lines.isEmpty();
+        }
+
+        @Override
+        public synchronized String toString() {
+            StringBuilder sb = new StringBuilder();
+            if (dropped > 0) sb.append("…(").append(dropped).append(" lines omitted)\n");
+            for (String l : lines) sb.append(l).append('\n');
+            return sb.toString();
+        }
+    }
+
+    @Getter
+    public static class Result {
+        private final String label;
+        private final Tail stdout = new Tail(TAIL_LINES);
+        private final Tail stderr = new Tail(TAIL_LINES);
+        private int exitCode;
+        private boolean timedOut;
+
+        Result(String label) {
+            this.label = label;
+        }
+
+        public boolean isOk() {
+            return exitCode == 0 && !timedOut;
+        }
+
+        /**
+         * 진단 tail (stderr 우선, stdout에 남은 비구조화 출력)
+         */
+        public String tail() {
+            StringBuilder sb = new StringBuilder();
+            if (timedOut) sb.append("[timeout] 시간 초과로 강제 종료됨\n");
+            if (!stderr.isEmpty()) sb.append("[stderr]\n").append(stderr);
+            if (!stdout.isEmpty()) sb.append("[stdout]\n").append(stdout);
+            return sb.toString();
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.korit.project.backend.service;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.korit.project.backend.dto.PartMetadata;
+import com.korit.project.backend.dto.TessellationQuality;
+import com.korit.project.backend.entity.CadFile;
 import com.korit.project.backend.entity.Part;
 import com.korit.project.backend.mapper.CadFileMapper;
 import com.korit.project.backend.mapper.PartMapper;
@@ -12,25 +15,38 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PythonWorkerService {
 
+    private static final int INSERT_CHUNK = 500;
+    private static final int ERROR_MESSAGE_MAX = 1000; // cad_files.error_message VARCHAR(1000)
+
     private final CadFileMapper cadFileMapper;
     private final PartMapper partMapper;
     private final ObjectMapper objectMapper;
+    private final WorkerIdentity workerIdentity;
+    private final TessellationPlanner tessellationPlanner;
+    private final StepConversionPipeline stepConversionPipeline;
+    private final ProcessRunner processRunner;
+    private final ThumbnailService thumbnailService;
+    private final PartArchiveService partArchiveService;
+    private final PlatformTransactionManager transactionManager;
 
     @Value("${python.worker.script-path}")
     private String scriptPath; // 기본: cad_converter.py
@@ -44,16 +60,88 @@ public class PythonWorkerService {
     @Value("${freecad.cmd:FreeCADCmd.exe}")
     private String freecadCmd;
 
+    @Value("${lifecycle.regenerate.backoff-minutes:10}")
+    private int regenerateBackoffMinutes;
+
+    @Async
+    public CompletableFuture<Void> processCadFile(Long cadFileId, String inputFilePath, String originalFilename,
+                                                  TessellationQuality quality) {
+        return process(cadFileId, inputFilePath, originalFilename, quality, false);
+    }
+
+    /**
+     * 수명주기 관리에서 축출(evict)된 GLB 재생성
+     * - parts/메모는 그대로 두고 GLB + node_index만 다시 만든다
+     */
     @Async
-    public CompletableFuture<Void> processCadFile(Long cadFileId, String inputFilePath, String originalFilename) {
+    public CompletableFuture<Void> regenerateGlb(Long cadFileId, String inputFilePath, String originalFilename,
+                                                 TessellationQuality quality) {
+        // 보관된 parts면 먼저 복원해야 node_index 갱신이 적용됨
+        partArchiveService.restore(cadFileId);
+        return process(cadFileId, inputFilePath, originalFilename, quality, true);
+    }
+
+    /**
+     * 같은 내용(content_hash + 품질)으로 이미 끝난 변환 결과 재사용
+     * - donor의 GLB를 converted/{cadFileId}/로 하드링크(불가하면 복사), parts 행 복사
+     * - donor가 실패했거나 GLB가 없으면 직접 변환으로 진행
+     */
+    @Async
+    public CompletableFuture<Void> reuseConversion(Long cadFileId, Long donorId, String inputFilePath,
+                                                   String originalFilename, TessellationQuality quality) {
+        CadFile donor = cadFileMapper.findById(donorId);
+        if (donor == null || !"COMPLETED".equals(donor.getStatus()) || donor.getGlbFilePath() == null
+                || Boolean.TRUE.equals(donor.getGlbEvicted()) || !Files.exists(Paths.get(donor.getGlbFilePath()))) {
+            log.info("재사용할 변환 결과 없음, 직접 변환: ID={}, donorId={}", cadFileId, donorId);
+            return process(cadFileId, inputFilePath, originalFilename, quality, false);
+        }
+
+        if (!holdsLease(cadFileId)) return CompletableFuture.completedFuture(null);
+
+        try {
+            Path donorGlb = Paths.get(donor.getGlbFilePath());
+            Path cadOutDir = resolveConvertedDirAbs().resolve(String.valueOf(cadFileId));
+            Files.createDirectories(cadOutDir);
+            Path glbOut = cadOutDir.resolve(donorGlb.getFileName());
+            Files.deleteIfExists(glbOut);
+            try {
+                Files.createLink(glbOut, donorGlb);
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(donorGlb, glbOut, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            partArchiveService.restore(donorId);
+            AtomicInteger copied = new AtomicInteger();
+            boolean held = writeUnderLease(cadFileId, () -> {
+                partMapper.deleteByCadFileId(cadFileId);
+                partArchiveService.discard(cadFileId);
+                copied.set(partMapper.copyParts(donorId, cadFileId));
+                if (donor.getTessellationParams() != null) {
+                    cadFileMapper.updateTessellationParams(cadFileId, donor.getTessellationParams());
+                }
+            });
+            if (!held) return CompletableFuture.completedFuture(null);
+
+            completeCadFileResult(cadFileId, glbOut.toAbsolutePath().toString(), null, false);
+            log.info("변환 결과 재사용: ID={}, donorId={}, parts={}", cadFileId, donorId, copied.get());
+        } catch (Exception e) {
+            log.error("변환 결과 재사용 실패: ID={}, donorId={}", cadFileId, donorId, e);
+            cadFileMapper.finishJob(cadFileId, workerIdentity.getId(), "FAILED");
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private CompletableFuture<Void> process(Long cadFileId, String inputFilePath, String originalFilename,
+                                            TessellationQuality quality, boolean preserveParts) {
         try {
-            log.info("Worker 시작: CAD File ID={}", cadFileId);
-            cadFileMapper.updateStatus(cadFileId, "PROCESSING");
+            // PROCESSING 전환은 ConversionJobService의 점유(claim) 단계에서 이미 끝남
+            log.info("Worker 시작: CAD File ID={}, preserveParts={}", cadFileId, preserveParts);
 
             Path inputPath = Paths.get(inputFilePath);
             if (!Files.exists(inputPath)) {
                 log.error("입력 파일을 찾을 수 없습니다: {}", inputFilePath);
-                processCadFileResult(cadFileId, null, "{\"parts\":[]}", null);
+                recordError(cadFileId, "입력 파일을 찾을 수 없습니다: " + inputFilePath);
+                processCadFileResult(cadFileId, null, "{\"parts\":[]}", null, preserveParts);
                 return CompletableFuture.completedFuture(null);
             }
 
@@ -68,18 +156,19 @@ public class PythonWorkerService {
 
             // ✅ STEP/STP/IGES 분기: FreeCADCmd + step_to_parts.py + parts_to_glb.py
             if (isStepLike(ext)) {
-                runStepToPartsThenGlb(cadFileId, inputPath, scriptAbsolutePath);
+                runStepToPartsThenGlb(cadFileId, inputPath, scriptAbsolutePath, quality, preserveParts);
                 return CompletableFuture.completedFuture(null);
             }
 
             // ✅ 기존 mesh(STL/OBJ/PLY) 분기(유지)
-            runMeshToGlbAndMetadata(cadFileId, inputPath, originalFilename, scriptAbsolutePath);
+            runMeshToGlbAndMetadata(cadFileId, inputPath, originalFilename, scriptAbsolutePath, preserveParts);
             return CompletableFuture.completedFuture(null);
 
         } catch (Exception e) {
             log.error("Worker 실행 중 오류: CAD File ID={}", cadFileId, e);
             try {
-                processCadFileResult(cadFileId, null, "{\"parts\":[]}", null);
+                recordError(cadFileId, e.toString());
+                processCadFileResult(cadFileId, null, "{\"parts\":[]}", null, preserveParts);
             } catch (Exception ex) {
                 log.error("오류 처리 실패", ex);
             }
@@ -88,11 +177,13 @@ public class PythonWorkerService {
     }
 
     /**
-     * STEP → (1) step_to_parts.py로 STL + parts.json 생성
-     *     → (2) parts_to_glb.py로 assembly.glb + node_map.json 생성
-     *     → (3) DB 반영 (glb_file_path, parts insert, node_index update)
+     * STEP → (0) bbox 사전 패스로 부품별 테셀레이션 계획 수립
+     *     → (1) step_to_parts.py --ndjson 이 부품을 하나 끝낼 때마다 레코드를 내보내면
+     *       (2) parts_to_glb.py(stdin)와 (3) DB 배치 insert가 동시에 소비 (StepConversionPipeline)
+     *     → (4) DB 마무리 (glb_file_path, node_index update, 작업 완료)
      */
-    private void runStepToPartsThenGlb(Long cadFileId, Path inputPath, Path cadConverterAbsPath) throws Exception {
+    private void runStepToPartsThenGlb(Long cadFileId, Path inputPath, Path cadConverterAbsPath,
+                                       TessellationQuality quality, boolean preserveParts) throws Exception {
         Path workerDir = cadConverterAbsPath.getParent();
         Path stepToPartsPath = workerDir.resolve("step_to_parts.py");
         Path partsToGlbPath = workerDir.resolve("parts_to_glb.py");
@@ -105,124 +196,185 @@ public class PythonWorkerService {
 
         Path partsJson = partsDir.resolve("parts.json");
 
-        // ---- (1) FreeCADCmd: STEP → per-part STL + parts.json ----
-        String in = inputPath.toAbsolutePath().toString().replace("\\", "/");
-        String outDir = partsDir.toAbsolutePath().toString().replace("\\", "/");
-        String jsonPath = partsJson.toAbsolutePath().toString().replace("\\", "/");
-        String script = stepToPartsPath.toAbsolutePath().toString().replace("\\", "/");
-
-        String freecadInline =
-                "import runpy, sys; " +
-                        "sys.argv=[" +
-                        "r'step_to_parts.py'," +
-                        "r'" + in + "'," +
-                        "r'" + outDir + "'," +
-                        "r'--format', r'stl'," +
-                        "r'--linear', r'10.0'," +
-                        "r'--json-out', r'" + jsonPath + "'," +
-                        "r'--skip-degenerate'" +
-                        "]; " +
-                        "runpy.run_path(r'" + script + "', run_name='__main__')";
-
-        log.info("STEP 처리 시작: cadFileId={}, FreeCADCmd={}", cadFileId, freecadCmd);
+        log.info("STEP 처리 시작: cadFileId={}, FreeCADCmd={}, quality={}", cadFileId, freecadCmd, quality);
         log.info("partsDir={}", partsDir.toAbsolutePath());
-        log.info("partsJson={}", partsJson.toAbsolutePath());
-
-        ProcessBuilder pb = new ProcessBuilder(freecadCmd, "-c", freecadInline);
-        pb.redirectErrorStream(true);
 
-        Process p = pb.start();
-        StringBuilder out = new StringBuilder();
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = br.readLine()) != null) out.append(line).append("\n");
+        // ---- (0) 테셀레이션 계획 (실패 시 기존 고정값 --linear 10.0) ----
+        Path planPath = planTessellation(cadFileId, inputPath, stepToPartsPath, partsDir, quality);
+
+        // ---- (1) FreeCADCmd: STEP → per-part STL + NDJSON 레코드 스트림 (parts.json은 디버깅용으로 유지) ----
+        List<String> args = new ArrayList<>(List.of(
+                toScriptPath(inputPath),
+                toScriptPath(partsDir),
+                "--format", "stl",
+                "--json-out", toScriptPath(partsJson),
+                "--skip-degenerate",
+                "--ndjson"
+        ));
+        if (planPath != null) {
+            args.add("--deflection-plan");
+            args.add(toScriptPath(planPath));
+        } else {
+            args.add("--linear");
+            args.add("10.0");
+        }
+        ProcessBuilder tessellator = freecadCommand(stepToPartsPath, args);
+
+        // parts는 항상 새로 덮어쓰기: 스트리밍 insert 전에 비워둠 (lease 확인과 같은 트랜잭션)
+        boolean held = preserveParts
+                ? holdsLease(cadFileId)
+                : writeUnderLease(cadFileId, () -> {
+                    partMapper.deleteByCadFileId(cadFileId);
+                    partArchiveService.discard(cadFileId);
+                });
+        if (!held) return;
+
+        // ---- (2) parts_to_glb.py: stdin NDJSON → assembly.glb + node_map.json ----
+        Path cadOutDir = resolveConvertedDirAbs().resolve(String.valueOf(cadFileId));
+        Path glbOut = cadOutDir.resolve("assembly.glb");
+        Path mapOut = cadOutDir.resolve("node_map.json");
+        Path glbLog = partsDir.resolve("parts_to_glb.log");
+
+        ProcessBuilder glbBuilder = null;
+        if (Files.exists(partsToGlbPath)) {
+            Files.createDirectories(cadOutDir);
+            glbBuilder = new ProcessBuilder(
+                    pythonExecutable,
+                    partsToGlbPath.toAbsolutePath().toString(),
+                    "--parts-ndjson", "-",
+                    "--out-glb", glbOut.toAbsolutePath().toString(),
+                    "--out-map", mapOut.toAbsolutePath().toString(),
+                    "--node-name", "partKey",
+                    "--write-node-index"
+            );
+            glbBuilder.redirectErrorStream(true);
+            glbBuilder.redirectOutput(glbLog.toFile());
+        } else {
+            log.warn("parts_to_glb.py가 없습니다. GLB 생성은 건너뜁니다. path={}", partsToGlbPath.toAbsolutePath());
         }
 
-        int exit = p.waitFor();
-        if (exit != 0) {
-            log.error("FreeCADCmd 실패: exitCode={}, output={}", exit, out);
-            processCadFileResult(cadFileId, null, "{\"parts\":[]}", null);
+        // ---- (3) DB: 부품 배치 insert (GLB 재생성은 기존 parts 유지) ----
+        AtomicInteger fallbackSeq = new AtomicInteger();
+        StepConversionPipeline.Result result = stepConversionPipeline.run(tessellator, glbBuilder,
+                preserveParts ? null : batch -> {
+                    // 배치마다 lease 확인: 잃었으면 이후 배치는 새 소유자의 parts와 섞이지 않도록 중단
+                    if (!writeUnderLease(cadFileId, () -> insertParts(cadFileId, batch, fallbackSeq))) {
+                        throw new IllegalStateException("lease를 잃어 부품 저장 중단: ID=" + cadFileId);
+                    }
+                });
+
+        if (result.isLineTooLong()) {
+            log.error("FreeCADCmd 출력 이상(step_to_parts): cadFileId={}, {}", cadFileId, result.getDiagnostics());
+            recordError(cadFileId, result.getDiagnostics());
+            failJob(cadFileId, preserveParts);
             return;
         }
-
-        if (!Files.exists(partsJson)) {
-            log.error("parts.json 생성 실패: {}", partsJson.toAbsolutePath());
-            processCadFileResult(cadFileId, null, "{\"parts\":[]}", null);
+        if (!result.isTessellationOk()) {
+            log.error("FreeCADCmd 실패(step_to_parts): exitCode={}, parts={}, tail=\n{}",
+                    result.getTessellatorExitCode(), result.getPartCount(), result.getDiagnostics());
+            recordError(cadFileId, "step_to_parts exitCode=" + result.getTessellatorExitCode()
+                    + ", parts=" + result.getPartCount() + "\n" + result.getDiagnostics());
+            processCadFileResult(cadFileId, null, "{\"parts\":[]}", null, preserveParts);
             return;
         }
-
-        String metadataJson = Files.readString(partsJson, StandardCharsets.UTF_8).trim();
-        log.info("STEP parts 생성 완료: cadFileId={}, parts.json size={}", cadFileId, metadataJson.length());
-
-        // ---- (2) parts_to_glb.py: parts.json(+stl들) → assembly.glb + node_map.json ----
-        GlbBuildResult glbResult = runPartsToGlb(cadFileId, partsJson, partsToGlbPath);
-
-        // ---- (3) DB 반영 ----
-        processCadFileResult(cadFileId,
-                glbResult != null ? glbResult.getGlbFilePath() : null,
-                metadataJson,
-                glbResult != null ? glbResult.getNodeMapPath() : null);
-    }
-
-    private GlbBuildResult runPartsToGlb(Long cadFileId, Path partsJson, Path partsToGlbPath) throws Exception {
-        if (!Files.exists(partsToGlbPath)) {
-            log.warn("parts_to_glb.py가 없습니다. GLB 생성은 건너뜁니다. path={}", partsToGlbPath.toAbsolutePath());
-            return null;
+        if (result.getSinkError() != null) {
+            log.error("부품 저장 실패: cadFileId={}", cadFileId, result.getSinkError());
+            recordError(cadFileId, "부품 저장 실패: " + result.getSinkError());
+            failJob(cadFileId, preserveParts);
+            return;
+        }
+        log.info("STEP parts 스트리밍 완료: cadFileId={}, parts={}, simplified={}", cadFileId,
+                result.getPartCount(), result.getSimplifiedCount());
+
+        String glbFilePath = null;
+        if (glbBuilder != null) {
+            if (!result.isGlbOk() || !Files.exists(glbOut)) {
+                String glbTail = ProcessRunner.tailOfFile(glbLog);
+                log.error("parts_to_glb 실패: exitCode={}, inputFailed={}, tail=\n{}",
+                        result.getGlbExitCode(), result.isGlbInputFailed(), glbTail);
+                recordError(cadFileId, "parts_to_glb exitCode=" + result.getGlbExitCode()
+                        + (result.isGlbTimedOut() ? " (시간 초과)" : "") + "\n" + glbTail);
+            } else {
+                glbFilePath = glbOut.toAbsolutePath().toString();
+                log.info("GLB 생성 완료: cadFileId={}, glb={}, map={}", cadFileId, glbFilePath, mapOut.toAbsolutePath());
+            }
         }
 
-        Path convertedPath = resolveConvertedDirAbs();
-        Files.createDirectories(convertedPath);
-
-        // cadFileId 기준으로 폴더 분리 추천
-        Path cadOutDir = convertedPath.resolve(String.valueOf(cadFileId));
-        Files.createDirectories(cadOutDir);
-
-        Path glbOut = cadOutDir.resolve("assembly.glb");
-        Path mapOut = cadOutDir.resolve("node_map.json");
+        // ---- (4) DB 마무리 ----
+        try {
+            completeCadFileResult(cadFileId, glbFilePath,
+                    glbFilePath != null ? mapOut.toAbsolutePath().toString() : null, preserveParts);
+        } catch (Exception e) {
+            log.error("CAD 파일 처리 결과 저장 실패: ID={}", cadFileId, e);
+            failJob(cadFileId, preserveParts);
+        }
+    }
 
-        ProcessBuilder pb = new ProcessBuilder(
-                pythonExecutable,
-                partsToGlbPath.toAbsolutePath().toString(),
-                "--parts-json", partsJson.toAbsolutePath().toString(),
-                "--out-glb", glbOut.toAbsolutePath().toString(),
-                "--out-map", mapOut.toAbsolutePath().toString(),
-                "--node-name", "partKey",
-                "--write-node-index"
-        );
+    /**
+     * bbox 사전 패스(메싱 없음) → 부품 크기 기준 deflection + 삼각형 예산 적용
+     * - 계획 파일 경로를 반환, 실패 시 null (고정 deflection으로 진행)
+     */
+    private Path planTessellation(Long cadFileId, Path inputPath, Path stepToPartsPath, Path partsDir,
+                                  TessellationQuality quality) {
+        try {
+            Path bboxJson = partsDir.resolve("bbox.json");
+            boolean ok = runFreecadScript(stepToPartsPath, List.of(
+                    toScriptPath(inputPath),
+                    toScriptPath(partsDir),
+                    "--bbox-only",
+                    "--json-out", toScriptPath(bboxJson),
+                    "--skip-degenerate",
+                    "--quiet"
+            ), "step_to_parts(bbox)");
+            if (!ok || !Files.exists(bboxJson)) {
+                log.warn("bbox 사전 패스 실패: 고정 deflection 사용. cadFileId={}", cadFileId);
+                return null;
+            }
 
-        pb.redirectErrorStream(true);
-        Process p = pb.start();
+            PartMetadata bboxes = objectMapper.readValue(bboxJson.toFile(), PartMetadata.class);
+            if (bboxes.getParts() == null || bboxes.getParts().isEmpty()) {
+                return null;
+            }
 
-        StringBuilder output = new StringBuilder();
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = br.readLine()) != null) output.append(line).append("\n");
-        }
+            TessellationPlanner.TessellationPlan plan = tessellationPlanner.plan(bboxes.getParts(), quality);
+            Path planPath = partsDir.resolve("tessellation_plan.json");
+            objectMapper.writeValue(planPath.toFile(), plan.toScriptPlan());
 
-        int exit = p.waitFor();
-        if (exit != 0) {
-            log.error("parts_to_glb 실패: exitCode={}, output={}", exit, output);
+            String summary = objectMapper.writeValueAsString(plan.toSummary());
+            writeUnderLease(cadFileId, () -> cadFileMapper.updateTessellationParams(cadFileId, summary));
+            log.info("테셀레이션 계획: cadFileId={}, parts={}, estimatedTriangles={}, budgetScale={}",
+                    cadFileId, plan.getPartCount(), plan.getEstimatedTriangles(), plan.getBudgetScale());
+            return planPath;
+        } catch (Exception e) {
+            log.warn("테셀레이션 계획 실패: 고정 deflection 사용. cadFileId={}, err={}", cadFileId, e.toString());
             return null;
         }
+    }
 
-        if (!Files.exists(glbOut)) {
-            log.error("assembly.glb 생성 실패: {}", glbOut.toAbsolutePath());
-            return null;
-        }
-        if (!Files.exists(mapOut)) {
-            log.warn("node_map.json 생성 실패(선택): {}", mapOut.toAbsolutePath());
-        }
+    /**
+     * FreeCADCmd -c 로 워커 스크립트를 __main__으로 실행
+     */
+    private boolean runFreecadScript(Path script, List<String> argv, String label) throws Exception {
+        return processRunner.run(freecadCommand(script, argv), "FreeCADCmd(" + label + ")").isOk();
+    }
 
-        log.info("GLB 생성 완료: cadFileId={}, glb={}, map={}",
-                cadFileId, glbOut.toAbsolutePath(), mapOut.toAbsolutePath());
+    private ProcessBuilder freecadCommand(Path script, List<String> argv) {
+        StringBuilder sysArgv = new StringBuilder("r'" + script.getFileName() + "'");
+        for (String a : argv) {
+            sysArgv.append(", r'").append(a).append("'");
+        }
+        String freecadInline =
+                "import runpy, sys; " +
+                        "sys.argv=[" + sysArgv + "]; " +
+                        "runpy.run_path(r'" + toScriptPath(script) + "', run_name='__main__')";
+        return new ProcessBuilder(freecadCmd, "-c", freecadInline);
+    }
 
-        GlbBuildResult r = new GlbBuildResult();
-        r.setGlbFilePath(glbOut.toAbsolutePath().toString());
-        r.setNodeMapPath(mapOut.toAbsolutePath().toString());
-        return r;
+    private String toScriptPath(Path path) {
+        return path.toAbsolutePath().toString().replace("\\", "/");
     }
 
-    private void runMeshToGlbAndMetadata(Long cadFileId, Path inputPath, String originalFilename, Path scriptAbsolutePath) throws Exception {
+    private void runMeshToGlbAndMetadata(Long cadFileId, Path inputPath, String originalFilename, Path scriptAbsolutePath, boolean preserveParts) throws Exception {
         Path convertedPath = resolveConvertedDirAbs();
         Files.createDirectories(convertedPath);
 
@@ -236,24 +388,30 @@ public class PythonWorkerService {
                 glbFilePath
         );
 
-        processBuilder.redirectErrorStream(true);
-        Process process = processBuilder.start();
-
-        StringBuilder output = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) output.append(line).append("\n");
-        }
-
-        int exitCode = process.waitFor();
-        if (exitCode != 0) {
-            log.error("cad_converter 실패: exitCode={}, output={}", exitCode, output);
-            processCadFileResult(cadFileId, null, "{\"parts\":[]}", null);
+        // stdout(JSON)은 문자열로 모으지 않고 바로 파싱, stderr 경고는 섞이지 않음
+        PartMetadata[] parsed = new PartMetadata[1];
+        Exception[] parseError = new Exception[1];
+        ProcessRunner.Result result = processRunner.run(processBuilder, "cad_converter", stdout -> {
+            try {
+                parsed[0] = objectMapper.readerFor(PartMetadata.class)
+                        .without(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+                        .readValue(stdout);
+            } catch (Exception e) {
+                parseError[0] = e;
+            }
+        });
+
+        if (!result.isOk() || parsed[0] == null) {
+            String reason = !result.isOk()
+                    ? "cad_converter exitCode=" + result.getExitCode()
+                    : "cad_converter 메타데이터 파싱 실패: " + parseError[0];
+            log.error("{}, tail=\n{}", reason, result.tail());
+            recordError(cadFileId, reason + "\n" + result.tail());
+            processCadFileResult(cadFileId, null, "{\"parts\":[]}", null, preserveParts);
             return;
         }
 
-        String metadataJson = output.toString().trim();
-        processCadFileResult(cadFileId, glbFilePath, metadataJson, null);
+        processCadFileResult(cadFileId, glbFilePath, parsed[0], null, preserveParts);
     }
 
     private Path resolveConvertedDirAbs() {
@@ -273,74 +431,205 @@ public class PythonWorkerService {
         return filename.substring(idx + 1).toLowerCase();
     }
 
-    @Transactional
-    private void processCadFileResult(Long cadFileId, String glbFilePath, String metadataJson, String nodeMapPath) {
+    private void processCadFileResult(Long cadFileId, String glbFilePath, String metadataJson, String nodeMapPath,
+                                      boolean preserveParts) {
+        PartMetadata metadata;
         try {
-            PartMetadata metadata = objectMapper.readValue(metadataJson, PartMetadata.class);
+            metadata = objectMapper.readValue(metadataJson, PartMetadata.class);
+        } catch (Exception e) {
+            log.error("메타데이터 파싱 실패: ID={}", cadFileId, e);
+            failJob(cadFileId, preserveParts);
+            throw new RuntimeException("파일 처리 결과 저장 실패", e);
+        }
+        processCadFileResult(cadFileId, glbFilePath, metadata, nodeMapPath, preserveParts);
+    }
 
-            if (glbFilePath != null) {
-                cadFileMapper.updateGlbPath(cadFileId, glbFilePath);
+    private void processCadFileResult(Long cadFileId, String glbFilePath, PartMetadata metadata, String nodeMapPath,
+                                      boolean preserveParts) {
+        try {
+            if (!preserveParts) {
+                // parts는 항상 새로 덮어쓰기 (삭제 + insert를 lease 확인과 한 트랜잭션으로)
+                boolean held = writeUnderLease(cadFileId, () -> {
+                    partMapper.deleteByCadFileId(cadFileId);
+                    partArchiveService.discard(cadFileId);
+                    if (metadata.getParts() != null && !metadata.getParts().isEmpty()) {
+                        insertParts(cadFileId, metadata.getParts(), new AtomicInteger());
+                    }
+                });
+                if (!held) return;
             }
 
-            // parts는 항상 새로 덮어쓰기
-            partMapper.deleteByCadFileId(cadFileId);
+            completeCadFileResult(cadFileId, glbFilePath, nodeMapPath, preserveParts);
+
+        } catch (Exception e) {
+            log.error("CAD 파일 처리 결과 저장 실패: ID={}", cadFileId, e);
+            failJob(cadFileId, preserveParts);
+            throw new RuntimeException("파일 처리 결과 저장 실패", e);
+        }
+    }
+
+    private boolean holdsLease(Long cadFileId) {
+        String owner = workerIdentity.getId();
+        if (cadFileMapper.isLeaseHeldBy(cadFileId, owner) == 0) {
+            // lease 만료 후 다른 인스턴스가 가져간 작업: 결과를 쓰지 않음
+            log.warn("lease를 잃어 결과 저장 생략: ID={}, owner={}", cadFileId, owner);
+            return false;
+        }
+        return true;
+    }
 
-            if (metadata.getParts() != null && !metadata.getParts().isEmpty()) {
-                int fallbackIndex = 0;
+    /**
+     * lease를 가진 동안에만 결과 쓰기 실행
+     * - cad_files 행을 FOR UPDATE로 잠그고 lease_owner를 확인한 뒤 같은 트랜잭션에서 쓰기
+     *   → 커밋 전까지 다른 인스턴스가 이 작업을 점유할 수 없고, lease를 잃은 뒤의 쓰기는 실행되지 않음
+     * @return lease를 잃어 쓰지 않았으면 false
+     */
+    private boolean writeUnderLease(Long cadFileId, Runnable writes) {
+        String owner = workerIdentity.getId();
+        Boolean held = new TransactionTemplate(transactionManager).execute(status -> {
+            if (!owner.equals(cadFileMapper.lockLeaseOwner(cadFileId))) return false;
+            writes.run();
+            return true;
+        });
+        if (!Boolean.TRUE.equals(held)) {
+            log.warn("lease를 잃어 결과 저장 생략: ID={}, owner={}", cadFileId, owner);
+            return false;
+        }
+        return true;
+    }
 
-                for (PartMetadata.PartInfo partInfo : metadata.getParts()) {
-                    Part part = new Part();
-                    part.setCadFileId(cadFileId);
+    /**
+     * 작업 실패 처리 (lease를 가진 인스턴스만 기록)
+     * - GLB 재생성 실패는 파일을 FAILED로 만들지 않고 error_message + 실패 횟수 + backoff만 기록
+     *   → 다운로드 요청이 실패한 재생성을 끝없이 다시 큐에 넣지 않음
+     */
+    private void failJob(Long cadFileId, boolean preserveParts) {
+        String owner = workerIdentity.getId();
+        if (preserveParts) {
+            cadFileMapper.failRegeneration(cadFileId, owner, regenerateBackoffMinutes);
+        } else {
+            cadFileMapper.finishJob(cadFileId, owner, "FAILED");
+        }
+    }
 
-                    part.setName(partInfo.getName());
-                    part.setDisplayName(null);
+    /**
+     * 실패 진단 tail을 cad_files.error_message에 저장 (컬럼 크기에 맞춰 끝부분만)
+     */
+    private void recordError(Long cadFileId, String message) {
+        if (message == null) return;
+        String tail = message.length() > ERROR_MESSAGE_MAX ? message.substring(message.length() - ERROR_MESSAGE_MAX) : message;
+        try {
+            cadFileMapper.updateErrorMessage(cadFileId, workerIdentity.getId(), tail);
+        } catch (Exception e) {
+            log.warn("error_message 저장 실패: ID={}, err={}", cadFileId, e.toString());
+        }
+    }
 
-                    String partKey = partInfo.getPartKey();
-                    if (partKey == null || partKey.isBlank()) {
-                        fallbackIndex++;
-                        String base = (partInfo.getName() == null || partInfo.getName().isBlank())
-                                ? "Part"
-                                : partInfo.getName().trim();
-                        partKey = "fallback:" + base + ":" + fallbackIndex;
-                    }
-                    part.setPartKey(partKey);
+    /**
+     * parts 다중 행 insert (INSERT_CHUNK 단위)
+     * - fallbackSeq: partKey가 없는 부품의 일련번호, 배치가 나뉘어도 이어지도록 호출자가 유지
+     */
+    private void insertParts(Long cadFileId, List<PartMetadata.PartInfo> partInfos, AtomicInteger fallbackSeq) {
+        List<Part> chunk = new ArrayList<>(Math.min(partInfos.size(), INSERT_CHUNK));
+        for (PartMetadata.PartInfo partInfo : partInfos) {
+            chunk.add(toPart(cadFileId, partInfo, fallbackSeq));
+            if (chunk.size() >= INSERT_CHUNK) {
+                partMapper.insertParts(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            partMapper.insertParts(chunk);
+        }
+    }
 
-                    // nodeIndex는 GLB 단계에서 node_map.json으로 업데이트될 수 있음
-                    part.setNodeIndex(partInfo.getNodeIndex());
-                    part.setNodePath(partInfo.getNodePath());
+    private Part toPart(Long cadFileId, PartMetadata.PartInfo partInfo, AtomicInteger fallbackSeq) {
+        Part part = new Part();
+        part.setCadFileId(cadFileId);
 
-                    // 지금은 트리 미사용 (필요 시 추후 2-pass로 parent_part_id 채우기)
-                    part.setParentPartId(null);
+        part.setName(partInfo.getName());
+        part.setDisplayName(null);
 
-                    if (partInfo.getPosition() != null && partInfo.getPosition().length >= 3) {
-                        part.setPositionX(partInfo.getPosition()[0]);
-                        part.setPositionY(partInfo.getPosition()[1]);
-                        part.setPositionZ(partInfo.getPosition()[2]);
-                    }
+        String partKey = partInfo.getPartKey();
+        if (partKey == null || partKey.isBlank()) {
+            String base = (partInfo.getName() == null || partInfo.getName().isBlank())
+                    ? "Part"
+                    : partInfo.getName().trim();
+            partKey = "fallback:" + base + ":" + fallbackSeq.incrementAndGet();
+        }
+        part.setPartKey(partKey);
 
-                    if (partInfo.getSize() != null && partInfo.getSize().length >= 3) {
-                        part.setSizeX(partInfo.getSize()[0]);
-                        part.setSizeY(partInfo.getSize()[1]);
-                        part.setSizeZ(partInfo.getSize()[2]);
-                    }
+        // nodeIndex는 GLB 단계에서 node_map.json으로 업데이트될 수 있음
+        part.setNodeIndex(partInfo.getNodeIndex());
+        part.setNodePath(partInfo.getNodePath());
 
-                    partMapper.insertPart(part);
-                }
+        // 지금은 트리 미사용 (필요 시 추후 2-pass로 parent_part_id 채우기)
+        part.setParentPartId(null);
+
+        if (partInfo.getPosition() != null && partInfo.getPosition().length >= 3) {
+            part.setPositionX(partInfo.getPosition()[0]);
+            part.setPositionY(partInfo.getPosition()[1]);
+            part.setPositionZ(partInfo.getPosition()[2]);
+        }
+
+        if (partInfo.getSize() != null && partInfo.getSize().length >= 3) {
+            part.setSizeX(partInfo.getSize()[0]);
+            part.setSizeY(partInfo.getSize()[1]);
+            part.setSizeZ(partInfo.getSize()[2]);
+        }
+
+        part.setMeshId(partInfo.getMeshId());
+        part.setTriangleCountOriginal(partInfo.getTriangleCountOriginal());
+        part.setTriangleCount(partInfo.getTriangleCount());
+        return part;
+    }
+
+    /**
+     * parts 저장 이후 마무리: GLB 경로 + node_index 갱신, 작업 완료 처리
+     */
+    private void completeCadFileResult(Long cadFileId, String glbFilePath, String nodeMapPath, boolean preserveParts) {
+        String owner = workerIdentity.getId();
+
+        if (preserveParts) {
+            // GLB 재생성: 기존 parts(id/메모)는 유지하고 GLB 경로 + node_index만 갱신
+            if (glbFilePath == null) {
+                log.error("GLB 재생성 실패: ID={}", cadFileId);
+                failJob(cadFileId, true);
+                return;
             }
+            thumbnailService.generateIfMissing(cadFileId, glbFilePath);
+            boolean done = writeUnderLease(cadFileId, () -> {
+                cadFileMapper.updateGlbPath(cadFileId, glbFilePath);
+                if (nodeMapPath != null && !nodeMapPath.isBlank()) {
+                    tryUpdateNodeIndexFromNodeMap(cadFileId, nodeMapPath);
+                }
+                cadFileMapper.updateGlbEvicted(cadFileId, false);
+                cadFileMapper.finishJob(cadFileId, owner, "COMPLETED");
+            });
+            if (done) log.info("GLB 재생성 완료: ID={}", cadFileId);
+            return;
+        }
 
+        // 목록에서 바로 보이도록 COMPLETED 전에 썸네일 생성 (파일만 쓰므로 트랜잭션 밖에서)
+        if (glbFilePath != null) {
+            thumbnailService.generate(cadFileId, glbFilePath);
+        }
+
+        boolean done = writeUnderLease(cadFileId, () -> {
+            if (glbFilePath != null) {
+                cadFileMapper.updateGlbPath(cadFileId, glbFilePath);
+            }
             // ✅ node_map.json이 있으면 node_index를 partKey 기준으로 업데이트(가능한 것만)
             if (nodeMapPath != null && !nodeMapPath.isBlank()) {
                 tryUpdateNodeIndexFromNodeMap(cadFileId, nodeMapPath);
             }
-
-            cadFileMapper.updateStatus(cadFileId, "COMPLETED");
-            log.info("CAD 파일 처리 완료: ID={}", cadFileId);
-
-        } catch (Exception e) {
-            log.error("CAD 파일 처리 결과 저장 실패: ID={}", cadFileId, e);
-            cadFileMapper.updateStatus(cadFileId, "FAILED");
-            throw new RuntimeException("파일 처리 결과 저장 실패", e);
+            cadFileMapper.finishJob(cadFileId, owner, "COMPLETED");
+        });
+        if (!done) {
+            log.warn("처리 중 lease를 잃음(다른 인스턴스가 재처리): ID={}", cadFileId);
+            return;
         }
+        log.info("CAD 파일 처리 완료: ID={}", cadFileId);
     }
 
     private void tryUpdateNodeIndexFromNodeMap(Long cadFileId, String nodeMapPath) {
@@ -368,12 +657,6 @@ public class PythonWorkerService {
         }
     }
 
-    @Data
-    private static class GlbBuildResult {
-        private String glbFilePath;
-        private String nodeMapPath;
-    }
-
     @Data
     private static class NodeMapItem {
         private String partKey;
@@ -0,0 +1,77 @@
+package com.korit.project.backend.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키로 동시에 들어온 작업을 하나로 합침(single-flight)
+ * - 먼저 온 호출자(leader)만 실제로 계산하고, 진행 중에 들어온 호출자는 같은 결과(또는 예외)를 공유
+ * - 결과를 캐시하지는 않음: 계산이 끝나면 키를 비우므로 그 다음 호출은 새로 계산
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 동기 계산 합치기 (조회용)
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            V value = loader.get();
+            inFlight.remove(key, mine);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 비동기 작업 합치기 (변환용)
+     * - leader의 starter가 돌려준 future 결과를 모든 호출자가 공유
+     */
+    public CompletableFuture<V> submit(K key, Supplier<CompletableFuture<V>> starter) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            starter.get().whenComplete((value, e) -> {
+                // 키를 먼저 비워야 완료 직후 들어온 호출이 끝난 작업에 붙지 않음
+                inFlight.remove(key, mine);
+                if (e != null) {
+                    mine.completeExceptionally(e);
+                } else {
+                    mine.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        return mine;
+    }
+
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.korit.project.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.korit.project.backend.dto.PartMetadata;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * STEP 변환 스트리밍 파이프라인
+ *
+ *   FreeCADCmd(step_to_parts.py --ndjson) ─▶ 메시 단순화(ForkJoin, 부품 병렬)
+ *        ─▶ [bounded queue, 입력 순서] ─▶ 순서 정렬 ──┬─▶ [bounded queue] ─▶ parts_to_glb.py(stdin)
+ *                                                     └─▶ [bounded queue] ─▶ DB 배치 insert
+ *
+ * - 테셀레이터가 부품 하나를 끝낼 때마다 NDJSON 한 줄을 내보내고, 이후 단계가 동시에 처리
+ * - 큰 부품 단순화가 오래 걸려도 다른 부품 단순화는 계속 진행, 출력 순서만 입력 순서로 맞춤
+ * - 큐가 가득 차면 읽기가 멈추고(→ FreeCAD stdout 파이프가 차서 테셀레이터도 대기) 역압이 걸림
+ * - 전체 지연 ≈ 단계 합이 아니라 가장 느린 단계 수준
+ * - NDJSON 한 줄은 conversion.ndjson.max-line-chars 까지만 읽음: 넘으면 테셀레이터를 멈추고 작업 실패
+ *   (깨진 출력 한 줄 때문에 메모리가 끝없이 늘지 않게)
+ */
+@Slf4j
+@Component
+public class StepConversionPipeline {
+
+    private static final int QUEUE_CAPACITY = 256;
+    private static final int DB_BATCH_SIZE = 200;
+    private static final long DB_BATCH_LINGER_MS = 500;
+
+    // 종료 신호(poison pill): 동일 인스턴스 비교
+    private static final String END_LINE = new String("<end>");
+    private static final PartMetadata.PartInfo END_PART = new PartMetadata.PartInfo();
+
+    private static final CompletableFuture<Simplified> END_SIMPLIFIED = new CompletableFuture<>();
+
+    private final ObjectMapper objectMapper;
+    private final ProcessRunner processRunner;
+    private final MeshSimplificationService meshSimplificationService;
+    private final Executor pipelineExecutor;
+
+    @Value("${conversion.ndjson.max-line-chars:1048576}")
+    private int maxLineChars;
+
+    public StepConversionPipeline(ObjectMapper objectMapper, ProcessRunner processRunner,
+                                  MeshSimplificationService meshSimplificationService,
+                                  @Qualifier("pipelineExecutor") Executor pipelineExecutor) {
+        this.objectMapper = objectMapper;
+        this.processRunner = processRunner;
+        this.meshSimplificationService = meshSimplificationService;
+        this.pipelineExecutor = pipelineExecutor;
+    }
+
+    /**
+     * @param tessellator FreeCADCmd 프로세스 (stdout으로 NDJSON 부품 레코드 출력, stderr는 진단 tail)
+     * @param glbBuilder  parts_to_glb.py --parts-ndjson - 프로세스 (없으면 null, 출력 redirect는 호출자가 설정)
+     * @param partSink    부품 배치 저장 (없으면 null)
+     */
+    public Result run(ProcessBuilder tessellator, ProcessBuilder glbBuilder,
+                      Consumer<List<PartMetadata.PartInfo>> partSink) throws Exception {
+        Result result = new Result();
+
+        BlockingQueue<String> glbQueue = glbBuilder != null ? new ArrayBlockingQueue<>(QUEUE_CAPACITY) : null;
+        BlockingQueue<PartMetadata.PartInfo> dbQueue = partSink != null ? new ArrayBlockingQueue<>(QUEUE_CAPACITY) : null;
+        BlockingQueue<CompletableFuture<Simplified>> orderedQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        MeshSimplificationService.Session simplification = meshSimplificationService.newSession();
+
+        Process glbProcess = null;
+        ProcessRunner.Watchdog glbWatchdog = null;
+        CompletableFuture<Void> glbStage = CompletableFuture.completedFuture(null);
+        CompletableFuture<Void> dbStage = CompletableFuture.completedFuture(null);
+
+        if (glbBuilder != null) {
+            glbProcess = glbBuilder.start();
+            glbWatchdog = processRunner.watch(glbProcess, "parts_to_glb");
+            Process gp = glbProcess;
+            try {
+                glbStage = CompletableFuture.runAsync(() -> feedGlbBuilder(gp, glbQueue, result), pipelineExecutor);
+            } catch (RuntimeException e) {
+                gp.destroy();
+                throw e;
+            }
+        }
+        if (partSink != null) {
+            try {
+                dbStage = CompletableFuture.runAsync(() -> writeBatches(dbQueue, partSink, result), pipelineExecutor);
+            } catch (RuntimeException e) {
+                // executor 포화: 이미 시작한 GLB 단계 정리
+                if (glbQueue != null) glbQueue.put(END_LINE);
+                if (glbProcess != null) glbProcess.destroy();
+                throw e;
+            }
+        }
+        CompletableFuture<Void> sequencer;
+        try {
+            sequencer = CompletableFuture.runAsync(() -> sequence(orderedQueue, glbQueue, dbQueue, result), pipelineExecutor);
+        } catch (RuntimeException e) {
+            if (glbQueue != null) glbQueue.put(END_LINE);
+            if (dbQueue != null) dbQueue.put(END_PART);
+            if (glbProcess != null) glbProcess.destroy();
+            throw e;
+        }
+
+        // stderr는 ProcessRunner가 별도로 비우고, stdout의 JSON이 아닌 줄은 고정 크기 tail로만 보관
+        ProcessRunner.Tail stdoutNoise = new ProcessRunner.Tail(ProcessRunner.TAIL_LINES);
+        ProcessRunner.Result tessellation = null;
+        try {
+            tessellation = processRunner.run(tessellator, "step_to_parts", stdout -> {
+                BufferedReader br = new BufferedReader(new InputStreamReader(stdout, StandardCharsets.UTF_8));
+                String line;
+                while ((line = ProcessRunner.readLine(br, maxLineChars)) != null) {
+                    String trimmed = line.trim();
+                    if (!trimmed.startsWith("{")) {
+                        stdoutNoise.add(truncate(line), line.length() > ProcessRunner.MAX_LINE_CHARS);
+                        continue;
+                    }
+
+                    ObjectNode record;
+                    PartMetadata.PartInfo part;
+                    try {
+                        JsonNode node = objectMapper.readTree(trimmed);
+                        if (!(node instanceof ObjectNode)) throw new IllegalArgumentException("not an object");
+                        record = (ObjectNode) node;
+                        part = objectMapper.treeToValue(record, PartMetadata.PartInfo.class);
+                    } catch (Exception e) {
+                        stdoutNoise.add(truncate(line), line.length() > ProcessRunner.MAX_LINE_CHARS);
+                        continue;
+                    }
+
+                    result.partCount++;
+                    PartMetadata.PartInfo p = part;
+                    orderedQueue.put(simplification.submit(record).thenApply(r -> new Simplified(r, p)));
+                }
+            });
+        } catch (ProcessRunner.LineTooLongException e) {
+            // 테셀레이터는 ProcessRunner가 이미 종료함, 받은 부품까지만 흘려보내고 작업은 실패로
+            if (glbProcess != null) glbProcess.destroy();
+            result.lineTooLong = true;
+            result.diagnostics = "step_to_parts: " + e.getMessage() + " (부품 " + result.partCount + "개 뒤)\n"
+                    + (stdoutNoise.isEmpty() ? "" : "[stdout]\n" + stdoutNoise);
+        } catch (Exception e) {
+            if (glbProcess != null) glbProcess.destroy();
+            throw e;
+        } finally {
+            // 어떤 경우에도 소비 단계가 끝나도록 종료 신호 전달 (순서 정렬 단계가 GLB/DB 단계로 넘김)
+            orderedQueue.put(END_SIMPLIFIED);
+        }
+
+        if (tessellation != null) {
+            result.tessellatorExitCode = tessellation.getExitCode();
+            result.tessellatorTimedOut = tessellation.isTimedOut();
+            result.diagnostics = tessellation.tail() + (stdoutNoise.isEmpty() ? "" : "[stdout]\n" + stdoutNoise);
+        }
+
+        sequencer.join();
+        glbStage.join();
+        dbStage.join();
+
+        if (glbProcess != null) {
+            result.glbExitCode = glbProcess.waitFor();
+            glbWatchdog.cancel();
+            result.glbTimedOut = glbWatchdog.isTimedOut();
+        }
+        return result;
+    }
+
+    private static String truncate(String line) {
+        return line.length() > ProcessRunner.MAX_LINE_CHARS ? line.substring(0, ProcessRunner.MAX_LINE_CHARS) : line;
+    }
+
+    /**
+     * 단순화 결과를 입력 순서대로 GLB / DB 단계로 전달
+     */
+    private void sequence(BlockingQueue<CompletableFuture<Simplified>> orderedQueue,
+                          BlockingQueue<String> glbQueue, BlockingQueue<PartMetadata.PartInfo> dbQueue, Result result) {
+        try {
+            while (true) {
+                CompletableFuture<Simplified> future = orderedQueue.take();
+                if (future == END_SIMPLIFIED) break;
+
+                Simplified s = future.join();
+                ObjectNode record = s.record();
+                PartMetadata.PartInfo part = s.part();
+                part.setMeshPath(record.path("meshPath").asText(part.getMeshPath()));
+                if (record.hasNonNull("triangleCountOriginal")) {
+                    part.setTriangleCountOriginal(record.get("triangleCountOriginal").asInt());
+                }
+                if (record.hasNonNull("triangleCount")) {
+                    part.setTriangleCount(record.get("triangleCount").asInt());
+                }
+                if (part.getTriangleCountOriginal() != null && part.getTriangleCount() != null
+                        && part.getTriangleCount() < part.getTriangleCountOriginal()) {
+                    result.simplifiedCount++;
+                }
+
+                if (glbQueue != null) glbQueue.put(objectMapper.writeValueAsString(record));
+                if (dbQueue != null) dbQueue.put(part);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("메시 단순화 결과 전달 실패: {}", e.toString());
+            result.sinkError = e;
+            // 읽기 단계가 막히지 않도록 남은 항목 비우기
+            drainOrdered(orderedQueue);
+        } finally {
+            try {
+                if (glbQueue != null) glbQueue.put(END_LINE);
+                if (dbQueue != null) dbQueue.put(END_PART);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void drainOrdered(BlockingQueue<CompletableFuture<Simplified>> orderedQueue) {
+        try {
+            while (orderedQueue.take() != END_SIMPLIFIED) {
+                // 버림
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void feedGlbBuilder(Process glbProcess, BlockingQueue<String> queue, Result result) {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(glbProcess.getOutputStream(), StandardCharsets.UTF_8));
+        try {
+            while (true) {
+                String line = queue.take();
+                if (line == END_LINE) break;
+                if (result.glbInputFailed) continue; // 빌더가 죽었어도 큐는 계속 비워서 읽기 단계가 막히지 않게
+
+                try {
+                    writer.write(line);
+                    writer.newLine();
+                    writer.flush();
+                } catch (IOException e) {
+                    result.glbInputFailed = true;
+                    log.error("GLB 빌더 입력 실패: {}", e.toString());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.glbInputFailed = true;
+        } finally {
+            try {
+                writer.close(); // EOF → 빌더가 GLB export 시작
+            } catch (IOException e) {
+                log.warn("GLB 빌더 stdin 닫기 실패: {}", e.toString());
+            }
+        }
+    }
+
+    private void writeBatches(BlockingQueue<PartMetadata.PartInfo> queue,
+                              Consumer<List<PartMetadata.PartInfo>> sink, Result result) {
+        List<PartMetadata.PartInfo> batch = new ArrayList<>(DB_BATCH_SIZE);
+        try {
+            while (true) {
+                PartMetadata.PartInfo part = queue.poll(DB_BATCH_LINGER_MS, TimeUnit.MILLISECONDS);
+                if (part == END_PART) break;
+                if (part != null) batch.add(part);
+
+                // 배치가 찼거나, 잠시 입력이 없으면(느린 테셀레이션) 모인 만큼 저장
+                if (batch.size() >= DB_BATCH_SIZE || (part == null && !batch.isEmpty())) {
+                    flush(batch, sink, result);
+                }
+            }
+            flush(batch, sink, result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.sinkError = e;
+        }
+    }
+
+    private void flush(List<PartMetadata.PartInfo> batch, Consumer<List<PartMetadata.PartInfo>> sink, Result result) {
+        if (batch.isEmpty()) return;
+        if (result.sinkError == null) {
+            try {
+                sink.accept(new ArrayList<>(batch));
+            } catch (Exception e) {
+                result.sinkError = e;
+                log.error("부품 배치 저장 실패: {}", e.toString());
+            }
+        }
+        batch.clear();
+    }
+
+    private record Simplified(ObjectNode record, PartMetadata.PartInfo part) {
+    }
+
+    @Data
+    public static class Result {
+        private int partCount;
+        private int simplifiedCount;
+        private int tessellatorExitCode;
+        private boolean tessellatorTimedOut;
+        // NDJSON 한 줄이 max-line-chars를 넘어 읽기를 중단함
+        private boolean lineTooLong;
+        private int glbExitCode;
+        private volatile boolean glbInputFailed;
+        private boolean glbTimedOut;
+        private volatile Exception sinkError;
+        private String diagnostics;
+
+        public boolean isTessellationOk() {
+            return tessellatorExitCode == 0 && !tessellatorTimedOut && !lineTooLong && partCount > 0;
+        }
+
+        public boolean isGlbOk() {
+            return glbExitCode == 0 && !glbInputFailed && !glbTimedOut;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.dto.PartMetadata;
+import com.korit.project.backend.dto.TessellationQuality;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * bbox 사전 패스 결과로 부품별 LinearDeflection 결정
+ * - 기본값: 부품 크기(bbox 대각선)에 비례 → 작은 부품도 형태 유지, 큰 부품은 과분할 방지
+ * - 전체 예상 삼각형 수가 예산을 넘으면 모든 부품의 deflection을 같은 비율로 키움
+ *
+ * 삼각형 수 추정: 현(chord) 오차 δ, 곡률 반경 ~ d/2 일 때 변 길이 ~ sqrt(4dδ)
+ *   → tris ≈ A / (2dδ) (A: 표면적, d: bbox 대각선)
+ */
+@Component
+public class TessellationPlanner {
+
+    private static final double MIN_LINEAR = 0.001;       // mm
+    private static final double MAX_RELATIVE = 0.25;      // 대각선 대비 상한(예산이 너무 작아도 형태는 남김)
+    private static final double MIN_TRIANGLES_PER_PART = 12;
+
+    public TessellationPlan plan(List<PartMetadata.PartInfo> parts, TessellationQuality quality) {
+        int n = parts.size();
+        double[] diag = new double[n];
+        double[] area = new double[n];
+        double[] linear = new double[n];
+
+        double estimated = 0;
+        for (int i = 0; i < n; i++) {
+            PartMetadata.PartInfo part = parts.get(i);
+            // 로컬 좌표계 bbox 우선: 회전만 다른 동일 부품이 같은 deflection → 같은 메시(인스턴싱)
+            Double[] dims = part.getLocalSize() != null && part.getLocalSize().length >= 3
+                    ? part.getLocalSize()
+                    : part.getSize();
+            double sx = 0, sy = 0, sz = 0;
+            if (dims != null && dims.length >= 3) {
+                sx = nz(dims[0]);
+                sy = nz(dims[1]);
+                sz = nz(dims[2]);
+            }
+
+            double d = Math.sqrt(sx * sx + sy * sy + sz * sz);
+            if (d <= 0) d = MIN_LINEAR;
+
+            double a = part.getArea() != null && part.getArea() > 0
+                    ? part.getArea()
+                    : 2 * (sx * sy + sy * sz + sz * sx);
+            if (a <= 0) a = d * d;
+
+            diag[i] = d;
+            area[i] = a;
+            linear[i] = Math.max(MIN_LINEAR, quality.getRelativeDeflection() * d);
+            estimated += estimateTriangles(a, d, linear[i]);
+        }
+
+        double scale = 1.0;
+        if (estimated > quality.getTriangleBudget()) {
+            scale = estimated / quality.getTriangleBudget();
+            estimated = 0;
+            for (int i = 0; i < n; i++) {
+                linear[i] = Math.min(linear[i] * scale, Math.max(MIN_LINEAR, MAX_RELATIVE * diag[i]));
+                estimated += estimateTriangles(area[i], diag[i], linear[i]);
+            }
+        }
+
+        TessellationPlan plan = new TessellationPlan();
+        plan.setQuality(quality.name());
+        plan.setAngular(quality.getAngularDeflection());
+        plan.setTriangleBudget(quality.getTriangleBudget());
+        plan.setEstimatedTriangles(Math.round(estimated));
+        plan.setBudgetScale(scale);
+        plan.setPartCount(n);
+
+        double min = Double.MAX_VALUE, max = 0;
+        Map<String, Double> byPartKey = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            String key = parts.get(i).getPartKey();
+            if (key == null) continue;
+            byPartKey.put(key, linear[i]);
+            min = Math.min(min, linear[i]);
+            max = Math.max(max, linear[i]);
+        }
+        plan.setLinearByPartKey(byPartKey);
+        plan.setMinLinear(byPartKey.isEmpty() ? 0 : min);
+        plan.setMaxLinear(max);
+        plan.setDefaultLinear(byPartKey.isEmpty() ? 10.0 : max);
+        return plan;
+    }
+
+    private static double estimateTriangles(double area, double diag, double linear) {
+        return Math.max(MIN_TRIANGLES_PER_PART, area / (2 * diag * linear));
+    }
+
+    private static double nz(Double v) {
+        return (v == null || !Double.isFinite(v)) ? 0 : Math.abs(v);
+    }
+
+    @Data
+    public static class TessellationPlan {
+        private String quality;
+        private double angular;
+        private long triangleBudget;
+        private long estimatedTriangles;
+        private double budgetScale;
+        private int partCount;
+        private double minLinear;
+        private double maxLinear;
+        private double defaultLinear;
+        private Map<String, Double> linearByPartKey;
+
+        /** step_to_parts.py --deflection-plan 입력 */
+        public Map<String, Object> toScriptPlan() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("angular", angular);
+            m.put("defaultLinear", defaultLinear);
+            m.put("parts", linearByPartKey);
+            return m;
+        }
+
+        /** cad_files.tessellation_params 에 남길 요약(부품별 값은 plan 파일에만) */
+        public Map<String, Object> toSummary() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("quality", quality);
+            m.put("angular", angular);
+            m.put("triangleBudget", triangleBudget);
+            m.put("estimatedTriangles", estimatedTriangles);
+            m.put("budgetScale", budgetScale);
+            m.put("partCount", partCount);
+            m.put("minLinear", minLinear);
+            m.put("maxLinear", maxLinear);
+            return m;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.korit.project.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.korit.project.backend.entity.CadFile;
+import com.korit.project.backend.mapper.CadFileMapper;
+import com.korit.project.backend.mesh.GlbScene;
+import com.korit.project.backend.mesh.SoftwareRasterizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 썸네일/미리보기 이미지 (PNG)
+ * - 변환 완료 시 GLB를 Java 소프트웨어 래스터라이저로 그려 converted/{id}/thumbnail.png에 저장
+ * - turntable 프레임(turntable-{n}.png)은 요청 시 그려서 같은 디렉터리에 캐시
+ * - converted/{id}/ 는 고아 정리 대상이 아니고, GLB가 축출돼도 썸네일은 남음
+ * - 썸네일이 없는데(이전 변환분 등) GLB가 있으면 요청 시 생성
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ThumbnailService {
+
+    private static final double DEFAULT_YAW = 35;
+    private static final double PITCH = 25;
+
+    private final CadFileMapper cadFileMapper;
+    private final ObjectMapper objectMapper;
+
+    private final SingleFlight<Path, Boolean> renderFlight = new SingleFlight<>();
+
+    @Value("${file.upload.converted-dir}")
+    private String convertedDir;
+
+    @Value("${thumbnail.size:256}")
+    private int size;
+
+    @Value("${thumbnail.turntable-frames:8}")
+    private int turntableFrames;
+
+    /**
+     * 변환 직후 기본 썸네일 생성 (실패해도 변환 결과에는 영향 없음)
+     */
+    public void generate(Long cadFileId, String glbFilePath) {
+        if (glbFilePath == null) return;
+        Path target = thumbnailPath(cadFileId, null);
+        if (!render(Paths.get(glbFilePath), target, DEFAULT_YAW)) {
+            log.warn("썸네일 생성 실패: ID={}", cadFileId);
+        }
+    }
+
+    /**
+     * GLB 재생성 시: 썸네일은 축출 대상이 아니라 보통 남아 있음
+     */
+    public void generateIfMissing(Long cadFileId, String glbFilePath) {
+        if (!Files.exists(thumbnailPath(cadFileId, null))) {
+            generate(cadFileId, glbFilePath);
+        }
+    }
+
+    /**
+     * @param frame null이면 기본 썸네일, 0..turntable-frames-1 이면 turntable 프레임
+     * @return 이미지 경로, 만들 수 없으면 null
+     */
+    public Path getThumbnail(Long cadFileId, Integer frame) {
+        if (frame != null && (frame < 0 || frame >= turntableFrames)) {
+            throw new IllegalArgumentException("frame은 0 ~ " + (turntableFrames - 1) + " 범위여야 합니다.");
+        }
+        Path target = thumbnailPath(cadFileId, frame);
+        if (Files.exists(target)) return target;
+
+        CadFile cadFile = cadFileMapper.findById(cadFileId);
+        if (cadFile == null || cadFile.getGlbFilePath() == null || !"COMPLETED".equals(cadFile.getStatus())) {
+            return null;
+        }
+        double yaw = frame == null ? DEFAULT_YAW : DEFAULT_YAW + 360.0 * frame / turntableFrames;
+        return render(Paths.get(cadFile.getGlbFilePath()), target, yaw) ? target : null;
+    }
+
+    public int getTurntableFrames() {
+        return turntableFrames;
+    }
+
+    private boolean render(Path glb, Path target, double yaw) {
+        Boolean ok = renderFlight.execute(target, () -> {
+            if (!Files.exists(glb)) return false;
+            try {
+                long started = System.nanoTime();
+                GlbScene scene = GlbScene.read(glb, objectMapper);
+                BufferedImage image = SoftwareRasterizer.render(scene, size, yaw, PITCH);
+                if (image == null) return false;
+
+                // 임시 파일에 쓰고 교체: 동시에 읽는 요청이 반쯤 쓴 PNG를 받지 않게
+                Files.createDirectories(target.getParent());
+                Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+                ImageIO.write(image, "png", tmp.toFile());
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                log.info("썸네일 생성: {} (triangles={}, {}ms, {} bytes)", target, scene.triangleCount(),
+                        (System.nanoTime() - started) / 1_000_000, Files.size(target));
+                return true;
+            } catch (Exception | OutOfMemoryError e) {
+                log.warn("썸네일 렌더링 실패: glb={} ({})", glb, e.toString());
+                return false;
+            }
+        });
+        return Boolean.TRUE.equals(ok);
+    }
+
+    private Path thumbnailPath(Long cadFileId, Integer frame) {
+        String name = frame == null ? "thumbnail.png" : "turntable-" + frame + ".png";
+        return resolveConvertedDirAbs().resolve(String.valueOf(cadFileId)).resolve(name);
+    }
+
+    private Path resolveConvertedDirAbs() {
+        Path p = Paths.get(convertedDir);
+        if (p.isAbsolute()) return p;
+        return Paths.get(System.getProperty("user.dir")).resolve(p).normalize();
+    }
+}
@@ -0,0 +1,37 @@
+package com.korit.project.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * 변환 작업 lease 소유자 식별자 (인스턴스마다 고유)
+ * - conversion.node-id 미설정 시 "호스트명-랜덤" 사용
+ */
+@Component
+public class WorkerIdentity {
+
+    private final String id;
+
+    public WorkerIdentity(@Value("${conversion.node-id:}") String configuredId) {
+        if (configuredId != null && !configuredId.isBlank()) {
+            this.id = configuredId.trim();
+        } else {
+            this.id = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
@@ -15,7 +15,45 @@ CREATE TABLE IF NOT EXISTS cad_files (
     -- 운영용 필드(권장)
     started_at DATETIME NULL,
     finished_at DATETIME NULL,
-    error_message VARCHAR(1000) NULL
+    error_message VARCHAR(1000) NULL,
+
+    -- 아티팩트 수명주기(GC/쿼터/콜드 티어)
+    -- source_file_path: temp/upload 원본 경로 (완료 후 콜드 티어로 이동되면 NULL)
+    -- cold_file_path: gzip 압축된 원본 경로 (GLB 재생성용)
+    source_file_path VARCHAR(500) NULL,
+    cold_file_path VARCHAR(500) NULL,
+    last_accessed_at DATETIME NULL,
+    intermediates_purged TINYINT(1) NOT NULL DEFAULT 0,
+    glb_evicted TINYINT(1) NOT NULL DEFAULT 0,
+
+    -- 변환 작업 점유(lease): 여러 백엔드 인스턴스가 작업을 나눠 가짐
+    -- job_type: CONVERT(최초 변환) / REGENERATE(축출된 GLB 재생성)
+    -- regenerate_pending: GLB 재생성 대기/진행 중 (status는 COMPLETED 그대로 두고 이 플래그로 점유)
+    -- regenerate_failures / regenerate_retry_at: 연속 재생성 실패 횟수와 다음 재시도 가능 시각(backoff)
+    job_type VARCHAR(20) NOT NULL DEFAULT 'CONVERT',
+    regenerate_pending TINYINT(1) NOT NULL DEFAULT 0,
+    regenerate_failures INT NOT NULL DEFAULT 0,
+    regenerate_retry_at DATETIME NULL,
+    lease_owner VARCHAR(100) NULL,
+    lease_expires_at DATETIME NULL,
+    attempts INT NOT NULL DEFAULT 0,
+
+    -- 테셀레이션 품질 프리셋 + 실제 적용된 계획 요약(JSON)
+    quality_preset VARCHAR(20) NOT NULL DEFAULT 'STANDARD',
+    tessellation_params TEXT NULL,
+
+    -- 업로드 원본 SHA-256: 같은 내용 + 같은 품질이면 변환 결과를 재사용
+    content_hash CHAR(64) NULL,
+
+    -- 일괄(다중 파일/ZIP) 업로드 묶음 ID: 진행률 조회 단위
+    batch_id VARCHAR(36) NULL,
+
+    KEY idx_cad_files_status (status),
+    KEY idx_cad_files_lease (status, lease_expires_at),
+    KEY idx_cad_files_lease_owner (lease_owner),
+    KEY idx_cad_files_last_accessed (last_accessed_at),
+    KEY idx_cad_files_content_hash (content_hash, quality_preset),
+    KEY idx_cad_files_batch (batch_id)
     );
 
 -- 부품 정보 테이블 (B안용 식별자/계층/매핑 강화)
@@ -49,6 +87,13 @@ CREATE TABLE IF NOT EXISTS parts (
     size_y DOUBLE,
     size_z DOUBLE,
 
+    -- 동일 형상 공유 메시 ID(형상 해시): 같은 값이면 GLB에서 하나의 mesh를 인스턴싱
+    mesh_id VARCHAR(64) NULL,
+
+    -- 메시 단순화(QEM): 원본/단순화 후 삼각형 수 (단순화 안 했으면 같은 값)
+    triangle_count_original INT NULL,
+    triangle_count INT NULL,
+
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
 
     CONSTRAINT fk_parts_cad_file
@@ -63,7 +108,11 @@ CREATE TABLE IF NOT EXISTS parts (
     -- (권장) 조회 최적화 인덱스
     KEY idx_parts_cadfile (cad_file_id),
     KEY idx_parts_node_index (node_index),
-    KEY idx_parts_parent (parent_part_id)
+    KEY idx_parts_parent (parent_part_id),
+    KEY idx_parts_mesh (cad_file_id, mesh_id),
+
+    -- 부품 검색: ngram 파서(한국어 이름 대응), INSERT/UPDATE 시 MySQL이 자동으로 동기화
+    FULLTEXT KEY ft_parts_name (name, display_name) WITH PARSER ngram
     );
 
 -- 부품별 메모 테이블 (부품당 1개 메모 유지)
@@ -75,5 +124,44 @@ CREATE TABLE IF NOT EXISTS part_notes (
                                           updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
 
                                           CONSTRAINT fk_part_notes_part
-                                          FOREIGN KEY (part_id) REFERENCES parts(id) ON DELETE CASCADE
+                                          FOREIGN KEY (part_id) REFERENCES parts(id) ON DELETE CASCADE,
+
+                                          FULLTEXT KEY ft_part_notes_note (note) WITH PARSER ngram
+    );
+
+-- 오래 조회되지 않은 파일의 부품/메모 보관(cold) 테이블: 파일당 1행
+-- data: PartArchiveCodec 컬럼형 + 문자열 사전 + Deflate 압축, 조회 시 parts/part_notes로 복원하고 행 삭제
+-- min/max_part_id: 부품 ID로 보관 묶음을 찾기 위한 범위 (원래 ID 그대로 복원)
+CREATE TABLE IF NOT EXISTS cad_file_archives (
+                                                 cad_file_id BIGINT PRIMARY KEY,
+                                                 format_version INT NOT NULL,
+                                                 part_count INT NOT NULL,
+                                                 note_count INT NOT NULL,
+                                                 min_part_id BIGINT NOT NULL,
+                                                 max_part_id BIGINT NOT NULL,
+                                                 data LONGBLOB NOT NULL,
+                                                 archived_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+
+                                                 CONSTRAINT fk_cad_file_archives_cad_file
+                                                 FOREIGN KEY (cad_file_id) REFERENCES cad_files(id) ON DELETE CASCADE,
+
+                                                 KEY idx_cad_file_archives_part_range (min_part_id, max_part_id)
+    );
+
+-- 보관된 부품의 검색용 사본(이름/표시명/메모만): 보관 중에도 부품 검색에 나오도록
+-- 보관할 때 채우고 복원/재변환 시 삭제 (part_id는 복원 후 ID와 같음)
+CREATE TABLE IF NOT EXISTS part_search_archive (
+                                                   part_id BIGINT PRIMARY KEY,
+                                                   cad_file_id BIGINT NOT NULL,
+                                                   part_key VARCHAR(255) NOT NULL,
+                                                   name VARCHAR(255),
+                                                   display_name VARCHAR(255) NULL,
+                                                   note TEXT,
+
+                                                   CONSTRAINT fk_part_search_archive_cad_file
+                                                   FOREIGN KEY (cad_file_id) REFERENCES cad_files(id) ON DELETE CASCADE,
+
+                                                   KEY idx_part_search_archive_cad_file (cad_file_id),
+                                                   FULLTEXT KEY ft_part_search_archive_name (name, display_name) WITH PARSER ngram,
+                                                   FULLTEXT KEY ft_part_search_archive_note (note) WITH PARSER ngram
     );
@@ -0,0 +1,197 @@
+package com.korit.project.backend.config;
+
+import com.korit.project.backend.dto.PartResponse;
+import com.korit.project.backend.dto.resp.ApiRespDto;
+import com.korit.project.backend.service.CadFileService;
+import com.korit.project.backend.service.PartArchiveService;
+import com.korit.project.backend.service.PartService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 읽기/쓰기 커넥션 분리 확인 (DataSourceConfig)
+ * - readOnly 트랜잭션 → replica 풀
+ * - 쓰기, PartArchiveService 복원(REQUIRES_NEW) → primary 풀
+ *
+ * MySQL이 필요하므로 ROUTING_IT_PRIMARY_URL 이 있을 때만 실행 (schema.sql 이 적용된 DB)
+ *   ROUTING_IT_PRIMARY_URL=jdbc:mysql://localhost:3306/cad_project ROUTING_IT_PASSWORD=... \
+ *   mvn test -Dtest=DataSourceRoutingTest
+ * ROUTING_IT_REPLICA_URL 을 주지 않으면 같은 DB를 두 풀로 연결 (풀 선택만 검사, 복제는 검사하지 않음)
+ */
+@SpringBootTest
+@ActiveProfiles("routing-it")
+@EnabledIfEnvironmentVariable(named = "ROUTING_IT_PRIMARY_URL", matches = ".+")
+class DataSourceRoutingTest {
+
+    private static final String PRIMARY = "primaryDataSource";
+    private static final String REPLICA = "replicaDataSource";
+
+    /**
+     * 테스트 스레드에서 getConnection 이 불린 풀 (스케줄러 스레드는 기록하지 않음)
+     */
+    private static final ThreadLocal<List<String>> CONNECTIONS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Autowired
+    private CadFileService cadFileService;
+
+    @Autowired
+    private PartService partService;
+
+    @Autowired
+    private PartArchiveService partArchiveService;
+
+    @Autowired
+    @Qualifier(PRIMARY)
+    private DataSource primaryDataSource;
+
+    private JdbcTemplate primaryJdbc;
+    private Long cadFileId;
+    private Long partId;
+
+    @BeforeEach
+    void setUp() {
+        primaryJdbc = new JdbcTemplate(primaryDataSource);
+
+        // 오래 접근하지 않은 완료 파일 + 부품 2개 (보관 대상)
+        KeyHolder keys = new GeneratedKeyHolder();
+        primaryJdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "INSERT INTO cad_files (original_filename, status, uploaded_at, finished_at, last_accessed_at) " +
+                            "VALUES (?, 'COMPLETED', NOW() - INTERVAL 400 DAY, NOW() - INTERVAL 400 DAY, NOW() - INTERVAL 400 DAY)",
+                    Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, "routing-it-" + UUID.randomUUID() + ".step");
+            return ps;
+        }, keys);
+        cadFileId = keys.getKey().longValue();
+        primaryJdbc.update("INSERT INTO parts (cad_file_id, name, part_key) VALUES (?, 'bolt', 'k0'), (?, 'nut', 'k1')",
+                cadFileId, cadFileId);
+        partId = primaryJdbc.queryForObject("SELECT MIN(id) FROM parts WHERE cad_file_id = ?", Long.class, cadFileId);
+
+        // 프록시가 처음 커넥션을 얻을 때의 기본값 확인이 기록에 섞이지 않게 한 번씩 미리 사용
+        cadFileService.getAllCadFiles();
+        partService.renamePart(partId, "bolt");
+        CONNECTIONS.get().clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cadFileId != null) {
+            // parts, cad_file_archives 는 FK ON DELETE CASCADE
+            primaryJdbc.update("DELETE FROM cad_files WHERE id = ?", cadFileId);
+        }
+        CONNECTIONS.remove();
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        ApiRespDto<?> resp = cadFileService.getAllCadFiles();
+
+        assertEquals("success", resp.getStatus());
+        assertEquals(List.of(REPLICA), connections());
+    }
+
+    @Test
+    void writeTransactionUsesPrimary() {
+        partService.renamePart(partId, "bolt-renamed");
+
+        assertEquals(List.of(PRIMARY), connections());
+        assertEquals("bolt-renamed",
+                primaryJdbc.queryForObject("SELECT display_name FROM parts WHERE id = ?", String.class, partId));
+    }
+
+    @Test
+    void archiveRestoreInsideReadOnlyCallUsesPrimary() {
+        assertTrue(partArchiveService.archive(cadFileId));
+        assertEquals(List.of(PRIMARY), connections());
+        assertEquals(0, countParts());
+        CONNECTIONS.get().clear();
+
+        // 바깥 조회는 replica, 비어 있으면 REQUIRES_NEW 복원이 primary에서 다시 INSERT
+        ApiRespDto<List<PartResponse>> resp = partService.getPartsByCadFileId(cadFileId);
+
+        assertEquals(2, resp.getData().size());
+        assertEquals(List.of(REPLICA, PRIMARY), connections());
+        assertEquals(2, countParts());
+    }
+
+    private int countParts() {
+        return primaryJdbc.queryForObject("SELECT COUNT(*) FROM parts WHERE cad_file_id = ?", Integer.class, cadFileId);
+    }
+
+    /**
+     * 이번 호출에서 커넥션을 얻은 풀 순서 (검사용 primaryJdbc 조회는 빼기 위해 복사 후 비움)
+     */
+    private static List<String> connections() {
+        List<String> used = List.copyOf(CONNECTIONS.get());
+        CONNECTIONS.get().clear();
+        return used;
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        /**
+         * primary/replica 풀을 getConnection 기록용 래퍼로 감쌈
+         * (@ConfigurationProperties 바인딩은 초기화 전에 끝나므로 초기화 후 감싸도 설정은 그대로)
+         */
+        @Bean
+        static BeanPostProcessor recordingDataSources() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource target && (PRIMARY.equals(beanName) || REPLICA.equals(beanName))) {
+                        return new RecordingDataSource(target, beanName);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        private final String name;
+
+        RecordingDataSource(DataSource target, String name) {
+            super(target);
+            this.name = name;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            CONNECTIONS.get().add(name);
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            CONNECTIONS.get().add(name);
+            return super.getConnection(username, password);
+        }
+    }
+}
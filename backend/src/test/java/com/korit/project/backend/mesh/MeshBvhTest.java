@@ -0,0 +1,149 @@
+package com.korit.project.backend.mesh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeshBvhTest {
+
+    private static final double EPS = 1e-5;
+
+    @Test
+    void overlappingCubesIntersect() {
+        MeshBvh a = cube(0, 0, 0, 1);
+        MeshBvh b = cube(0.5, 0.25, 0.25, 1);
+
+        assertTrue(a.intersects(b));
+        assertTrue(b.intersects(a));
+        assertEquals(0, a.distance(b, 1), EPS);
+    }
+
+    @Test
+    void overlappingCubesWithCoplanarFacesIntersect() {
+        // 아랫면(z = 0)이 같은 평면, x/y 방향으로 겹침
+        MeshBvh a = cube(0, 0, 0, 1);
+        MeshBvh b = cube(0.5, 0.3, 0, 1);
+
+        assertTrue(a.intersects(b));
+        assertEquals(0, a.distance(b, 1), EPS);
+    }
+
+    @Test
+    void touchingCubesDoNotIntersectButHaveZeroDistance() {
+        // 면끼리 맞닿음 (x = 1 평면), 모서리도 일부 겹침
+        MeshBvh a = cube(0, 0, 0, 1);
+        MeshBvh b = cube(1, 0.5, 0, 1);
+
+        assertFalse(a.intersects(b));
+        assertFalse(b.intersects(a));
+        assertEquals(0, a.distance(b, 1), EPS);
+    }
+
+    @Test
+    void separatedCubesReportMinimumDistance() {
+        MeshBvh a = cube(0, 0, 0, 1);
+        MeshBvh b = cube(1.25, 0.2, 0.3, 1);
+
+        assertFalse(a.intersects(b));
+        assertEquals(0.25, a.distance(b, 1), EPS);
+        assertEquals(0.25, b.distance(a, 1), EPS);
+    }
+
+    @Test
+    void separatedCubesDiagonalDistance() {
+        // 모서리끼리 가장 가까움: (1,1,1)과 (1.3,1.4,1) → 0.5
+        MeshBvh a = cube(0, 0, 0, 1);
+        MeshBvh b = cube(1.3, 1.4, 0, 1);
+
+        assertEquals(0.5, a.distance(b, 2), EPS);
+    }
+
+    @Test
+    void distanceIsCappedAtLimit() {
+        MeshBvh a = cube(0, 0, 0, 1);
+        MeshBvh b = cube(3, 0, 0, 1);
+
+        assertEquals(0.5, a.distance(b, 0.5), EPS);
+        assertEquals(2.0, a.distance(b, 10), EPS);
+    }
+
+    @Test
+    void finelyTessellatedCubesUseTree() {
+        // 잎(4개) 여러 개로 나뉘는 크기에서도 같은 결과
+        MeshBvh a = gridCube(0, 0, 0, 1, 8);
+        MeshBvh b = gridCube(1.1, 0.3, 0.3, 1, 8);
+        MeshBvh c = gridCube(0.9, 0.3, 0.3, 1, 8);
+
+        assertEquals(8 * 8 * 2 * 6, a.triangleCount());
+        assertFalse(a.intersects(b));
+        assertEquals(0.1, a.distance(b, 1), EPS);
+        assertTrue(a.intersects(c));
+    }
+
+    @Test
+    void emptyMeshNeverIntersects() {
+        MeshBvh empty = MeshBvh.build(List.of());
+        MeshBvh a = cube(0, 0, 0, 1);
+
+        assertFalse(empty.intersects(a));
+        assertEquals(3.0, empty.distance(a, 3.0), EPS);
+    }
+
+    // ---- 테스트 메시 ----
+
+    static MeshBvh cube(double x, double y, double z, double size) {
+        return gridCube(x, y, z, size, 1);
+    }
+
+    /**
+     * 면마다 n x n 격자로 나눈 정육면체 (바깥쪽 CCW)
+     */
+    static MeshBvh gridCube(double x, double y, double z, double size, int n) {
+        List<Float> pos = new ArrayList<>();
+        List<Integer> idx = new ArrayList<>();
+        // 면: 법선 축, 부호
+        for (int axis = 0; axis < 3; axis++) {
+            for (int sign = 0; sign < 2; sign++) {
+                int u = (axis + 1) % 3, v = (axis + 2) % 3;
+                int base = pos.size() / 3;
+                for (int i = 0; i <= n; i++) {
+                    for (int j = 0; j <= n; j++) {
+                        float[] p = new float[3];
+                        p[axis] = sign;
+                        p[u] = (float) i / n;
+                        p[v] = (float) j / n;
+                        pos.add(p[0]);
+                        pos.add(p[1]);
+                        pos.add(p[2]);
+                    }
+                }
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        int a = base + i * (n + 1) + j, b = a + n + 1, c = b + 1, d = a + 1;
+                        if (sign == 1) {
+                            idx.addAll(List.of(a, b, c, a, c, d));
+                        } else {
+                            idx.addAll(List.of(a, c, b, a, d, c));
+                        }
+                    }
+                }
+            }
+        }
+        float[] positions = new float[pos.size()];
+        for (int i = 0; i < positions.length; i++) positions[i] = pos.get(i);
+        int[] indices = idx.stream().mapToInt(Integer::intValue).toArray();
+
+        double[] matrix = {
+                size, 0, 0, 0,
+                0, size, 0, 0,
+                0, 0, size, 0,
+                x, y, z, 1
+        };
+        return MeshBvh.build(List.of(new GlbScene.Instance("cube", new TriangleMesh(positions, indices), matrix)));
+    }
+}
@@ -0,0 +1,182 @@
+package com.korit.project.backend.mesh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuadricSimplifierTest {
+
+    @Test
+    void sphereReachesTargetWithoutFlippedFaces() {
+        TriangleMesh sphere = sphere(32, 16);
+        assertEquals(960, sphere.triangleCount());
+
+        TriangleMesh simplified = QuadricSimplifier.simplify(sphere, 200, 0);
+
+        assertTrue(simplified.triangleCount() <= 200, "triangles=" + simplified.triangleCount());
+        assertTrue(simplified.triangleCount() >= 100, "triangles=" + simplified.triangleCount());
+        assertOutward(simplified, 0, 0, 0);
+        // 구면에서 크게 벗어난 정점 없음
+        float[] p = simplified.positions();
+        for (int i = 0; i < p.length; i += 3) {
+            double r = Math.sqrt(p[i] * p[i] + p[i + 1] * p[i + 1] + p[i + 2] * p[i + 2]);
+            assertTrue(r > 0.85 && r < 1.1, "r=" + r);
+        }
+    }
+
+    @Test
+    void tessellatedBoxCollapsesFlatFacesAndKeepsCorners() {
+        TriangleMesh box = box(6);
+        assertEquals(6 * 6 * 6 * 2, box.triangleCount());
+
+        TriangleMesh simplified = QuadricSimplifier.simplify(box, 24, 0);
+
+        assertTrue(simplified.triangleCount() <= 24, "triangles=" + simplified.triangleCount());
+        assertOutward(simplified, 0.5, 0.5, 0.5);
+        assertEquals(box.diagonal(), simplified.diagonal(), 1e-6);
+        // 평면 위 collapse만 했으므로 모든 정점이 여전히 상자 표면 위
+        float[] p = simplified.positions();
+        for (int i = 0; i < p.length; i += 3) {
+            boolean onFace = false;
+            for (int k = 0; k < 3; k++) {
+                onFace |= Math.abs(p[i + k]) < 1e-6 || Math.abs(p[i + k] - 1) < 1e-6;
+            }
+            assertTrue(onFace, "(" + p[i] + ", " + p[i + 1] + ", " + p[i + 2] + ")");
+        }
+    }
+
+    @Test
+    void maxErrorStopsCollapseEarly() {
+        TriangleMesh sphere = sphere(32, 16);
+
+        TriangleMesh unlimited = QuadricSimplifier.simplify(sphere, 8, 0);
+        TriangleMesh bounded = QuadricSimplifier.simplify(sphere, 8, 0.01);
+
+        assertTrue(bounded.triangleCount() > unlimited.triangleCount(),
+                "bounded=" + bounded.triangleCount() + ", unlimited=" + unlimited.triangleCount());
+        assertTrue(bounded.triangleCount() > 100, "bounded=" + bounded.triangleCount());
+        assertOutward(bounded, 0, 0, 0);
+    }
+
+    @Test
+    void flatBoxFacesCollapseEvenWithTinyMaxError() {
+        // 같은 평면 안 collapse는 오차 0 → maxError가 작아도 진행
+        TriangleMesh simplified = QuadricSimplifier.simplify(box(6), 24, 1e-9);
+        assertTrue(simplified.triangleCount() <= 24, "triangles=" + simplified.triangleCount());
+    }
+
+    @Test
+    void meshAlreadyBelowTargetIsReturnedAsIs() {
+        TriangleMesh box = box(1);
+        assertSame(box, QuadricSimplifier.simplify(box, 12, 0));
+    }
+
+    // ---- 검증 ----
+
+    // 모든 삼각형이 퇴화하지 않았고 법선이 center 바깥쪽
+    private static void assertOutward(TriangleMesh mesh, double cx, double cy, double cz) {
+        float[] p = mesh.positions();
+        int[] idx = mesh.indices();
+        for (int t = 0; t < mesh.triangleCount(); t++) {
+            int a = idx[t * 3] * 3, b = idx[t * 3 + 1] * 3, c = idx[t * 3 + 2] * 3;
+            double ux = p[b] - p[a], uy = p[b + 1] - p[a + 1], uz = p[b + 2] - p[a + 2];
+            double vx = p[c] - p[a], vy = p[c + 1] - p[a + 1], vz = p[c + 2] - p[a + 2];
+            double nx = uy * vz - uz * vy, ny = uz * vx - ux * vz, nz = ux * vy - uy * vx;
+            double len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+            assertTrue(len > 1e-9, "퇴화 삼각형: " + t);
+
+            double mx = (p[a] + p[b] + p[c]) / 3 - cx;
+            double my = (p[a + 1] + p[b + 1] + p[c + 1]) / 3 - cy;
+            double mz = (p[a + 2] + p[b + 2] + p[c + 2]) / 3 - cz;
+            assertTrue(nx * mx + ny * my + nz * mz > 0, "뒤집힌 삼각형: " + t);
+        }
+    }
+
+    // ---- 테스트 메시 ----
+
+    // 단위 구 (극점 공유, 바깥쪽 CCW)
+    static TriangleMesh sphere(int segments, int rings) {
+        List<float[]> vertices = new ArrayList<>();
+        vertices.add(new float[]{0, 0, 1});
+        for (int r = 1; r < rings; r++) {
+            double theta = Math.PI * r / rings;
+            for (int s = 0; s < segments; s++) {
+                double phi = 2 * Math.PI * s / segments;
+                vertices.add(new float[]{
+                        (float) (Math.sin(theta) * Math.cos(phi)),
+                        (float) (Math.sin(theta) * Math.sin(phi)),
+                        (float) Math.cos(theta)});
+            }
+        }
+        vertices.add(new float[]{0, 0, -1});
+        int south = vertices.size() - 1;
+
+        List<Integer> idx = new ArrayList<>();
+        for (int s = 0; s < segments; s++) {
+            int s1 = (s + 1) % segments;
+            idx.addAll(List.of(0, 1 + s, 1 + s1));
+            int last = 1 + (rings - 2) * segments;
+            idx.addAll(List.of(south, last + s1, last + s));
+        }
+        for (int r = 0; r < rings - 2; r++) {
+            for (int s = 0; s < segments; s++) {
+                int s1 = (s + 1) % segments;
+                int a = 1 + r * segments + s, b = 1 + r * segments + s1;
+                int c = 1 + (r + 1) * segments + s, d = 1 + (r + 1) * segments + s1;
+                idx.addAll(List.of(a, c, d, a, d, b));
+            }
+        }
+        return toMesh(vertices, idx);
+    }
+
+    // 면마다 n x n 격자인 단위 정육면체 (모서리 정점 공유, 바깥쪽 CCW)
+    static TriangleMesh box(int n) {
+        List<float[]> vertices = new ArrayList<>();
+        Map<String, Integer> index = new HashMap<>();
+        List<Integer> idx = new ArrayList<>();
+        for (int axis = 0; axis < 3; axis++) {
+            for (int sign = 0; sign < 2; sign++) {
+                int u = (axis + 1) % 3, v = (axis + 2) % 3;
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        int a = vertex(vertices, index, axis, sign, u, i, v, j, n);
+                        int b = vertex(vertices, index, axis, sign, u, i + 1, v, j, n);
+                        int c = vertex(vertices, index, axis, sign, u, i + 1, v, j + 1, n);
+                        int d = vertex(vertices, index, axis, sign, u, i, v, j + 1, n);
+                        if (sign == 1) {
+                            idx.addAll(List.of(a, b, c, a, c, d));
+                        } else {
+                            idx.addAll(List.of(a, c, b, a, d, c));
+                        }
+                    }
+                }
+            }
+        }
+        return toMesh(vertices, idx);
+    }
+
+    private static int vertex(List<float[]> vertices, Map<String, Integer> index,
+                              int axis, int sign, int u, int i, int v, int j, int n) {
+        float[] p = new float[3];
+        p[axis] = sign;
+        p[u] = (float) i / n;
+        p[v] = (float) j / n;
+        return index.computeIfAbsent(p[0] + "," + p[1] + "," + p[2], k -> {
+            vertices.add(p);
+            return vertices.size() - 1;
+        });
+    }
+
+    private static TriangleMesh toMesh(List<float[]> vertices, List<Integer> idx) {
+        float[] positions = new float[vertices.size() * 3];
+        for (int i = 0; i < vertices.size(); i++) System.arraycopy(vertices.get(i), 0, positions, i * 3, 3);
+        return new TriangleMesh(positions, idx.stream().mapToInt(Integer::intValue).toArray());
+    }
+}
@@ -0,0 +1,131 @@
+package com.korit.project.backend.mesh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SoftwareRasterizerTest {
+
+    private static final int SIZE = 64;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rendersCubeInsideTransparentBackground() throws IOException {
+        GlbScene scene = read(writeGlb(dir.resolve("cube.glb"), CUBE_POSITIONS, CUBE_INDICES));
+
+        BufferedImage image = SoftwareRasterizer.render(scene, SIZE, 35, 25);
+
+        assertNotNull(image);
+        assertEquals(SIZE, image.getWidth());
+        assertEquals(SIZE, image.getHeight());
+        double coverage = coverage(image);
+        assertTrue(coverage > 0.2 && coverage < 0.9, "coverage=" + coverage);
+        // 모서리는 배경(투명), 중앙은 불투명한 음영 색
+        assertEquals(0, image.getRGB(0, 0) >>> 24);
+        assertEquals(0, image.getRGB(SIZE - 1, SIZE - 1) >>> 24);
+        int center = image.getRGB(SIZE / 2, SIZE / 2);
+        assertEquals(0xFF, center >>> 24);
+        assertTrue((center & 0xFFFFFF) != 0);
+    }
+
+    @Test
+    void turntableFramesKeepTheSameScale() throws IOException {
+        GlbScene scene = read(writeGlb(dir.resolve("cube.glb"), CUBE_POSITIONS, CUBE_INDICES));
+
+        // 외접구 기준으로 맞추므로 어느 각도에서도 잘리지 않음
+        for (int yaw = 0; yaw < 360; yaw += 45) {
+            BufferedImage image = SoftwareRasterizer.render(scene, SIZE, yaw, 25);
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(0, image.getRGB(i, 0) >>> 24);
+                assertEquals(0, image.getRGB(0, i) >>> 24);
+                assertEquals(0, image.getRGB(i, SIZE - 1) >>> 24);
+                assertEquals(0, image.getRGB(SIZE - 1, i) >>> 24);
+            }
+            assertTrue(coverage(image) > 0.2);
+        }
+    }
+
+    @Test
+    void emptyMeshRendersNothing() throws IOException {
+        GlbScene empty = read(writeGlb(dir.resolve("empty.glb"), new float[0], new int[0]));
+        assertEquals(0, empty.triangleCount());
+        assertNull(SoftwareRasterizer.render(empty, SIZE, 35, 25));
+
+        // 모든 꼭짓점이 한 점이면 크기를 정할 수 없음
+        GlbScene point = read(writeGlb(dir.resolve("point.glb"), new float[]{1, 1, 1, 1, 1, 1, 1, 1, 1}, new int[]{0, 1, 2}));
+        assertNull(SoftwareRasterizer.render(point, SIZE, 35, 25));
+    }
+
+    private static double coverage(BufferedImage image) {
+        int covered = 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if ((image.getRGB(x, y) >>> 24) != 0) covered++;
+            }
+        }
+        return (double) covered / (image.getWidth() * image.getHeight());
+    }
+
+    private static GlbScene read(Path glb) throws IOException {
+        return GlbScene.read(glb, new ObjectMapper());
+    }
+
+    // ---- 테스트 GLB ----
+
+    static final float[] CUBE_POSITIONS = {
+            0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0,
+            0, 0, 1, 1, 0, 1, 1, 1, 1, 0, 1, 1
+    };
+    static final int[] CUBE_INDICES = {
+            0, 2, 1, 0, 3, 2,   // z=0
+            4, 5, 6, 4, 6, 7,   // z=1
+            0, 1, 5, 0, 5, 4,   // y=0
+            3, 7, 6, 3, 6, 2,   // y=1
+            0, 4, 7, 0, 7, 3,   // x=0
+            1, 2, 6, 1, 6, 5    // x=1
+    };
+
+    /**
+     * 메시 하나, 노드 하나인 최소 GLB (POSITION float, indices uint32)
+     */
+    static Path writeGlb(Path path, float[] positions, int[] indices) throws IOException {
+        int posBytes = positions.length * 4, idxBytes = indices.length * 4;
+        String json = """
+                {"asset":{"version":"2.0"},"scene":0,"scenes":[{"nodes":[0]}],
+                 "nodes":[{"name":"part","mesh":0}],
+                 "meshes":[{"primitives":[{"attributes":{"POSITION":0},"indices":1}]}],
+                 "accessors":[{"bufferView":0,"componentType":5126,"count":%d,"type":"VEC3"},
+                              {"bufferView":1,"componentType":5125,"count":%d,"type":"SCALAR"}],
+                 "bufferViews":[{"buffer":0,"byteOffset":0,"byteLength":%d},
+                                {"buffer":0,"byteOffset":%d,"byteLength":%d}],
+                 "buffers":[{"byteLength":%d}]}
+                """.formatted(positions.length / 3, indices.length, posBytes, posBytes, idxBytes, posBytes + idxBytes);
+        byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        int jsonLen = (jsonBytes.length + 3) & ~3;
+        int binLen = posBytes + idxBytes;
+
+        ByteBuffer buf = ByteBuffer.allocate(12 + 8 + jsonLen + 8 + binLen).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(0x46546C67).putInt(2).putInt(buf.capacity());
+        buf.putInt(jsonLen).putInt(0x4E4F534A).put(jsonBytes);
+        for (int i = jsonBytes.length; i < jsonLen; i++) buf.put((byte) ' ');
+        buf.putInt(binLen).putInt(0x004E4942);
+        for (float f : positions) buf.putFloat(f);
+        for (int i : indices) buf.putInt(i);
+        return Files.write(path, buf.array());
+    }
+}
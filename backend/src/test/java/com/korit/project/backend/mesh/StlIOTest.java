@@ -0,0 +1,121 @@
+package com.korit.project.backend.mesh;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StlIOTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void asciiWeldsSharedCorners() throws IOException {
+        TriangleMesh box = QuadricSimplifierTest.box(1);
+        Path stl = dir.resolve("box.stl");
+        Files.writeString(stl, toAscii(box, false), StandardCharsets.US_ASCII);
+
+        TriangleMesh read = StlIO.read(stl);
+
+        assertEquals(12, StlIO.countTriangles(stl));
+        assertEquals(12, read.triangleCount());
+        assertEquals(8, read.vertexCount());
+        assertSameTriangles(box, read);
+    }
+
+    @Test
+    void asciiWeldsNegativeZero() throws IOException {
+        TriangleMesh box = QuadricSimplifierTest.box(1);
+        Path stl = dir.resolve("negzero.stl");
+        Files.writeString(stl, toAscii(box, true), StandardCharsets.US_ASCII);
+
+        TriangleMesh read = StlIO.read(stl);
+
+        assertEquals(8, read.vertexCount());
+    }
+
+    @Test
+    void binaryWeldsTriangleSoup() throws IOException {
+        TriangleMesh soup = unweld(QuadricSimplifierTest.box(2));
+        assertEquals(48 * 3, soup.vertexCount());
+        Path stl = dir.resolve("box.bin.stl");
+        StlIO.writeBinary(stl, soup);
+
+        TriangleMesh read = StlIO.read(stl);
+
+        assertEquals(84 + 48 * 50, Files.size(stl));
+        assertEquals(48, StlIO.countTriangles(stl));
+        assertEquals(48, read.triangleCount());
+        assertEquals(26, read.vertexCount());
+        assertSameTriangles(soup, read);
+    }
+
+    @Test
+    void binaryWithSolidHeaderIsStillBinary() throws IOException {
+        TriangleMesh box = QuadricSimplifierTest.box(1);
+        Path stl = dir.resolve("solid-header.stl");
+        StlIO.writeBinary(stl, box);
+        byte[] bytes = Files.readAllBytes(stl);
+        byte[] solid = "solid exported".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(solid, 0, bytes, 0, solid.length);
+        Files.write(stl, bytes);
+
+        TriangleMesh read = StlIO.read(stl);
+
+        assertEquals(12, StlIO.countTriangles(stl));
+        assertEquals(8, read.vertexCount());
+        assertSameTriangles(box, read);
+    }
+
+    // ---- 헬퍼 ----
+
+    // 삼각형 순서와 꼭짓점 좌표가 같은지 (인덱스 번호는 달라도 됨)
+    private static void assertSameTriangles(TriangleMesh expected, TriangleMesh actual) {
+        assertEquals(expected.triangleCount(), actual.triangleCount());
+        for (int c = 0; c < expected.indices().length; c++) {
+            int e = expected.indices()[c] * 3, a = actual.indices()[c] * 3;
+            assertArrayEquals(
+                    new float[]{expected.positions()[e], expected.positions()[e + 1], expected.positions()[e + 2]},
+                    new float[]{actual.positions()[a], actual.positions()[a + 1], actual.positions()[a + 2]});
+        }
+    }
+
+    private static TriangleMesh unweld(TriangleMesh mesh) {
+        int[] idx = mesh.indices();
+        float[] positions = new float[idx.length * 3];
+        int[] indices = new int[idx.length];
+        for (int c = 0; c < idx.length; c++) {
+            System.arraycopy(mesh.positions(), idx[c] * 3, positions, c * 3, 3);
+            indices[c] = c;
+        }
+        return new TriangleMesh(positions, indices);
+    }
+
+    private static String toAscii(TriangleMesh mesh, boolean negativeZero) {
+        StringBuilder sb = new StringBuilder("solid test\n");
+        float[] p = mesh.positions();
+        int[] idx = mesh.indices();
+        for (int t = 0; t < mesh.triangleCount(); t++) {
+            sb.append("  facet normal 0 0 0\n    outer loop\n");
+            for (int k = 0; k < 3; k++) {
+                int o = idx[t * 3 + k] * 3;
+                sb.append("      vertex");
+                for (int axis = 0; axis < 3; axis++) {
+                    float v = p[o + axis];
+                    // 짝수 번째 삼각형은 0을 -0으로
+                    sb.append(' ').append(negativeZero && v == 0 && t % 2 == 0 ? "-0" : Float.toString(v));
+                }
+                sb.append('\n');
+            }
+            sb.append("    endloop\n  endfacet\n");
+        }
+        return sb.append("endsolid test\n").toString();
+    }
+}
@@ -0,0 +1,60 @@
+package com.korit.project.backend.mesh;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TriangleGeometryTest {
+
+    private static final double EPS = 1e-9;
+
+    // 꼭짓점 오프셋 0, 3, 6
+    private static boolean intersects(float[] p, float[] q) {
+        return TriangleGeometry.intersects(p, 0, 3, 6, q, 0, 3, 6);
+    }
+
+    private static double distanceSq(float[] p, float[] q) {
+        return TriangleGeometry.distanceSq(p, 0, 3, 6, q, 0, 3, 6);
+    }
+
+    private static final float[] FLOOR = {0, 0, 0, 2, 0, 0, 0, 2, 0};
+
+    @Test
+    void piercingTriangleIntersects() {
+        float[] wall = {0.5f, 0.5f, -1, 0.5f, 0.5f, 1, 0.5f, -0.5f, 0};
+        assertTrue(intersects(FLOOR, wall));
+        assertTrue(intersects(wall, FLOOR));
+        assertEquals(0, distanceSq(FLOOR, wall), EPS);
+    }
+
+    @Test
+    void triangleStandingOnFaceIsContactNotIntersection() {
+        // 꼭짓점 하나만 바닥 면에 닿음
+        float[] tip = {0.5f, 0.5f, 0, 1, 0.5f, 1, 0.5f, 1, 1};
+        assertFalse(intersects(FLOOR, tip));
+        assertEquals(0, distanceSq(FLOOR, tip), EPS);
+    }
+
+    @Test
+    void coplanarOverlapIsContact() {
+        float[] shifted = {0.2f, 0.2f, 0, 1.2f, 0.2f, 0, 0.2f, 1.2f, 0};
+        assertFalse(intersects(FLOOR, shifted));
+        assertEquals(0, distanceSq(FLOOR, shifted), EPS);
+    }
+
+    @Test
+    void parallelTrianglesDistanceIsGap() {
+        float[] above = {0.2f, 0.2f, 0.75f, 1.2f, 0.2f, 0.75f, 0.2f, 1.2f, 0.75f};
+        assertFalse(intersects(FLOOR, above));
+        assertEquals(0.75 * 0.75, distanceSq(FLOOR, above), 1e-6);
+    }
+
+    @Test
+    void edgeToEdgeDistance() {
+        // 바닥 빗변 (2,0,0)-(0,2,0)에서 가장 가까운 점 (1,1,0), 위쪽 변은 z = 1에서 빗변과 수직
+        float[] skew = {1, 1, 1, 2, 2, 1, 1.5f, 1.5f, 3};
+        assertEquals(1.0, distanceSq(FLOOR, skew), 1e-6);
+    }
+}
@@ -0,0 +1,131 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.entity.CadFile;
+import com.korit.project.backend.mapper.CadFileMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArtifactLifecycleServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private CadFileMapper cadFileMapper;
+    private ArtifactLifecycleService lifecycleService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cadFileMapper = mock(CadFileMapper.class);
+        lifecycleService = new ArtifactLifecycleService(cadFileMapper, mock(ConversionJobService.class),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(lifecycleService, "tempDir", Files.createDirectories(dir.resolve("upload")).toString());
+        ReflectionTestUtils.setField(lifecycleService, "convertedDir", Files.createDirectories(dir.resolve("converted")).toString());
+        ReflectionTestUtils.setField(lifecycleService, "coldDir", Files.createDirectories(dir.resolve("cold")).toString());
+        ReflectionTestUtils.setField(lifecycleService, "orphanGraceHours", 24L);
+        ReflectionTestUtils.setField(lifecycleService, "quotaMinAgeMinutes", 0L);
+        ReflectionTestUtils.setField(lifecycleService, "convertedMaxBytes", Long.MAX_VALUE);
+        ReflectionTestUtils.setField(lifecycleService, "uploadMaxBytes", Long.MAX_VALUE);
+        ReflectionTestUtils.setField(lifecycleService, "partsMaxBytes", Long.MAX_VALUE);
+        ReflectionTestUtils.setField(lifecycleService, "coldMaxBytes", Long.MAX_VALUE);
+    }
+
+    @Test
+    void glbIsKeptWhenColdSourceWasDetachedAfterCandidateScan() throws IOException {
+        Path glb = write(dir.resolve("converted/1/model.glb"), 1000);
+        when(cadFileMapper.findAllGlbFilePaths()).thenReturn(List.of(glb.toString()));
+        when(cadFileMapper.findById(1L)).thenReturn(cadFile(1L, glb, false, "cold/1/src.gz"));
+        // 후보 조회 때는 콜드 원본이 있었지만 조건부 축출 표시는 0건
+        when(cadFileMapper.findEvictionCandidates(anyInt())).thenReturn(List.of(cadFile(1L, glb, false, "cold/1/src.gz")));
+        when(cadFileMapper.markGlbEvicted(1L)).thenReturn(0);
+        ReflectionTestUtils.setField(lifecycleService, "convertedMaxBytes", 10L);
+
+        lifecycleService.sweep();
+
+        assertTrue(Files.exists(glb));
+    }
+
+    @Test
+    void glbIsDeletedAfterMarkSucceeds() throws IOException {
+        Path glb = write(dir.resolve("converted/1/model.glb"), 1000);
+        when(cadFileMapper.findAllGlbFilePaths()).thenReturn(List.of(glb.toString()));
+        when(cadFileMapper.findById(1L)).thenReturn(cadFile(1L, glb, false, "cold/1/src.gz"));
+        when(cadFileMapper.findEvictionCandidates(anyInt())).thenReturn(List.of(cadFile(1L, glb, false, "cold/1/src.gz")));
+        when(cadFileMapper.markGlbEvicted(1L)).thenReturn(1);
+        ReflectionTestUtils.setField(lifecycleService, "convertedMaxBytes", 10L);
+
+        lifecycleService.sweep();
+
+        assertFalse(Files.exists(glb));
+    }
+
+    @Test
+    void coldQuotaKeepsSourceOfEvictedGlb() throws IOException {
+        Path evictedSource = write(dir.resolve("cold/1/src.gz"), 1000);
+        Path activeSource = write(dir.resolve("cold/2/src.gz"), 1000);
+        // 축출된 파일인데 cold_file_path가 비어 있는 행(이전 경쟁으로 남은 상태)도 원본은 유지
+        when(cadFileMapper.findById(1L)).thenReturn(cadFile(1L, null, true, null));
+        when(cadFileMapper.findById(2L)).thenReturn(cadFile(2L, null, false, activeSource.toString()));
+        when(cadFileMapper.clearColdFilePath(2L)).thenReturn(1);
+        ReflectionTestUtils.setField(lifecycleService, "coldMaxBytes", 10L);
+
+        lifecycleService.sweep();
+
+        assertTrue(Files.exists(evictedSource));
+        assertFalse(Files.exists(activeSource));
+        verify(cadFileMapper, never()).clearColdFilePath(1L);
+    }
+
+    @Test
+    void coldQuotaKeepsSourceWhenClearLosesRace() throws IOException {
+        Path source = write(dir.resolve("cold/2/src.gz"), 1000);
+        when(cadFileMapper.findById(2L)).thenReturn(cadFile(2L, null, false, source.toString()));
+        when(cadFileMapper.clearColdFilePath(anyLong())).thenReturn(0);
+        ReflectionTestUtils.setField(lifecycleService, "coldMaxBytes", 10L);
+
+        lifecycleService.sweep();
+
+        assertTrue(Files.exists(source));
+    }
+
+    private static CadFile cadFile(Long id, Path glb, boolean glbEvicted, String coldFilePath) {
+        CadFile cadFile = new CadFile();
+        cadFile.setId(id);
+        cadFile.setStatus("COMPLETED");
+        cadFile.setGlbFilePath(glb != null ? glb.toString() : null);
+        cadFile.setGlbEvicted(glbEvicted);
+        cadFile.setColdFilePath(coldFilePath);
+        cadFile.setRegeneratePending(false);
+        cadFile.setIntermediatesPurged(true);
+        return cadFile;
+    }
+
+    // 쿼터 최소 보존 시간을 넘기도록 수정 시각을 과거로
+    private static Path write(Path file, int bytes) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[bytes]);
+        FileTime old = FileTime.from(Instant.now().minus(Duration.ofHours(1)));
+        Files.setLastModifiedTime(file, old);
+        Files.setLastModifiedTime(file.getParent(), old);
+        return file;
+    }
+}
@@ -0,0 +1,88 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.dto.InterferenceReport;
+import com.korit.project.backend.entity.Part;
+import com.korit.project.backend.mesh.GlbScene;
+import com.korit.project.backend.mesh.MeshBvh;
+import com.korit.project.backend.mesh.TriangleMesh;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class InterferenceServiceTest {
+
+    private static final double EPS = 1e-5;
+
+    private final Part a = part(1L, "A");
+    private final Part b = part(2L, "B");
+
+    @Test
+    void overlappingBoxesAreInterference() {
+        InterferenceReport.Pair pair = InterferenceService.test(a, box(0, 0, 0), b, box(0.5, 0.25, 0.25), 0);
+
+        assertEquals("INTERFERENCE", pair.getType());
+        assertEquals(0, pair.getMinDistance(), EPS);
+        assertEquals(1L, pair.getPartIdA());
+        assertEquals(2L, pair.getPartIdB());
+    }
+
+    @Test
+    void touchingBoxesAreClearanceWithZeroDistance() {
+        MeshBvh left = box(0, 0, 0);
+        MeshBvh right = box(1, 0.5, 0);
+
+        InterferenceReport.Pair pair = InterferenceService.test(a, left, b, right, 0.1);
+        assertEquals("CLEARANCE", pair.getType());
+        assertEquals(0, pair.getMinDistance(), EPS);
+
+        // clearance 0이면 맞닿음은 보고하지 않음
+        assertNull(InterferenceService.test(a, left, b, right, 0));
+    }
+
+    @Test
+    void separatedBoxesWithinClearance() {
+        InterferenceReport.Pair pair = InterferenceService.test(a, box(0, 0, 0), b, box(1.25, 0.2, 0.3), 0.5);
+
+        assertEquals("CLEARANCE", pair.getType());
+        assertEquals(0.25, pair.getMinDistance(), EPS);
+    }
+
+    @Test
+    void separatedBoxesBeyondClearance() {
+        MeshBvh left = box(0, 0, 0);
+        MeshBvh right = box(1.25, 0.2, 0.3);
+
+        assertNull(InterferenceService.test(a, left, b, right, 0.25));
+        assertNull(InterferenceService.test(a, left, b, right, 0.1));
+        assertNull(InterferenceService.test(a, left, b, right, 0));
+    }
+
+    private static Part part(Long id, String name) {
+        Part p = new Part();
+        p.setId(id);
+        p.setName(name);
+        p.setPartKey("key-" + id);
+        return p;
+    }
+
+    // 단위 정육면체 (바깥쪽 CCW) + 이동
+    private static MeshBvh box(double x, double y, double z) {
+        float[] positions = {
+                0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0,
+                0, 0, 1, 1, 0, 1, 1, 1, 1, 0, 1, 1
+        };
+        int[] indices = {
+                0, 2, 1, 0, 3, 2,   // z = 0
+                4, 5, 6, 4, 6, 7,   // z = 1
+                0, 1, 5, 0, 5, 4,   // y = 0
+                3, 7, 6, 3, 6, 2,   // y = 1
+                0, 4, 7, 0, 7, 3,   // x = 0
+                1, 2, 6, 1, 6, 5    // x = 1
+        };
+        double[] matrix = {1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, x, y, z, 1};
+        return MeshBvh.build(List.of(new GlbScene.Instance("box", new TriangleMesh(positions, indices), matrix)));
+    }
+}
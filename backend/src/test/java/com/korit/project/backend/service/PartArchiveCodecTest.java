@@ -0,0 +1,115 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.entity.Part;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartArchiveCodecTest {
+
+    private static final Long CAD_FILE_ID = 42L;
+
+    @Test
+    void roundTripKeepsEveryColumn() {
+        // 13행: 비트맵이 8의 배수가 아님
+        List<Part> parts = new ArrayList<>();
+        for (int i = 0; i < 13; i++) {
+            Part p = new Part();
+            p.setId(1000L + i * 3L);
+            p.setCadFileId(CAD_FILE_ID);
+            p.setName(i % 2 == 0 ? "볼트 M8" : "Bracket-ü");
+            p.setPartKey("key/" + i);
+            p.setNodeIndex(i % 4 == 0 ? null : i);
+            p.setNodePath(i % 3 == 0 ? null : "/root/조립품/" + i);
+            if (i > 0) {
+                // 앞쪽 부모(음수 차이)와 뒤쪽 부모(양수 차이) 섞기
+                p.setParentPartId(i % 2 == 0 ? 1000L : 1000L + 12 * 3L);
+            }
+            if (i % 5 != 0) {
+                p.setDisplayName("표시 " + i);
+                p.setPositionX(i * 1.5);
+                p.setPositionY(-i * 0.25);
+                p.setPositionZ(Double.MIN_VALUE);
+                p.setSizeX(10.0);
+                p.setSizeY(Double.MAX_VALUE);
+                p.setSizeZ(-0.0);
+            }
+            p.setMeshId(i % 2 == 0 ? "mesh-a" : null);
+            p.setTriangleCountOriginal(i == 7 ? null : 10_000 + i);
+            p.setTriangleCount(i % 2 == 0 ? null : -i);
+            parts.add(p);
+        }
+
+        Map<Long, String> notes = new LinkedHashMap<>();
+        notes.put(1003L, "메모 ✅ 한글 + emoji 🔩");
+        notes.put(1036L, "");
+        notes.put(1021L, "second note");
+
+        PartArchiveCodec.Contents decoded = PartArchiveCodec.decode(CAD_FILE_ID, PartArchiveCodec.encode(parts, notes));
+
+        assertEquals(parts, decoded.parts());
+        assertEquals(Map.of(1003L, "메모 ✅ 한글 + emoji 🔩", 1036L, "", 1021L, "second note"), decoded.notes());
+        assertEquals(parts.get(4), decoded.findPart(1012L));
+        assertNull(decoded.findPart(9999L));
+    }
+
+    @Test
+    void roundTripAllNullColumns() {
+        List<Part> parts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Part p = new Part();
+            p.setId((long) i + 1);
+            p.setCadFileId(CAD_FILE_ID);
+            parts.add(p);
+        }
+
+        PartArchiveCodec.Contents decoded = PartArchiveCodec.decode(CAD_FILE_ID, PartArchiveCodec.encode(parts, Map.of()));
+
+        assertEquals(parts, decoded.parts());
+        assertTrue(decoded.notes().isEmpty());
+    }
+
+    @Test
+    void roundTripEmpty() {
+        PartArchiveCodec.Contents decoded = PartArchiveCodec.decode(CAD_FILE_ID, PartArchiveCodec.encode(List.of(), Map.of()));
+
+        assertTrue(decoded.parts().isEmpty());
+        assertTrue(decoded.notes().isEmpty());
+    }
+
+    @Test
+    void decodeSetsRequestedCadFileId() {
+        Part p = new Part();
+        p.setId(Long.MAX_VALUE);
+        p.setCadFileId(1L);
+
+        PartArchiveCodec.Contents decoded = PartArchiveCodec.decode(CAD_FILE_ID, PartArchiveCodec.encode(List.of(p), Map.of()));
+
+        assertEquals(Long.MAX_VALUE, decoded.parts().get(0).getId());
+        assertEquals(CAD_FILE_ID, decoded.parts().get(0).getCadFileId());
+    }
+
+    @Test
+    void sameInputEncodesIdentically() {
+        Part p = new Part();
+        p.setId(7L);
+        p.setName("same");
+        byte[] first = PartArchiveCodec.encode(List.of(p), Map.of(7L, "note"));
+        byte[] second = PartArchiveCodec.encode(List.of(p), Map.of(7L, "note"));
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    void rejectsForeignData() {
+        assertThrows(RuntimeException.class, () -> PartArchiveCodec.decode(CAD_FILE_ID, new byte[]{1, 2, 3, 4}));
+    }
+}
@@ -0,0 +1,91 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.dto.PartBulkEditRequest.Operation;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PartBulkEditServiceTest {
+
+    @Test
+    void keyPrefersPartId() {
+        assertEquals("id:10", PartBulkEditService.key(10L, 1L, "k"));
+        assertEquals("id:10", PartBulkEditService.key(10L, null, null));
+        assertEquals("1:k", PartBulkEditService.key(null, 1L, "k"));
+        // 같은 partKey라도 파일이 다르면 다른 부품
+        assertEquals("2:k", PartBulkEditService.key(null, 2L, "k"));
+    }
+
+    @Test
+    void mergeIsLastWriteWinsPerField() {
+        Map<String, Operation> target = new LinkedHashMap<>();
+
+        PartBulkEditService.merge(target, 1L, List.of(
+                op(10L, null, null, "이름1", null),
+                op(10L, null, null, null, "메모1")));
+        PartBulkEditService.merge(target, 1L, List.of(
+                op(10L, null, null, "이름2", null)));
+
+        assertEquals(1, target.size());
+        Operation merged = target.get("id:10");
+        // 나중 편집이 displayName만 바꿔도 앞선 note는 유지
+        assertEquals("이름2", merged.getDisplayName());
+        assertEquals("메모1", merged.getNote());
+
+        PartBulkEditService.merge(target, 1L, List.of(op(10L, null, null, null, "")));
+        assertEquals("이름2", merged.getDisplayName());
+        // 빈 문자열은 값 지우기로 전달
+        assertEquals("", merged.getNote());
+    }
+
+    @Test
+    void mergeUsesRequestCadFileIdWhenOperationHasNone() {
+        Map<String, Operation> target = new LinkedHashMap<>();
+
+        PartBulkEditService.merge(target, 1L, List.of(
+                op(null, null, "k", "a", null),
+                op(null, 2L, "k", "b", null)));
+        PartBulkEditService.merge(target, 1L, List.of(op(null, 1L, "k", null, "n")));
+
+        assertEquals(2, target.size());
+        Operation first = target.get("1:k");
+        assertEquals(1L, first.getCadFileId());
+        assertNull(first.getPartId());
+        assertEquals("a", first.getDisplayName());
+        assertEquals("n", first.getNote());
+        Operation second = target.get("2:k");
+        assertEquals(2L, second.getCadFileId());
+        assertEquals("b", second.getDisplayName());
+        assertNull(second.getNote());
+    }
+
+    @Test
+    void partIdAndPartKeyEditsAreKeptSeparately() {
+        // 같은 부품이라도 partId/partKey로 보낸 편집은 DB에서 풀리기 전까지 별도 항목
+        Map<String, Operation> target = new LinkedHashMap<>();
+
+        PartBulkEditService.merge(target, 1L, List.of(
+                op(10L, null, "k", "a", null),
+                op(null, null, "k", "b", null)));
+
+        assertEquals(List.of("id:10", "1:k"), List.copyOf(target.keySet()));
+        assertEquals(10L, target.get("id:10").getPartId());
+        assertEquals("k", target.get("id:10").getPartKey());
+        assertEquals(1L, target.get("id:10").getCadFileId());
+    }
+
+    private static Operation op(Long partId, Long cadFileId, String partKey, String displayName, String note) {
+        Operation op = new Operation();
+        op.setPartId(partId);
+        op.setCadFileId(cadFileId);
+        op.setPartKey(partKey);
+        op.setDisplayName(displayName);
+        op.setNote(note);
+        return op;
+    }
+}
@@ -0,0 +1,152 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.dto.PartColumnRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartColumnarEncoderTest {
+
+    @Test
+    void headerColumnsAndStringTable() {
+        PartColumnarEncoder encoder = new PartColumnarEncoder();
+        encoder.add(row(10L, "볼트", null, "k0", 3, "메모", 1.5, 2.0));
+        // displayName 이 공백이면 name, 같은 문자열은 한 번만 저장
+        encoder.add(row(11L, "볼트", " ", "k1", null, null, null, null));
+        encoder.add(row(12L, null, "nut", "k2", 7, null, -1.0, 4.0));
+
+        byte[] bytes = encoder.toByteArray();
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+
+        byte[] magic = new byte[4];
+        buf.get(magic);
+        assertEquals("CADP", new String(magic, StandardCharsets.US_ASCII));
+        assertEquals(1, buf.getInt());
+        int n = buf.getInt();
+        int m = buf.getInt();
+        assertEquals(3, n);
+        // 볼트, k0, 메모, k1, nut, k2
+        assertEquals(6, m);
+        assertEquals(encoder.byteSize(), bytes.length);
+
+        assertEquals(16, buf.position());
+        long[] ids = {buf.getLong(), buf.getLong(), buf.getLong()};
+        assertArrayEquals(new long[]{10, 11, 12}, ids);
+
+        assertEquals(16 + n * 8, buf.position());
+        assertArrayEquals(new int[]{3, -1, 7}, ints(buf, n));          // nodeIndex
+        int[] name = ints(buf, n);
+        int[] displayName = ints(buf, n);
+        int[] partKey = ints(buf, n);
+        int[] note = ints(buf, n);
+
+        assertEquals(16 + n * 8 + n * 4 * 5, buf.position());
+        float[] position = floats(buf, n * 3);
+        float[] size = floats(buf, n * 3);
+        assertEquals(1.5f, position[0]);
+        assertTrue(Float.isNaN(position[3]) && Float.isNaN(position[4]) && Float.isNaN(position[5]));
+        assertEquals(-1.0f, position[6]);
+        assertEquals(2.0f, size[0]);
+        assertTrue(Float.isNaN(size[3]));
+        assertEquals(4.0f, size[8]);
+
+        assertEquals(16 + n * 8 + n * 4 * 5 + n * 4 * 6, buf.position());
+        List<String> strings = strings(buf, m);
+        assertEquals(bytes.length, buf.position());
+
+        assertEquals("볼트", strings.get(name[0]));
+        assertEquals(name[0], name[1]);
+        assertEquals(-1, name[2]);
+        assertEquals("볼트", strings.get(displayName[0]));
+        assertEquals("볼트", strings.get(displayName[1]));
+        assertEquals("nut", strings.get(displayName[2]));
+        assertEquals(List.of("k0", "k1", "k2"),
+                List.of(strings.get(partKey[0]), strings.get(partKey[1]), strings.get(partKey[2])));
+        assertEquals("메모", strings.get(note[0]));
+        assertEquals(-1, note[1]);
+        assertEquals(-1, note[2]);
+    }
+
+    @Test
+    void emptyEncodesHeaderOnly() {
+        PartColumnarEncoder encoder = new PartColumnarEncoder();
+        byte[] bytes = encoder.toByteArray();
+
+        assertEquals(16, bytes.length);
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        buf.position(8);
+        assertEquals(0, buf.getInt());
+        assertEquals(0, buf.getInt());
+    }
+
+    @Test
+    void writeToSpansWriteBufferAndMatchesSize() throws Exception {
+        // 쓰기 버퍼(8KB)와 초기 배열(256행)보다 큰 입력
+        PartColumnarEncoder encoder = new PartColumnarEncoder();
+        for (int i = 0; i < 1000; i++) {
+            encoder.add(row((long) i, "part-" + (i % 37), null, "key-" + i, i, i % 5 == 0 ? "n" : null, i * 1.0, 1.0));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.writeTo(out);
+        byte[] bytes = out.toByteArray();
+
+        assertEquals(encoder.byteSize(), bytes.length);
+        assertArrayEquals(encoder.toByteArray(), bytes);
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(1000, buf.getInt(8));
+        assertEquals(999L, buf.getLong(16 + 999 * 8));
+        // 37개 이름 + 1000개 키 + 메모 "n"
+        assertEquals(37 + 1000 + 1, buf.getInt(12));
+    }
+
+    private static PartColumnRow row(Long id, String name, String displayName, String partKey, Integer nodeIndex,
+                                     String note, Double x, Double sizeX) {
+        PartColumnRow row = new PartColumnRow();
+        row.setId(id);
+        row.setName(name);
+        row.setDisplayName(displayName);
+        row.setPartKey(partKey);
+        row.setNodeIndex(nodeIndex);
+        row.setNote(note);
+        row.setPositionX(x);
+        row.setPositionY(x);
+        row.setPositionZ(x);
+        row.setSizeX(sizeX);
+        row.setSizeY(sizeX);
+        row.setSizeZ(sizeX);
+        return row;
+    }
+
+    private static int[] ints(ByteBuffer buf, int n) {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) values[i] = buf.getInt();
+        return values;
+    }
+
+    private static float[] floats(ByteBuffer buf, int n) {
+        float[] values = new float[n];
+        for (int i = 0; i < n; i++) values[i] = buf.getFloat();
+        return values;
+    }
+
+    private static List<String> strings(ByteBuffer buf, int m) {
+        int[] lengths = ints(buf, m);
+        List<String> strings = new ArrayList<>();
+        for (int len : lengths) {
+            byte[] b = new byte[len];
+            buf.get(b);
+            strings.add(new String(b, StandardCharsets.UTF_8));
+        }
+        return strings;
+    }
+}
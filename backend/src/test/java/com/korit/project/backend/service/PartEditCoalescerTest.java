@@ -0,0 +1,136 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.dto.PartBulkEditRequest.Operation;
+import com.korit.project.backend.dto.PartBulkEditResult;
+import com.korit.project.backend.dto.resp.ApiRespDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PartEditCoalescerTest {
+
+    private static final int MAX_RETRIES = 3;
+
+    private PartBulkEditService service;
+    private SimpleMeterRegistry meterRegistry;
+    private PartEditCoalescer coalescer;
+    // apply 호출마다 넘어온 편집 (성공/실패 모두)
+    private final List<List<Operation>> calls = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        service = mock(PartBulkEditService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new PartEditCoalescer(service, meterRegistry);
+        ReflectionTestUtils.setField(coalescer, "maxPending", 10_000);
+        ReflectionTestUtils.setField(coalescer, "maxRetries", MAX_RETRIES);
+        // 대기 없이 매 flush 마다 다시 시도
+        ReflectionTestUtils.setField(coalescer, "windowMs", 0L);
+        ReflectionTestUtils.setField(coalescer, "maxBackoffMs", 0L);
+    }
+
+    @Test
+    void transientOutageLongerThanMaxRetriesDropsNothing() {
+        int[] outage = {MAX_RETRIES + 3};
+        when(service.apply(any(), anyList())).thenAnswer(inv -> {
+            calls.add(List.copyOf(inv.<List<Operation>>getArgument(1)));
+            if (outage[0]-- > 0) throw new CannotCreateTransactionException("connection refused");
+            return success();
+        });
+
+        coalescer.submit(1L, List.of(rename(10L, "a"), rename(11L, "b")));
+        for (int i = 0; i < MAX_RETRIES + 3; i++) {
+            coalescer.flush();
+        }
+        // 장애 중 들어온 편집은 되돌린 편집보다 우선
+        coalescer.submit(1L, List.of(rename(10L, "a2")));
+        coalescer.flush();
+
+        assertEquals(MAX_RETRIES + 4, calls.size());
+        List<Operation> saved = calls.get(calls.size() - 1);
+        assertEquals(2, saved.size());
+        assertEquals("a2", find(saved, 10L).getDisplayName());
+        assertEquals("b", find(saved, 11L).getDisplayName());
+        assertEquals(0, meterRegistry.counter("cad.parts.edit.dropped").count());
+
+        // 대기열이 비었으므로 더 저장하지 않음
+        coalescer.flush();
+        assertEquals(MAX_RETRIES + 4, calls.size());
+    }
+
+    @Test
+    void onlyTheFailingEditIsDroppedAfterMaxRetries() {
+        when(service.apply(any(), anyList())).thenAnswer(inv -> {
+            List<Operation> ops = inv.getArgument(1);
+            calls.add(List.copyOf(ops));
+            if (find(ops, 13L) != null) throw new DataIntegrityViolationException("bad edit");
+            return success();
+        });
+
+        coalescer.submit(1L, List.of(rename(10L, "a"), rename(13L, "bad")));
+        coalescer.submit(2L, List.of(rename(20L, "c")));
+        for (int i = 0; i < MAX_RETRIES + 2; i++) {
+            coalescer.flush();
+        }
+
+        long savedGood = calls.stream()
+                .filter(ops -> find(ops, 13L) == null)
+                .mapToLong(List::size)
+                .sum();
+        assertEquals(2, savedGood);
+        assertEquals(1, meterRegistry.counter("cad.parts.edit.dropped").count());
+        long badAttempts = calls.stream().filter(ops -> ops.size() == 1 && find(ops, 13L) != null).count();
+        assertEquals(MAX_RETRIES + 1, badAttempts);
+    }
+
+    @Test
+    void transientErrorBacksOffUntilShutdown() {
+        ReflectionTestUtils.setField(coalescer, "windowMs", 60_000L);
+        ReflectionTestUtils.setField(coalescer, "maxBackoffMs", 60_000L);
+        int[] outage = {1};
+        when(service.apply(any(), anyList())).thenAnswer(inv -> {
+            calls.add(List.copyOf(inv.<List<Operation>>getArgument(1)));
+            if (outage[0]-- > 0) throw new CannotCreateTransactionException("connection refused");
+            return success();
+        });
+
+        coalescer.submit(1L, List.of(rename(10L, "a")));
+        coalescer.flush();
+        coalescer.flush();
+        assertEquals(1, calls.size());
+
+        // 종료 시에는 대기 시간과 상관없이 저장
+        coalescer.flushOnShutdown();
+        assertEquals(2, calls.size());
+        assertEquals("a", calls.get(1).get(0).getDisplayName());
+    }
+
+    private static Operation rename(Long partId, String displayName) {
+        Operation op = new Operation();
+        op.setPartId(partId);
+        op.setDisplayName(displayName);
+        return op;
+    }
+
+    private static Operation find(List<Operation> ops, Long partId) {
+        return ops.stream().filter(op -> partId.equals(op.getPartId())).findFirst().orElse(null);
+    }
+
+    private static ApiRespDto<PartBulkEditResult> success() {
+        PartBulkEditResult result = new PartBulkEditResult();
+        result.setUnresolved(List.of());
+        return new ApiRespDto<>("success", "ok", result);
+    }
+}
@@ -0,0 +1,112 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.dto.PartSearchPage;
+import com.korit.project.backend.dto.PartSearchResponse;
+import com.korit.project.backend.dto.resp.ApiRespDto;
+import com.korit.project.backend.mapper.PartMapper;
+import com.korit.project.backend.mapper.PartNoteMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PartServiceTest {
+
+    private PartMapper partMapper;
+    private PartService partService;
+
+    @BeforeEach
+    void setUp() {
+        partMapper = mock(PartMapper.class);
+        partService = new PartService(partMapper, mock(PartNoteMapper.class), mock(PartArchiveService.class));
+    }
+
+    @Test
+    void tokenizeStripsBooleanOperators() {
+        assertArrayEquals(new String[]{"볼트", "M8"}, PartService.tokenizeSearchQuery("  볼트   M8 "));
+        assertArrayEquals(new String[]{"a", "b", "c", "d", "e", "f"},
+                PartService.tokenizeSearchQuery("+a -b <c>(d) ~e* \"f\""));
+        assertArrayEquals(new String[]{"user", "mail"}, PartService.tokenizeSearchQuery("user@mail"));
+        assertArrayEquals(new String[]{"bolt_12", "v1.2"}, PartService.tokenizeSearchQuery("bolt_12 v1.2"));
+        assertEquals(0, PartService.tokenizeSearchQuery("+-*()\"@ ").length);
+        assertEquals(0, PartService.tokenizeSearchQuery(null).length);
+    }
+
+    @Test
+    void booleanQueryRequiresEveryTermAsPrefix() {
+        assertEquals("+볼트*", PartService.toBooleanQuery(new String[]{"볼트"}));
+        assertEquals("+볼트* +m8*", PartService.toBooleanQuery(PartService.tokenizeSearchQuery("볼트 -m8*")));
+    }
+
+    @Test
+    void booleanModeHitIsNotFuzzy() {
+        when(partMapper.countSearchParts("+볼트* +m8*", true, 7L)).thenReturn(3L);
+        when(partMapper.searchParts("+볼트* +m8*", true, 7L, 2, 2)).thenReturn(List.of(hit(1L)));
+
+        ApiRespDto<PartSearchPage> resp = partService.searchParts("볼트 m8", 7L, 1, 2);
+
+        assertEquals("success", resp.getStatus());
+        PartSearchPage page = resp.getData();
+        assertFalse(page.isFuzzy());
+        assertEquals(3, page.getTotal());
+        assertEquals(1, page.getItems().size());
+        verify(partMapper, never()).countSearchParts(anyString(), eq(false), eq(7L));
+    }
+
+    @Test
+    void fallsBackToNaturalLanguageModeWhenBooleanFindsNothing() {
+        when(partMapper.countSearchParts("+볼트*", true, null)).thenReturn(0L);
+        when(partMapper.countSearchParts("볼트", false, null)).thenReturn(1L);
+        when(partMapper.searchParts("볼트", false, null, 20, 0)).thenReturn(List.of(hit(5L)));
+
+        PartSearchPage page = partService.searchParts("볼트", null, 0, 20).getData();
+
+        assertTrue(page.isFuzzy());
+        assertEquals(1, page.getTotal());
+        assertEquals(5L, page.getItems().get(0).getPartId());
+    }
+
+    @Test
+    void pageBeyondTotalSkipsQueryAndBlankQueryFails() {
+        when(partMapper.countSearchParts("+a*", true, null)).thenReturn(5L);
+
+        PartSearchPage page = partService.searchParts("a", null, 3, 5).getData();
+        assertTrue(page.getItems().isEmpty());
+        verify(partMapper, never()).searchParts(anyString(), anyBoolean(), isNull(), anyInt(), anyInt());
+
+        ApiRespDto<PartSearchPage> blank = new PartService(mock(PartMapper.class), null, null).searchParts("**", null, 0, 20);
+        assertEquals("failed", blank.getStatus());
+        assertNull(blank.getData());
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        PartService service = new PartService(partMapper, null, null);
+        when(partMapper.countSearchParts("+a*", true, null)).thenReturn(1000L);
+
+        assertEquals(100, service.searchParts("a", null, -1, 10_000).getData().getSize());
+        assertEquals(0, service.searchParts("a", null, -1, 10_000).getData().getPage());
+        assertEquals(1, service.searchParts("a", null, 0, 0).getData().getSize());
+    }
+
+    private static PartSearchResponse hit(Long partId) {
+        PartSearchResponse hit = new PartSearchResponse();
+        hit.setPartId(partId);
+        return hit;
+    }
+}
@@ -0,0 +1,124 @@
+package com.korit.project.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProcessRunnerTest {
+
+    @Test
+    void readLineSplitsLinesAndDropsCarriageReturns() throws IOException {
+        Reader reader = new StringReader("{\"a\":1}\r\n\n{\"b\":2}");
+
+        assertEquals("{\"a\":1}", ProcessRunner.readLine(reader, 100));
+        assertEquals("", ProcessRunner.readLine(reader, 100));
+        assertEquals("{\"b\":2}", ProcessRunner.readLine(reader, 100));
+        assertNull(ProcessRunner.readLine(reader, 100));
+    }
+
+    @Test
+    void readLineAcceptsExactlyMaxChars() throws IOException {
+        Reader reader = new StringReader("x".repeat(10) + "\n");
+
+        assertEquals("x".repeat(10), ProcessRunner.readLine(reader, 10));
+    }
+
+    @Test
+    void readLineFailsOnLongerLine() {
+        Reader reader = new StringReader("x".repeat(11) + "\nnext\n");
+
+        assertThrows(ProcessRunner.LineTooLongException.class, () -> ProcessRunner.readLine(reader, 10));
+    }
+
+    @Test
+    void tailKeepsLastLinesAndCountsOmitted() {
+        ProcessRunner.Tail tail = new ProcessRunner.Tail(3);
+        assertTrue(tail.isEmpty());
+        assertEquals("", tail.toString());
+
+        for (int i = 1; i <= 5; i++) tail.add("line" + i, false);
+
+        assertFalse(tail.isEmpty());
+        assertEquals("…(2 lines omitted)\nline3\nline4\nline5\n", tail.toString());
+    }
+
+    @Test
+    void tailWithinCapacityHasNoHeader() {
+        ProcessRunner.Tail tail = new ProcessRunner.Tail(3);
+        tail.add("a", false);
+        tail.add("b", true);
+
+        assertEquals("a\nb …(truncated)\n", tail.toString());
+    }
+
+    @Test
+    void drainLinesKeepsLastTailLines() {
+        StringBuilder out = new StringBuilder();
+        for (int i = 1; i <= ProcessRunner.TAIL_LINES + 50; i++) out.append("line").append(i).append('\n');
+        ProcessRunner.Tail tail = new ProcessRunner.Tail(ProcessRunner.TAIL_LINES);
+
+        ProcessRunner.drainLines(utf8(out.toString()), tail);
+
+        String[] lines = tail.toString().split("\n");
+        assertEquals(ProcessRunner.TAIL_LINES + 1, lines.length);
+        assertEquals("…(50 lines omitted)", lines[0]);
+        assertEquals("line51", lines[1]);
+        assertEquals("line" + (ProcessRunner.TAIL_LINES + 50), lines[lines.length - 1]);
+    }
+
+    @Test
+    void drainLinesTruncatesLongLines() {
+        String longLine = "가".repeat(ProcessRunner.MAX_LINE_CHARS + 500);
+        String exact = "x".repeat(ProcessRunner.MAX_LINE_CHARS);
+        ProcessRunner.Tail tail = new ProcessRunner.Tail(10);
+
+        ProcessRunner.drainLines(utf8(longLine + "\n" + exact + "\nshort"), tail);
+
+        // 잘린 줄 뒤의 줄은 영향받지 않음, 마지막 줄은 개행이 없어도 포함
+        assertEquals("가".repeat(ProcessRunner.MAX_LINE_CHARS) + " …(truncated)\n" + exact + "\nshort\n",
+                tail.toString());
+    }
+
+    @Test
+    void drainLinesDropsCarriageReturns() {
+        ProcessRunner.Tail tail = new ProcessRunner.Tail(10);
+
+        ProcessRunner.drainLines(utf8("a\r\n\r\nb\r\n"), tail);
+
+        assertEquals("a\n\nb\n", tail.toString());
+    }
+
+    @Test
+    void tailOfFileReadsLastLines(@TempDir Path dir) throws IOException {
+        Path log = dir.resolve("parts_to_glb.log");
+        StringBuilder out = new StringBuilder();
+        for (int i = 1; i <= ProcessRunner.TAIL_LINES + 1; i++) out.append(i).append("\r\n");
+        Files.writeString(log, out);
+
+        String tail = ProcessRunner.tailOfFile(log);
+
+        assertTrue(tail.startsWith("…(1 lines omitted)\n2\n"));
+        assertTrue(tail.endsWith("\n" + (ProcessRunner.TAIL_LINES + 1) + "\n"));
+        assertEquals("", ProcessRunner.tailOfFile(dir.resolve("missing.log")));
+        assertEquals("", ProcessRunner.tailOfFile(null));
+    }
+
+    private static InputStream utf8(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,209 @@
+package com.korit.project.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<Long, String> flight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> flight.execute(1L, () -> {
+            calls.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return "value";
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        List<CompletableFuture<String>> followers = startFollowers(() -> flight.execute(1L, () -> {
+            calls.incrementAndGet();
+            return "other";
+        }));
+        // 다른 키는 합쳐지지 않음
+        assertEquals("two", flight.execute(2L, () -> "two"));
+
+        release.countDown();
+        assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<String> f : followers) {
+            assertEquals("value", f.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void keyIsReleasedAfterSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("1", flight.execute(1L, () -> String.valueOf(calls.incrementAndGet())));
+        // 결과를 캐시하지 않으므로 다음 호출은 새로 계산
+        assertEquals("2", flight.execute(1L, () -> String.valueOf(calls.incrementAndGet())));
+    }
+
+    @Test
+    void keyIsReleasedAfterException() {
+        IllegalStateException boom = new IllegalStateException("boom");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> flight.execute(1L, () -> { throw boom; }));
+        assertSame(boom, thrown);
+        assertEquals("ok", flight.execute(1L, () -> "ok"));
+    }
+
+    @Test
+    void exceptionReachesEveryWaiter() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException boom = new IllegalStateException("boom");
+
+        Future<String> leader = executor.submit(() -> flight.execute(1L, () -> {
+            leaderStarted.countDown();
+            await(release);
+            throw boom;
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        List<CompletableFuture<String>> followers = startFollowers(() -> flight.execute(1L, () -> "other"));
+        release.countDown();
+
+        assertSame(boom, causeOf(leader));
+        for (CompletableFuture<String> f : followers) {
+            assertSame(boom, causeOf(f));
+        }
+    }
+
+    @Test
+    void submitDoesNotBlockAndSharesFuture() {
+        SingleFlight<Long, Integer> conversions = new SingleFlight<>();
+        CompletableFuture<Integer> work = new CompletableFuture<>();
+        AtomicInteger starts = new AtomicInteger();
+
+        // starter가 돌려준 future가 끝나지 않아도 바로 반환
+        CompletableFuture<Integer> first = conversions.submit(1L, () -> {
+            starts.incrementAndGet();
+            return work;
+        });
+        CompletableFuture<Integer> second = conversions.submit(1L, () -> {
+            starts.incrementAndGet();
+            return CompletableFuture.completedFuture(-1);
+        });
+
+        assertFalse(first.isDone());
+        assertSame(first, second);
+        assertEquals(1, starts.get());
+
+        work.complete(42);
+        assertEquals(42, first.join());
+        // 완료 후에는 키가 비워져 새 작업 시작
+        assertEquals(7, conversions.submit(1L, () -> CompletableFuture.completedFuture(7)).join());
+        assertEquals(1, starts.get());
+    }
+
+    @Test
+    void submitFailureReachesEverySubscriberAndReleasesKey() {
+        SingleFlight<Long, Integer> conversions = new SingleFlight<>();
+        CompletableFuture<Integer> work = new CompletableFuture<>();
+
+        CompletableFuture<Integer> first = conversions.submit(1L, () -> work);
+        CompletableFuture<Integer> second = conversions.submit(1L, () -> work);
+        IllegalStateException boom = new IllegalStateException("boom");
+        work.completeExceptionally(boom);
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertSame(boom, assertThrows(Exception.class, first::join).getCause());
+        assertEquals(3, conversions.submit(1L, () -> CompletableFuture.completedFuture(3)).join());
+    }
+
+    @Test
+    void submitStarterExceptionReleasesKey() {
+        SingleFlight<Long, Integer> conversions = new SingleFlight<>();
+
+        assertThrows(IllegalStateException.class,
+                () -> conversions.submit(1L, () -> { throw new IllegalStateException("rejected"); }));
+        assertEquals(5, conversions.submit(1L, () -> CompletableFuture.completedFuture(5)).join());
+    }
+
+    /**
+     * 나머지 호출자를 각자 스레드에서 시작하고, 모두 leader 결과를 기다리며 멈출 때까지(WAITING) 대기
+     */
+    private static List<CompletableFuture<String>> startFollowers(Supplier<String> call)
+            throws InterruptedException {
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 1; i < CALLERS; i++) {
+            CompletableFuture<String> result = new CompletableFuture<>();
+            Thread t = new Thread(() -> {
+                try {
+                    result.complete(call.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            t.setDaemon(true);
+            t.start();
+            results.add(result);
+            threads.add(t);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (Thread t : threads) {
+            while (t.getState() != Thread.State.WAITING) {
+                if (System.nanoTime() > deadline) fail("호출자가 대기 상태가 되지 않음: " + t.getState());
+                Thread.sleep(1);
+            }
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) fail("timeout");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Throwable causeOf(Future<?> future) {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
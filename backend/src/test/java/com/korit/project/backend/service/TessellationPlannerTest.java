@@ -0,0 +1,131 @@
+package com.korit.project.backend.service;
+
+import com.korit.project.backend.dto.PartMetadata;
+import com.korit.project.backend.dto.TessellationQuality;
+import com.korit.project.backend.service.TessellationPlanner.TessellationPlan;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TessellationPlannerTest {
+
+    private static final double EPS = 1e-9;
+
+    private final TessellationPlanner planner = new TessellationPlanner();
+
+    @Test
+    void deflectionIsProportionalToDiagonal() {
+        TessellationPlan plan = planner.plan(List.of(
+                part("small", 3.0, 4.0, 0.0),
+                part("large", 30.0, 40.0, 0.0)), TessellationQuality.STANDARD);
+
+        assertEquals(1.0, plan.getBudgetScale());
+        assertEquals(0.004 * 5, plan.getLinearByPartKey().get("small"), EPS);
+        assertEquals(0.004 * 50, plan.getLinearByPartKey().get("large"), EPS);
+        assertEquals(0.02, plan.getMinLinear(), EPS);
+        assertEquals(0.2, plan.getMaxLinear(), EPS);
+        assertEquals(plan.getMaxLinear(), plan.getDefaultLinear(), EPS);
+        assertEquals(0.5, plan.getAngular());
+    }
+
+    @Test
+    void presetsGetFinerInOrder() {
+        List<PartMetadata.PartInfo> parts = List.of(part("p", 100.0, 100.0, 100.0));
+        double diag = Math.sqrt(3) * 100;
+
+        TessellationPlan draft = planner.plan(parts, TessellationQuality.DRAFT);
+        TessellationPlan standard = planner.plan(parts, TessellationQuality.STANDARD);
+        TessellationPlan fine = planner.plan(parts, TessellationQuality.FINE);
+
+        assertEquals(0.01 * diag, draft.getLinearByPartKey().get("p"), EPS);
+        assertEquals(0.004 * diag, standard.getLinearByPartKey().get("p"), EPS);
+        assertEquals(0.0015 * diag, fine.getLinearByPartKey().get("p"), EPS);
+        assertTrue(draft.getAngular() > standard.getAngular() && standard.getAngular() > fine.getAngular());
+        assertTrue(draft.getEstimatedTriangles() < standard.getEstimatedTriangles()
+                && standard.getEstimatedTriangles() < fine.getEstimatedTriangles());
+        // tris ≈ A / (2dδ), A = 6 * 100²
+        assertEquals(Math.round(60_000 / (2 * diag * 0.004 * diag)), standard.getEstimatedTriangles());
+
+        assertEquals(TessellationQuality.STANDARD, TessellationQuality.fromParam(null));
+        assertEquals(TessellationQuality.FINE, TessellationQuality.fromParam(" fine "));
+        assertThrows(IllegalArgumentException.class, () -> TessellationQuality.fromParam("ultra"));
+    }
+
+    @Test
+    void overBudgetScalesEveryPartEqually() {
+        // FINE 기준 부품당 ~667개 × 10000 = ~6.7M > 3M
+        List<PartMetadata.PartInfo> parts = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            parts.add(part("p" + i, 100.0 + i % 7, 100.0, 100.0));
+        }
+
+        TessellationPlan unscaled = planner.plan(parts.subList(0, 10), TessellationQuality.FINE);
+        TessellationPlan plan = planner.plan(parts, TessellationQuality.FINE);
+
+        assertTrue(plan.getBudgetScale() > 2);
+        assertTrue(plan.getEstimatedTriangles() <= TessellationQuality.FINE.getTriangleBudget());
+        assertTrue(plan.getEstimatedTriangles() > TessellationQuality.FINE.getTriangleBudget() * 0.99);
+        for (int i = 0; i < 10; i++) {
+            String key = "p" + i;
+            assertEquals(unscaled.getLinearByPartKey().get(key) * plan.getBudgetScale(),
+                    plan.getLinearByPartKey().get(key), 1e-6);
+        }
+        assertEquals(10_000, plan.getPartCount());
+    }
+
+    @Test
+    void scaledDeflectionIsCappedRelativeToDiagonal() {
+        // 표면적이 큰 부품은 예산에 맞추려면 대각선보다 큰 deflection이 필요 → 대각선의 25%에서 멈춤 (예산 초과 허용)
+        PartMetadata.PartInfo dense = part("dense", 3.0, 4.0, 0.0);
+        dense.setArea(1e8);
+
+        TessellationPlan plan = planner.plan(List.of(dense, part("small", 3.0, 4.0, 0.0)), TessellationQuality.DRAFT);
+
+        assertTrue(plan.getBudgetScale() > 25);
+        assertEquals(0.25 * 5, plan.getLinearByPartKey().get("dense"), EPS);
+        assertEquals(0.25 * 5, plan.getLinearByPartKey().get("small"), EPS);
+        // tris ≈ A / (2dδ), 작은 부품은 최소 삼각형 수
+        assertEquals(Math.round(1e8 / (2 * 5 * 1.25)) + 12, plan.getEstimatedTriangles());
+        assertTrue(plan.getEstimatedTriangles() > TessellationQuality.DRAFT.getTriangleBudget());
+    }
+
+    @Test
+    void rotatedCopiesGetTheSamePlan() {
+        PartMetadata.PartInfo original = part("a", 10.0, 20.0, 30.0);
+        original.setLocalSize(new Double[]{10.0, 20.0, 30.0});
+        // 같은 부품을 회전 배치 → 월드 bbox는 커지지만 로컬 bbox는 동일
+        PartMetadata.PartInfo rotated = part("b", 24.1, 31.7, 30.0);
+        rotated.setLocalSize(new Double[]{10.0, 20.0, 30.0});
+        original.setArea(2200.0);
+        rotated.setArea(2200.0);
+
+        TessellationPlan plan = planner.plan(List.of(original, rotated), TessellationQuality.STANDARD);
+
+        assertEquals(plan.getLinearByPartKey().get("a"), plan.getLinearByPartKey().get("b"));
+        assertEquals(0.004 * Math.sqrt(1400), plan.getLinearByPartKey().get("a"), EPS);
+    }
+
+    @Test
+    void missingLocalSizeFallsBackToWorldSize() {
+        PartMetadata.PartInfo noLocal = part("w", 3.0, 4.0, 0.0);
+        PartMetadata.PartInfo noSize = part("x", null, null, null);
+        noSize.setSize(null);
+
+        TessellationPlan plan = planner.plan(List.of(noLocal, noSize), TessellationQuality.STANDARD);
+
+        assertEquals(0.02, plan.getLinearByPartKey().get("w"), EPS);
+        assertEquals(0.001, plan.getLinearByPartKey().get("x"), EPS);
+    }
+
+    private static PartMetadata.PartInfo part(String key, Double sx, Double sy, Double sz) {
+        PartMetadata.PartInfo part = new PartMetadata.PartInfo();
+        part.setPartKey(key);
+        part.setSize(new Double[]{sx, sy, sz});
+        return part;
+    }
+}
@@ -0,0 +1,144 @@
+package com.korit.project.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.korit.project.backend.entity.CadFile;
+import com.korit.project.backend.mapper.CadFileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ThumbnailServiceTest {
+
+    private static final int SIZE = 48;
+
+    @TempDir
+    Path dir;
+
+    private CadFileMapper cadFileMapper;
+    private ThumbnailService thumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        cadFileMapper = mock(CadFileMapper.class);
+        thumbnailService = new ThumbnailService(cadFileMapper, new ObjectMapper());
+        ReflectionTestUtils.setField(thumbnailService, "convertedDir", dir.resolve("converted").toString());
+        ReflectionTestUtils.setField(thumbnailService, "size", SIZE);
+        ReflectionTestUtils.setField(thumbnailService, "turntableFrames", 8);
+    }
+
+    @Test
+    void generateWritesPngOfConfiguredSize() throws IOException {
+        Path glb = writeGlb(dir.resolve("model.glb"), CUBE_POSITIONS, CUBE_INDICES);
+
+        thumbnailService.generate(1L, glb.toString());
+
+        Path png = dir.resolve("converted/1/thumbnail.png");
+        BufferedImage image = ImageIO.read(png.toFile());
+        assertEquals(SIZE, image.getWidth());
+        assertEquals(SIZE, image.getHeight());
+        assertTrue(opaquePixels(image) > SIZE * SIZE / 5);
+        assertFalse(Files.exists(png.resolveSibling("thumbnail.png.tmp")));
+        assertEquals(png, thumbnailService.getThumbnail(1L, null));
+    }
+
+    @Test
+    void turntableFrameIsRenderedOnRequestAndCached() throws IOException {
+        Path glb = writeGlb(dir.resolve("model.glb"), CUBE_POSITIONS, CUBE_INDICES);
+        when(cadFileMapper.findById(2L)).thenReturn(completed(glb));
+
+        Path frame = thumbnailService.getThumbnail(2L, 3);
+
+        assertEquals(dir.resolve("converted/2/turntable-3.png"), frame);
+        assertTrue(opaquePixels(ImageIO.read(frame.toFile())) > 0);
+        // 캐시된 파일은 GLB가 없어져도 그대로 제공
+        Files.delete(glb);
+        assertEquals(frame, thumbnailService.getThumbnail(2L, 3));
+        assertNull(thumbnailService.getThumbnail(2L, 4));
+        assertThrows(IllegalArgumentException.class, () -> thumbnailService.getThumbnail(2L, 8));
+    }
+
+    @Test
+    void emptyMeshProducesNoThumbnail() throws IOException {
+        Path glb = writeGlb(dir.resolve("empty.glb"), new float[0], new int[0]);
+        when(cadFileMapper.findById(3L)).thenReturn(completed(glb));
+
+        thumbnailService.generate(3L, glb.toString());
+
+        assertFalse(Files.exists(dir.resolve("converted/3/thumbnail.png")));
+        assertNull(thumbnailService.getThumbnail(3L, null));
+    }
+
+    private static CadFile completed(Path glb) {
+        CadFile cadFile = new CadFile();
+        cadFile.setStatus("COMPLETED");
+        cadFile.setGlbFilePath(glb.toString());
+        return cadFile;
+    }
+
+    private static int opaquePixels(BufferedImage image) {
+        int n = 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if ((image.getRGB(x, y) >>> 24) != 0) n++;
+            }
+        }
+        return n;
+    }
+
+    private static final float[] CUBE_POSITIONS = {
+            0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0,
+            0, 0, 1, 1, 0, 1, 1, 1, 1, 0, 1, 1
+    };
+    private static final int[] CUBE_INDICES = {
+            0, 2, 1, 0, 3, 2, 4, 5, 6, 4, 6, 7,
+            0, 1, 5, 0, 5, 4, 3, 7, 6, 3, 6, 2,
+            0, 4, 7, 0, 7, 3, 1, 2, 6, 1, 6, 5
+    };
+
+    /**
+     * 메시 하나, 노드 하나인 최소 GLB (POSITION float, indices uint32)
+     */
+    private static Path writeGlb(Path path, float[] positions, int[] indices) throws IOException {
+        int posBytes = positions.length * 4, idxBytes = indices.length * 4;
+        String json = """
+                {"asset":{"version":"2.0"},"scene":0,"scenes":[{"nodes":[0]}],
+                 "nodes":[{"name":"part","mesh":0}],
+                 "meshes":[{"primitives":[{"attributes":{"POSITION":0},"indices":1}]}],
+                 "accessors":[{"bufferView":0,"componentType":5126,"count":%d,"type":"VEC3"},
+                              {"bufferView":1,"componentType":5125,"count":%d,"type":"SCALAR"}],
+                 "bufferViews":[{"buffer":0,"byteOffset":0,"byteLength":%d},
+                                {"buffer":0,"byteOffset":%d,"byteLength":%d}],
+                 "buffers":[{"byteLength":%d}]}
+                """.formatted(positions.length / 3, indices.length, posBytes, posBytes, idxBytes, posBytes + idxBytes);
+        byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        int jsonLen = (jsonBytes.length + 3) & ~3;
+        int binLen = posBytes + idxBytes;
+
+        ByteBuffer buf = ByteBuffer.allocate(12 + 8 + jsonLen + 8 + binLen).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(0x46546C67).putInt(2).putInt(buf.capacity());
+        buf.putInt(jsonLen).putInt(0x4E4F534A).put(jsonBytes);
+        for (int i = jsonBytes.length; i < jsonLen; i++) buf.put((byte) ' ');
+        buf.putInt(binLen).putInt(0x004E4942);
+        for (float f : positions) buf.putFloat(f);
+        for (int i : indices) buf.putInt(i);
+        return Files.write(path, buf.array());
+    }
+}
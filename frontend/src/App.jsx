@@ -4,7 +4,7 @@ import FileUpload from './components/FileUpload'
 import ModelViewer from './components/ModelViewer'
 import PartList from './components/PartList'
 import PartDetail from './components/PartDetail'
-import { getCadFiles, uploadCadFile, getCadFileById } from './api/cadApi'
+import { getCadFiles, uploadCadFile, getCadFileById, getThumbnailUrl } from './api/cadApi'
 
 function App() {
   const [cadFiles, setCadFiles] = useState([])
@@ -106,8 +106,21 @@ function App() {
                 className={`file-item ${selectedFile?.id === file.id ? 'active' : ''}`}
                 onClick={() => handleFileSelect(file)}
               >
-                <div className="file-name">{file.originalFilename}</div>
-                <div className="file-status">{file.status}</div>
+                {file.status === 'COMPLETED' && (
+                  <img
+                    className="file-thumbnail"
+                    src={getThumbnailUrl(file.id)}
+                    alt=""
+                    loading="lazy"
+                    width={64}
+                    height={64}
+                    onError={(e) => { e.currentTarget.style.visibility = 'hidden' }}
+                  />
+                )}
+                <div className="file-info">
+                  <div className="file-name">{file.originalFilename}</div>
+                  <div className="file-status">{file.status}</div>
+                </div>
               </div>
             ))}
           </div>
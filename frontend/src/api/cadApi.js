@@ -46,3 +46,12 @@ export const getGlbFileUrl = (id) => {
     const baseURL = import.meta.env.VITE_API_BASE_URL || "http://localhost:8080/api";
     return `${baseURL}/cad/files/${id}/glb`;
 };
+
+/**
+ * 썸네일 PNG URL 생성 (frame 지정 시 turntable 프레임)
+ */
+export const getThumbnailUrl = (id, frame) => {
+    const baseURL = import.meta.env.VITE_API_BASE_URL || "http://localhost:8080/api";
+    const query = frame === undefined || frame === null ? "" : `?frame=${frame}`;
+    return `${baseURL}/cad/files/${id}/thumbnail${query}`;
+};
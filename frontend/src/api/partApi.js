@@ -45,3 +45,17 @@ export const renamePart = (partId, displayName) => {
         data: { displayName },
     });
 };
+
+/**
+ * 부품 일괄 편집 (표시명/메모)
+ * POST /api/parts/bulk
+ * operations: [{ partId | partKey, displayName?, note? }]
+ * writeBehind: true면 서버가 부품별 마지막 편집만 모아서 잠시 뒤 저장 (자동 저장용)
+ */
+export const bulkEditParts = (cadFileId, operations, writeBehind = false) => {
+    return request({
+        url: "/parts/bulk",
+        method: "POST",
+        data: { cadFileId, operations, writeBehind },
+    });
+};
@@ -0,0 +1,293 @@
+#!/usr/bin/env python3
+# -*- coding: utf-8 -*-
+
+"""\
+Load / soak driver for the CAD backend (stdlib only)
+
+Each virtual user loops:
+  upload (POST /api/cad/upload) -> poll (GET /api/cad/files/{id} until COMPLETED/FAILED)
+  -> detail (GET /api/cad/files/{id}) -> glb (GET /api/cad/files/{id}/glb)
+
+Upload bodies are small unique dummy files; the converters are expected to be the stubs in
+python/loadtest/stubs, which ignore the content and emit parts/GLBs per STUB_* settings.
+--duplicate-ratio re-sends an earlier body so the content-hash reuse path is exercised too.
+
+Reports count, errors, p50/p90/p99/max latency and throughput per endpoint, plus the
+end-to-end conversion time (upload accepted -> status terminal).
+
+Examples:
+  python driver.py --concurrency 8 --iterations 25
+  python driver.py --concurrency 16 --duration 1800 --json-out soak.json --max-p99-ms detail=500 --max-error-rate 0.01
+"""
+
+import argparse
+import json
+import os
+import random
+import sys
+import threading
+import time
+import urllib.error
+import urllib.request
+import uuid
+
+ENDPOINTS = ("upload", "poll", "detail", "glb", "conversion")
+
+
+class Stats:
+    def __init__(self):
+        self.lock = threading.Lock()
+        self.samples = {name: [] for name in ENDPOINTS}
+        self.errors = {name: 0 for name in ENDPOINTS}
+        self.error_samples = []
+        self.bytes = {name: 0 for name in ENDPOINTS}
+        self.statuses = {}
+
+    def record(self, name, elapsed_ms, ok, size=0, detail=None):
+        with self.lock:
+            if ok:
+                self.samples[name].append(elapsed_ms)
+                self.bytes[name] += size
+            else:
+                self.errors[name] += 1
+                if len(self.error_samples) < 20 and detail:
+                    self.error_samples.append(f"{name}: {detail}")
+
+    def count_status(self, status):
+        with self.lock:
+            self.statuses[status] = self.statuses.get(status, 0) + 1
+
+
+def percentile(sorted_values, p):
+    if not sorted_values:
+        return None
+    k = (len(sorted_values) - 1) * p / 100.0
+    lo = int(k)
+    hi = min(lo + 1, len(sorted_values) - 1)
+    return sorted_values[lo] + (sorted_values[hi] - sorted_values[lo]) * (k - lo)
+
+
+def http(method, url, body=None, headers=None, timeout=60):
+    req = urllib.request.Request(url, data=body, method=method, headers=headers or {})
+    started = time.perf_counter()
+    try:
+        with urllib.request.urlopen(req, timeout=timeout) as resp:
+            data = resp.read()
+            return resp.status, data, (time.perf_counter() - started) * 1000.0
+    except urllib.error.HTTPError as e:
+        return e.code, e.read(), (time.perf_counter() - started) * 1000.0
+
+
+def multipart(field, filename, content, extra=None):
+    boundary = "----loadtest" + uuid.uuid4().hex
+    parts = []
+    for k, v in (extra or {}).items():
+        parts.append(f"--{boundary}\r\nContent-Disposition: form-data; name=\"{k}\"\r\n\r\n{v}\r\n".encode("utf-8"))
+    parts.append((f"--{boundary}\r\nContent-Disposition: form-data; name=\"{field}\"; filename=\"{filename}\"\r\n"
+                  f"Content-Type: application/octet-stream\r\n\r\n").encode("utf-8") + content + b"\r\n")
+    parts.append(f"--{boundary}--\r\n".encode("utf-8"))
+    return b"".join(parts), f"multipart/form-data; boundary={boundary}"
+
+
+class Worker(threading.Thread):
+    def __init__(self, index, args, stats, deadline, iterations, shared_bodies):
+        super().__init__(name=f"vu-{index}", daemon=True)
+        self.index = index
+        self.args = args
+        self.stats = stats
+        self.deadline = deadline
+        self.iterations = iterations
+        self.shared_bodies = shared_bodies
+        self.rng = random.Random(args.seed + index)
+
+    def run(self):
+        done = 0
+        while (self.iterations is None or done < self.iterations) and time.time() < self.deadline:
+            try:
+                self.one_cycle()
+            except Exception as e:
+                self.stats.record("upload", 0, False, detail=repr(e))
+            done += 1
+            if self.args.think_ms > 0:
+                time.sleep(self.args.think_ms / 1000.0)
+
+    def body(self):
+        if self.shared_bodies and self.rng.random() < self.args.duplicate_ratio:
+            return self.rng.choice(self.shared_bodies)
+        ext = self.rng.choice(self.args.extensions)
+        content = f"loadtest {uuid.uuid4()} {time.time()}\n".encode("ascii") * 8
+        name = f"lt_{self.index}_{uuid.uuid4().hex[:8]}.{ext}"
+        if len(self.shared_bodies) < 64:
+            self.shared_bodies.append((name, content))
+        return name, content
+
+    def one_cycle(self):
+        base = self.args.base_url.rstrip("/")
+        name, content = self.body()
+        extra = {"quality": self.args.quality} if self.args.quality else None
+        payload, content_type = multipart("file", name, content, extra)
+
+        status, data, ms = http("POST", f"{base}/cad/upload", payload, {"Content-Type": content_type},
+                                timeout=self.args.timeout)
+        if status != 200:
+            self.stats.record("upload", ms, False, detail=f"HTTP {status} {data[:200]!r}")
+            return
+        try:
+            cad_file_id = json.loads(data)["data"]["id"]
+        except Exception as e:
+            self.stats.record("upload", ms, False, detail=f"bad body: {e}")
+            return
+        self.stats.record("upload", ms, True, len(payload))
+        accepted = time.perf_counter()
+
+        # poll until terminal status
+        final = None
+        poll_deadline = time.time() + self.args.conversion_timeout
+        while time.time() < poll_deadline:
+            status, data, ms = http("GET", f"{base}/cad/files/{cad_file_id}", headers={"Accept": "application/json"},
+                                    timeout=self.args.timeout)
+            if status != 200:
+                self.stats.record("poll", ms, False, detail=f"HTTP {status} id={cad_file_id}")
+                time.sleep(self.args.poll_ms / 1000.0)
+                continue
+            self.stats.record("poll", ms, True, len(data))
+            current = json.loads(data)["data"].get("status")
+            if current in ("COMPLETED", "FAILED"):
+                final = current
+                break
+            time.sleep(self.args.poll_ms / 1000.0)
+
+        conversion_ms = (time.perf_counter() - accepted) * 1000.0
+        self.stats.count_status(final or "TIMEOUT")
+        if final != "COMPLETED":
+            self.stats.record("conversion", conversion_ms, False, detail=f"id={cad_file_id} status={final or 'TIMEOUT'}")
+            return
+        self.stats.record("conversion", conversion_ms, True)
+
+        status, data, ms = http("GET", f"{base}/cad/files/{cad_file_id}", headers={"Accept": "application/json"},
+                                timeout=self.args.timeout)
+        self.stats.record("detail", ms, status == 200, len(data), detail=f"HTTP {status} id={cad_file_id}")
+
+        status, data, ms = http("GET", f"{base}/cad/files/{cad_file_id}/glb", timeout=self.args.timeout)
+        ok = status == 200 and data[:4] == b"glTF"
+        self.stats.record("glb", ms, ok, len(data), detail=f"HTTP {status} id={cad_file_id} bytes={len(data)}")
+
+
+def report(stats, elapsed_s):
+    rows = {}
+    for name in ENDPOINTS:
+        values = sorted(stats.samples[name])
+        count = len(values)
+        errors = stats.errors[name]
+        rows[name] = {
+            "count": count,
+            "errors": errors,
+            "errorRate": errors / (count + errors) if count + errors else 0.0,
+            "p50Ms": percentile(values, 50),
+            "p90Ms": percentile(values, 90),
+            "p99Ms": percentile(values, 99),
+            "maxMs": values[-1] if values else None,
+            "throughputPerSec": count / elapsed_s if elapsed_s > 0 else 0.0,
+            "bytes": stats.bytes[name],
+        }
+    return rows
+
+
+def fmt(v):
+    return "-" if v is None else f"{v:.1f}"
+
+
+def print_report(rows, elapsed_s, statuses, error_samples):
+    print(f"\nelapsed={elapsed_s:.1f}s  terminal statuses={statuses}")
+    print(f"{'endpoint':<11}{'count':>8}{'errors':>8}{'p50ms':>10}{'p90ms':>10}{'p99ms':>10}{'maxms':>10}{'req/s':>9}")
+    for name, r in rows.items():
+        print(f"{name:<11}{r['count']:>8}{r['errors']:>8}{fmt(r['p50Ms']):>10}{fmt(r['p90Ms']):>10}"
+              f"{fmt(r['p99Ms']):>10}{fmt(r['maxMs']):>10}{r['throughputPerSec']:>9.2f}")
+    if error_samples:
+        print("\nfirst errors:")
+        for e in error_samples:
+            print(f"  {e}")
+
+
+def parse_gates(values):
+    gates = {}
+    for v in values or []:
+        name, _, ms = v.partition("=")
+        if name not in ENDPOINTS or not ms:
+            raise SystemExit(f"--max-p99-ms expects <endpoint>=<ms> with endpoint in {ENDPOINTS}: {v}")
+        gates[name] = float(ms)
+    return gates
+
+
+def main():
+    p = argparse.ArgumentParser(description="CAD backend load/soak driver")
+    p.add_argument("--base-url", default=os.environ.get("LOADTEST_BASE_URL", "http://localhost:8080/api"))
+    p.add_argument("--concurrency", type=int, default=4, help="virtual users")
+    p.add_argument("--iterations", type=int, default=None, help="cycles per virtual user (default: until --duration)")
+    p.add_argument("--duration", type=float, default=60, help="soak duration in seconds")
+    p.add_argument("--ramp-up", type=float, default=0, help="seconds over which virtual users are started")
+    p.add_argument("--think-ms", type=float, default=0, help="pause between cycles per virtual user")
+    p.add_argument("--poll-ms", type=float, default=250)
+    p.add_argument("--timeout", type=float, default=60, help="per-request timeout (s)")
+    p.add_argument("--conversion-timeout", type=float, default=600, help="max wait for COMPLETED/FAILED (s)")
+    p.add_argument("--extensions", default="step,stl", help="comma separated upload extensions")
+    p.add_argument("--quality", default=None, help="DRAFT / STANDARD / FINE")
+    p.add_argument("--duplicate-ratio", type=float, default=0.0, help="share of uploads reusing an earlier body")
+    p.add_argument("--seed", type=int, default=1)
+    p.add_argument("--json-out", default=None, help="write the report as JSON")
+    p.add_argument("--max-p99-ms", action="append", metavar="ENDPOINT=MS", help="fail if p99 exceeds (repeatable)")
+    p.add_argument("--max-error-rate", type=float, default=None, help="fail if any endpoint's error rate exceeds")
+    args = p.parse_args()
+    args.extensions = [e.strip().lstrip(".") for e in args.extensions.split(",") if e.strip()]
+    gates = parse_gates(args.max_p99_ms)
+
+    stats = Stats()
+    shared_bodies = []
+    started = time.time()
+    deadline = started + (args.duration if args.iterations is None else 10 ** 9)
+    workers = []
+    for i in range(args.concurrency):
+        w = Worker(i, args, stats, deadline, args.iterations, shared_bodies)
+        workers.append(w)
+        w.start()
+        if args.ramp_up > 0 and args.concurrency > 1:
+            time.sleep(args.ramp_up / (args.concurrency - 1))
+
+    try:
+        for w in workers:
+            while w.is_alive():
+                w.join(timeout=1.0)
+    except KeyboardInterrupt:
+        print("interrupted: reporting partial results", file=sys.stderr)
+
+    elapsed = time.time() - started
+    rows = report(stats, elapsed)
+    print_report(rows, elapsed, stats.statuses, stats.error_samples)
+
+    failures = []
+    for name, limit in gates.items():
+        p99 = rows[name]["p99Ms"]
+        if p99 is None or p99 > limit:
+            failures.append(f"{name} p99={fmt(p99)}ms > {limit}ms")
+    if args.max_error_rate is not None:
+        for name, r in rows.items():
+            if r["errorRate"] > args.max_error_rate:
+                failures.append(f"{name} errorRate={r['errorRate']:.4f} > {args.max_error_rate}")
+
+    if args.json_out:
+        with open(args.json_out, "w", encoding="utf-8") as f:
+            json.dump({
+                "config": {k: v for k, v in vars(args).items() if k != "max_p99_ms"} | {"maxP99Ms": gates},
+                "elapsedSec": elapsed,
+                "statuses": stats.statuses,
+                "endpoints": rows,
+                "gateFailures": failures,
+            }, f, indent=2)
+
+    if failures:
+        print("\nGATE FAILED:\n  " + "\n  ".join(failures), file=sys.stderr)
+        sys.exit(1)
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# stub 변환기로 백엔드를 띄우고 driver.py 부하를 건 뒤 종료
+#   python/loadtest/run.sh --concurrency 8 --iterations 20
+#   python/loadtest/run.sh --concurrency 16 --duration 1800 --json-out soak.json --max-p99-ms detail=500
+#
+# 환경변수
+#   PORT(8080), APP_JAR(backend/target/backend-0.0.1-SNAPSHOT.jar), JAVA_OPTS
+#   STUB_*: stubs/stub_common.py 참고 (지연, 부품 수, 삼각형 수, STUB_SEED_DIR 등)
+#   STUB_SEED_DIR 미지정 시 실제 변환 결과(temp/parts)가 있으면 그 구조를 재사용
+# 인자는 그대로 driver.py 에 전달 (--base-url 은 PORT 기준으로 자동 지정)
+set -euo pipefail
+
+LOADTEST_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "${LOADTEST_DIR}/../.." && pwd)"
+BACKEND_DIR="${ROOT_DIR}/backend"
+STUB_DIR="${LOADTEST_DIR}/stubs"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+APP_JAR="${APP_JAR:-${BACKEND_DIR}/target/backend-0.0.1-SNAPSHOT.jar}"
+LOG_DIR="${ROOT_DIR}/temp/loadtest"
+
+if [ ! -f "${APP_JAR}" ]; then
+  echo "ERROR: ${APP_JAR} 가 없습니다. 먼저 backend에서 mvn -B package -DskipTests" >&2
+  exit 1
+fi
+if [ -z "${STUB_SEED_DIR:-}" ] && [ -d "${ROOT_DIR}/temp/parts" ]; then
+  export STUB_SEED_DIR="${ROOT_DIR}/temp/parts"
+fi
+mkdir -p "${LOG_DIR}"
+
+cd "${BACKEND_DIR}"
+# shellcheck disable=SC2086
+java ${JAVA_OPTS:-} -jar "${APP_JAR}" \
+  --server.port="${PORT}" \
+  --spring.config.additional-location="file:${LOADTEST_DIR}/application-loadtest.properties" \
+  --freecad.cmd="${STUB_DIR}/FreeCADCmd" \
+  --python.executable="${STUB_DIR}/python" \
+  > "${LOG_DIR}/backend.log" 2>&1 &
+APP_PID=$!
+# SIGTERM: 정상 종료해야 lease 반납
+trap 'kill -TERM "${APP_PID}" 2>/dev/null || true; wait "${APP_PID}" 2>/dev/null || true' EXIT
+
+deadline=$(( $(date +%s) + 120 ))
+until curl -fs "${BASE_URL}/actuator/health" 2>/dev/null | grep -q '"UP"'; do
+  if [ "$(date +%s)" -ge "${deadline}" ] || ! kill -0 "${APP_PID}" 2>/dev/null; then
+    echo "ERROR: 백엔드가 기동하지 못했습니다" >&2
+    tail -n 30 "${LOG_DIR}/backend.log" >&2
+    exit 1
+  fi
+  sleep 0.2
+done
+
+python3 "${LOADTEST_DIR}/driver.py" --base-url "${BASE_URL}/api" "$@"
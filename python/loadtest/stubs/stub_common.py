@@ -0,0 +1,235 @@
+#!/usr/bin/env python3
+# -*- coding: utf-8 -*-
+
+"""\
+Shared pieces for the load-test stub converters (stdlib only)
+
+Configuration (environment variables, read by every stub process):
+- STUB_LATENCY_MS            fixed startup latency per process          (default 200)
+- STUB_PART_LATENCY_MS       extra latency per emitted part             (default 5)
+- STUB_BBOX_LATENCY_MS       latency of the --bbox-only pre-pass        (default 50)
+- STUB_PARTS                 part count when no seed is available       (default 50)
+- STUB_TRIANGLES             triangles per part mesh (rounded to 12*n^2) (default 192)
+- STUB_SEED_DIR              temp/parts directory of a real backend; a parts.json
+                             under it is picked per input file so the stub
+                             reproduces a real assembly's structure
+- STUB_FAIL_RATE             probability [0..1] that a process exits non-zero (default 0)
+- STUB_SEED                  RNG seed for reproducible runs             (default: per input path)
+"""
+
+import glob
+import hashlib
+import json
+import math
+import os
+import random
+import struct
+import sys
+import time
+
+
+def env_float(name, default):
+    try:
+        return float(os.environ.get(name, default))
+    except ValueError:
+        return float(default)
+
+
+def env_int(name, default):
+    try:
+        return int(os.environ.get(name, default))
+    except ValueError:
+        return int(default)
+
+
+def rng_for(key: str) -> random.Random:
+    seed = os.environ.get("STUB_SEED")
+    if seed is None:
+        seed = int(hashlib.sha1(key.encode("utf-8")).hexdigest()[:8], 16)
+    return random.Random(seed)
+
+
+def sleep_ms(ms: float):
+    if ms > 0:
+        time.sleep(ms / 1000.0)
+
+
+def maybe_fail(rng: random.Random, label: str):
+    rate = env_float("STUB_FAIL_RATE", 0)
+    if rate > 0 and rng.random() < rate:
+        print(f"ERROR: injected failure ({label})", file=sys.stderr)
+        sys.exit(1)
+
+
+# ---------------------------------------------------------------------------
+# part layout
+# ---------------------------------------------------------------------------
+
+def load_seed_parts(key: str, rng: random.Random):
+    """Pick one parts.json from STUB_SEED_DIR (temp/parts/*/parts.json); None if unavailable."""
+    seed_dir = os.environ.get("STUB_SEED_DIR", "")
+    if not seed_dir or not os.path.isdir(seed_dir):
+        return None
+    candidates = sorted(glob.glob(os.path.join(seed_dir, "*", "parts.json")))
+    if not candidates:
+        return None
+    path = candidates[rng.randrange(len(candidates))]
+    try:
+        with open(path, "r", encoding="utf-8") as f:
+            parts = json.load(f).get("parts") or []
+    except Exception as e:
+        print(f"WARN: seed unreadable, synthesizing: {path} ({e})", file=sys.stderr)
+        return None
+
+    seeded = []
+    for p in parts:
+        if not p.get("partKey") or not p.get("position") or not p.get("size"):
+            continue
+        seeded.append({
+            "partKey": p["partKey"],
+            "name": p.get("name") or p["partKey"],
+            "nodePath": p.get("nodePath"),
+            "parentKey": p.get("parentKey"),
+            "position": [float(v) for v in p["position"]],
+            "size": [max(float(v), 1e-3) for v in p["size"]],
+        })
+    return seeded or None
+
+
+def synthesize_parts(rng: random.Random, count: int):
+    """Grid of boxes with random sizes, a few sub-assemblies for nodePath/parentKey variety."""
+    side = max(1, int(math.ceil(count ** (1.0 / 3.0))))
+    parts = []
+    for i in range(count):
+        gx, gy, gz = i % side, (i // side) % side, i // (side * side)
+        size = [rng.uniform(5, 40), rng.uniform(5, 40), rng.uniform(5, 40)]
+        position = [gx * 50.0 + rng.uniform(-3, 3), gy * 50.0 + rng.uniform(-3, 3), gz * 50.0 + rng.uniform(-3, 3)]
+        group = i // 10
+        parts.append({
+            "partKey": f"fc:Part{i:05d}",
+            "name": f"Part {i}",
+            "nodePath": f"Root/Group{group:03d}/Part {i}",
+            "parentKey": None,
+            "position": position,
+            "size": size,
+        })
+    return parts
+
+
+def parts_for(key: str, rng: random.Random):
+    return load_seed_parts(key, rng) or synthesize_parts(rng, max(1, env_int("STUB_PARTS", 50)))
+
+
+# ---------------------------------------------------------------------------
+# geometry: subdivided boxes
+# ---------------------------------------------------------------------------
+
+def box_triangles(center, size, target_triangles: int):
+    """World-space triangles of an axis-aligned box; each face is an n x n grid (12*n^2 triangles)."""
+    n = max(1, int(round(math.sqrt(max(12, target_triangles) / 12.0))))
+    cx, cy, cz = center
+    hx, hy, hz = size[0] / 2.0, size[1] / 2.0, size[2] / 2.0
+
+    # (normal axis, sign) -> two in-plane axes
+    faces = [(0, 1, 1, 2), (0, -1, 2, 1), (1, 1, 2, 0), (1, -1, 0, 2), (2, 1, 0, 1), (2, -1, 1, 0)]
+    half = [hx, hy, hz]
+    c = [cx, cy, cz]
+    tris = []
+    for axis, sign, u_axis, v_axis in faces:
+        def point(i, j):
+            p = [0.0, 0.0, 0.0]
+            p[axis] = c[axis] + sign * half[axis]
+            p[u_axis] = c[u_axis] - half[u_axis] + 2 * half[u_axis] * i / n
+            p[v_axis] = c[v_axis] - half[v_axis] + 2 * half[v_axis] * j / n
+            return p
+
+        for i in range(n):
+            for j in range(n):
+                a, b, cc, d = point(i, j), point(i + 1, j), point(i + 1, j + 1), point(i, j + 1)
+                tris.append((a, b, cc))
+                tris.append((a, cc, d))
+    return tris
+
+
+def write_binary_stl(path: str, tris):
+    with open(path, "wb") as f:
+        f.write(b"stub mesh".ljust(80, b" "))
+        f.write(struct.pack("<I", len(tris)))
+        for a, b, c in tris:
+            f.write(struct.pack("<12fH", 0.0, 0.0, 0.0, *a, *b, *c, 0))
+
+
+def read_binary_stl(path: str):
+    with open(path, "rb") as f:
+        data = f.read()
+    if len(data) < 84:
+        return []
+    (count,) = struct.unpack_from("<I", data, 80)
+    tris = []
+    for t in range(count):
+        v = struct.unpack_from("<12f", data, 84 + t * 50)
+        tris.append((v[3:6], v[6:9], v[9:12]))
+    return tris
+
+
+def write_glb(path: str, nodes):
+    """
+    Minimal glTF 2.0 binary: one mesh + node per entry.
+    nodes: list of (node_name, triangles) with world-space triangles.
+    """
+    bin_chunk = bytearray()
+    accessors, buffer_views, meshes, gltf_nodes = [], [], [], []
+
+    for name, tris in nodes:
+        if not tris:
+            continue
+        positions = bytearray()
+        mins = [float("inf")] * 3
+        maxs = [float("-inf")] * 3
+        for tri in tris:
+            for p in tri:
+                positions += struct.pack("<3f", *p)
+                for k in range(3):
+                    mins[k] = min(mins[k], p[k])
+                    maxs[k] = max(maxs[k], p[k])
+        count = len(tris) * 3
+        indices = struct.pack(f"<{count}I", *range(count))
+
+        pos_view = len(buffer_views)
+        buffer_views.append({"buffer": 0, "byteOffset": len(bin_chunk), "byteLength": len(positions), "target": 34962})
+        bin_chunk += positions
+        idx_view = len(buffer_views)
+        buffer_views.append({"buffer": 0, "byteOffset": len(bin_chunk), "byteLength": len(indices), "target": 34963})
+        bin_chunk += indices
+
+        pos_acc = len(accessors)
+        accessors.append({"bufferView": pos_view, "componentType": 5126, "count": count, "type": "VEC3",
+                          "min": mins, "max": maxs})
+        idx_acc = len(accessors)
+        accessors.append({"bufferView": idx_view, "componentType": 5125, "count": count, "type": "SCALAR"})
+
+        meshes.append({"primitives": [{"attributes": {"POSITION": pos_acc}, "indices": idx_acc, "mode": 4}]})
+        gltf_nodes.append({"name": name, "mesh": len(meshes) - 1})
+
+    gltf = {
+        "asset": {"version": "2.0", "generator": "loadtest stub"},
+        "scene": 0,
+        "scenes": [{"nodes": list(range(len(gltf_nodes)))}],
+        "nodes": gltf_nodes,
+        "meshes": meshes,
+        "accessors": accessors,
+        "bufferViews": buffer_views,
+        "buffers": [{"byteLength": len(bin_chunk)}],
+    }
+    json_bytes = json.dumps(gltf, separators=(",", ":")).encode("utf-8")
+    json_bytes += b" " * (-len(json_bytes) % 4)
+    bin_chunk += b"\x00" * (-len(bin_chunk) % 4)
+
+    total = 12 + 8 + len(json_bytes) + 8 + len(bin_chunk)
+    os.makedirs(os.path.dirname(os.path.abspath(path)), exist_ok=True)
+    with open(path, "wb") as f:
+        f.write(struct.pack("<III", 0x46546C67, 2, total))
+        f.write(struct.pack("<II", len(json_bytes), 0x4E4F534A))
+        f.write(json_bytes)
+        f.write(struct.pack("<II", len(bin_chunk), 0x004E4942))
+        f.write(bin_chunk)
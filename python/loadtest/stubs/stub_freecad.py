@@ -0,0 +1,131 @@
+#!/usr/bin/env python3
+# -*- coding: utf-8 -*-
+
+"""\
+FreeCADCmd stand-in for load tests
+
+The backend runs:
+  FreeCADCmd -c "import runpy, sys; sys.argv=[r'step_to_parts.py', r'<in>', r'<outDir>', ...]; runpy.run_path(...)"
+
+This stub extracts sys.argv from the inline code and emulates step_to_parts.py:
+- --bbox-only : writes {"parts":[{partKey,name,position,size,localSize,area}]} to --json-out
+- otherwise   : writes one binary STL per part (world space, transform=null),
+                streams NDJSON records to stdout when --ndjson is set,
+                then writes parts.json to --json-out
+Latency/part count/triangles come from the STUB_* environment variables (see stub_common.py).
+"""
+
+import ast
+import json
+import os
+import re
+import sys
+
+from stub_common import (box_triangles, env_float, env_int, maybe_fail, parts_for, rng_for, sleep_ms,
+                         write_binary_stl)
+
+
+def extract_argv(argv):
+    if len(argv) >= 3 and argv[1] == "-c":
+        m = re.search(r"sys\.argv=(\[.*?\]);", argv[2], re.S)
+        if not m:
+            print("ERROR: stub FreeCADCmd could not find sys.argv in -c code", file=sys.stderr)
+            sys.exit(2)
+        return ast.literal_eval(m.group(1))
+    # direct invocation: stub_freecad.py step_to_parts.py <args...>
+    return argv[1:]
+
+
+def option(args, name, default=None):
+    if name in args:
+        i = args.index(name)
+        if i + 1 < len(args):
+            return args[i + 1]
+    return default
+
+
+def main():
+    args = extract_argv(sys.argv)
+    script = os.path.basename(args[0]) if args else ""
+    if script != "step_to_parts.py" or len(args) < 3:
+        print(f"ERROR: stub FreeCADCmd does not emulate {script!r}", file=sys.stderr)
+        sys.exit(2)
+
+    input_path, out_dir = args[1], args[2]
+    bbox_only = "--bbox-only" in args
+    ndjson = "--ndjson" in args
+    json_out = option(args, "--json-out")
+    linear = float(option(args, "--linear", "10.0"))
+
+    rng = rng_for(input_path)
+    parts = parts_for(input_path, rng)
+
+    if bbox_only:
+        sleep_ms(env_float("STUB_BBOX_LATENCY_MS", 50))
+        payload = {"parts": [{
+            "partKey": p["partKey"],
+            "name": p["name"],
+            "position": p["position"],
+            "size": p["size"],
+            "localSize": p["size"],
+            "area": 2 * (p["size"][0] * p["size"][1] + p["size"][1] * p["size"][2] + p["size"][0] * p["size"][2]),
+        } for p in parts]}
+        if json_out:
+            os.makedirs(os.path.dirname(json_out), exist_ok=True)
+            with open(json_out, "w", encoding="utf-8") as f:
+                json.dump(payload, f)
+        return
+
+    plan = {}
+    plan_path = option(args, "--deflection-plan")
+    if plan_path and os.path.exists(plan_path):
+        try:
+            with open(plan_path, "r", encoding="utf-8") as f:
+                plan_doc = json.load(f)
+            plan = plan_doc.get("parts") or {}
+            linear = float(plan_doc.get("defaultLinear") or linear)
+        except Exception:
+            plan = {}
+
+    sleep_ms(env_float("STUB_LATENCY_MS", 200))
+    maybe_fail(rng, "step_to_parts")
+
+    os.makedirs(out_dir, exist_ok=True)
+    triangles = env_int("STUB_TRIANGLES", 192)
+    part_latency = env_float("STUB_PART_LATENCY_MS", 5)
+    records = []
+    for i, p in enumerate(parts):
+        tris = box_triangles(p["position"], p["size"], triangles)
+        mesh_path = os.path.join(out_dir, f"fc__stub{i:05d}.stl").replace("\\", "/")
+        write_binary_stl(mesh_path, tris)
+
+        deflection = float(plan.get(p["partKey"], linear))
+        record = {
+            "partKey": p["partKey"],
+            "name": p["name"],
+            "meshPath": mesh_path,
+            "nodePath": p["nodePath"] or f"Root/{p['name']}",
+            "parentKey": p["parentKey"],
+            "nodeIndex": None,
+            "position": p["position"],
+            "size": p["size"],
+            "linearDeflection": deflection,
+            "meshId": f"stub{i:05d}",
+            "transform": None,
+            "triangles": len(tris),
+        }
+        records.append(record)
+        if ndjson:
+            sys.stdout.write(json.dumps(record, ensure_ascii=True) + "\n")
+            sys.stdout.flush()
+        sleep_ms(part_latency)
+
+    print(f"INFO: parts={len(records)} uniqueMeshes={len(records)} (stub)", file=sys.stderr)
+    if json_out:
+        os.makedirs(os.path.dirname(json_out), exist_ok=True)
+        with open(json_out, "w", encoding="utf-8") as f:
+            json.dump({"parts": records}, f, ensure_ascii=False, indent=2)
+
+
+if __name__ == "__main__":
+    main()
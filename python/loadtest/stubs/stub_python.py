@@ -0,0 +1,143 @@
+#!/usr/bin/env python3
+# -*- coding: utf-8 -*-
+
+"""\
+python.executable stand-in for load tests
+
+Dispatches on the worker script name (argv[1]):
+- cad_converter.py <input> <out.glb>
+    writes a GLB of box parts, prints {"parts":[...]} (m:/g: partKeys) to stdout
+- parts_to_glb.py --parts-ndjson - --out-glb <glb> --out-map <map> [--write-node-index]
+    reads NDJSON part records from stdin, loads each meshPath (binary STL),
+    writes one GLB node per part (name = partKey) and node_map.json
+Any other script is executed with the real interpreter.
+"""
+
+import json
+import os
+import sys
+
+from stub_common import (box_triangles, env_float, env_int, maybe_fail, parts_for, read_binary_stl, rng_for,
+                         sleep_ms, write_glb)
+
+
+def option(args, name, default=None):
+    if name in args:
+        i = args.index(name)
+        if i + 1 < len(args):
+            return args[i + 1]
+    return default
+
+
+def cad_converter(args):
+    if len(args) < 2:
+        print("ERROR: Usage: python cad_converter.py <input_path> <output_path>", file=sys.stderr)
+        sys.exit(1)
+    input_path, output_path = args[0], args[1]
+    rng = rng_for(input_path)
+    sleep_ms(env_float("STUB_LATENCY_MS", 200))
+    maybe_fail(rng, "cad_converter")
+
+    parts = parts_for(input_path, rng)
+    stem = os.path.splitext(os.path.basename(input_path))[0]
+    single = len(parts) == 1
+    triangles = env_int("STUB_TRIANGLES", 192)
+
+    nodes, metadata = [], []
+    for i, p in enumerate(parts):
+        name = stem if single else f"Part_{i + 1}"
+        part_key = f"m:{name}" if single else f"g:{name}"
+        nodes.append((part_key, box_triangles(p["position"], p["size"], triangles)))
+        metadata.append({
+            "partKey": part_key,
+            "name": name,
+            "nodeIndex": None,
+            "nodePath": f"Root/{name}",
+            "parentKey": None,
+            "position": p["position"],
+            "size": p["size"],
+        })
+        sleep_ms(env_float("STUB_PART_LATENCY_MS", 5))
+
+    write_glb(output_path, nodes)
+    print(json.dumps({"parts": metadata}, indent=2))
+
+
+def parts_to_glb(args):
+    if option(args, "--parts-ndjson") != "-":
+        print("ERROR: stub parts_to_glb.py only supports --parts-ndjson -", file=sys.stderr)
+        sys.exit(2)
+    out_glb = option(args, "--out-glb")
+    out_map = option(args, "--out-map")
+    write_node_index = "--write-node-index" in args
+
+    records = []
+    for line in sys.stdin:
+        line = line.strip()
+        if not line:
+            continue
+        try:
+            records.append(json.loads(line))
+        except ValueError as e:
+            print(f"WARN: bad ndjson line skipped: {e}", file=sys.stderr)
+
+    if not records:
+        print("ERROR: parts.json has no parts.", file=sys.stderr)
+        sys.exit(4)
+
+    rng = rng_for(out_glb)
+    maybe_fail(rng, "parts_to_glb")
+
+    nodes, mapping = [], []
+    for r in records:
+        mesh_path = r.get("meshPath")
+        try:
+            tris = read_binary_stl(mesh_path)
+        except OSError as e:
+            print(f"WARN: part build failed {r.get('partKey')}: {e}", file=sys.stderr)
+            continue
+        if not tris:
+            continue
+        nodes.append((r["partKey"], tris))
+        mapping.append({
+            "partKey": r["partKey"],
+            "nodeName": r["partKey"],
+            "nodePath": r.get("nodePath"),
+            "parentKey": r.get("parentKey"),
+            "nodeIndex": len(nodes) - 1 if write_node_index else None,
+            "meshPath": mesh_path,
+            "meshId": r.get("meshId"),
+            "position": r.get("position"),
+            "size": r.get("size"),
+        })
+
+    if not mapping:
+        print("ERROR: no valid meshes loaded from parts.json.", file=sys.stderr)
+        sys.exit(5)
+
+    write_glb(out_glb, nodes)
+    os.makedirs(os.path.dirname(os.path.abspath(out_map)), exist_ok=True)
+    with open(out_map, "w", encoding="utf-8") as f:
+        json.dump(mapping, f, ensure_ascii=False, indent=2)
+
+    print(f"OK: glb={out_glb}")
+    print(f"OK: map={out_map}")
+    print(f"OK: parts={len(mapping)}")
+
+
+def main():
+    if len(sys.argv) < 2:
+        print("ERROR: stub python needs a script argument", file=sys.stderr)
+        sys.exit(2)
+    script = os.path.basename(sys.argv[1])
+    args = sys.argv[2:]
+    if script == "cad_converter.py":
+        cad_converter(args)
+    elif script == "parts_to_glb.py":
+        parts_to_glb(args)
+    else:
+        os.execv(sys.executable, [sys.executable] + sys.argv[1:])
+
+
+if __name__ == "__main__":
+    main()
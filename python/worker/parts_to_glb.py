@@ -5,9 +5,13 @@
 parts.json + per-part mesh files -> assembly.glb (with per-part nodes) + node_map.json
 
 - Reads parts.json generated by step_to_parts.py
+  - or --parts-ndjson <path|->: part records streamed one per line (step_to_parts.py --ndjson);
+    each mesh is loaded as soon as its line arrives, so loading overlaps tessellation
 - Loads each meshPath (stl/obj/ply) using trimesh
 - Adds each part as a separate node in a trimesh.Scene
   - node name is fixed to partKey by default (recommended)
+  - parts sharing a "meshId" (identical geometry, see step_to_parts.py) reference
+    one glTF mesh; each node carries its own "transform" (glTF instancing)
 - Exports one GLB (assembly.glb)
 - Writes a node_map.json:
   [
@@ -18,6 +22,7 @@ parts.json + per-part mesh files -> assembly.glb (with per-part nodes) + node_ma
       "parentKey": "...",
       "nodeIndex": 12,
       "meshPath": "...",
+      "meshId": "...",
       "position": [...],
       "size": [...]
     }, ...
@@ -30,6 +35,7 @@ Why this file was patched:
 - We sanitize node names/strings to remove C0/C1 control chars.
 """
 
+import io
 import os
 import sys
 import json
@@ -63,7 +69,9 @@ def _safe_node_name(s: str) -> str:
 
 def parse_args(argv):
     p = argparse.ArgumentParser(add_help=True)
-    p.add_argument("--parts-json", required=True, help="Path to parts.json (from step_to_parts.py)")
+    p.add_argument("--parts-json", default="", help="Path to parts.json (from step_to_parts.py)")
+    p.add_argument("--parts-ndjson", default="",
+                   help="NDJSON part records, one per line ('-' = stdin)")
     p.add_argument("--out-glb", required=True, help="Output GLB file path (assembly.glb)")
     p.add_argument("--out-map", required=True, help="Output mapping json path (node_map.json)")
     p.add_argument("--node-name", default="partKey", choices=["partKey", "name", "safeName"],
@@ -85,12 +93,58 @@ def load_parts(parts_json_path: str):
     return parts
 
 
+def _to_matrix(transform):
+    import numpy as np
+
+    if isinstance(transform, list) and len(transform) == 16:
+        try:
+            return np.array(transform, dtype=float).reshape(4, 4)
+        except Exception:
+            pass
+    return np.eye(4)
+
+
+def _load_mesh(mesh_path: str, quiet: bool):
+    import trimesh
+
+    loaded = trimesh.load(mesh_path, force="mesh")
+    if loaded is None:
+        if not quiet:
+            print(f"WARN: failed to load mesh, skip: {mesh_path}", file=sys.stderr)
+        return None
+
+    if isinstance(loaded, trimesh.Scene):
+        meshes = [g for g in loaded.geometry.values() if isinstance(g, trimesh.Trimesh)]
+        if not meshes:
+            return None
+        mesh = trimesh.util.concatenate(meshes)
+    else:
+        mesh = loaded
+
+    if not isinstance(mesh, trimesh.Trimesh):
+        return None
+    if mesh.vertices is None or len(mesh.vertices) == 0:
+        return None
+    return mesh
+
+
+def iter_parts_ndjson(stream):
+    for line in stream:
+        line = line.strip()
+        if not line.startswith("{"):
+            continue
+        try:
+            yield json.loads(line)
+        except Exception:
+            continue
+
+
 def build_scene(parts, node_name_mode: str, quiet: bool):
     import trimesh
-    import numpy as np
 
     scene = trimesh.Scene()
     mapping = []
+    geom_by_mesh_id = {}  # meshId -> geometry name already in scene
 
     for idx, part in enumerate(parts):
         try:
@@ -111,31 +165,21 @@ def build_scene(parts, node_name_mode: str, quiet: bool):
             else:
                 node_name = _safe_node_name(part_key or name or f"part_{idx}")
 
-            loaded = trimesh.load(mesh_path, force="mesh")
-            if loaded is None:
-                if not quiet:
-                    print(f"WARN: failed to load mesh, skip: {mesh_path}", file=sys.stderr)
-                continue
+            mesh_id = part.get("meshId") or mesh_path
+            transform = _to_matrix(part.get("transform"))
 
-            if isinstance(loaded, trimesh.Scene):
-                meshes = []
-                for g in loaded.geometry.values():
-                    if isinstance(g, trimesh.Trimesh):
-                        meshes.append(g)
-                if not meshes:
+            geom_name = geom_by_mesh_id.get(mesh_id)
+            if geom_name is None:
+                mesh = _load_mesh(mesh_path, quiet)
+                if mesh is None:
                     continue
-                mesh = trimesh.util.concatenate(meshes)
+                geom_name = f"geom_{len(geom_by_mesh_id)}"
+                scene.add_geometry(mesh, node_name=node_name, geom_name=geom_name, transform=transform)
+                geom_by_mesh_id[mesh_id] = geom_name
             else:
-                mesh = loaded
-
-            if not isinstance(mesh, trimesh.Trimesh):
-                continue
-            if mesh.vertices is None or len(mesh.vertices) == 0:
-                continue
-
-            transform = np.eye(4)
-            geom_name = f"geom_{idx}"
-            scene.add_geometry(mesh, node_name=node_name, geom_name=geom_name, transform=transform)
+                # instance: new node referencing the already-added geometry
+                scene.graph.update(frame_from=scene.graph.base_frame, frame_to=node_name,
+                                   matrix=transform, geometry=geom_name)
 
             mapping.append({
                 "partKey": part_key,
@@ -144,6 +188,7 @@ def build_scene(parts, node_name_mode: str, quiet: bool):
                 "parentKey": part.get("parentKey"),
                 "nodeIndex": None,
                 "meshPath": mesh_path.replace("\\", "/"),
+                "meshId": mesh_id,
                 "position": part.get("position"),
                 "size": part.get("size"),
             })
@@ -199,21 +244,34 @@ def main():
     args = parse_args(sys.argv[1:])
 
     parts_json_path = args.parts_json
+    parts_ndjson_path = args.parts_ndjson
     out_glb_path = args.out_glb
     out_map_path = args.out_map
     quiet = bool(args.quiet)
 
-    if not os.path.exists(parts_json_path):
+    if not parts_json_path and not parts_ndjson_path:
+        print("ERROR: --parts-json or --parts-ndjson is required", file=sys.stderr)
+        sys.exit(2)
+
+    if parts_json_path and not os.path.exists(parts_json_path):
         print(f"ERROR: parts.json not found: {parts_json_path}", file=sys.stderr)
         sys.exit(2)
 
     try:
-        parts = load_parts(parts_json_path)
-        if len(parts) == 0:
-            print("ERROR: parts.json has no parts.", file=sys.stderr)
-            sys.exit(4)
-
-        scene, mapping = build_scene(parts, args.node_name, quiet)
+        if parts_ndjson_path:
+            if parts_ndjson_path == "-":
+                stream = io.TextIOWrapper(sys.stdin.buffer, encoding="utf-8")
+            else:
+                stream = open(parts_ndjson_path, "r", encoding="utf-8")
+            with stream:
+                scene, mapping = build_scene(iter_parts_ndjson(stream), args.node_name, quiet)
+        else:
+            parts = load_parts(parts_json_path)
+            if len(parts) == 0:
+                print("ERROR: parts.json has no parts.", file=sys.stderr)
+                sys.exit(4)
+
+            scene, mapping = build_scene(parts, args.node_name, quiet)
         if len(mapping) == 0:
             print("ERROR: no valid meshes loaded from parts.json.", file=sys.stderr)
             sys.exit(5)
@@ -231,6 +289,7 @@ def main():
             print(f"OK: glb={out_glb_path}")
             print(f"OK: map={out_map_path}")
             print(f"OK: parts={len(mapping)}")
+            print(f"OK: meshes={len(set(m['meshId'] for m in mapping))}")
 
     except Exception as e:
         print(f"ERROR: {e}", file=sys.stderr)
@@ -13,6 +13,18 @@ STEP/IGES Assembly -> Part meshes + metadata (MVP)
 - Output JSON:
   - By default: stdout
   - Optional: --json-out <path> to write a clean JSON file
+  - Optional: --ndjson to also stream one part record per stdout line as soon as
+    each solid is meshed (the Java pipeline feeds these to the GLB builder and DB)
+- Adaptive tessellation (driven by the Java side):
+  - --bbox-only: skip meshing, emit bbox/area per part (cheap pre-pass)
+  - --deflection-plan <json>: per-part LinearDeflection chosen from the pre-pass
+- Geometry deduplication (instancing):
+  - Each part is meshed in its local frame (Placement removed)
+  - The mesh is hashed; identical meshes are written once and shared
+  - Every part record still carries its own partKey + "meshId" + "transform"
+    (row-major 4x4 placement) so parts_to_glb.py can emit shared-mesh nodes
+- Each record carries "triangles" (facet count) so the Java side can decide,
+  without re-reading the file, which meshes need simplification
 
 Why this file was patched:
 - Some STEP assemblies contain control characters (e.g. U+0087) in labels.
@@ -30,6 +42,8 @@ import traceback
 import math
 import re
 import unicodedata
+import hashlib
+import struct
 
 # FreeCAD modules (available only under FreeCADCmd environment)
 import FreeCAD as App
@@ -99,22 +113,22 @@ def _to_pos_size_from_boundbox(bb):
     return (cx, cy, cz), (size_x, size_y, size_z)
 
 
-def _export_mesh_from_shape(
+def _mesh_from_shape(
         shape,
-        out_path: str,
-        mesh_format: str,
         linear_deflection: float,
         angular_deflection: float,
         relative: bool = False,
 ):
-    """Create mesh from FreeCAD shape and write to file."""
-    mesh = MeshPart.meshFromShape(
+    """Create mesh from FreeCAD shape."""
+    return MeshPart.meshFromShape(
         Shape=shape,
         LinearDeflection=linear_deflection,
         AngularDeflection=angular_deflection,
         Relative=relative
     )
 
+
+def _write_mesh(mesh, out_path: str, mesh_format: str):
     mesh_format = mesh_format.lower().strip()
     if mesh_format not in ("stl", "ply", "obj"):
         raise ValueError(f"Unsupported mesh format: {mesh_format}")
@@ -123,6 +137,30 @@ def _export_mesh_from_shape(
     mesh.write(out_path)
 
 
+def _split_placement(shape):
+    """Return (local_shape, row-major 4x4 placement matrix).
+
+    Identical parts placed at different locations share the same local geometry,
+    so meshing in the local frame makes their tessellation (and hash) identical.
+    """
+    placement = shape.Placement
+    local = shape.copy()
+    local.Placement = App.Placement()
+    return local, [float(v) for v in placement.toMatrix().A]
+
+
+def _mesh_hash(mesh, quantum: float = 1e-4) -> str:
+    """Hash of tessellated geometry (points quantized to `quantum` mm + facet indices)."""
+    points, facets = mesh.Topology
+    h = hashlib.sha1()
+    h.update(struct.pack("<ii", len(points), len(facets)))
+    for p in points:
+        h.update(struct.pack("<qqq", round(p.x / quantum), round(p.y / quantum), round(p.z / quantum)))
+    for f in facets:
+        h.update(struct.pack("<iii", int(f[0]), int(f[1]), int(f[2])))
+    return h.hexdigest()[:16]
+
+
 def _build_parent_index(objects):
     """
     Best-effort hierarchy:
@@ -190,6 +228,16 @@ def _is_bad_bbox(sx: float, sy: float, sz: float, huge: float, skip_degenerate:
     return False
 
 
+def _load_deflection_plan(path: str):
+    if not path:
+        return None
+    with open(path, "r", encoding="utf-8") as f:
+        plan = json.load(f)
+    if not isinstance(plan, dict):
+        raise ValueError("deflection plan must be a JSON object")
+    return plan
+
+
 def parse_args(argv):
     p = argparse.ArgumentParser(add_help=True)
     p.add_argument("input_path", help="STEP/IGES file path")
@@ -210,6 +258,17 @@ def parse_args(argv):
                    help="Comma-separated keywords to filter by name/label (case-insensitive).")
     p.add_argument("--no-name-filter", action="store_true", help="Disable keyword-based name filtering")
 
+    p.add_argument("--bbox-only", action="store_true",
+                   help="Do not export meshes; only emit partKey/bbox/area (tessellation planning pre-pass)")
+    p.add_argument("--deflection-plan", default="",
+                   help="JSON file: { 'angular': a, 'defaultLinear': l, 'parts': { partKey: linear } }")
+
+    p.add_argument("--no-dedupe", action="store_true",
+                   help="Mesh every part in world coordinates without geometry deduplication")
+
+    p.add_argument("--ndjson", action="store_true",
+                   help="Stream each part record as one JSON line on stdout while processing")
+
     p.add_argument("--json-out", default="",
                    help="Write JSON metadata to this file path (optional). If empty, print to stdout.")
     p.add_argument("--no-hierarchy", action="store_true", help="Do not attempt parent inference")
@@ -231,6 +290,21 @@ def main():
     skip_huge = float(args.skip_huge)
     skip_degenerate = bool(args.skip_degenerate)
 
+    bbox_only = bool(args.bbox_only)
+    dedupe = not args.no_dedupe
+
+    try:
+        plan = _load_deflection_plan(args.deflection_plan)
+    except Exception as e:
+        print(f"ERROR: failed to read deflection plan: {e}", file=sys.stderr)
+        sys.exit(2)
+
+    plan_parts = {}
+    if plan:
+        plan_parts = plan.get("parts") or {}
+        angular_deflection = float(plan.get("angular", angular_deflection))
+        linear_deflection = float(plan.get("defaultLinear", linear_deflection))
+
     keywords = [k.strip().lower() for k in (args.exclude_keywords or "").split(",") if k.strip()]
     use_name_filter = (not args.no_name_filter) and (len(keywords) > 0)
 
@@ -296,6 +370,7 @@ def main():
     # 4) Export each part mesh + metadata
     parts = []
     exported = 0
+    mesh_files = {}  # meshId -> first written mesh path
 
     for obj in candidates:
         if max_parts > 0 and exported >= max_parts:
@@ -322,23 +397,58 @@ def main():
             else:
                 node_path = f"Root/{_safe_node_segment(parent_name)}/{safe_name}"
 
-            # mesh file path
-            safe_obj = _safe_filename(obj.Name)
-            filename = f"fc__{safe_obj}.{mesh_format}"
-            mesh_path = os.path.join(out_dir, filename)
+            if bbox_only:
+                exported += 1
+                try:
+                    area = float(shape.Area)
+                except Exception:
+                    area = None
+                # local-frame bbox: rotation-invariant size so identical parts get identical deflection
+                local_size = None
+                if dedupe:
+                    try:
+                        local_bb = _split_placement(shape)[0].BoundBox
+                        local_size = [float(local_bb.XLength), float(local_bb.YLength), float(local_bb.ZLength)]
+                    except Exception:
+                        local_size = None
+                parts.append({
+                    "partKey": part_key,
+                    "name": name,
+                    "position": [cx, cy, cz],
+                    "size": [sx, sy, sz],
+                    "localSize": local_size,
+                    "area": area,
+                })
+                continue
+
+            part_linear = float(plan_parts.get(part_key, linear_deflection))
 
-            _export_mesh_from_shape(
-                shape=shape,
-                out_path=mesh_path,
-                mesh_format=mesh_format,
-                linear_deflection=linear_deflection,
+            if dedupe:
+                mesh_shape, transform = _split_placement(shape)
+            else:
+                mesh_shape, transform = shape, None
+
+            mesh = _mesh_from_shape(
+                shape=mesh_shape,
+                linear_deflection=part_linear,
                 angular_deflection=angular_deflection,
                 relative=relative
             )
+            mesh_id = _mesh_hash(mesh)
+
+            mesh_path = mesh_files.get(mesh_id)
+            if mesh_path is None:
+                # first occurrence: write mesh file
+                safe_obj = _safe_filename(obj.Name)
+                filename = f"fc__{safe_obj}.{mesh_format}"
+                mesh_path = os.path.join(out_dir, filename)
+                _write_mesh(mesh, mesh_path, mesh_format)
+                if dedupe:
+                    mesh_files[mesh_id] = mesh_path
 
             exported += 1
 
-            parts.append({
+            record = {
                 "partKey": part_key,
                 "name": name,
                 "meshPath": mesh_path.replace("\\", "/"),
@@ -347,7 +457,17 @@ def main():
                 "nodeIndex": None,  # filled later when building GLB Scene (optional)
                 "position": [cx, cy, cz],
                 "size": [sx, sy, sz],
-            })
+                "linearDeflection": part_linear,
+                "meshId": mesh_id,
+                "transform": transform,
+                "triangles": int(mesh.CountFacets),
+            }
+            parts.append(record)
+
+            if args.ndjson:
+                # ASCII-escaped so the console encoding of FreeCADCmd cannot break the line
+                sys.stdout.write(json.dumps(record, ensure_ascii=True) + "\n")
+                sys.stdout.flush()
 
         except Exception as e:
             if not args.quiet:
@@ -356,6 +476,9 @@ def main():
 
     payload = {"parts": parts}
 
+    if not args.quiet and not bbox_only:
+        print(f"INFO: parts={len(parts)} uniqueMeshes={len(set(p['meshId'] for p in parts))}", file=sys.stderr)
+
     # 5) Output JSON
     if args.json_out:
         # Ensure parent dir exists